@@ -16,9 +16,12 @@ import org.springframework.stereotype.Component;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.SSLContext;
 
@@ -34,6 +37,10 @@ public class KisWebSocketClient {
     private final ScheduledExecutorService scheduler;
     private final SSLContext sslContext;
     
+    // 종목/TR별 수신 순번 - 재기동 후에도 이전 값과 겹치지 않도록 기동 시각(마이크로초)부터 증가
+    private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private final long sequenceSeed = System.currentTimeMillis() * 1000;
+    
     private WebSocketClient webSocketClient;
     private boolean isConnected = false;
 
@@ -249,6 +256,7 @@ public class KisWebSocketClient {
         data.setTr_id("H0STCNT0");
         data.setTr_key(fields[0]);        // 종목코드
         data.setTimestamp(fields[1]);     // 체결시간
+        data.setSequence_number(nextSequence("H0STCNT0", fields[0]));
         data.setPrice(fields[2]);         // 현재가
         data.setVolume(fields[12]);       // 체결거래량
         data.setChange_amount(fields[4]); // 전일대비
@@ -256,6 +264,9 @@ public class KisWebSocketClient {
         data.setHigh_price(fields[8]);    // 고가
         data.setLow_price(fields[9]);     // 저가
         data.setOpen_price(fields[7]);    // 시가
+        if (fields.length > 33) {
+            data.setBusiness_date(fields[33]); // 영업일자 (yyyyMMdd)
+        }
         return data;
     }
 
@@ -264,6 +275,7 @@ public class KisWebSocketClient {
         data.setTr_id("H0STASP0");
         data.setTr_key(fields[0]);         // 종목코드
         data.setTimestamp(fields[1]);      // 호가시간
+        data.setSequence_number(nextSequence("H0STASP0", fields[0]));
         
         // 호가 데이터는 더 복잡한 구조이므로 간단하게 처리
         if (fields.length >= 15) {
@@ -276,6 +288,12 @@ public class KisWebSocketClient {
         return data;
     }
 
+    private String nextSequence(String trId, String stockCode) {
+        return String.valueOf(sequences
+            .computeIfAbsent(trId + ":" + stockCode, key -> new AtomicLong(sequenceSeed))
+            .incrementAndGet());
+    }
+
     private void scheduleReconnect() {
         scheduler.schedule(() -> {
             log.info("Attempting to reconnect to KIS WebSocket server...");
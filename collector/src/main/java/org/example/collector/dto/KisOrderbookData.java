@@ -13,6 +13,7 @@ public class KisOrderbookData {
     private String tr_id;
     private String tr_key;
     private String timestamp;
+    private String sequence_number;
     private String bid_price_1;
     private String bid_volume_1;
     private String ask_price_1;
@@ -13,6 +13,8 @@ public class KisQuoteData {
     private String tr_id;
     private String tr_key;
     private String timestamp;
+    private String sequence_number;
+    private String business_date;
     private String price;
     private String volume;
     private String change_amount;
@@ -0,0 +1,156 @@
+package org.example.dataprocessor.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 종목/일자별 컬럼형 체결 아카이브 파일
+ * [헤더: magic, version, 행 수, 블록 수][블록 인덱스: 첫 시각, 마지막 시각, 행 수, 오프셋, 길이][블록들]
+ * 읽기는 메모리 매핑으로 하고, 인덱스로 조회 구간과 겹치지 않는 블록은 디코딩하지 않는다.
+ */
+public final class TickArchiveFile {
+
+    private static final int MAGIC = 0x544B4131; // "TKA1"
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * 한 행 방문 (false를 반환하면 스캔 중단)
+     */
+    @FunctionalInterface
+    public interface TickVisitor {
+        boolean visit(long epochMillis, long price, long volume);
+    }
+
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final int maxBlockRows;
+    private final long[] blockFirstTimes;
+    private final long[] blockLastTimes;
+    private final int[] blockRows;
+    private final long[] blockOffsets;
+
+    private TickArchiveFile(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (header.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a tick archive file");
+        }
+        short version = header.getShort();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported tick archive version: " + version);
+        }
+        this.rowCount = header.getInt();
+        int blockCount = header.getInt();
+
+        this.blockFirstTimes = new long[blockCount];
+        this.blockLastTimes = new long[blockCount];
+        this.blockRows = new int[blockCount];
+        this.blockOffsets = new long[blockCount];
+        int maxRows = 0;
+        for (int i = 0; i < blockCount; i++) {
+            blockFirstTimes[i] = header.getLong();
+            blockLastTimes[i] = header.getLong();
+            blockRows[i] = header.getInt();
+            blockOffsets[i] = header.getLong();
+            header.getInt(); // 블록 길이 (검증용)
+            maxRows = Math.max(maxRows, blockRows[i]);
+        }
+        this.maxBlockRows = maxRows;
+    }
+
+    /**
+     * 정렬된 체결 컬럼을 blockSize 행 단위 블록으로 기록 (임시 파일 작성 후 원자적 교체)
+     */
+    public static void write(Path path, TickColumns columns, int blockSize) throws IOException {
+        int rows = columns.size();
+        int blockCount = (rows + blockSize - 1) / blockSize;
+        byte[][] blocks = new byte[blockCount][];
+        for (int i = 0; i < blockCount; i++) {
+            int from = i * blockSize;
+            int to = Math.min(rows, from + blockSize);
+            blocks[i] = TickBlockCodec.encode(columns.timestamps(), columns.prices(), columns.volumes(), from, to);
+        }
+
+        ByteBuffer index = ByteBuffer.allocate(HEADER_BYTES + blockCount * INDEX_ENTRY_BYTES);
+        index.putInt(MAGIC).putShort(VERSION).putInt(rows).putInt(blockCount);
+        long offset = index.capacity();
+        for (int i = 0; i < blockCount; i++) {
+            int from = i * blockSize;
+            int to = Math.min(rows, from + blockSize);
+            index.putLong(columns.timestamps()[from])
+                .putLong(columns.timestamps()[to - 1])
+                .putInt(to - from)
+                .putLong(offset)
+                .putInt(blocks[i].length);
+            offset += blocks[i].length;
+        }
+        index.flip();
+
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (index.hasRemaining()) {
+                channel.write(index);
+            }
+            for (byte[] block : blocks) {
+                ByteBuffer blockBuffer = ByteBuffer.wrap(block);
+                while (blockBuffer.hasRemaining()) {
+                    channel.write(blockBuffer);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static TickArchiveFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지됨
+            return new TickArchiveFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * [fromMillis, toMillis) 구간의 행을 시간순으로 방문
+     */
+    public void scan(long fromMillis, long toMillis, TickVisitor visitor) {
+        long[] timestamps = new long[maxBlockRows];
+        long[] prices = new long[maxBlockRows];
+        long[] volumes = new long[maxBlockRows];
+
+        for (int block = 0; block < blockRows.length; block++) {
+            if (blockLastTimes[block] < fromMillis) {
+                continue;
+            }
+            if (blockFirstTimes[block] >= toMillis) {
+                return;
+            }
+            ByteBuffer blockBuffer = buffer.duplicate();
+            blockBuffer.position((int) blockOffsets[block]);
+            TickBlockCodec.decode(blockBuffer, blockFirstTimes[block], blockRows[block], timestamps, prices, volumes);
+
+            for (int i = 0; i < blockRows[block]; i++) {
+                if (timestamps[i] < fromMillis) {
+                    continue;
+                }
+                if (timestamps[i] >= toMillis || !visitor.visit(timestamps[i], prices[i], volumes[i])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.dataprocessor.archive;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 블록 단위 컬럼 인코딩
+ * - 시각: delta-of-delta (zigzag varint), 블록 첫 시각은 인덱스에 저장
+ * - 가격: 직전 값과의 차이 (zigzag varint, x100 정수 가격이라 XOR보다 작게 나옴)
+ * - 거래량: zigzag varint
+ * 블록 = [시각 길이][가격 길이][거래량 길이][시각 컬럼][가격 컬럼][거래량 컬럼]
+ */
+final class TickBlockCodec {
+
+    private TickBlockCodec() {
+    }
+
+    static byte[] encode(long[] timestamps, long[] prices, long[] volumes, int from, int to) {
+        ByteSink timeColumn = new ByteSink((to - from) * 2);
+        ByteSink priceColumn = new ByteSink((to - from) * 2);
+        ByteSink volumeColumn = new ByteSink((to - from) * 2);
+
+        long previousTime = timestamps[from];
+        long previousDelta = 0;
+        long previousPrice = 0;
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                long delta = timestamps[i] - previousTime;
+                timeColumn.writeVarLong(zigzag(delta - previousDelta));
+                previousDelta = delta;
+                previousTime = timestamps[i];
+            }
+            priceColumn.writeVarLong(zigzag(prices[i] - previousPrice));
+            previousPrice = prices[i];
+            volumeColumn.writeVarLong(zigzag(volumes[i]));
+        }
+
+        ByteSink block = new ByteSink(timeColumn.size() + priceColumn.size() + volumeColumn.size() + 15);
+        block.writeVarLong(timeColumn.size());
+        block.writeVarLong(priceColumn.size());
+        block.writeVarLong(volumeColumn.size());
+        block.write(timeColumn);
+        block.write(priceColumn);
+        block.write(volumeColumn);
+        return block.toByteArray();
+    }
+
+    /**
+     * 블록 디코딩 - buffer는 블록 시작 위치, 결과 배열은 최소 rows 크기
+     */
+    static void decode(ByteBuffer buffer, long firstTimestamp, int rows,
+                       long[] timestamps, long[] prices, long[] volumes) {
+        readVarLong(buffer);
+        readVarLong(buffer);
+        readVarLong(buffer);
+
+        long previousTime = firstTimestamp;
+        long previousDelta = 0;
+        timestamps[0] = firstTimestamp;
+        for (int i = 1; i < rows; i++) {
+            previousDelta += unzigzag(readVarLong(buffer));
+            previousTime += previousDelta;
+            timestamps[i] = previousTime;
+        }
+
+        long previousPrice = 0;
+        for (int i = 0; i < rows; i++) {
+            previousPrice += unzigzag(readVarLong(buffer));
+            prices[i] = previousPrice;
+        }
+
+        for (int i = 0; i < rows; i++) {
+            volumes[i] = unzigzag(readVarLong(buffer));
+        }
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+
+    /**
+     * 크기가 늘어나는 바이트 버퍼
+     */
+    static final class ByteSink {
+        private byte[] bytes;
+        private int size;
+
+        ByteSink(int initialCapacity) {
+            this.bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void write(ByteSink other) {
+            ensure(other.size);
+            System.arraycopy(other.bytes, 0, bytes, size, other.size);
+            size += other.size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
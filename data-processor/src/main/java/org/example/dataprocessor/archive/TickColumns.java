@@ -0,0 +1,50 @@
+package org.example.dataprocessor.archive;
+
+import java.util.Arrays;
+
+/**
+ * 체결 컬럼 묶음 (시각 epoch millis, 가격 x100, 거래량) - 크기가 늘어나는 원시 배열
+ */
+public class TickColumns {
+
+    private long[] timestamps;
+    private long[] prices;
+    private long[] volumes;
+    private int size;
+
+    public TickColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.timestamps = new long[capacity];
+        this.prices = new long[capacity];
+        this.volumes = new long[capacity];
+    }
+
+    public void add(long timestamp, long price, long volume) {
+        if (size == timestamps.length) {
+            int capacity = size + (size >> 1);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+        timestamps[size] = timestamp;
+        prices[size] = price;
+        volumes[size] = volume;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    long[] timestamps() {
+        return timestamps;
+    }
+
+    long[] prices() {
+        return prices;
+    }
+
+    long[] volumes() {
+        return volumes;
+    }
+}
@@ -33,9 +33,8 @@ public class CacheConfig {
             .recordStats());
         
         // 캐시 이름 설정
+        // 최신 시세/호가는 LatestQuoteStore/LatestOrderbookStore가 담당
         cacheManager.setCacheNames(java.util.Arrays.asList(
-            "latestQuotes",
-            "latestOrderbooks",
             "stockInfo"
         ));
         
@@ -1,8 +1,17 @@
 package org.example.dataprocessor.config;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.example.dataprocessor.service.DeadLetterPublisher;
+import org.example.dataprocessor.service.HotStockDetector;
+import org.example.dataprocessor.service.MarketSummaryService;
+import org.example.dataprocessor.service.OrderbookDeltaEncoder;
+import org.example.dataprocessor.store.RollingCountStore;
+import org.example.dataprocessor.store.TickBufferStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,17 +19,28 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.listener.ContainerProperties;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 @Slf4j
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConsumerConfig {
     
+    private final TickBufferStore tickBufferStore;
+    private final OrderbookDeltaEncoder orderbookDeltaEncoder;
+    private final HotStockDetector hotStockDetector;
+    private final RollingCountStore rollingCountStore;
+    private final MarketSummaryService marketSummaryService;
+    private final DeadLetterPublisher deadLetterPublisher;
+    
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
@@ -69,13 +89,64 @@ public class KafkaConsumerConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.getContainerProperties().setPollTimeout(3000);
         
-        // 에러 핸들링 설정
-        factory.setCommonErrorHandler(new DefaultErrorHandler());
+        // 파티션 회수 시 더 이상 갱신되지 않는 최근 틱 버퍼/호가 델타 기준/핫토픽 기준선/시장 순위표 정리
+        factory.getContainerProperties().setConsumerRebalanceListener(partitionRevokeListener());
+        
+        // 에러 핸들링 설정 (리스너 밖으로 나온 예외도 재시도 없이 DLQ로)
+        factory.setCommonErrorHandler(deadLetterErrorHandler());
         
         log.info("Kafka Listener Container Factory initialized with concurrency: {}", concurrency);
         
         return factory;
     }
+
+    /**
+     * poll 한 번 분량을 리스너에 통째로 넘기는 배치 컨테이너 (틱 저장을 배치 INSERT 한 번으로 처리)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+
+        // 배치 처리 후 수동 커밋
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.getContainerProperties().setPollTimeout(3000);
+
+        // 파티션 회수 시 더 이상 갱신되지 않는 최근 틱 버퍼/호가 델타 기준/핫토픽 기준선/시장 순위표 정리
+        factory.getContainerProperties().setConsumerRebalanceListener(partitionRevokeListener());
+
+        // 리스너가 실패 건을 DLQ로 넘기므로 여기까지 온 예외도 재시도 없이 DLQ로 (독성 메시지가 파티션을 막지 않게)
+        factory.setCommonErrorHandler(deadLetterErrorHandler());
+
+        log.info("Kafka Batch Listener Container Factory initialized with concurrency: {}", concurrency);
+
+        return factory;
+    }
+
+    /**
+     * 즉시 복구(재시도 0회) 에러 핸들러 - 배치 리스너 예외면 배치의 각 레코드를 DLQ로 발행
+     */
+    @Bean
+    public DefaultErrorHandler deadLetterErrorHandler() {
+        return new DefaultErrorHandler(deadLetterPublisher::publish, new FixedBackOff(0L, 0L));
+    }
+
+    private ConsumerAwareRebalanceListener partitionRevokeListener() {
+        return new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                tickBufferStore.onPartitionsRevokedAfterCommit(consumer, partitions);
+                orderbookDeltaEncoder.onPartitionsRevokedAfterCommit(consumer, partitions);
+                hotStockDetector.onPartitionsRevokedAfterCommit(consumer, partitions);
+                rollingCountStore.onPartitionsRevokedAfterCommit(consumer, partitions);
+                marketSummaryService.onPartitionsRevokedAfterCommit(consumer, partitions);
+            }
+        };
+    }
     /*
     * RECORD (기본값):
 
@@ -0,0 +1,89 @@
+package org.example.dataprocessor.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.consumer.ParallelTickConsumer;
+import org.example.dataprocessor.processing.KeyOrderedExecutor;
+import org.example.dataprocessor.processing.PartitionOffsetTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+
+/**
+ * 종목 키 기반 병렬 처리 설정 (app.processing.parallel.enabled=true 일 때만)
+ * 파티션 수와 무관하게 워커 수만큼 코어를 활용하고, 커밋은 파티션별 워터마크 기준으로 한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(value = "app.processing.parallel.enabled", havingValue = "true")
+public class ParallelProcessingConfig {
+    
+    @Value("${app.processing.parallel.workers:16}")
+    private int workers;
+    
+    @Value("${app.processing.parallel.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${app.processing.parallel.drain-batch-size:256}")
+    private int drainBatchSize;
+    
+    @Value("${spring.kafka.listener.concurrency:3}")
+    private int concurrency;
+    
+    @Bean
+    public KeyOrderedExecutor keyOrderedExecutor(MeterRegistry meterRegistry) {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor("tick-worker", workers, queueCapacity, drainBatchSize);
+        
+        // 워커별 큐 깊이와 편중도
+        for (int worker = 0; worker < executor.workerCount(); worker++) {
+            int index = worker;
+            Gauge.builder("data_processor_parallel_queue_depth", executor, e -> e.queueDepth(index))
+                .tag("worker", String.valueOf(index))
+                .register(meterRegistry);
+        }
+        Gauge.builder("data_processor_parallel_queue_skew", executor, KeyOrderedExecutor::queueSkew)
+            .description("Max worker queue depth divided by mean depth")
+            .register(meterRegistry);
+        
+        return executor;
+    }
+    
+    @Bean
+    public PartitionOffsetTracker partitionOffsetTracker() {
+        return new PartitionOffsetTracker();
+    }
+    
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> parallelKafkaListenerContainerFactory(
+        ConsumerFactory<String, String> consumerFactory,
+        ParallelTickConsumer parallelTickConsumer,
+        DefaultErrorHandler deadLetterErrorHandler
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = 
+            new ConcurrentKafkaListenerContainerFactory<>();
+        
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        
+        // 커밋은 리스너가 워터마크 기준으로 직접 수행
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setPollTimeout(3000);
+        // 유휴 상태에서도 완료된 오프셋을 커밋할 수 있도록 유휴 이벤트 발행
+        factory.getContainerProperties().setIdleEventInterval(1000L);
+        // 파티션 회수 전 진행 중인 작업을 비우고 마지막 워터마크 커밋
+        factory.getContainerProperties().setConsumerRebalanceListener(parallelTickConsumer);
+        // 워커가 실패 건을 DLQ로 넘기므로 여기까지 온 예외도 재시도 없이 DLQ로
+        factory.setCommonErrorHandler(deadLetterErrorHandler);
+        
+        log.info("Parallel Kafka Listener Container Factory initialized - Concurrency: {}, Workers: {}", concurrency, workers);
+        
+        return factory;
+    }
+}
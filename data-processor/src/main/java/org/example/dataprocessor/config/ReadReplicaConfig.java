@@ -0,0 +1,94 @@
+package org.example.dataprocessor.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.datasource.ReadWriteRoutingDataSource;
+import org.example.dataprocessor.datasource.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 분리 - 조회 API(@Transactional(readOnly = true))는 복제본 풀, 수집 쓰기는 primary 풀
+ * 비활성화(기본값)면 Boot 기본 단일 DataSource를 그대로 사용
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(value = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${app.datasource.replica.allow-standalone:false}")
+    private boolean allowStandalone;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.getDriverClassName())
+            .url(replicaUrl)
+            .username(replicaUsername)
+            .password(replicaPassword)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLagSeconds, allowStandalone, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaLagMonitor, meterRegistry);
+        routingDataSource.setTargetDataSources(Map.of(
+            ReadWriteRoutingDataSource.Target.PRIMARY, primaryDataSource,
+            ReadWriteRoutingDataSource.Target.REPLICA, replicaDataSource
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        log.info("Read/write routing datasource initialized - Replica: {}, Max lag: {}s", replicaUrl, maxLagSeconds);
+
+        // readOnly 플래그가 정해진 뒤(첫 쿼리 시점)에 실제 커넥션을 고르도록 지연 프록시로 감쌈
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
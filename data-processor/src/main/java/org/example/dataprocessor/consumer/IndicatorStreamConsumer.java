@@ -0,0 +1,63 @@
+package org.example.dataprocessor.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.KisQuoteMessage;
+import org.example.dataprocessor.service.TechnicalIndicatorService;
+import org.example.dataprocessor.util.FixedPoint;
+import org.example.dataprocessor.util.KisTimeDecoder;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기술적 지표 전용 컨슈머 (저장 파이프라인과 독립된 technical-indicators 그룹)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndicatorStreamConsumer {
+
+    private final TechnicalIndicatorService technicalIndicatorService;
+    private final KisTimeDecoder kisTimeDecoder;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @KafkaListener(
+        topics = "${app.kafka.topics.quote-stream:quote-stream}",
+        groupId = "${app.indicators.consumer-group:technical-indicators}",
+        containerFactory = "kafkaListenerContainerFactory"
+    )
+    public void consumeQuoteMessage(
+        @Payload String message,
+        @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+        @Header(KafkaHeaders.OFFSET) long offset,
+        Acknowledgment acknowledgment
+    ) {
+        try {
+            KisQuoteMessage quoteMessage = objectMapper.readValue(message, KisQuoteMessage.class);
+
+            technicalIndicatorService.onTick(
+                quoteMessage.getTrKey(),
+                kisTimeDecoder.toEpochMillis(quoteMessage.getTimestamp(), quoteMessage.getBusinessDate()),
+                FixedPoint.toDouble(quoteMessage.getPriceScaled(), FixedPoint.PRICE_SCALE),
+                quoteMessage.getVolumeAsLong()
+            );
+
+            acknowledgment.acknowledge();
+
+        } catch (Exception e) {
+            log.error("Error processing quote message for indicators - Partition: {}, Offset: {}, Message: {}",
+                partition, offset, message, e);
+
+            // 지표는 다음 틱으로 복구되므로 건너뜀
+            acknowledgment.acknowledge();
+            meterRegistry.counter("data_processor_failures_total", "type", "indicator").increment();
+        }
+    }
+}
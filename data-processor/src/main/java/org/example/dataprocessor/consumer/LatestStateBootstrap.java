@@ -0,0 +1,151 @@
+package org.example.dataprocessor.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.repository.StockRepository;
+import org.example.dataprocessor.service.OrderbookDataService;
+import org.example.dataprocessor.service.QuoteDataService;
+import org.example.dataprocessor.store.LatestOrderbookStore;
+import org.example.dataprocessor.store.LatestQuoteStore;
+import org.example.dataprocessor.util.CompactedTopicReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 기동 직후 최신 상태 저장소 warm-up - quote-latest / orderbook-latest 압축 토픽을 끝까지 읽고, 토픽에 없던 종목은 DB에서 종목 묶음 단위로 한 번에 적재
+ * 재기동 직후 대시보드 재접속으로 종목마다 최신 1건 조회가 몰리지 않도록, 끝날 때까지 readiness 그룹의 이 헬스 지표가 OUT_OF_SERVICE로 트래픽을 막는다.
+ * 별도 스레드에서 돌아 liveness와 리스너 소비는 바로 시작하며, 실시간 반영과 겹쳐도 저장소가 더 최신 값만 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestStateBootstrap implements HealthIndicator {
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final LatestQuoteStore latestQuoteStore;
+    private final LatestOrderbookStore latestOrderbookStore;
+    private final StockRepository stockRepository;
+    private final QuoteDataService quoteDataService;
+    private final OrderbookDataService orderbookDataService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.latest-topics.bootstrap-enabled:true}")
+    private boolean bootstrapEnabled;
+
+    @Value("${app.latest-topics.bootstrap-timeout-ms:30000}")
+    private long bootstrapTimeoutMs;
+
+    @Value("${app.latest-state.warmup-enabled:true}")
+    private boolean warmupEnabled;
+
+    @Value("${app.latest-state.warmup-batch-size:500}")
+    private int warmupBatchSize;
+
+    @Value("${app.kafka.topics.quote-latest:quote-latest}")
+    private String quoteLatestTopic;
+
+    @Value("${app.kafka.topics.orderbook-latest:orderbook-latest}")
+    private String orderbookLatestTopic;
+
+    private volatile String state = "pending";
+    private volatile long elapsedMillis;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void startWarmup() {
+        Thread thread = new Thread(this::warmup, "latest-state-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = "pending".equals(state) ? Health.outOfService() : Health.up();
+        return builder
+            .withDetail("state", state)
+            .withDetail("elapsedMs", elapsedMillis)
+            .withDetail("quotes", latestQuoteStore.size())
+            .withDetail("orderbooks", latestOrderbookStore.size())
+            .build();
+    }
+
+    private void warmup() {
+        long startTime = System.currentTimeMillis();
+        try {
+            if (bootstrapEnabled) {
+                bootstrapFromTopics();
+            }
+            if (warmupEnabled) {
+                warmupFromDatabase();
+            }
+            state = "warm";
+        } catch (Exception e) {
+            // warm-up 실패로 readiness가 영영 막히지 않도록 열어 둠 (미스는 종목별 단일 조회로 흡수)
+            log.error("Latest state warm-up failed, accepting traffic with a partially warm store", e);
+            state = "failed";
+        } finally {
+            elapsedMillis = System.currentTimeMillis() - startTime;
+            log.info("Latest state warm-up finished - State: {}, Quotes: {}, Orderbooks: {}, Elapsed: {}ms",
+                state, latestQuoteStore.size(), latestOrderbookStore.size(), elapsedMillis);
+        }
+    }
+
+    private void bootstrapFromTopics() {
+        Duration timeout = Duration.ofMillis(bootstrapTimeoutMs);
+
+        int quotes = CompactedTopicReader.readToEnd(consumerFactory, quoteLatestTopic, timeout, (stockCode, message) -> {
+            try {
+                latestQuoteStore.publish(stockCode, objectMapper.readValue(message, LatestQuote.class));
+            } catch (Exception e) {
+                log.warn("Skipping unreadable latest quote for stock: {}", stockCode, e);
+            }
+        });
+        int orderbooks = CompactedTopicReader.readToEnd(consumerFactory, orderbookLatestTopic, timeout, (stockCode, message) -> {
+            try {
+                latestOrderbookStore.publish(stockCode, objectMapper.readValue(message, LatestOrderbook.class));
+            } catch (Exception e) {
+                log.warn("Skipping unreadable latest orderbook for stock: {}", stockCode, e);
+            }
+        });
+
+        log.info("Latest state bootstrapped from compacted topics - Quotes: {}, Orderbooks: {}", quotes, orderbooks);
+    }
+
+    /**
+     * 저장소에 없는 종목만 골라 종목 묶음마다 최신 체결/호가를 한 번의 조회로 적재
+     */
+    private void warmupFromDatabase() {
+        List<String> stockCodes = stockRepository.findAllStockCodes();
+        List<String> missingQuotes = missing(stockCodes, code -> latestQuoteStore.get(code).isEmpty());
+        List<String> missingOrderbooks = missing(stockCodes, code -> latestOrderbookStore.get(code).isEmpty());
+
+        int quotes = 0;
+        for (int from = 0; from < missingQuotes.size(); from += warmupBatchSize) {
+            quotes += quoteDataService.warmLatestQuotes(
+                missingQuotes.subList(from, Math.min(from + warmupBatchSize, missingQuotes.size())));
+        }
+        int orderbooks = 0;
+        for (int from = 0; from < missingOrderbooks.size(); from += warmupBatchSize) {
+            orderbooks += orderbookDataService.warmLatestOrderbooks(
+                missingOrderbooks.subList(from, Math.min(from + warmupBatchSize, missingOrderbooks.size())));
+        }
+
+        log.info("Latest state warmed from database - Quotes: {}/{}, Orderbooks: {}/{}",
+            quotes, missingQuotes.size(), orderbooks, missingOrderbooks.size());
+    }
+
+    private static List<String> missing(List<String> stockCodes, Predicate<String> isMissing) {
+        return stockCodes.stream().filter(isMissing).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.dataprocessor.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.dataprocessor.dto.KisOrderbookMessage;
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.example.dataprocessor.service.DeadLetterPublisher;
+import org.example.dataprocessor.service.HotStockDetector;
+import org.example.dataprocessor.service.OrderbookDataService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 호가 메시지 처리 (파싱 -> 저장 -> 핫토픽 집계), 리스너 방식과 무관하게 재사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderbookMessageHandler {
+
+    private final OrderbookDataService orderbookDataService;
+    private final HotStockDetector hotStockDetector;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public void handle(String message) throws Exception {
+        Timer.Sample sample = Timer.start();
+
+        // JSON 메시지 파싱
+        KisOrderbookMessage orderbookMessage = parse(message);
+
+        // 데이터 처리 및 저장
+        save(List.of(orderbookMessage));
+
+        log.debug("Successfully processed orderbook message for stock: {}", orderbookMessage.getTrKey());
+        meterRegistry.counter("data_processor_messages_total", "type", "orderbook", "symbol", orderbookMessage.getTrKey()).increment();
+        sample.stop(Timer.builder("data_processor_processing_seconds")
+            .description("Orderbook message processing time")
+            .tag("type", "orderbook")
+            .tag("symbol", orderbookMessage.getTrKey())
+            .register(meterRegistry));
+    }
+
+    /**
+     * poll 한 번 분량을 한 번의 배치 INSERT로 저장 (파싱/검증 실패 건은 DLQ로 보내고 건너뜀)
+     */
+    public void handleBatch(List<ConsumerRecord<String, String>> records) {
+        Timer.Sample sample = Timer.start();
+
+        List<KisOrderbookMessage> orderbookMessages = new ArrayList<>(records.size());
+        Map<ConsumerRecord<String, String>, Exception> unparsable = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                orderbookMessages.add(parse(record.value()));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                log.error("Failed to parse orderbook message: {}", record.value(), e);
+                unparsable.put(record, e);
+            }
+        }
+
+        save(orderbookMessages);
+
+        // 저장이 실패하면 호출 측이 건별로 다시 처리하므로 DLQ 발행은 저장 성공 후에만
+        unparsable.forEach((record, e) -> {
+            meterRegistry.counter("data_processor_failures_total", "type", "orderbook").increment();
+            deadLetterPublisher.publish(record, e);
+        });
+
+        log.debug("Successfully processed {} orderbook messages", orderbookMessages.size());
+        for (KisOrderbookMessage orderbookMessage : orderbookMessages) {
+            meterRegistry.counter("data_processor_messages_total", "type", "orderbook", "symbol", orderbookMessage.getTrKey()).increment();
+        }
+        sample.stop(Timer.builder("data_processor_batch_processing_seconds")
+            .description("Orderbook batch processing time")
+            .tag("type", "orderbook")
+            .register(meterRegistry));
+    }
+
+    /**
+     * JSON 파싱 + 자연키 검증 (수집 순번이 없거나 숫자가 아니면 저장하지 않고 DLQ로)
+     */
+    private KisOrderbookMessage parse(String message) throws JsonProcessingException {
+        KisOrderbookMessage orderbookMessage = objectMapper.readValue(message, KisOrderbookMessage.class);
+        try {
+            orderbookMessage.getSequenceNumberAsLong();
+        } catch (IllegalArgumentException e) {
+            meterRegistry.counter("data_processor_rejected_messages_total", "type", "orderbook", "reason", "sequence_number").increment();
+            throw e;
+        }
+        return orderbookMessage;
+    }
+
+    private void save(List<KisOrderbookMessage> orderbookMessages) {
+        // 새로 저장된 호가만 핫토픽 메시지 수에 반영
+        for (LatestOrderbook savedOrderbook : orderbookDataService.processOrderbookMessages(orderbookMessages)) {
+            hotStockDetector.onOrderbook(savedOrderbook.getStockCode());
+        }
+    }
+}
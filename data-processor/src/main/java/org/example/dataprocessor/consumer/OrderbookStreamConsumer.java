@@ -1,70 +1,84 @@
 package org.example.dataprocessor.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.dataprocessor.dto.KisOrderbookMessage;
-import org.example.dataprocessor.service.OrderbookDataService;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.dataprocessor.service.DeadLetterPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.processing.parallel.enabled", havingValue = "false", matchIfMissing = true)
 public class OrderbookStreamConsumer {
     
-    private final OrderbookDataService orderbookDataService;
-    private final ObjectMapper objectMapper;
+    private final OrderbookMessageHandler orderbookMessageHandler;
+    private final DeadLetterPublisher deadLetterPublisher;
     private final MeterRegistry meterRegistry;
     
+    @Value("${app.dlq.infrastructure-backoff-ms:5000}")
+    private long infrastructureBackoffMillis;
+    
     @KafkaListener(
         topics = "${app.kafka.topics.orderbook-stream:orderbook-stream}",
         groupId = "${spring.kafka.consumer.group-id}",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consumeOrderbookMessage(
-        @Payload String message,
-        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-        @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-        @Header(KafkaHeaders.RECEIVED_KEY) String key,
-        @Header(KafkaHeaders.OFFSET) long offset,
-        Acknowledgment acknowledgment
-    ) {
-        Timer.Sample sample = Timer.start();
+    public void consumeOrderbookMessages(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        ConsumerRecord<String, String> first = records.get(0);
+        ConsumerRecord<String, String> last = records.get(records.size() - 1);
+        log.debug("Received {} orderbook messages - Topic: {}, Partition: {}, Offsets: {}-{}", 
+            records.size(), first.topic(), first.partition(), first.offset(), last.offset());
+        
+        // 격리 중인 종목은 처리 없이 바로 DLQ로
+        List<ConsumerRecord<String, String>> accepted = deadLetterPublisher.divertQuarantined(records);
         try {
-            log.debug("Received orderbook message - Topic: {}, Partition: {}, Key: {}, Offset: {}", 
-                topic, partition, key, offset);
-            
-            // JSON 메시지 파싱
-            KisOrderbookMessage orderbookMessage = objectMapper.readValue(message, KisOrderbookMessage.class);
-            
-            // 데이터 처리 및 저장
-            orderbookDataService.processOrderbookMessage(orderbookMessage);
-            
-            // 수동 커밋
-            acknowledgment.acknowledge();
-            
-            log.debug("Successfully processed orderbook message for stock: {}", orderbookMessage.getTrKey());
-            meterRegistry.counter("data_processor_messages_total", "type", "orderbook", "symbol", orderbookMessage.getTrKey()).increment();
-            sample.stop(Timer.builder("data_processor_processing_seconds")
-                .description("Orderbook message processing time")
-                .tag("type", "orderbook")
-                .tag("symbol", orderbookMessage.getTrKey())
-                .register(meterRegistry));
-            
+            // 재전송으로 겹친 메시지는 자연키 INSERT IGNORE가 흡수하므로 별도 중복 조회 없음
+            orderbookMessageHandler.handleBatch(accepted);
         } catch (Exception e) {
-            log.error("Error processing orderbook message - Topic: {}, Partition: {}, Key: {}, Offset: {}, Message: {}", 
-                topic, partition, key, offset, message, e);
-            
-            // 에러 발생 시에도 일단 acknowledge (DLQ 처리는 추후 구현)
-            acknowledgment.acknowledge();
-            meterRegistry.counter("data_processor_failures_total", "type", "orderbook").increment();
+            if (DeadLetterPublisher.isInfrastructureFailure(e) && !accepted.isEmpty()) {
+                backOff(records, accepted.get(0), acknowledgment, e);
+                return;
+            }
+            log.warn("Batch of {} orderbook messages failed, retrying one by one - Topic: {}, Partition: {}, Offsets: {}-{}", 
+                accepted.size(), first.topic(), first.partition(), first.offset(), last.offset(), e);
+            // 배치 트랜잭션은 통째로 롤백되므로 건별로 다시 처리해 실패 건만 DLQ로 보냄
+            for (ConsumerRecord<String, String> record : accepted) {
+                try {
+                    orderbookMessageHandler.handle(record.value());
+                } catch (Exception recordException) {
+                    if (DeadLetterPublisher.isInfrastructureFailure(recordException)) {
+                        backOff(records, record, acknowledgment, recordException);
+                        return;
+                    }
+                    log.error("Error processing orderbook message - Topic: {}, Partition: {}, Key: {}, Offset: {}", 
+                        record.topic(), record.partition(), record.key(), record.offset(), recordException);
+                    meterRegistry.counter("data_processor_failures_total", "type", "orderbook").increment();
+                    deadLetterPublisher.publish(record, recordException);
+                }
+            }
         }
+        
+        // 실패 건은 DLQ에 넘겼으므로 파티션을 막지 않고 수동 커밋
+        acknowledgment.acknowledge();
+    }
+    
+    /**
+     * DB 장애 등 인프라 실패 - 종목 격리/DLQ 없이 from 앞까지만 커밋하고, 컨슈머를 잠시 멈췄다가 from부터 다시 받음
+     */
+    private void backOff(List<ConsumerRecord<String, String>> records, ConsumerRecord<String, String> from,
+                         Acknowledgment acknowledgment, Exception e) {
+        log.warn("Infrastructure failure, redelivering orderbook messages in {} ms - Topic: {}, Partition: {}, Offset: {}", 
+            infrastructureBackoffMillis, from.topic(), from.partition(), from.offset(), e);
+        meterRegistry.counter("data_processor_infrastructure_backoffs_total", "type", "orderbook").increment();
+        acknowledgment.nack(records.indexOf(from), Duration.ofMillis(infrastructureBackoffMillis));
     }
 }
@@ -0,0 +1,193 @@
+package org.example.dataprocessor.consumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.example.dataprocessor.processing.KeyOrderedExecutor;
+import org.example.dataprocessor.processing.PartitionOffsetTracker;
+import org.example.dataprocessor.service.DeadLetterPublisher;
+import org.example.dataprocessor.service.HotStockDetector;
+import org.example.dataprocessor.service.MarketSummaryService;
+import org.example.dataprocessor.service.OrderbookDeltaEncoder;
+import org.example.dataprocessor.store.RollingCountStore;
+import org.example.dataprocessor.store.TickBufferStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시세/호가 배치를 종목 키 기준으로 워커 풀에 분배하는 컨슈머 (app.processing.parallel.enabled=true)
+ * 오프셋은 파티션별로 연속해서 완료된 지점까지만 컨슈머 스레드에서 커밋한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.processing.parallel.enabled", havingValue = "true")
+public class ParallelTickConsumer implements ConsumerAwareRebalanceListener {
+
+    private static final String LISTENER_ID = "parallelTickConsumer";
+
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final PartitionOffsetTracker partitionOffsetTracker;
+    private final QuoteMessageHandler quoteMessageHandler;
+    private final OrderbookMessageHandler orderbookMessageHandler;
+    private final TickBufferStore tickBufferStore;
+    private final OrderbookDeltaEncoder orderbookDeltaEncoder;
+    private final HotStockDetector hotStockDetector;
+    private final RollingCountStore rollingCountStore;
+    private final MarketSummaryService marketSummaryService;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.kafka.topics.quote-stream:quote-stream}")
+    private String quoteTopic;
+
+    @Value("${app.processing.parallel.revoke-drain-timeout-ms:10000}")
+    private long revokeDrainTimeoutMillis;
+
+    @Value("${app.processing.parallel.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMillis;
+
+    @Value("${app.dlq.infrastructure-backoff-ms:5000}")
+    private long infrastructureBackoffMillis;
+
+    @KafkaListener(
+        id = LISTENER_ID,
+        topics = {"${app.kafka.topics.quote-stream:quote-stream}", "${app.kafka.topics.orderbook-stream:orderbook-stream}"},
+        groupId = "${spring.kafka.consumer.group-id}",
+        containerFactory = "parallelKafkaListenerContainerFactory"
+    )
+    public void consume(List<ConsumerRecord<String, String>> records, Consumer<?, ?> consumer) throws InterruptedException {
+        for (ConsumerRecord<String, String> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            long generation = partitionOffsetTracker.dispatched(partition, record.offset());
+            keyOrderedExecutor.submit(record.key(), () -> process(record, partition, generation));
+        }
+        commitCompleted(consumer);
+    }
+
+    /**
+     * 새 레코드가 없을 때도 완료된 오프셋 커밋 (유휴 이벤트는 컨슈머 스레드에서 발행됨)
+     */
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (event.getListenerId().startsWith(LISTENER_ID) && event.getConsumer() != null) {
+            commitCompleted(event.getConsumer());
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // 회수되는 파티션의 진행 중 작업이 끝나길 기다린 뒤 마지막 워터마크 커밋 (시간 초과분은 새 소유자가 재처리)
+        long deadline = System.currentTimeMillis() + revokeDrainTimeoutMillis;
+        while (partitionOffsetTracker.inFlight(partitions) > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        int remaining = partitionOffsetTracker.inFlight(partitions);
+        if (remaining > 0) {
+            log.warn("Revoking partitions with {} records still in flight - Partitions: {}", remaining, partitions);
+        }
+        commit(consumer, partitionOffsetTracker.committable(partitions));
+        partitionOffsetTracker.forget(partitions);
+        tickBufferStore.onPartitionsRevokedAfterCommit(consumer, partitions);
+        orderbookDeltaEncoder.onPartitionsRevokedAfterCommit(consumer, partitions);
+        hotStockDetector.onPartitionsRevokedAfterCommit(consumer, partitions);
+        rollingCountStore.onPartitionsRevokedAfterCommit(consumer, partitions);
+        marketSummaryService.onPartitionsRevokedAfterCommit(consumer, partitions);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        keyOrderedExecutor.shutdown(shutdownTimeoutMillis);
+    }
+
+    private void process(ConsumerRecord<String, String> record, TopicPartition partition, long generation) {
+        boolean done = true;
+        try {
+            // 격리 중인 종목은 처리 없이 바로 DLQ로
+            if (deadLetterPublisher.divertIfQuarantined(record)) {
+                return;
+            }
+            handleWithBackoff(record, partition, generation);
+        } catch (InterruptedException e) {
+            // 재시도 대기 중 중단 - 완료 처리하지 않아 워터마크가 이 오프셋을 넘지 않음
+            Thread.currentThread().interrupt();
+            done = false;
+        } catch (Exception e) {
+            log.error("Error processing message - Topic: {}, Partition: {}, Key: {}, Offset: {}, Message: {}",
+                record.topic(), record.partition(), record.key(), record.offset(), record.value(), e);
+
+            // 실패 건은 DLQ에 넘기고 완료 처리 (워터마크가 막히지 않도록)
+            String type = quoteTopic.equals(record.topic()) ? "quote" : "orderbook";
+            meterRegistry.counter("data_processor_failures_total", "type", type).increment();
+            deadLetterPublisher.publish(record, e);
+        } finally {
+            if (done) {
+                partitionOffsetTracker.completed(partition, generation, record.offset());
+            }
+        }
+    }
+
+    /**
+     * DB 장애 등 인프라 실패는 DLQ로 보내지 않고 같은 워커에서 대기 후 재시도 (같은 키의 뒤 레코드도 순서대로 기다림)
+     * 그사이 파티션이 회수되면 새 소유자가 다시 처리하므로 그대로 중단
+     */
+    private void handleWithBackoff(ConsumerRecord<String, String> record, TopicPartition partition, long generation) throws Exception {
+        while (true) {
+            try {
+                if (quoteTopic.equals(record.topic())) {
+                    quoteMessageHandler.handle(record.value());
+                } else {
+                    orderbookMessageHandler.handle(record.value());
+                }
+                return;
+            } catch (Exception e) {
+                if (!DeadLetterPublisher.isInfrastructureFailure(e)) {
+                    throw e;
+                }
+                String type = quoteTopic.equals(record.topic()) ? "quote" : "orderbook";
+                log.warn("Infrastructure failure, retrying {} message in {} ms - Topic: {}, Partition: {}, Offset: {}",
+                    type, infrastructureBackoffMillis, record.topic(), record.partition(), record.offset(), e);
+                meterRegistry.counter("data_processor_infrastructure_backoffs_total", "type", type).increment();
+                Thread.sleep(infrastructureBackoffMillis);
+                if (!partitionOffsetTracker.isCurrent(partition, generation)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void commitCompleted(Consumer<?, ?> consumer) {
+        commit(consumer, partitionOffsetTracker.committable(consumer.assignment()));
+    }
+
+    private void commit(Consumer<?, ?> consumer, Map<TopicPartition, OffsetAndMetadata> offsets) {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        try {
+            consumer.commitSync(offsets);
+            partitionOffsetTracker.markCommitted(offsets);
+        } catch (Exception e) {
+            log.warn("Failed to commit offsets {}, will retry on next poll", offsets, e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.dataprocessor.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.dataprocessor.dto.KisQuoteMessage;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.service.CandleAggregationService;
+import org.example.dataprocessor.service.DeadLetterPublisher;
+import org.example.dataprocessor.service.HotStockDetector;
+import org.example.dataprocessor.service.MarketSummaryService;
+import org.example.dataprocessor.service.QuoteDataService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시세 메시지 처리 (파싱 -> 저장 -> 캔들/시장 순위/핫토픽 집계), 리스너 방식과 무관하게 재사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuoteMessageHandler {
+
+    private final QuoteDataService quoteDataService;
+    private final CandleAggregationService candleAggregationService;
+    private final MarketSummaryService marketSummaryService;
+    private final HotStockDetector hotStockDetector;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public void handle(String message) throws Exception {
+        Timer.Sample sample = Timer.start();
+
+        // JSON 메시지 파싱
+        KisQuoteMessage quoteMessage = parse(message);
+
+        // 데이터 처리 및 저장
+        save(List.of(quoteMessage));
+
+        log.debug("Successfully processed quote message for stock: {}", quoteMessage.getTrKey());
+        meterRegistry.counter("data_processor_messages_total", "type", "quote", "symbol", quoteMessage.getTrKey()).increment();
+        sample.stop(Timer.builder("data_processor_processing_seconds")
+            .description("Quote message processing time")
+            .tag("type", "quote")
+            .tag("symbol", quoteMessage.getTrKey())
+            .register(meterRegistry));
+    }
+
+    /**
+     * poll 한 번 분량을 한 번의 배치 INSERT로 저장 (파싱/검증 실패 건은 DLQ로 보내고 건너뜀)
+     */
+    public void handleBatch(List<ConsumerRecord<String, String>> records) {
+        Timer.Sample sample = Timer.start();
+
+        List<KisQuoteMessage> quoteMessages = new ArrayList<>(records.size());
+        Map<ConsumerRecord<String, String>, Exception> unparsable = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                quoteMessages.add(parse(record.value()));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                log.error("Failed to parse quote message: {}", record.value(), e);
+                unparsable.put(record, e);
+            }
+        }
+
+        save(quoteMessages);
+
+        // 저장이 실패하면 호출 측이 건별로 다시 처리하므로 DLQ 발행은 저장 성공 후에만
+        unparsable.forEach((record, e) -> {
+            meterRegistry.counter("data_processor_failures_total", "type", "quote").increment();
+            deadLetterPublisher.publish(record, e);
+        });
+
+        log.debug("Successfully processed {} quote messages", quoteMessages.size());
+        for (KisQuoteMessage quoteMessage : quoteMessages) {
+            meterRegistry.counter("data_processor_messages_total", "type", "quote", "symbol", quoteMessage.getTrKey()).increment();
+        }
+        sample.stop(Timer.builder("data_processor_batch_processing_seconds")
+            .description("Quote batch processing time")
+            .tag("type", "quote")
+            .register(meterRegistry));
+    }
+
+    /**
+     * JSON 파싱 + 자연키 검증 (수집 순번이 없거나 숫자가 아니면 저장하지 않고 DLQ로)
+     */
+    private KisQuoteMessage parse(String message) throws JsonProcessingException {
+        KisQuoteMessage quoteMessage = objectMapper.readValue(message, KisQuoteMessage.class);
+        try {
+            quoteMessage.getSequenceNumberAsLong();
+        } catch (IllegalArgumentException e) {
+            meterRegistry.counter("data_processor_rejected_messages_total", "type", "quote", "reason", "sequence_number").increment();
+            throw e;
+        }
+        return quoteMessage;
+    }
+
+    private void save(List<KisQuoteMessage> quoteMessages) {
+        // 재전송 중복은 저장 단계에서 걸러지므로 새로 저장된 체결만 캔들/시장 순위/핫토픽에 반영
+        for (LatestQuote savedQuote : quoteDataService.processQuoteMessages(quoteMessages)) {
+            candleAggregationService.onQuote(savedQuote);
+            marketSummaryService.onQuote(savedQuote);
+            hotStockDetector.onQuote(savedQuote);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.dataprocessor.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.ArchivedTick;
+import org.example.dataprocessor.dto.CandleBar;
+import org.example.dataprocessor.entity.type.CandleInterval;
+import org.example.dataprocessor.service.TickArchiveService;
+import org.example.dataprocessor.service.TickRetentionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/data-processor/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private static final int MAX_TICK_LIMIT = 100000;
+
+    private final TickArchiveService tickArchiveService;
+    private final TickRetentionService tickRetentionService;
+
+    @GetMapping("/{stockCode}/ticks")
+    public ResponseEntity<List<ArchivedTick>> getTicks(
+        @PathVariable String stockCode,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "10000") int limit
+    ) {
+        if (!from.isBefore(to) || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tickArchiveService.getTicks(stockCode, from, to, Math.min(limit, MAX_TICK_LIMIT)));
+    }
+
+    @GetMapping("/{stockCode}/bars")
+    public ResponseEntity<List<CandleBar>> getBars(
+        @PathVariable String stockCode,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "1m") String interval
+    ) {
+        Optional<CandleInterval> candleInterval = CandleInterval.fromCode(interval);
+        if (candleInterval.isEmpty() || !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tickArchiveService.getBars(stockCode, from, to, candleInterval.get()));
+    }
+
+    @PostMapping("/roll")
+    public ResponseEntity<Map<String, Object>> archiveDay(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("date", date);
+        try {
+            response.put("archivedRows", tickArchiveService.archiveDay(date));
+            response.put("status", "success");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            log.error("Error archiving trading day: {}", date, e);
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    /**
+     * 보존 기한이 지난 거래일 원본 체결을 분봉/일봉으로 남기고 삭제
+     */
+    @PostMapping("/downsample")
+    public ResponseEntity<Map<String, Object>> downsampleDay(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("date", date);
+        try {
+            response.put("completed", tickRetentionService.downsampleDay(date));
+            response.put("status", "success");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            log.error("Error downsampling trading day: {}", date, e);
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.dataprocessor.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.CandleBar;
+import org.example.dataprocessor.entity.type.CandleInterval;
+import org.example.dataprocessor.service.CandleAggregationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/data-processor/candles")
+@RequiredArgsConstructor
+public class CandleController {
+
+    private static final int MAX_LIMIT = 2000;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final CandleAggregationService candleAggregationService;
+
+    @GetMapping("/{stockCode}")
+    public ResponseEntity<List<CandleBar>> getCandles(
+        @PathVariable String stockCode,
+        @RequestParam(defaultValue = "1m") String interval,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "200") int limit
+    ) {
+        Optional<CandleInterval> candleInterval = CandleInterval.fromCode(interval);
+        if (candleInterval.isEmpty() || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LocalDateTime toTime = to != null ? to : LocalDateTime.now().plusDays(1);
+        LocalDateTime fromTime = from != null ? from : EARLIEST;
+        List<CandleBar> candles = candleAggregationService.getCandles(
+            stockCode, candleInterval.get(), fromTime, toTime, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(candles);
+    }
+
+    @PostMapping("/{stockCode}/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildCandles(
+        @PathVariable String stockCode,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("stockCode", stockCode);
+        try {
+            int bars = candleAggregationService.rebuildFromQuoteData(stockCode, from, to);
+            response.put("status", "success");
+            response.put("rebuiltBars", bars);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            log.error("Error rebuilding candles for stock: {}", stockCode, e);
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+}
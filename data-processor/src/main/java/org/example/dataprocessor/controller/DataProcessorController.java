@@ -2,11 +2,20 @@ package org.example.dataprocessor.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.dataprocessor.entity.QuoteData;
-import org.example.dataprocessor.entity.Orderbook;
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.dto.StockStats;
+import org.example.dataprocessor.dto.TickCursor;
+import org.example.dataprocessor.dto.TickPage;
 import org.example.dataprocessor.service.QuoteDataService;
 import org.example.dataprocessor.service.OrderbookDataService;
+import org.example.dataprocessor.service.StockStatsService;
+import org.example.dataprocessor.store.LatestOrderbookStore;
+import org.example.dataprocessor.store.LatestQuoteStore;
+import org.example.dataprocessor.store.SymbolRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +34,16 @@ public class DataProcessorController {
     private final QuoteDataService quoteDataService;
     private final OrderbookDataService orderbookDataService;
     private final CacheManager cacheManager;
+    private final SymbolRegistry symbolRegistry;
+    private final LatestQuoteStore latestQuoteStore;
+    private final LatestOrderbookStore latestOrderbookStore;
+    private final StockStatsService stockStatsService;
+    
+    @Value("${app.stats.max-bulk-symbols:200}")
+    private int maxBulkSymbols;
+    
+    @Value("${app.recent-history.max-page-size:1000}")
+    private int maxRecentPageSize;
     
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
@@ -32,62 +51,109 @@ public class DataProcessorController {
         health.put("status", "UP");
         health.put("timestamp", LocalDateTime.now());
         
-        // 캐시 통계
-        Map<String, Object> cacheStats = new HashMap<>();
-        if (cacheManager.getCache("latestQuotes") != null) {
-            cacheStats.put("latestQuotes", "available");
-        }
-        if (cacheManager.getCache("latestOrderbooks") != null) {
-            cacheStats.put("latestOrderbooks", "available");
-        }
-        health.put("cache", cacheStats);
+        // 최신 상태 저장소 통계
+        Map<String, Object> latestState = new HashMap<>();
+        latestState.put("registeredSymbols", symbolRegistry.size());
+        latestState.put("capacity", symbolRegistry.capacity());
+        latestState.put("quotes", latestQuoteStore.size());
+        latestState.put("orderbooks", latestOrderbookStore.size());
+        health.put("latestState", latestState);
         
         return ResponseEntity.ok(health);
     }
     
     @GetMapping("/quotes/{stockCode}/latest")
-    public ResponseEntity<QuoteData> getLatestQuote(@PathVariable String stockCode) {
-        Optional<QuoteData> latestQuote = quoteDataService.getLatestQuoteData(stockCode);
+    public ResponseEntity<LatestQuote> getLatestQuote(@PathVariable String stockCode) {
+        Optional<LatestQuote> latestQuote = quoteDataService.getLatestQuote(stockCode);
         return latestQuote.map(ResponseEntity::ok)
                          .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * 최근 체결 (최신순 keyset 페이지, 이전 응답의 next_cursor로 이어받기)
+     */
     @GetMapping("/quotes/{stockCode}")
-    public ResponseEntity<List<QuoteData>> getRecentQuotes(
+    public ResponseEntity<TickPage<LatestQuote>> getRecentQuotes(
         @PathVariable String stockCode,
-        @RequestParam(defaultValue = "10") int limit
+        @RequestParam(defaultValue = "10") int limit,
+        @RequestParam(required = false) String cursor
     ) {
-        List<QuoteData> quotes = quoteDataService.getRecentQuoteData(stockCode, limit);
-        return ResponseEntity.ok(quotes);
+        Optional<TickCursor> pageCursor = decodeCursor(cursor);
+        if (limit <= 0 || (cursor != null && pageCursor.isEmpty())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(quoteDataService.getRecentQuotePage(
+            stockCode, pageCursor.orElse(null), Math.min(limit, maxRecentPageSize)));
     }
     
     @GetMapping("/orderbooks/{stockCode}/latest")
-    public ResponseEntity<Orderbook> getLatestOrderbook(@PathVariable String stockCode) {
-        Optional<Orderbook> latestOrderbook = orderbookDataService.getLatestOrderbook(stockCode);
+    public ResponseEntity<LatestOrderbook> getLatestOrderbook(@PathVariable String stockCode) {
+        Optional<LatestOrderbook> latestOrderbook = orderbookDataService.getLatestOrderbook(stockCode);
         return latestOrderbook.map(ResponseEntity::ok)
                              .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * 특정 시점의 호가 복원 (키프레임 + 델타 재생)
+     */
+    @GetMapping("/orderbooks/{stockCode}/at")
+    public ResponseEntity<LatestOrderbook> getOrderbookAt(
+        @PathVariable String stockCode,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time
+    ) {
+        Optional<LatestOrderbook> orderbook = orderbookDataService.getOrderbookAt(stockCode, time);
+        return orderbook.map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * 최근 호가 (최신순 keyset 페이지, 이전 응답의 next_cursor로 이어받기)
+     */
     @GetMapping("/orderbooks/{stockCode}")
-    public ResponseEntity<List<Orderbook>> getRecentOrderbooks(
+    public ResponseEntity<TickPage<LatestOrderbook>> getRecentOrderbooks(
         @PathVariable String stockCode,
-        @RequestParam(defaultValue = "5") int limit
+        @RequestParam(defaultValue = "5") int limit,
+        @RequestParam(required = false) String cursor
     ) {
-        List<Orderbook> orderbooks = orderbookDataService.getRecentOrderbooks(stockCode, limit);
-        return ResponseEntity.ok(orderbooks);
+        Optional<TickCursor> pageCursor = decodeCursor(cursor);
+        if (limit <= 0 || (cursor != null && pageCursor.isEmpty())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderbookDataService.getRecentOrderbookPage(
+            stockCode, pageCursor.orElse(null), Math.min(limit, maxRecentPageSize)));
     }
     
+    /**
+     * 최근 window초 구간 건수 (기본 1시간) - 메모리 롤링 카운터 우선, 덮지 못하는 구간은 DB 조회
+     */
     @GetMapping("/stats/{stockCode}")
-    public ResponseEntity<Map<String, Object>> getStockStats(@PathVariable String stockCode) {
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-        
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("stockCode", stockCode);
-        stats.put("quoteCount", quoteDataService.getQuoteCount(stockCode, oneHourAgo));
-        stats.put("orderbookCount", orderbookDataService.getOrderbookCount(stockCode, oneHourAgo));
-        stats.put("timeRange", "last 1 hour");
-        
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<StockStats> getStockStats(
+        @PathVariable String stockCode,
+        @RequestParam(defaultValue = "3600") long window
+    ) {
+        if (window <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(stockStatsService.getStats(stockCode, window));
+    }
+    
+    /**
+     * 여러 종목 구간 건수 일괄 조회 (symbols=005930,000660)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<StockStats>> getBulkStockStats(
+        @RequestParam List<String> symbols,
+        @RequestParam(defaultValue = "3600") long window
+    ) {
+        List<String> stockCodes = symbols.stream()
+            .map(String::trim)
+            .filter(symbol -> !symbol.isEmpty())
+            .distinct()
+            .toList();
+        if (window <= 0 || stockCodes.isEmpty() || stockCodes.size() > maxBulkSymbols) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(stockStatsService.getStats(stockCodes, window));
     }
     
     @GetMapping("/cache/clear")
@@ -113,5 +179,16 @@ public class DataProcessorController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
+    
+    private static Optional<TickCursor> decodeCursor(String cursor) {
+        if (cursor == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(TickCursor.decode(cursor));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected recent history request with invalid cursor: {}", cursor);
+            return Optional.empty();
+        }
+    }
 }
-
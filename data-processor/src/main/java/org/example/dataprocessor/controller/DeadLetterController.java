@@ -0,0 +1,74 @@
+package org.example.dataprocessor.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dataprocessor.dto.DeadLetterReplayStatus;
+import org.example.dataprocessor.service.DeadLetterReplayService;
+import org.example.dataprocessor.store.FailureQuarantine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/data-processor/dlq")
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+    private final FailureQuarantine failureQuarantine;
+
+    @Value("${app.kafka.topics.quote-stream:quote-stream}")
+    private String quoteTopic;
+
+    @Value("${app.kafka.topics.orderbook-stream:orderbook-stream}")
+    private String orderbookTopic;
+
+    /**
+     * 원본 토픽의 DLQ를 원본 토픽으로 재처리 (topic: quote-stream, orderbook-stream)
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<DeadLetterReplayStatus> startReplay(
+        @RequestParam String topic,
+        @RequestParam(defaultValue = "10000") long maxRecords,
+        @RequestParam(defaultValue = "0") int ratePerSecond
+    ) {
+        if ((!quoteTopic.equals(topic) && !orderbookTopic.equals(topic)) || maxRecords <= 0 || ratePerSecond < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<DeadLetterReplayStatus> started = deadLetterReplayService.start(topic, maxRecords, ratePerSecond);
+        if (started.isEmpty()) {
+            // 이미 재처리 중
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(deadLetterReplayService.status().orElse(null));
+        }
+        return ResponseEntity.accepted().body(started.get());
+    }
+
+    @GetMapping("/replay")
+    public ResponseEntity<DeadLetterReplayStatus> getReplayStatus() {
+        return deadLetterReplayService.status()
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/replay/stop")
+    public ResponseEntity<Void> stopReplay() {
+        return deadLetterReplayService.stop() ? ResponseEntity.accepted().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 격리 중인 종목 -> 실패 유형
+     */
+    @GetMapping("/quarantine")
+    public ResponseEntity<Map<String, String>> getQuarantine() {
+        return ResponseEntity.ok(failureQuarantine.snapshot());
+    }
+
+    @DeleteMapping("/quarantine/{stockCode}")
+    public ResponseEntity<Void> releaseQuarantine(@PathVariable String stockCode) {
+        failureQuarantine.release(stockCode);
+        return ResponseEntity.noContent().build();
+    }
+}
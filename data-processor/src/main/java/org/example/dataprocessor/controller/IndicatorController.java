@@ -0,0 +1,25 @@
+package org.example.dataprocessor.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dataprocessor.dto.IndicatorSnapshot;
+import org.example.dataprocessor.service.TechnicalIndicatorService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/data-processor/indicators")
+@RequiredArgsConstructor
+public class IndicatorController {
+
+    private final TechnicalIndicatorService technicalIndicatorService;
+
+    @GetMapping("/{stockCode}")
+    public ResponseEntity<IndicatorSnapshot> getIndicators(@PathVariable String stockCode) {
+        return technicalIndicatorService.getSnapshot(stockCode)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
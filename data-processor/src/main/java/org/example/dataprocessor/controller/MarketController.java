@@ -0,0 +1,35 @@
+package org.example.dataprocessor.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dataprocessor.dto.MarketTop;
+import org.example.dataprocessor.service.MarketSummaryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/data-processor/market")
+@RequiredArgsConstructor
+public class MarketController {
+
+    private final MarketSummaryService marketSummaryService;
+
+    /**
+     * 지표별 상위 종목 (metric: gainers, losers, volume, turnover, active) - 이 인스턴스가 맡은 파티션의 종목만 포함
+     */
+    @GetMapping("/top")
+    public ResponseEntity<MarketTop> getTop(
+        @RequestParam(defaultValue = "gainers") String metric,
+        @RequestParam(defaultValue = "10") int k
+    ) {
+        Optional<MarketSummaryService.Metric> marketMetric = MarketSummaryService.Metric.fromCode(metric);
+        if (marketMetric.isEmpty() || k <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(marketSummaryService.top(marketMetric.get(), k));
+    }
+}
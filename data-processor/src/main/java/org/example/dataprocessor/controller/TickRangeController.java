@@ -0,0 +1,86 @@
+package org.example.dataprocessor.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.TickCursor;
+import org.example.dataprocessor.service.TickRangeStreamService;
+import org.example.dataprocessor.service.TickRangeStreamService.Format;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 대용량 기간 조회 (NDJSON/CSV 스트리밍, keyset 이어받기)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/data-processor")
+@RequiredArgsConstructor
+public class TickRangeController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final TickRangeStreamService tickRangeStreamService;
+
+    @Value("${app.range-stream.max-page-size:100000}")
+    private int maxPageSize;
+
+    @GetMapping("/quotes/{stockCode}/range")
+    public ResponseEntity<StreamingResponseBody> streamQuotes(
+        @PathVariable String stockCode,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return stream(format, from, to, cursor, limit, (rangeFormat, rangeCursor, pageSize) -> out ->
+            tickRangeStreamService.streamQuotes(stockCode, from, to, rangeCursor, pageSize, rangeFormat, out));
+    }
+
+    @GetMapping("/orderbooks/{stockCode}/range")
+    public ResponseEntity<StreamingResponseBody> streamOrderbooks(
+        @PathVariable String stockCode,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "ndjson") String format,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return stream(format, from, to, cursor, limit, (rangeFormat, rangeCursor, pageSize) -> out ->
+            tickRangeStreamService.streamOrderbooks(stockCode, from, to, rangeCursor, pageSize, rangeFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String format, LocalDateTime from, LocalDateTime to,
+                                                         String cursor, Integer limit, BodyFactory bodyFactory) {
+        Optional<Format> rangeFormat = Format.fromCode(format);
+        if (rangeFormat.isEmpty() || !from.isBefore(to) || (limit != null && limit <= 0)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TickCursor rangeCursor;
+        try {
+            rangeCursor = cursor != null ? TickCursor.decode(cursor) : TickCursor.startOf(from);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected range request with invalid cursor: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+
+        int pageSize = limit != null ? Math.min(limit, maxPageSize) : maxPageSize;
+        return ResponseEntity.ok()
+            .contentType(rangeFormat.get() == Format.CSV ? CSV : NDJSON)
+            .body(bodyFactory.create(rangeFormat.get(), rangeCursor, pageSize));
+    }
+
+    @FunctionalInterface
+    private interface BodyFactory {
+        StreamingResponseBody create(Format format, TickCursor cursor, int pageSize);
+    }
+}
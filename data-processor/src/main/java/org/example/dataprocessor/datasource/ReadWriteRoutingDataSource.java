@@ -0,0 +1,37 @@
+package org.example.dataprocessor.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 그 외(수집 쓰기, 트랜잭션 밖 호출)는 primary로 라우팅
+ * 트랜잭션 속성이 정해진 뒤 커넥션을 얻도록 LazyConnectionDataSourceProxy로 감싸서 사용
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.primaryRoutes = meterRegistry.counter("data_processor_datasource_routes_total", "target", "primary");
+        this.replicaRoutes = meterRegistry.counter("data_processor_datasource_routes_total", "target", "replica");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagMonitor.isReplicaUsable()) {
+            replicaRoutes.increment();
+            return Target.REPLICA;
+        }
+        primaryRoutes.increment();
+        return Target.PRIMARY;
+    }
+}
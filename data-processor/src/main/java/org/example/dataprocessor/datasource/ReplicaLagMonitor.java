@@ -0,0 +1,84 @@
+package org.example.dataprocessor.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽기 복제본 지연 감시 - 지연이 임계값을 넘거나 복제가 멈추면 조회도 primary로 보냄
+ * 복제 상태가 비어 있는(복제 설정이 없는) 단독 인스턴스는 빈 DB일 수 있으므로 allow-standalone을 켠 경우에만 사용한다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagSeconds;
+    private final boolean allowStandalone;
+
+    // 첫 점검 전까지는 primary 사용
+    private volatile boolean replicaUsable = false;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagSeconds, boolean allowStandalone,
+                             MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLagSeconds;
+        this.allowStandalone = allowStandalone;
+        Gauge.builder("data_processor_replica_lag_seconds", this, monitor -> monitor.lagSeconds)
+            .description("Read replica lag (-1 = unknown or replication stopped)")
+            .register(meterRegistry);
+        Gauge.builder("data_processor_replica_usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+            .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        long lag;
+        try {
+            List<Map<String, Object>> status = replicaJdbcTemplate.queryForList("SHOW REPLICA STATUS");
+            if (status.isEmpty()) {
+                // 복제 설정이 없는 단독 인스턴스 - 명시적으로 허용한 경우(읽기 전용 사본을 직접 채우는 경우)만 사용
+                lag = allowStandalone ? 0 : -1;
+            } else if (!isRunning(status.get(0), "Replica_IO_Running") || !isRunning(status.get(0), "Replica_SQL_Running")) {
+                // 복제 스레드가 멈춤 (Seconds_Behind_Source가 마지막 값으로 남아 있을 수 있음)
+                lag = -1;
+            } else {
+                Object secondsBehind = status.get(0).get("Seconds_Behind_Source");
+                lag = secondsBehind instanceof Number number ? number.longValue() : -1;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to check replica status: {}", e.getMessage());
+            lag = -1;
+        }
+
+        boolean usable = lag >= 0 && lag <= maxLagSeconds;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica available - Lag: {}s", lag);
+            } else {
+                log.warn("Read replica degraded, routing reads to primary - Lag: {}s, Max: {}s", lag, maxLagSeconds);
+            }
+        }
+        lagSeconds = lag;
+        replicaUsable = usable;
+    }
+
+    private static boolean isRunning(Map<String, Object> status, String column) {
+        return "Yes".equalsIgnoreCase(String.valueOf(status.get(column)));
+    }
+}
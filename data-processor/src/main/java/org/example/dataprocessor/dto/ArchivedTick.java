@@ -0,0 +1,27 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTick {
+
+    @JsonProperty("trade_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
+    private LocalDateTime tradeTime;
+
+    @JsonProperty("price")
+    private double price;
+
+    @JsonProperty("volume")
+    private long volume;
+}
@@ -0,0 +1,55 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CandleBar {
+
+    @JsonProperty("stock_code")
+    private String stockCode;
+
+    @JsonProperty("interval")
+    private String interval;
+
+    @JsonProperty("open_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime openTime;
+
+    @JsonProperty("open")
+    private double open;
+
+    @JsonProperty("high")
+    private double high;
+
+    @JsonProperty("low")
+    private double low;
+
+    @JsonProperty("close")
+    private double close;
+
+    @JsonProperty("volume")
+    private long volume;
+
+    @JsonProperty("turnover")
+    private double turnover;
+
+    @JsonProperty("vwap")
+    private double vwap;
+
+    @JsonProperty("trade_count")
+    private int tradeCount;
+
+    // 아직 마감되지 않은 봉 여부
+    @JsonProperty("closed")
+    private boolean closed;
+}
@@ -0,0 +1,47 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * DLQ 재처리(replay) 진행 상태
+ */
+@Value
+@Builder
+public class DeadLetterReplayStatus {
+
+    @JsonProperty("dlq_topic")
+    String dlqTopic;
+
+    @JsonProperty("state")
+    String state;
+
+    @JsonProperty("started_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
+    LocalDateTime startedAt;
+
+    @JsonProperty("finished_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
+    LocalDateTime finishedAt;
+
+    @JsonProperty("max_records")
+    long maxRecords;
+
+    @JsonProperty("rate_per_second")
+    int ratePerSecond;
+
+    // 원본 토픽으로 다시 보낸 건수
+    @JsonProperty("replayed")
+    long replayed;
+
+    // 재처리 횟수 상한을 넘어 건너뛴 건수
+    @JsonProperty("skipped")
+    long skipped;
+
+    @JsonProperty("error")
+    String error;
+}
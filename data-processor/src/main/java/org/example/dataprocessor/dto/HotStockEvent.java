@@ -0,0 +1,37 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+import org.example.dataprocessor.entity.type.StockReasonType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 핫토픽 지정/해제 이벤트 (hot-stocks 압축 토픽, 키 = 종목코드)
+ */
+@Value
+@Builder
+public class HotStockEvent {
+
+    @JsonProperty("stock_code")
+    String stockCode;
+
+    @JsonProperty("hot")
+    boolean hot;
+
+    @JsonProperty("reason")
+    StockReasonType reason;
+
+    @JsonProperty("score")
+    double score;
+
+    @JsonProperty("designated_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime designatedAt;
+
+    @JsonProperty("changed_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime changedAt;
+}
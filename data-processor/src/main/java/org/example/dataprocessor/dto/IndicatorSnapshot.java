@@ -0,0 +1,74 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 종목별 기술적 지표 스냅샷 (봉 마감 시점마다 새로 생성, 발행 후 변경하지 않음)
+ * 아직 계산에 필요한 봉 수가 모자란 지표는 null
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IndicatorSnapshot {
+
+    @JsonProperty("stock_code")
+    private String stockCode;
+
+    @JsonProperty("interval")
+    private String interval;
+
+    // 마지막으로 마감된 봉의 시작 시각
+    @JsonProperty("bar_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime barTime;
+
+    @JsonProperty("bar_count")
+    private long barCount;
+
+    @JsonProperty("close")
+    private Double close;
+
+    @JsonProperty("last_price")
+    private Double lastPrice;
+
+    // 당일(KST) 누적 VWAP - 틱 단위 갱신
+    @JsonProperty("vwap")
+    private Double vwap;
+
+    // 기간 -> 값
+    @JsonProperty("sma")
+    private Map<Integer, Double> sma;
+
+    @JsonProperty("ema")
+    private Map<Integer, Double> ema;
+
+    @JsonProperty("rsi")
+    private Double rsi;
+
+    @JsonProperty("bollinger_upper")
+    private Double bollingerUpper;
+
+    @JsonProperty("bollinger_middle")
+    private Double bollingerMiddle;
+
+    @JsonProperty("bollinger_lower")
+    private Double bollingerLower;
+
+    @JsonProperty("atr")
+    private Double atr;
+
+    @JsonProperty("updated_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
+    private LocalDateTime updatedAt;
+}
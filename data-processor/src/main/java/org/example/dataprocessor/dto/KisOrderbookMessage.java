@@ -49,8 +49,12 @@ public class KisOrderbookMessage {
     private String totalAskVolume;
     
     // 편의 메서드들
-    public Long getSequenceNumberAsLong() {
-        return sequenceNumber != null ? Long.parseLong(sequenceNumber) : 0L;
+    // 자연키(종목, 시각, 수집 순번)의 일부 - 없을 때 상수로 채우면 같은 초의 다른 틱이 중복으로 버려지므로 거부
+    public long getSequenceNumberAsLong() {
+        if (sequenceNumber == null || sequenceNumber.isBlank()) {
+            throw new IllegalArgumentException("Missing sequence_number for stock: " + trKey);
+        }
+        return Long.parseLong(sequenceNumber.trim());
     }
     
     public Long getTotalBidVolumeAsLong() {
@@ -5,8 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
+import org.example.dataprocessor.util.FixedPoint;
 
 @Data
 @NoArgsConstructor
@@ -23,6 +22,13 @@ public class KisQuoteMessage {
     @JsonProperty("timestamp")
     private String timestamp;
     
+    // 영업일자 (yyyyMMdd) - 자정 이후 재처리되는 틱의 날짜 판단용
+    @JsonProperty("business_date")
+    private String businessDate;
+    
+    @JsonProperty("sequence_number")
+    private String sequenceNumber;
+    
     @JsonProperty("price")
     private String price;
     
@@ -44,33 +50,41 @@ public class KisQuoteMessage {
     @JsonProperty("open_price")
     private String openPrice;
     
-    // 편의 메서드들
-    public BigDecimal getPriceAsBigDecimal() {
-        return price != null ? new BigDecimal(price) : BigDecimal.ZERO;
+    // 편의 메서드들 (가격은 x100, 등락률은 x10000 고정소수점)
+    // 자연키(종목, 시각, 수집 순번)의 일부 - 없을 때 상수로 채우면 같은 초의 다른 틱이 중복으로 버려지므로 거부
+    public long getSequenceNumberAsLong() {
+        if (sequenceNumber == null || sequenceNumber.isBlank()) {
+            throw new IllegalArgumentException("Missing sequence_number for stock: " + trKey);
+        }
+        return Long.parseLong(sequenceNumber.trim());
+    }
+    
+    public long getPriceScaled() {
+        return FixedPoint.parsePrice(price);
     }
     
     public Long getVolumeAsLong() {
         return volume != null ? Long.parseLong(volume) : 0L;
     }
     
-    public BigDecimal getChangeAmountAsBigDecimal() {
-        return changeAmount != null ? new BigDecimal(changeAmount) : BigDecimal.ZERO;
+    public long getChangeAmountScaled() {
+        return FixedPoint.parsePrice(changeAmount);
     }
     
-    public BigDecimal getChangeRateAsBigDecimal() {
-        return changeRate != null ? new BigDecimal(changeRate) : BigDecimal.ZERO;
+    public long getChangeRateScaled() {
+        return FixedPoint.parseRate(changeRate);
     }
     
-    public BigDecimal getHighPriceAsBigDecimal() {
-        return highPrice != null ? new BigDecimal(highPrice) : BigDecimal.ZERO;
+    public long getHighPriceScaled() {
+        return FixedPoint.parsePrice(highPrice);
     }
     
-    public BigDecimal getLowPriceAsBigDecimal() {
-        return lowPrice != null ? new BigDecimal(lowPrice) : BigDecimal.ZERO;
+    public long getLowPriceScaled() {
+        return FixedPoint.parsePrice(lowPrice);
     }
     
-    public BigDecimal getOpenPriceAsBigDecimal() {
-        return openPrice != null ? new BigDecimal(openPrice) : BigDecimal.ZERO;
+    public long getOpenPriceScaled() {
+        return FixedPoint.parsePrice(openPrice);
     }
 }
 
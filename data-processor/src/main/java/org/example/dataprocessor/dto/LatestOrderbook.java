@@ -0,0 +1,114 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.example.dataprocessor.entity.Orderbook;
+import org.example.dataprocessor.entity.OrderbookLevel;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 종목별 최신 호가 스냅샷 (불변, 단계별 가격/잔량은 원시 배열 - 발행 후 수정 금지)
+ * 배열 인덱스 0이 1호가
+ */
+@Value
+@Builder
+@Jacksonized
+public class LatestOrderbook {
+
+    @JsonProperty("stock_code")
+    String stockCode;
+
+    @JsonProperty("quote_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSSSS")
+    LocalDateTime quoteTime;
+
+    @JsonProperty("sequence_number")
+    long sequenceNumber;
+
+    @JsonProperty("total_bid_volume")
+    long totalBidVolume;
+
+    @JsonProperty("total_ask_volume")
+    long totalAskVolume;
+
+    @JsonProperty("bid_prices")
+    double[] bidPrices;
+
+    @JsonProperty("bid_volumes")
+    long[] bidVolumes;
+
+    @JsonProperty("ask_prices")
+    double[] askPrices;
+
+    @JsonProperty("ask_volumes")
+    long[] askVolumes;
+
+    /**
+     * 호가 마스터 + 단계 목록으로 스냅샷 생성 (단계는 영속성 컨텍스트 밖에서도 쓸 수 있도록 값으로 복사)
+     */
+    public static LatestOrderbook from(Orderbook orderbook, List<OrderbookLevel> levels) {
+        int bidDepth = 0;
+        int askDepth = 0;
+        for (OrderbookLevel level : levels) {
+            if (level.getOrderType() == OrderbookLevel.OrderType.BID) {
+                bidDepth = Math.max(bidDepth, level.getPriceLevel());
+            } else {
+                askDepth = Math.max(askDepth, level.getPriceLevel());
+            }
+        }
+
+        double[] bidPrices = new double[bidDepth];
+        long[] bidVolumes = new long[bidDepth];
+        double[] askPrices = new double[askDepth];
+        long[] askVolumes = new long[askDepth];
+        for (OrderbookLevel level : levels) {
+            int index = level.getPriceLevel() - 1;
+            if (level.getOrderType() == OrderbookLevel.OrderType.BID) {
+                bidPrices[index] = level.getPrice().doubleValue();
+                bidVolumes[index] = level.getVolume();
+            } else {
+                askPrices[index] = level.getPrice().doubleValue();
+                askVolumes[index] = level.getVolume();
+            }
+        }
+
+        // 복원한 호가(사라진 단계는 0 행)와 같은 모양이 되도록 뒤쪽 빈 단계는 뺌
+        int bidFilled = filledDepth(bidPrices, bidVolumes);
+        int askFilled = filledDepth(askPrices, askVolumes);
+        return LatestOrderbook.builder()
+            .stockCode(orderbook.getStockCode())
+            .quoteTime(orderbook.getQuoteTime())
+            .sequenceNumber(orderbook.getSequenceNumber() != null ? orderbook.getSequenceNumber() : 0L)
+            .totalBidVolume(orderbook.getTotalBidVolume() != null ? orderbook.getTotalBidVolume() : 0L)
+            .totalAskVolume(orderbook.getTotalAskVolume() != null ? orderbook.getTotalAskVolume() : 0L)
+            .bidPrices(bidFilled < bidDepth ? Arrays.copyOf(bidPrices, bidFilled) : bidPrices)
+            .bidVolumes(bidFilled < bidDepth ? Arrays.copyOf(bidVolumes, bidFilled) : bidVolumes)
+            .askPrices(askFilled < askDepth ? Arrays.copyOf(askPrices, askFilled) : askPrices)
+            .askVolumes(askFilled < askDepth ? Arrays.copyOf(askVolumes, askFilled) : askVolumes)
+            .build();
+    }
+
+    /**
+     * 뒤쪽 빈 단계(가격/잔량 모두 0)를 뺀 호가 깊이
+     */
+    public static int filledDepth(double[] prices, long[] volumes) {
+        int depth = Math.min(prices.length, volumes.length);
+        while (depth > 0 && prices[depth - 1] == 0 && volumes[depth - 1] == 0) {
+            depth--;
+        }
+        return depth;
+    }
+
+    /**
+     * 호가 시각이 더 늦은 쪽 (같으면 나중에 도착한 값)
+     */
+    public static LatestOrderbook newerOf(LatestOrderbook current, LatestOrderbook next) {
+        return next.quoteTime.isBefore(current.quoteTime) ? current : next;
+    }
+}
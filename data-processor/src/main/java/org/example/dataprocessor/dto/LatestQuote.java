@@ -0,0 +1,87 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.example.dataprocessor.entity.QuoteData;
+import org.example.dataprocessor.util.FixedPoint;
+
+import java.time.LocalDateTime;
+
+/**
+ * 종목별 최신 체결 스냅샷 (불변, 원시 타입 필드)
+ * 가격은 x100, 등락률은 x10000 고정소수점 - JSON에는 원래 단위의 숫자로 나감 (quote-latest 토픽 적재 시 역직렬화)
+ */
+@Value
+@Builder
+@Jacksonized
+public class LatestQuote {
+
+    @JsonProperty("stock_code")
+    String stockCode;
+
+    @JsonProperty("price")
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    long price;
+
+    @JsonProperty("volume")
+    long volume;
+
+    @JsonProperty("change_amount")
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    long changeAmount;
+
+    @JsonProperty("change_rate")
+    @JsonSerialize(using = FixedPoint.RateSerializer.class)
+    @JsonDeserialize(using = FixedPoint.RateDeserializer.class)
+    long changeRate;
+
+    @JsonProperty("high_price")
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    long highPrice;
+
+    @JsonProperty("low_price")
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    long lowPrice;
+
+    @JsonProperty("open_price")
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    long openPrice;
+
+    @JsonProperty("trade_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime tradeTime;
+
+    /**
+     * DB 조회 결과로 스냅샷 생성 (BigDecimal -> 고정소수점 변환은 여기서만)
+     */
+    public static LatestQuote from(QuoteData quoteData) {
+        return LatestQuote.builder()
+            .stockCode(quoteData.getStockCode())
+            .price(FixedPoint.fromBigDecimal(quoteData.getPrice(), FixedPoint.PRICE_SCALE))
+            .volume(quoteData.getVolume() != null ? quoteData.getVolume() : 0L)
+            .changeAmount(FixedPoint.fromBigDecimal(quoteData.getChangeAmount(), FixedPoint.PRICE_SCALE))
+            .changeRate(FixedPoint.fromBigDecimal(quoteData.getChangeRate(), FixedPoint.RATE_SCALE))
+            .highPrice(FixedPoint.fromBigDecimal(quoteData.getHighPrice(), FixedPoint.PRICE_SCALE))
+            .lowPrice(FixedPoint.fromBigDecimal(quoteData.getLowPrice(), FixedPoint.PRICE_SCALE))
+            .openPrice(FixedPoint.fromBigDecimal(quoteData.getOpenPrice(), FixedPoint.PRICE_SCALE))
+            .tradeTime(quoteData.getTradeTime())
+            .build();
+    }
+
+    /**
+     * 체결 시각이 더 늦은 쪽 (같으면 나중에 도착한 값)
+     */
+    public static LatestQuote newerOf(LatestQuote current, LatestQuote next) {
+        return next.tradeTime.isBefore(current.tradeTime) ? current : next;
+    }
+}
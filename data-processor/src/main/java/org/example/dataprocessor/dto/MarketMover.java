@@ -0,0 +1,39 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Builder;
+import lombok.Value;
+import org.example.dataprocessor.util.FixedPoint;
+
+/**
+ * 시장 순위표 한 줄 (당일 누적 기준, 가격/거래대금은 x100, 등락률은 x10000 고정소수점)
+ */
+@Value
+@Builder
+public class MarketMover {
+
+    @JsonProperty("rank")
+    int rank;
+
+    @JsonProperty("stock_code")
+    String stockCode;
+
+    @JsonProperty("price")
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    long price;
+
+    @JsonProperty("change_rate")
+    @JsonSerialize(using = FixedPoint.RateSerializer.class)
+    long changeRate;
+
+    @JsonProperty("cumulative_volume")
+    long cumulativeVolume;
+
+    @JsonProperty("turnover")
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    long turnover;
+
+    @JsonProperty("trade_count")
+    long tradeCount;
+}
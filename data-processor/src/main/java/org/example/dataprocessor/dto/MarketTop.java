@@ -0,0 +1,30 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지표별 시장 상위 K 종목 (조회/토픽 발행 공용)
+ */
+@Value
+@Builder
+public class MarketTop {
+
+    @JsonProperty("metric")
+    String metric;
+
+    @JsonProperty("generated_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
+    LocalDateTime generatedAt;
+
+    @JsonProperty("ranked_symbols")
+    int rankedSymbols;
+
+    @JsonProperty("movers")
+    List<MarketMover> movers;
+}
@@ -0,0 +1,19 @@
+package org.example.dataprocessor.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 종목별 최근 구간 체결/호가 건수 (source: memory면 롤링 카운터, database면 COUNT 조회, mixed면 둘을 섞음)
+ */
+@Value
+@Builder
+public class StockStats {
+
+    String stockCode;
+    long windowSeconds;
+    long quoteCount;
+    long orderbookCount;
+    String timeRange;
+    String source;
+}
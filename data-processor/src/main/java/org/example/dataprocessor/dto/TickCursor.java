@@ -0,0 +1,39 @@
+package org.example.dataprocessor.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * keyset 이어받기 위치 (마지막으로 보낸 행의 시각, id) - 클라이언트에는 불투명 토큰으로만 나감
+ * 기간 스트리밍은 오름차순(이 위치 다음부터), 최근 이력 페이지는 내림차순(이 위치 이전부터)으로 해석한다.
+ */
+public record TickCursor(LocalDateTime time, long id) {
+
+    public String encode() {
+        String raw = time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TickCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TickCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public static TickCursor startOf(LocalDateTime from) {
+        return new TickCursor(from, 0L);
+    }
+
+    /**
+     * 내림차순에서 time 시각보다 이전 행부터 이어받음 (id를 모르는 메모리 버퍼 페이지용)
+     */
+    public static TickCursor before(LocalDateTime time) {
+        return new TickCursor(time, 0L);
+    }
+}
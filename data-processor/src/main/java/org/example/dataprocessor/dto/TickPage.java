@@ -0,0 +1,48 @@
+package org.example.dataprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 최근 이력 한 페이지 (최신순) - next_cursor가 null이면 마지막 페이지
+ */
+@Value
+@Builder
+public class TickPage<T> {
+
+    @JsonProperty("items")
+    List<T> items;
+
+    @JsonProperty("next_cursor")
+    String nextCursor;
+
+    /**
+     * 메모리 버퍼(최신순)로 만든 첫 페이지 - 버퍼는 행 id를 모르므로 가장 오래된 시각의 행(같은 시각 행이 버퍼 밖에 더 있을 수 있음)을 잘라
+     * 페이지가 시각 경계에서 끝나게 하고, 다음 페이지는 남은 가장 오래된 시각보다 이전부터 DB로 이어받는다.
+     * @return 모두 같은 시각이라 경계를 만들 수 없으면 empty
+     */
+    public static <T> Optional<TickPage<T>> ofBuffered(List<T> newestFirst, Function<T, LocalDateTime> timeOf) {
+        if (newestFirst.isEmpty()) {
+            return Optional.empty();
+        }
+        LocalDateTime oldest = timeOf.apply(newestFirst.get(newestFirst.size() - 1));
+        int end = newestFirst.size();
+        while (end > 0 && timeOf.apply(newestFirst.get(end - 1)).equals(oldest)) {
+            end--;
+        }
+        if (end == 0) {
+            return Optional.empty();
+        }
+        List<T> items = newestFirst.subList(0, end);
+        return Optional.of(TickPage.<T>builder()
+            .items(items)
+            .nextCursor(TickCursor.before(timeOf.apply(items.get(end - 1))).encode())
+            .build());
+    }
+}
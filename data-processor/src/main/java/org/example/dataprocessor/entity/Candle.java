@@ -0,0 +1,61 @@
+package org.example.dataprocessor.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "candles", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_candle_stock_interval_time", columnNames = {"stock_code", "interval_code", "open_time"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Candle {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stock_code", length = 10, nullable = false)
+    private String stockCode;
+
+    @Column(name = "interval_code", length = 4, nullable = false)
+    private String intervalCode;
+
+    @Column(name = "open_time", nullable = false)
+    private LocalDateTime openTime;
+
+    @Column(name = "open_price", precision = 15, scale = 2, nullable = false)
+    private BigDecimal openPrice;
+
+    @Column(name = "high_price", precision = 15, scale = 2, nullable = false)
+    private BigDecimal highPrice;
+
+    @Column(name = "low_price", precision = 15, scale = 2, nullable = false)
+    private BigDecimal lowPrice;
+
+    @Column(name = "close_price", precision = 15, scale = 2, nullable = false)
+    private BigDecimal closePrice;
+
+    @Column(name = "volume", nullable = false)
+    private Long volume;
+
+    @Column(name = "turnover", precision = 22, scale = 2, nullable = false)
+    private BigDecimal turnover;
+
+    @Column(name = "vwap", precision = 15, scale = 4)
+    private BigDecimal vwap;
+
+    @Column(name = "trade_count", nullable = false)
+    private Integer tradeCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
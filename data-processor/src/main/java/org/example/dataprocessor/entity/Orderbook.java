@@ -11,9 +11,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orderbooks", indexes = {
-    @Index(name = "idx_stock_code_time", columnList = "stock_code, quote_time"),
-    @Index(name = "idx_sequence", columnList = "sequence_number"),
+@Table(name = "orderbooks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_orderbook_natural", columnNames = {"stock_code", "quote_time", "sequence_number"})
+}, indexes = {
+    @Index(name = "idx_orderbook_recent", columnList = "stock_code, quote_time, id"),
+    @Index(name = "idx_orderbook_keyframe", columnList = "stock_code, frame_type, quote_time"),
     @Index(name = "idx_created_at", columnList = "created_at")
 })
 @Data
@@ -32,7 +34,7 @@ public class Orderbook {
     @Column(name = "quote_time", nullable = false, columnDefinition = "TIMESTAMP(6)")
     private LocalDateTime quoteTime;
     
-    @Column(name = "sequence_number")
+    @Column(name = "sequence_number", nullable = false)
     private Long sequenceNumber;
     
     @Column(name = "total_bid_volume")
@@ -41,6 +43,11 @@ public class Orderbook {
     @Column(name = "total_ask_volume")
     private Long totalAskVolume;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frame_type", length = 8, nullable = false)
+    @Builder.Default
+    private FrameType frameType = FrameType.KEYFRAME;
+    
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -51,5 +58,12 @@ public class Orderbook {
     
     @OneToMany(mappedBy = "orderbook", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderbookLevel> orderbookLevels;
+    
+    /**
+     * KEYFRAME은 전체 단계, DELTA는 직전 호가 대비 바뀐 단계만 저장
+     */
+    public enum FrameType {
+        KEYFRAME, DELTA
+    }
 }
 
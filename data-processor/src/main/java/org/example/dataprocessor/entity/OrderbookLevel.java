@@ -9,9 +9,8 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "orderbook_levels", indexes = {
-    @Index(name = "idx_orderbook_id", columnList = "orderbook_id"),
-    @Index(name = "idx_orderbook_type_level", columnList = "orderbook_id, order_type, price_level")
+@Table(name = "orderbook_levels", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_orderbook_level", columnNames = {"orderbook_id", "order_type", "price_level"})
 })
 @Data
 @NoArgsConstructor
@@ -11,8 +11,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "quote_data", indexes = {
-    @Index(name = "idx_stock_code_time", columnList = "stock_code, trade_time"),
+@Table(name = "quote_data", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_quote_natural", columnNames = {"stock_code", "trade_time", "sequence_number"})
+}, indexes = {
+    @Index(name = "idx_quote_recent", columnList = "stock_code, trade_time, id"),
     @Index(name = "idx_trade_time", columnList = "trade_time"),
     @Index(name = "idx_created_at", columnList = "created_at")
 })
@@ -53,6 +55,9 @@ public class QuoteData {
     @Column(name = "trade_time", nullable = false)
     private LocalDateTime tradeTime;
     
+    @Column(name = "sequence_number", nullable = false)
+    private Long sequenceNumber;
+    
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -0,0 +1,49 @@
+package org.example.dataprocessor.entity.type;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 캔들(봉) 집계 단위
+ * 일봉 경계는 KST(UTC+9) 기준으로 정렬한다.
+ */
+public enum CandleInterval {
+    S1("1s", Duration.ofSeconds(1)),
+    M1("1m", Duration.ofMinutes(1)),
+    M5("5m", Duration.ofMinutes(5)),
+    H1("1h", Duration.ofHours(1)),
+    D1("1d", Duration.ofDays(1));
+
+    // KST는 DST가 없으므로 고정 오프셋으로 정렬
+    private static final long KST_OFFSET_MILLIS = Duration.ofHours(9).toMillis();
+
+    private final String code;
+    private final long millis;
+
+    CandleInterval(String code, Duration duration) {
+        this.code = code;
+        this.millis = duration.toMillis();
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * 체결 시각(epoch millis)이 속한 봉의 시작 시각
+     */
+    public long bucketStart(long epochMillis) {
+        return Math.floorDiv(epochMillis + KST_OFFSET_MILLIS, millis) * millis - KST_OFFSET_MILLIS;
+    }
+
+    public static Optional<CandleInterval> fromCode(String code) {
+        return Arrays.stream(values())
+            .filter(interval -> interval.code.equalsIgnoreCase(code))
+            .findFirst();
+    }
+}
@@ -1,4 +1,13 @@
 package org.example.dataprocessor.entity.type;
 
+/**
+ * 핫토픽 선정 이유 (기준선 대비 z-score가 가장 큰 지표)
+ */
 public enum StockReasonType {
+    // 초당 수신 메시지(체결 + 호가) 급증
+    HIGH_TRAFFIC,
+    // 체결량 급증
+    VOLUME_SPIKE,
+    // 가격 변동폭 급증
+    HIGH_VOLATILITY
 }
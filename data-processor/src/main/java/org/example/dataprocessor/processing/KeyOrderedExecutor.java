@@ -0,0 +1,116 @@
+package org.example.dataprocessor.processing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키(종목) 단위 순서를 보장하는 병렬 실행기
+ * 같은 키는 항상 같은 워커의 큐로 들어가므로 키별 처리 순서가 유지되고, 서로 다른 키는 워커 수만큼 병렬로 처리된다.
+ * 워커 큐가 가득 차면 submit이 대기하여 컨슈머에 배압을 건다.
+ */
+@Slf4j
+public class KeyOrderedExecutor {
+
+    private final List<BlockingQueue<Runnable>> queues;
+    private final Thread[] workers;
+    private final int drainBatchSize;
+    private volatile boolean running = true;
+
+    public KeyOrderedExecutor(String name, int workerCount, int queueCapacity, int drainBatchSize) {
+        this.queues = new ArrayList<>(workerCount);
+        this.workers = new Thread[workerCount];
+        this.drainBatchSize = drainBatchSize;
+        for (int i = 0; i < workerCount; i++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+            int index = i;
+            workers[i] = new Thread(() -> runWorker(index), name + "-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        log.info("Key-ordered executor started - Name: {}, Workers: {}, Queue capacity: {}", name, workerCount, queueCapacity);
+    }
+
+    public void submit(String key, Runnable task) throws InterruptedException {
+        if (!running) {
+            throw new IllegalStateException("Executor is shut down");
+        }
+        queues.get(workerOf(key)).put(task);
+    }
+
+    public int workerOf(String key) {
+        int hash = key != null ? key.hashCode() : 0;
+        // 비슷한 종목코드가 한 워커로 몰리지 않도록 상위 비트 섞기
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, queues.size());
+    }
+
+    public int workerCount() {
+        return queues.size();
+    }
+
+    public int queueDepth(int worker) {
+        return queues.get(worker).size();
+    }
+
+    /**
+     * 워커 큐 깊이 편중도 (최대 / 평균, 큐가 모두 비었으면 1)
+     */
+    public double queueSkew() {
+        int max = 0;
+        long total = 0;
+        for (BlockingQueue<Runnable> queue : queues) {
+            int depth = queue.size();
+            max = Math.max(max, depth);
+            total += depth;
+        }
+        return total == 0 ? 1.0 : max / ((double) total / queues.size());
+    }
+
+    /**
+     * 대기 중인 작업을 모두 처리한 뒤 워커 종료
+     */
+    public void shutdown(long timeoutMillis) {
+        running = false;
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runWorker(int index) {
+        BlockingQueue<Runnable> queue = queues.get(index);
+        List<Runnable> batch = new ArrayList<>(drainBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Runnable first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, drainBatchSize - 1);
+                for (Runnable task : batch) {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        log.error("Unhandled error in key-ordered worker {}", index, e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.dataprocessor.processing;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 파티션별 커밋 가능 오프셋(워터마크) 추적
+ * 병렬 처리로 완료 순서가 뒤섞여도, 가장 작은 미완료 오프셋 앞까지만 커밋한다.
+ * 파티션을 할당받을 때마다 세대가 바뀌므로, 회수 전에 디스패치된 작업이 늦게 끝나도 재할당 후 같은 오프셋의 진행 상태를 지우지 않는다.
+ */
+public class PartitionOffsetTracker {
+
+    private final Map<TopicPartition, PartitionState> partitions = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    /**
+     * @return 완료 통지에 넘길 파티션 세대
+     */
+    public long dispatched(TopicPartition partition, long offset) {
+        PartitionState state = partitions.computeIfAbsent(partition, p -> new PartitionState(generations.incrementAndGet()));
+        state.inFlight.add(offset);
+        state.nextOffset = Math.max(state.nextOffset, offset + 1);
+        return state.generation;
+    }
+
+    public void completed(TopicPartition partition, long generation, long offset) {
+        PartitionState state = partitions.get(partition);
+        if (state != null && state.generation == generation) {
+            state.inFlight.remove(offset);
+        }
+    }
+
+    /**
+     * 디스패치 이후 파티션이 회수되지 않았으면 true (재시도 중인 작업이 계속할지 판단)
+     */
+    public boolean isCurrent(TopicPartition partition, long generation) {
+        PartitionState state = partitions.get(partition);
+        return state != null && state.generation == generation;
+    }
+
+    /**
+     * 지정한 파티션 중 지난 커밋 이후 워터마크가 전진한 것만 반환
+     */
+    public Map<TopicPartition, OffsetAndMetadata> committable(Collection<TopicPartition> assigned) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : assigned) {
+            PartitionState state = partitions.get(partition);
+            if (state == null) {
+                continue;
+            }
+            long watermark = state.watermark();
+            if (watermark > state.committedOffset) {
+                offsets.put(partition, new OffsetAndMetadata(watermark));
+            }
+        }
+        return offsets;
+    }
+
+    public void markCommitted(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        offsets.forEach((partition, offset) -> {
+            PartitionState state = partitions.get(partition);
+            if (state != null) {
+                state.committedOffset = Math.max(state.committedOffset, offset.offset());
+            }
+        });
+    }
+
+    public int inFlight(Collection<TopicPartition> assigned) {
+        int count = 0;
+        for (TopicPartition partition : assigned) {
+            PartitionState state = partitions.get(partition);
+            if (state != null) {
+                count += state.inFlight.size();
+            }
+        }
+        return count;
+    }
+
+    public void forget(Collection<TopicPartition> revoked) {
+        revoked.forEach(partitions::remove);
+    }
+
+    private static final class PartitionState {
+        private final long generation;
+        private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        private volatile long nextOffset;
+        private volatile long committedOffset = -1;
+
+        private PartitionState(long generation) {
+            this.generation = generation;
+        }
+
+        private long watermark() {
+            // 디스패치와 커밋은 같은 컨슈머 스레드에서 일어나므로 워커의 완료만 동시에 진행됨
+            Long lowestInFlight = inFlight.ceiling(Long.MIN_VALUE);
+            return lowestInFlight != null ? lowestInFlight : nextOffset;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.dataprocessor.repository;
+
+import org.example.dataprocessor.entity.Candle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CandleRepository extends JpaRepository<Candle, Long> {
+
+    @Query("SELECT c FROM Candle c WHERE c.stockCode = :stockCode AND c.intervalCode = :intervalCode " +
+           "AND c.openTime >= :fromTime AND c.openTime < :toTime ORDER BY c.openTime DESC")
+    List<Candle> findCandles(
+        @Param("stockCode") String stockCode,
+        @Param("intervalCode") String intervalCode,
+        @Param("fromTime") LocalDateTime fromTime,
+        @Param("toTime") LocalDateTime toTime,
+        Pageable pageable
+    );
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,25 @@ public interface OrderbookRepository extends JpaRepository<Orderbook, Long> {
     
     List<Orderbook> findByStockCodeOrderByQuoteTimeDesc(String stockCode, Pageable pageable);
     
+    /**
+     * 최근 호가 첫 페이지 - (stock_code, quote_time, id) 인덱스를 역순으로 limit건만 읽음
+     */
+    @Query("SELECT o FROM Orderbook o WHERE o.stockCode = :stockCode ORDER BY o.quoteTime DESC, o.id DESC")
+    List<Orderbook> findLatestPage(@Param("stockCode") String stockCode, Pageable pageable);
+    
+    /**
+     * (quoteTime, id) 이전 페이지 - OFFSET 없이 같은 인덱스 범위에서 이어 읽음
+     */
+    @Query("SELECT o FROM Orderbook o WHERE o.stockCode = :stockCode " +
+           "AND (o.quoteTime < :quoteTime OR (o.quoteTime = :quoteTime AND o.id < :id)) " +
+           "ORDER BY o.quoteTime DESC, o.id DESC")
+    List<Orderbook> findPageBefore(
+        @Param("stockCode") String stockCode,
+        @Param("quoteTime") LocalDateTime quoteTime,
+        @Param("id") long id,
+        Pageable pageable
+    );
+    
     @Query("SELECT o FROM Orderbook o WHERE o.stockCode = :stockCode AND o.quoteTime BETWEEN :startTime AND :endTime ORDER BY o.quoteTime DESC")
     List<Orderbook> findByStockCodeAndQuoteTimeBetween(
         @Param("stockCode") String stockCode, 
@@ -28,13 +48,25 @@ public interface OrderbookRepository extends JpaRepository<Orderbook, Long> {
     @Query("SELECT o FROM Orderbook o WHERE o.stockCode = :stockCode ORDER BY o.quoteTime DESC LIMIT 1")
     Optional<Orderbook> findLatestByStockCode(@Param("stockCode") String stockCode);
     
+    /**
+     * 종목 목록의 최신 호가 id를 한 번에 - 종목마다 (stock_code, quote_time, id) 인덱스 끝 한 건만 읽음 (LATERAL, 테이블 전체 정렬 없음)
+     */
+    @Query(value = "SELECT o.id FROM stocks s CROSS JOIN LATERAL (" +
+                   "SELECT d.id FROM orderbooks d WHERE d.stock_code = s.stock_code " +
+                   "ORDER BY d.quote_time DESC, d.id DESC LIMIT 1) o " +
+                   "WHERE s.stock_code IN (:stockCodes)", nativeQuery = true)
+    List<Long> findLatestIdsByStockCodes(@Param("stockCodes") Collection<String> stockCodes);
+    
+    /**
+     * 호가와 단계를 한 번에 (단계 지연 로딩으로 인한 N+1 방지)
+     */
+    @Query("SELECT DISTINCT o FROM Orderbook o LEFT JOIN FETCH o.orderbookLevels WHERE o.id IN :ids")
+    List<Orderbook> findWithLevelsByIdIn(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT o FROM Orderbook o WHERE o.quoteTime >= :afterTime ORDER BY o.quoteTime DESC")
     List<Orderbook> findRecentOrderbooks(@Param("afterTime") LocalDateTime afterTime);
     
     @Query("SELECT COUNT(o) FROM Orderbook o WHERE o.stockCode = :stockCode AND o.quoteTime >= :afterTime")
     long countByStockCodeAndQuoteTimeAfter(@Param("stockCode") String stockCode, @Param("afterTime") LocalDateTime afterTime);
-    
-    @Query("SELECT o FROM Orderbook o WHERE o.sequenceNumber = :sequenceNumber")
-    Optional<Orderbook> findBySequenceNumber(@Param("sequenceNumber") Long sequenceNumber);
 }
 
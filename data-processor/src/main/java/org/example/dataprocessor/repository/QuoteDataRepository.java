@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,25 @@ public interface QuoteDataRepository extends JpaRepository<QuoteData, Long> {
     
     List<QuoteData> findByStockCodeOrderByTradeTimeDesc(String stockCode, Pageable pageable);
     
+    /**
+     * 최근 체결 첫 페이지 - (stock_code, trade_time, id) 인덱스를 역순으로 limit건만 읽음
+     */
+    @Query("SELECT q FROM QuoteData q WHERE q.stockCode = :stockCode ORDER BY q.tradeTime DESC, q.id DESC")
+    List<QuoteData> findLatestPage(@Param("stockCode") String stockCode, Pageable pageable);
+    
+    /**
+     * (tradeTime, id) 이전 페이지 - OFFSET 없이 같은 인덱스 범위에서 이어 읽음
+     */
+    @Query("SELECT q FROM QuoteData q WHERE q.stockCode = :stockCode " +
+           "AND (q.tradeTime < :tradeTime OR (q.tradeTime = :tradeTime AND q.id < :id)) " +
+           "ORDER BY q.tradeTime DESC, q.id DESC")
+    List<QuoteData> findPageBefore(
+        @Param("stockCode") String stockCode,
+        @Param("tradeTime") LocalDateTime tradeTime,
+        @Param("id") long id,
+        Pageable pageable
+    );
+    
     @Query("SELECT q FROM QuoteData q WHERE q.stockCode = :stockCode AND q.tradeTime BETWEEN :startTime AND :endTime ORDER BY q.tradeTime DESC")
     List<QuoteData> findByStockCodeAndTradeTimeBetween(
         @Param("stockCode") String stockCode, 
@@ -28,6 +48,15 @@ public interface QuoteDataRepository extends JpaRepository<QuoteData, Long> {
     @Query("SELECT q FROM QuoteData q WHERE q.stockCode = :stockCode ORDER BY q.tradeTime DESC LIMIT 1")
     Optional<QuoteData> findLatestByStockCode(@Param("stockCode") String stockCode);
     
+    /**
+     * 종목 목록의 최신 체결을 한 번에 - 종목마다 (stock_code, trade_time, id) 인덱스 끝 한 건만 읽음 (LATERAL, 테이블 전체 정렬 없음)
+     */
+    @Query(value = "SELECT q.* FROM stocks s CROSS JOIN LATERAL (" +
+                   "SELECT d.* FROM quote_data d WHERE d.stock_code = s.stock_code " +
+                   "ORDER BY d.trade_time DESC, d.id DESC LIMIT 1) q " +
+                   "WHERE s.stock_code IN (:stockCodes)", nativeQuery = true)
+    List<QuoteData> findLatestByStockCodes(@Param("stockCodes") Collection<String> stockCodes);
+    
     @Query("SELECT q FROM QuoteData q WHERE q.tradeTime >= :afterTime ORDER BY q.tradeTime DESC")
     List<QuoteData> findRecentQuotes(@Param("afterTime") LocalDateTime afterTime);
     
@@ -0,0 +1,249 @@
+package org.example.dataprocessor.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.entity.Orderbook;
+import org.example.dataprocessor.entity.OrderbookLevel;
+import org.example.dataprocessor.util.FixedPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 체결/호가 적재 전용 JDBC 작성기 - 영속성 컨텍스트 없이 여러 행 VALUES 한 문장(INSERT IGNORE)으로 묶어 왕복 1회에 적재
+ * 드라이버 배치(rewriteBatchedStatements)는 건별 결과를 주지 않으므로 영향 행 수로 신규 여부를 가리고,
+ * 일부만 중복인 묶음(재전송 경계)만 이 문장이 만든 id 범위를 자연키로 다시 조회해 건별로 가린다.
+ * 호출 측 트랜잭션의 커넥션을 그대로 사용하며, JPA는 조회 쪽에만 남는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TickJdbcWriter {
+
+    private static final String QUOTE_COLUMNS =
+        "stock_code, price, volume, change_amount, change_rate, high_price, low_price, open_price, trade_time, sequence_number";
+    private static final int QUOTE_COLUMN_COUNT = 10;
+    private static final String ORDERBOOK_COLUMNS =
+        "stock_code, quote_time, sequence_number, total_bid_volume, total_ask_volume, frame_type";
+    private static final int ORDERBOOK_COLUMN_COUNT = 6;
+    private static final String LEVEL_COLUMNS = "orderbook_id, order_type, price_level, price, volume";
+    private static final int LEVEL_COLUMN_COUNT = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // (테이블, 행 수) -> SQL (드라이버 문장 캐시가 같은 문자열을 재사용하도록 고정)
+    private final Map<String, String> sqlCache = new ConcurrentHashMap<>();
+
+    @Value("${app.tick-writer.rows-per-statement:500}")
+    private int rowsPerStatement;
+
+    /**
+     * @return 건별 신규 여부 (false = 자연키 중복으로 무시됨)
+     */
+    public boolean[] insertQuotes(List<LatestQuote> quotes, long[] sequenceNumbers) {
+        boolean[] inserted = new boolean[quotes.size()];
+        jdbcTemplate.execute((Connection connection) -> {
+            for (int from = 0; from < quotes.size(); from += rowsPerStatement) {
+                int to = Math.min(from + rowsPerStatement, quotes.size());
+                int rows = to - from;
+                String sql = insertSql("quote_data", QUOTE_COLUMNS, QUOTE_COLUMN_COUNT, rows);
+                long firstId;
+                int affected;
+                try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    int p = 1;
+                    for (int i = from; i < to; i++) {
+                        LatestQuote quote = quotes.get(i);
+                        ps.setString(p++, quote.getStockCode());
+                        ps.setBigDecimal(p++, FixedPoint.toBigDecimal(quote.getPrice(), FixedPoint.PRICE_SCALE));
+                        ps.setLong(p++, quote.getVolume());
+                        ps.setBigDecimal(p++, FixedPoint.toBigDecimal(quote.getChangeAmount(), FixedPoint.PRICE_SCALE));
+                        ps.setBigDecimal(p++, FixedPoint.toBigDecimal(quote.getChangeRate(), FixedPoint.RATE_SCALE));
+                        ps.setBigDecimal(p++, FixedPoint.toBigDecimal(quote.getHighPrice(), FixedPoint.PRICE_SCALE));
+                        ps.setBigDecimal(p++, FixedPoint.toBigDecimal(quote.getLowPrice(), FixedPoint.PRICE_SCALE));
+                        ps.setBigDecimal(p++, FixedPoint.toBigDecimal(quote.getOpenPrice(), FixedPoint.PRICE_SCALE));
+                        ps.setObject(p++, quote.getTradeTime());
+                        ps.setLong(p++, sequenceNumbers[i]);
+                    }
+                    affected = ps.executeUpdate();
+                    firstId = firstGeneratedId(ps);
+                }
+
+                if (affected == rows || affected == 0) {
+                    Arrays.fill(inserted, from, to, affected == rows);
+                    continue;
+                }
+                // 일부만 중복 - 이 문장이 만든 행(id >= 첫 생성 id)을 자연키로 조회해 건별 판정
+                List<NaturalKey> keys = new ArrayList<>(rows);
+                for (int i = from; i < to; i++) {
+                    LatestQuote quote = quotes.get(i);
+                    keys.add(new NaturalKey(quote.getStockCode(), quote.getTradeTime().truncatedTo(ChronoUnit.SECONDS), sequenceNumbers[i]));
+                }
+                Map<NaturalKey, Long> created = selectCreated(connection, "quote_data", "trade_time", ChronoUnit.SECONDS, firstId, keys);
+                for (int i = from; i < to; i++) {
+                    inserted[i] = created.containsKey(keys.get(i - from));
+                }
+            }
+            return null;
+        });
+        return inserted;
+    }
+
+    /**
+     * 호가 마스터 적재 후 새로 들어간 마스터의 id를 채워 돌려줌 (0 = 자연키 중복으로 무시됨)
+     */
+    public long[] insertOrderbooks(List<Orderbook> orderbooks) {
+        long[] ids = new long[orderbooks.size()];
+        jdbcTemplate.execute((Connection connection) -> {
+            for (int from = 0; from < orderbooks.size(); from += rowsPerStatement) {
+                int to = Math.min(from + rowsPerStatement, orderbooks.size());
+                String sql = insertSql("orderbooks", ORDERBOOK_COLUMNS, ORDERBOOK_COLUMN_COUNT, to - from);
+                long firstId;
+                int affected;
+                try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    int p = 1;
+                    for (int i = from; i < to; i++) {
+                        Orderbook orderbook = orderbooks.get(i);
+                        ps.setString(p++, orderbook.getStockCode());
+                        ps.setObject(p++, orderbook.getQuoteTime());
+                        ps.setLong(p++, orderbook.getSequenceNumber());
+                        ps.setLong(p++, orderbook.getTotalBidVolume());
+                        ps.setLong(p++, orderbook.getTotalAskVolume());
+                        ps.setString(p++, orderbook.getFrameType().name());
+                    }
+                    affected = ps.executeUpdate();
+                    firstId = firstGeneratedId(ps);
+                }
+                if (affected == 0) {
+                    continue;
+                }
+                // 단계 적재에 마스터 id가 필요하므로 새로 만든 행은 항상 자연키로 id를 회수
+                List<NaturalKey> keys = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    Orderbook orderbook = orderbooks.get(i);
+                    keys.add(new NaturalKey(
+                        orderbook.getStockCode(), orderbook.getQuoteTime().truncatedTo(ChronoUnit.MICROS), orderbook.getSequenceNumber()));
+                }
+                Map<NaturalKey, Long> created = selectCreated(connection, "orderbooks", "quote_time", ChronoUnit.MICROS, firstId, keys);
+                for (int i = from; i < to; i++) {
+                    ids[i] = created.getOrDefault(keys.get(i - from), 0L);
+                }
+            }
+            return null;
+        });
+        return ids;
+    }
+
+    /**
+     * 새로 들어간 마스터의 단계 적재 (levels.get(i)는 orderbookIds[i] 마스터의 단계)
+     */
+    public void insertLevels(long[] orderbookIds, List<List<OrderbookLevel>> levels) {
+        int total = 0;
+        for (int i = 0; i < orderbookIds.length; i++) {
+            if (orderbookIds[i] != 0) {
+                total += levels.get(i).size();
+            }
+        }
+        if (total == 0) {
+            return;
+        }
+        long[] rowIds = new long[total];
+        OrderbookLevel[] rowLevels = new OrderbookLevel[total];
+        int row = 0;
+        for (int i = 0; i < orderbookIds.length; i++) {
+            if (orderbookIds[i] == 0) {
+                continue;
+            }
+            for (OrderbookLevel level : levels.get(i)) {
+                rowIds[row] = orderbookIds[i];
+                rowLevels[row++] = level;
+            }
+        }
+        jdbcTemplate.execute((Connection connection) -> {
+            for (int from = 0; from < rowIds.length; from += rowsPerStatement) {
+                int to = Math.min(from + rowsPerStatement, rowIds.length);
+                String sql = insertSql("orderbook_levels", LEVEL_COLUMNS, LEVEL_COLUMN_COUNT, to - from);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    int p = 1;
+                    for (int i = from; i < to; i++) {
+                        OrderbookLevel level = rowLevels[i];
+                        ps.setLong(p++, rowIds[i]);
+                        ps.setString(p++, level.getOrderType().name());
+                        ps.setInt(p++, level.getPriceLevel());
+                        ps.setBigDecimal(p++, level.getPrice());
+                        ps.setLong(p++, level.getVolume());
+                    }
+                    ps.executeUpdate();
+                }
+            }
+            return null;
+        });
+    }
+
+    private String insertSql(String table, String columns, int columnCount, int rows) {
+        return sqlCache.computeIfAbsent(table + ':' + rows, key -> {
+            String row = "(" + "?, ".repeat(columnCount - 1) + "?)";
+            StringBuilder sql = new StringBuilder(64 + rows * (row.length() + 2))
+                .append("INSERT IGNORE INTO ").append(table).append(" (").append(columns).append(") VALUES ");
+            for (int i = 0; i < rows; i++) {
+                sql.append(i == 0 ? "" : ", ").append(row);
+            }
+            return sql.toString();
+        });
+    }
+
+    private static long firstGeneratedId(PreparedStatement ps) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            return keys.next() ? keys.getLong(1) : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 이 문장이 만든 행만 (id >= 첫 생성 id, 자연키 일치) 자연키 -> id로 조회
+     * 시각은 컬럼 정밀도(precision)로 맞춰 비교
+     */
+    private static Map<NaturalKey, Long> selectCreated(Connection connection, String table, String timeColumn, ChronoUnit precision,
+                                                       long firstId, List<NaturalKey> keys) throws SQLException {
+        StringBuilder sql = new StringBuilder(96 + keys.size() * 12)
+            .append("SELECT id, stock_code, ").append(timeColumn).append(", sequence_number FROM ").append(table)
+            .append(" WHERE id >= ? AND (stock_code, ").append(timeColumn).append(", sequence_number) IN (");
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+        }
+        sql.append(')');
+
+        Map<NaturalKey, Long> created = new HashMap<>(keys.size() * 2);
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            int p = 1;
+            ps.setLong(p++, firstId);
+            for (int i = 0; i < keys.size(); i++) {
+                NaturalKey key = keys.get(i);
+                ps.setString(p++, key.stockCode());
+                ps.setObject(p++, key.time());
+                ps.setLong(p++, key.sequenceNumber());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    created.put(new NaturalKey(
+                        rs.getString(2), rs.getObject(3, LocalDateTime.class).truncatedTo(precision), rs.getLong(4)), rs.getLong(1));
+                }
+            }
+        }
+        return created;
+    }
+
+    private record NaturalKey(String stockCode, LocalDateTime time, long sequenceNumber) {
+    }
+}
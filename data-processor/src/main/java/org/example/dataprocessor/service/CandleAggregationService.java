@@ -0,0 +1,493 @@
+package org.example.dataprocessor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.CandleBar;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.entity.Candle;
+import org.example.dataprocessor.entity.type.CandleInterval;
+import org.example.dataprocessor.repository.CandleRepository;
+import org.example.dataprocessor.util.FixedPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 틱 단위 증분 캔들(OHLCV + VWAP) 집계
+ * 진행 중인 봉은 메모리에 유지하고, 마감된 봉만 candles 테이블에 배치로 저장한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleAggregationService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final CandleInterval[] INTERVALS = CandleInterval.values();
+
+    // 재시작 전후로 나뉘어 저장된 같은 구간의 봉은 병합 (open은 먼저 저장된 값 유지)
+    private static final String UPSERT_SQL =
+        "INSERT INTO candles (stock_code, interval_code, open_time, open_price, high_price, low_price, close_price, " +
+        "volume, turnover, vwap, trade_count, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW()) " +
+        "ON DUPLICATE KEY UPDATE " +
+        "high_price = GREATEST(high_price, VALUES(high_price)), " +
+        "low_price = LEAST(low_price, VALUES(low_price)), " +
+        "close_price = VALUES(close_price), " +
+        "volume = volume + VALUES(volume), " +
+        "turnover = turnover + VALUES(turnover), " +
+        "vwap = CASE WHEN volume > 0 THEN turnover / volume ELSE VALUES(vwap) END, " +
+        "trade_count = trade_count + VALUES(trade_count), " +
+        "updated_at = NOW()";
+
+    private static final String REBUILD_SOURCE_SQL =
+        "SELECT trade_time, price, volume FROM quote_data " +
+        "WHERE stock_code = ? AND trade_time >= ? AND trade_time < ? ORDER BY trade_time, id";
+
+    private final CandleRepository candleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.candle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.candle.max-pending-bars:200000}")
+    private int maxPendingBars;
+
+    @Value("${app.candle.close-grace-ms:2000}")
+    private long closeGraceMillis;
+
+    @Value("${app.candle.persisted-intervals:1s,1m,5m,1h,1d}")
+    private String[] persistedIntervalCodes;
+
+    private final Map<String, SymbolCandles> symbols = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<CandleBar> pendingBars = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // 저장 중인 배치 - pendingBars에서 꺼내는 것과 비우는 것 모두 flushLock 안에서만 (조회가 중간 상태를 보지 않도록)
+    private final Object flushLock = new Object();
+    private List<CandleBar> inFlightBars = List.of();
+    private Set<CandleInterval> persistedIntervals;
+
+    private Counter lateTickCounter;
+    private Counter droppedBarCounter;
+    private Counter persistedBarCounter;
+
+    @PostConstruct
+    public void init() {
+        persistedIntervals = EnumSet.noneOf(CandleInterval.class);
+        for (String code : persistedIntervalCodes) {
+            CandleInterval.fromCode(code.trim()).ifPresentOrElse(persistedIntervals::add,
+                () -> log.warn("Unknown candle interval in app.candle.persisted-intervals: {}", code));
+        }
+
+        lateTickCounter = meterRegistry.counter("data_processor_candle_late_ticks_total");
+        droppedBarCounter = meterRegistry.counter("data_processor_candle_dropped_bars_total");
+        persistedBarCounter = meterRegistry.counter("data_processor_candle_persisted_bars_total");
+        Gauge.builder("data_processor_candle_pending_bars", pendingCount, AtomicInteger::get)
+            .description("Closed candles waiting to be persisted")
+            .register(meterRegistry);
+
+        log.info("Candle aggregation initialized - Persisted intervals: {}, Batch size: {}", persistedIntervals, batchSize);
+    }
+
+    /**
+     * 저장된 시세 한 건을 모든 봉 단위에 반영 (틱당 O(1))
+     */
+    public void onQuote(LatestQuote quote) {
+        long epochMillis = quote.getTradeTime().atZone(KST).toInstant().toEpochMilli();
+        onTick(quote.getStockCode(), epochMillis, FixedPoint.toDouble(quote.getPrice(), FixedPoint.PRICE_SCALE), quote.getVolume());
+    }
+
+    public void onTick(String stockCode, long epochMillis, double price, long volume) {
+        SymbolCandles candles = symbols.computeIfAbsent(stockCode, SymbolCandles::new);
+        synchronized (candles) {
+            if (!candles.apply(epochMillis, price, volume, this::enqueueClosedBar)) {
+                lateTickCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * 종목/단위별 캔들 조회 (DB의 마감 봉 + 메모리의 미저장/진행 중 봉)
+     * 메모리를 먼저 읽고 DB를 나중에 읽어 그 사이 저장이 끝난 봉도 빠지지 않게 하고,
+     * 양쪽에 다 보이는 봉은 구간(단위, 시작 시각)별로 하나만 남긴다 (메모리 쪽이 최신).
+     */
+    @Transactional(readOnly = true)
+    public List<CandleBar> getCandles(String stockCode, CandleInterval interval,
+                                      LocalDateTime fromTime, LocalDateTime toTime, int limit) {
+        long fromMillis = toEpochMillis(fromTime);
+        long toMillis = toEpochMillis(toTime);
+
+        // 진행 중 봉 -> 저장 중 -> 대기 순으로 읽으므로 그 사이 마감된 봉은 뒤에 읽은 마감 버전이 덮어씀
+        List<CandleBar> memoryBars = new ArrayList<>();
+        SymbolCandles candles = symbols.get(stockCode);
+        if (candles != null) {
+            synchronized (candles) {
+                MutableBar open = candles.bars[interval.ordinal()];
+                if (open.tradeCount > 0) {
+                    memoryBars.add(open.toCandleBar(stockCode, interval, false));
+                }
+            }
+        }
+        synchronized (flushLock) {
+            collectMatching(inFlightBars, stockCode, interval, memoryBars);
+            collectMatching(pendingBars, stockCode, interval, memoryBars);
+        }
+
+        TreeMap<Long, CandleBar> merged = new TreeMap<>();
+        for (Candle candle : candleRepository.findCandles(stockCode, interval.getCode(), fromTime, toTime,
+                PageRequest.of(0, limit))) {
+            CandleBar bar = toCandleBar(candle, interval);
+            merged.put(toEpochMillis(bar.getOpenTime()), bar);
+        }
+        for (CandleBar bar : memoryBars) {
+            long openMillis = toEpochMillis(bar.getOpenTime());
+            if (openMillis < fromMillis || openMillis >= toMillis) {
+                continue;
+            }
+            merged.put(openMillis, bar);
+        }
+
+        List<CandleBar> result = new ArrayList<>(merged.values());
+        return result.size() > limit ? result.subList(result.size() - limit, result.size()) : result;
+    }
+
+    public boolean isPersisted(CandleInterval interval) {
+        return persistedIntervals.contains(interval);
+    }
+
+    /**
+     * quote_data 원천 데이터로 과거 구간 캔들 재생성 (백필용)
+     * 일 단위로 스트리밍 조회 후 해당 일자의 봉을 삭제/재삽입한다.
+     */
+    public int rebuildFromQuoteData(String stockCode, LocalDate fromDate, LocalDate toDate) {
+        if (toDate.isBefore(fromDate)) {
+            throw new IllegalArgumentException("toDate must not be before fromDate");
+        }
+        if (!toDate.isBefore(LocalDate.now(KST))) {
+            throw new IllegalArgumentException("Rebuild is only allowed for past trading days");
+        }
+
+        int totalBars = 0;
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            totalBars += rebuildDay(stockCode, date);
+        }
+
+        log.info("Candle rebuild completed - Stock: {}, Range: {} ~ {}, Bars: {}", stockCode, fromDate, toDate, totalBars);
+        return totalBars;
+    }
+
+    private int rebuildDay(String stockCode, LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        Integer rebuilt = transactionTemplate.execute(status -> {
+            SymbolCandles aggregator = new SymbolCandles(stockCode);
+            List<CandleBar> bars = new ArrayList<>();
+            Consumer<CandleBar> sink = bar -> {
+                if (persistedIntervals.contains(CandleInterval.fromCode(bar.getInterval()).orElseThrow())) {
+                    bars.add(bar);
+                }
+            };
+
+            // MySQL 스트리밍 조회 (fetchSize = Integer.MIN_VALUE) - 하루치 틱을 메모리에 올리지 않음
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(REBUILD_SOURCE_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(Integer.MIN_VALUE);
+                ps.setString(1, stockCode);
+                ps.setObject(2, dayStart);
+                ps.setObject(3, dayEnd);
+                return ps;
+            }, (ResultSet rs) -> {
+                long epochMillis = toEpochMillis(rs.getObject(1, LocalDateTime.class));
+                aggregator.apply(epochMillis, rs.getBigDecimal(2).doubleValue(), rs.getLong(3), sink);
+            });
+            aggregator.closeAll(sink);
+
+            jdbcTemplate.update("DELETE FROM candles WHERE stock_code = ? AND open_time >= ? AND open_time < ?",
+                stockCode, dayStart, dayEnd);
+            upsert(bars);
+            return bars.size();
+        });
+
+        log.debug("Candles rebuilt - Stock: {}, Date: {}, Bars: {}", stockCode, date, rebuilt);
+        return rebuilt != null ? rebuilt : 0;
+    }
+
+    /**
+     * 마감된 봉 배치 저장 (기간이 지난 진행 중 봉도 함께 마감)
+     */
+    @Scheduled(fixedDelayString = "${app.candle.flush-interval-ms:1000}")
+    public void flushClosedBars() {
+        closeExpiredBars(System.currentTimeMillis() - closeGraceMillis);
+
+        while (true) {
+            List<CandleBar> batch;
+            synchronized (flushLock) {
+                batch = drainPending();
+                inFlightBars = batch;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> upsert(batch));
+            } catch (Exception e) {
+                log.error("Failed to persist {} candles, will retry on next flush", batch.size(), e);
+                synchronized (flushLock) {
+                    requeue(batch);
+                    inFlightBars = List.of();
+                }
+                return;
+            }
+            synchronized (flushLock) {
+                inFlightBars = List.of();
+            }
+            persistedBarCounter.increment(batch.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 종료 시 진행 중인 봉도 저장 - 재기동 후 같은 구간은 upsert로 병합된다
+        for (SymbolCandles candles : symbols.values()) {
+            synchronized (candles) {
+                candles.closeAll(this::enqueueClosedBar);
+            }
+        }
+        flushClosedBars();
+        log.info("Candle aggregation shut down - Pending bars left: {}", pendingCount.get());
+    }
+
+    private void closeExpiredBars(long nowMillis) {
+        for (SymbolCandles candles : symbols.values()) {
+            synchronized (candles) {
+                candles.closeExpired(nowMillis, this::enqueueClosedBar);
+            }
+        }
+    }
+
+    private void enqueueClosedBar(CandleBar bar) {
+        if (!persistedIntervals.contains(CandleInterval.fromCode(bar.getInterval()).orElseThrow())) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > maxPendingBars) {
+            // DB 장애가 길어질 때 메모리 보호 - 가장 오래된 봉부터 버리고 rebuild로 복구
+            if (pendingBars.pollFirst() != null) {
+                pendingCount.decrementAndGet();
+                droppedBarCounter.increment();
+            }
+        }
+        pendingBars.addLast(bar);
+    }
+
+    private List<CandleBar> drainPending() {
+        List<CandleBar> batch = new ArrayList<>(batchSize);
+        CandleBar bar;
+        while (batch.size() < batchSize && (bar = pendingBars.pollFirst()) != null) {
+            batch.add(bar);
+        }
+        pendingCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void requeue(List<CandleBar> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            pendingBars.addFirst(batch.get(i));
+        }
+        pendingCount.addAndGet(batch.size());
+    }
+
+    private void upsert(List<CandleBar> bars) {
+        if (bars.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, bars, batchSize, (ps, bar) -> {
+            ps.setString(1, bar.getStockCode());
+            ps.setString(2, bar.getInterval());
+            ps.setObject(3, bar.getOpenTime());
+            ps.setDouble(4, bar.getOpen());
+            ps.setDouble(5, bar.getHigh());
+            ps.setDouble(6, bar.getLow());
+            ps.setDouble(7, bar.getClose());
+            ps.setLong(8, bar.getVolume());
+            ps.setDouble(9, bar.getTurnover());
+            ps.setDouble(10, bar.getVwap());
+            ps.setInt(11, bar.getTradeCount());
+        });
+    }
+
+    private static void collectMatching(Collection<CandleBar> source, String stockCode, CandleInterval interval,
+                                        List<CandleBar> target) {
+        for (CandleBar bar : source) {
+            if (bar.getStockCode().equals(stockCode) && bar.getInterval().equals(interval.getCode())) {
+                target.add(bar);
+            }
+        }
+    }
+
+    private static CandleBar toCandleBar(Candle candle, CandleInterval interval) {
+        long openMillis = toEpochMillis(candle.getOpenTime());
+        return CandleBar.builder()
+            .stockCode(candle.getStockCode())
+            .interval(candle.getIntervalCode())
+            .openTime(candle.getOpenTime())
+            .open(candle.getOpenPrice().doubleValue())
+            .high(candle.getHighPrice().doubleValue())
+            .low(candle.getLowPrice().doubleValue())
+            .close(candle.getClosePrice().doubleValue())
+            .volume(candle.getVolume())
+            .turnover(candle.getTurnover().doubleValue())
+            .vwap(candle.getVwap() != null ? candle.getVwap().doubleValue() : candle.getClosePrice().doubleValue())
+            .tradeCount(candle.getTradeCount())
+            .closed(openMillis + interval.getMillis() <= System.currentTimeMillis())
+            .build();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(KST).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), KST);
+    }
+
+    /**
+     * 종목별 진행 중인 봉 묶음 (단위별 1개씩 재사용)
+     */
+    private static final class SymbolCandles {
+        private final String stockCode;
+        private final MutableBar[] bars = new MutableBar[INTERVALS.length];
+
+        private SymbolCandles(String stockCode) {
+            this.stockCode = stockCode;
+            for (int i = 0; i < bars.length; i++) {
+                bars[i] = new MutableBar();
+            }
+        }
+
+        /**
+         * 어느 한 단위에서라도 이미 지나간 구간의 틱이면 모든 단위에서 버린다 (단위 간 거래량/체결 수 합계 일치)
+         * @return 늦게 도착해 버린 틱이 아니면 true
+         */
+        private boolean apply(long epochMillis, double price, long volume, Consumer<CandleBar> closedSink) {
+            for (CandleInterval interval : INTERVALS) {
+                // 마감(reset) 후에도 openTime은 마지막으로 연 구간으로 남아 있음
+                if (interval.bucketStart(epochMillis) < bars[interval.ordinal()].openTime) {
+                    return false;
+                }
+            }
+            for (CandleInterval interval : INTERVALS) {
+                MutableBar bar = bars[interval.ordinal()];
+                long bucket = interval.bucketStart(epochMillis);
+                if (bar.tradeCount > 0 && bucket != bar.openTime) {
+                    closedSink.accept(bar.toCandleBar(stockCode, interval, true));
+                    bar.reset();
+                }
+                bar.add(bucket, price, volume);
+            }
+            return true;
+        }
+
+        private void closeExpired(long nowMillis, Consumer<CandleBar> closedSink) {
+            for (CandleInterval interval : INTERVALS) {
+                MutableBar bar = bars[interval.ordinal()];
+                if (bar.tradeCount > 0 && bar.openTime + interval.getMillis() <= nowMillis) {
+                    closedSink.accept(bar.toCandleBar(stockCode, interval, true));
+                    bar.reset();
+                }
+            }
+        }
+
+        private void closeAll(Consumer<CandleBar> closedSink) {
+            for (CandleInterval interval : INTERVALS) {
+                MutableBar bar = bars[interval.ordinal()];
+                if (bar.tradeCount > 0) {
+                    closedSink.accept(bar.toCandleBar(stockCode, interval, true));
+                    bar.reset();
+                }
+            }
+        }
+    }
+
+    private static final class MutableBar {
+        private long openTime;
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+        private long volume;
+        private double turnover;
+        private int tradeCount;
+
+        private void add(long bucket, double price, long tickVolume) {
+            if (tradeCount == 0) {
+                openTime = bucket;
+                open = price;
+                high = price;
+                low = price;
+            } else {
+                if (price > high) {
+                    high = price;
+                }
+                if (price < low) {
+                    low = price;
+                }
+            }
+            close = price;
+            volume += tickVolume;
+            turnover += price * tickVolume;
+            tradeCount++;
+        }
+
+        private void reset() {
+            volume = 0;
+            turnover = 0;
+            tradeCount = 0;
+        }
+
+        private CandleBar toCandleBar(String stockCode, CandleInterval interval, boolean closed) {
+            return CandleBar.builder()
+                .stockCode(stockCode)
+                .interval(interval.getCode())
+                .openTime(toLocalDateTime(openTime))
+                .open(open)
+                .high(high)
+                .low(low)
+                .close(close)
+                .volume(volume)
+                .turnover(turnover)
+                .vwap(volume > 0 ? turnover / volume : close)
+                .tradeCount(tradeCount)
+                .closed(closed)
+                .build();
+        }
+    }
+}
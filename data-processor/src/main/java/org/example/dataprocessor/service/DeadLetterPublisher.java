@@ -0,0 +1,177 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.example.dataprocessor.store.FailureQuarantine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 처리 실패 메시지를 <원본 토픽>-dlq 토픽에 원문 그대로 발행 (원본 위치/예외는 spring-kafka DLT 표준 헤더로 첨부)
+ * 발행은 비동기라 파티션을 막지 않으며, 실패를 종목/유형별로 격리 저장소에 기록해 반복 실패 종목은 처리 없이 바로 보낸다.
+ * 격리는 레코드 자체가 문제인 실패(파싱/검증/무결성 위반)만 센다. DB 연결 끊김 같은 인프라 실패는 컨슈머가 DLQ 대신 대기 후 재전달한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeadLetterPublisher {
+
+    public static final String FAILURE_SHAPE_HEADER = "x-failure-shape";
+    public static final String QUARANTINED_HEADER = "x-quarantined";
+    public static final String REPLAY_ATTEMPTS_HEADER = "x-replay-attempts";
+
+    private static final int MAX_EXCEPTION_MESSAGE_LENGTH = 1000;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final FailureQuarantine failureQuarantine;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.dlq.topic-suffix:-dlq}")
+    private String topicSuffix;
+
+    public String dlqTopicOf(String topic) {
+        return topic + topicSuffix;
+    }
+
+    /**
+     * 격리 중인 종목의 레코드는 DLQ로 돌리고 나머지만 돌려줌
+     */
+    public List<ConsumerRecord<String, String>> divertQuarantined(List<ConsumerRecord<String, String>> records) {
+        List<ConsumerRecord<String, String>> accepted = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            if (!divertIfQuarantined(record)) {
+                accepted.add(record);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * @return 격리 중이라 DLQ로 보냈으면 true
+     */
+    public boolean divertIfQuarantined(ConsumerRecord<?, ?> record) {
+        Optional<String> shape = failureQuarantine.quarantinedShape(asString(record.key()));
+        if (shape.isEmpty()) {
+            return false;
+        }
+        send(record, shape.get(), "Stock quarantined after repeated " + shape.get() + " failures", true);
+        return true;
+    }
+
+    /**
+     * 처리 실패 1건 발행 (컨테이너 에러 핸들러의 복구기로도 사용)
+     */
+    public void publish(ConsumerRecord<?, ?> record, Exception exception) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(exception);
+        String shape = cause.getClass().getName();
+        if (isPoisonRecord(exception)) {
+            failureQuarantine.recordFailure(asString(record.key()), shape);
+        }
+        send(record, shape, cause.getMessage(), false);
+    }
+
+    /**
+     * 다시 처리해도 같은 결과가 나올 레코드 자체의 실패 (파싱/검증 오류, 무결성 위반) - 이것만 격리 대상으로 셈
+     */
+    public static boolean isPoisonRecord(Throwable exception) {
+        return !isInfrastructureFailure(exception) && hasCause(exception,
+            JsonProcessingException.class, IllegalArgumentException.class, DateTimeException.class,
+            ArithmeticException.class, DataIntegrityViolationException.class);
+    }
+
+    /**
+     * DB 연결 끊김/일시 장애처럼 레코드와 무관한 실패 - DLQ로 보내지 않고 대기 후 재처리
+     */
+    public static boolean isInfrastructureFailure(Throwable exception) {
+        return hasCause(exception,
+            TransientDataAccessException.class, RecoverableDataAccessException.class,
+            DataAccessResourceFailureException.class, CannotCreateTransactionException.class,
+            SQLTransientException.class, SQLRecoverableException.class);
+    }
+
+    @SafeVarargs
+    private static boolean hasCause(Throwable exception, Class<? extends Throwable>... types) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            for (Class<? extends Throwable> type : types) {
+                if (type.isInstance(cause)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void send(ConsumerRecord<?, ?> record, String shape, String message, boolean quarantined) {
+        String dlqTopic = dlqTopicOf(record.topic());
+        ProducerRecord<String, String> deadLetter = new ProducerRecord<>(
+            dlqTopic, null, asString(record.key()), asString(record.value()), deadLetterHeaders(record, shape, message, quarantined));
+        String reason = quarantined ? "quarantined" : "failed";
+
+        kafkaTemplate.send(deadLetter).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                log.error("Failed to publish dead letter - Topic: {}, Partition: {}, Offset: {}",
+                    record.topic(), record.partition(), record.offset(), throwable);
+                meterRegistry.counter("data_processor_dlq_publish_failures_total", "topic", record.topic()).increment();
+            }
+        });
+        meterRegistry.counter("data_processor_dlq_messages_total", "topic", record.topic(), "reason", reason).increment();
+    }
+
+    private static Headers deadLetterHeaders(ConsumerRecord<?, ?> record, String shape, String message, boolean quarantined) {
+        Headers headers = new RecordHeaders();
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TIMESTAMP, ByteBuffer.allocate(Long.BYTES).putLong(record.timestamp()).array());
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, shape.getBytes(StandardCharsets.UTF_8));
+        if (message != null) {
+            String truncated = message.length() > MAX_EXCEPTION_MESSAGE_LENGTH ? message.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH) : message;
+            headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, truncated.getBytes(StandardCharsets.UTF_8));
+        }
+        headers.add(FAILURE_SHAPE_HEADER, shape.getBytes(StandardCharsets.UTF_8));
+        headers.add(QUARANTINED_HEADER, String.valueOf(quarantined).getBytes(StandardCharsets.UTF_8));
+        // 재처리(replay)로 돌아온 메시지가 다시 실패하면 재처리 횟수를 이어감
+        headers.add(REPLAY_ATTEMPTS_HEADER, String.valueOf(replayAttempts(record.headers())).getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    public static int replayAttempts(Headers headers) {
+        Header header = headers.lastHeader(REPLAY_ATTEMPTS_HEADER);
+        if (header == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.dataprocessor.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.example.dataprocessor.dto.DeadLetterReplayStatus;
+import org.example.dataprocessor.util.KisTimeDecoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DLQ 레코드를 원본 토픽으로 다시 보내 정상 컨슈머가 재처리하게 함 (한 번에 하나의 재처리만 실행)
+ * 전용 컨슈머 그룹으로 시작 시점의 끝 오프셋까지 배치 단위로 읽고, 배치 발행이 끝날 때마다 오프셋을 커밋해 중단 후 이어서 재처리할 수 있다.
+ * 초당 건수 상한에 맞춰 배치 사이를 쉬어 컨슈머/DB에 몰리지 않게 하고, 재처리 횟수 상한을 넘은 레코드는 건너뛴다(DLQ에 남음).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeadLetterReplayService {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final Duration METADATA_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.dlq.replay.consumer-group:data-processor-dlq-replay}")
+    private String consumerGroup;
+
+    @Value("${app.dlq.replay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.dlq.replay.rate-per-second:1000}")
+    private int defaultRatePerSecond;
+
+    @Value("${app.dlq.replay.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.dlq.replay.send-timeout-ms:30000}")
+    private long sendTimeoutMillis;
+
+    private final AtomicReference<ReplayRun> current = new AtomicReference<>();
+
+    /**
+     * @param ratePerSecond 0 이하면 기본값
+     * @return 이미 재처리 중이면 empty
+     */
+    public Optional<DeadLetterReplayStatus> start(String sourceTopic, long maxRecords, int ratePerSecond) {
+        ReplayRun previous = current.get();
+        if (previous != null && previous.running) {
+            return Optional.empty();
+        }
+        ReplayRun run = new ReplayRun(sourceTopic, deadLetterPublisher.dlqTopicOf(sourceTopic), maxRecords,
+            ratePerSecond > 0 ? ratePerSecond : defaultRatePerSecond);
+        if (!current.compareAndSet(previous, run)) {
+            return Optional.empty();
+        }
+        Thread thread = new Thread(() -> replay(run), "dlq-replay");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("DLQ replay started - Topic: {}, Max records: {}, Rate: {}/s", run.dlqTopic, maxRecords, run.ratePerSecond);
+        return Optional.of(run.status());
+    }
+
+    public Optional<DeadLetterReplayStatus> status() {
+        return Optional.ofNullable(current.get()).map(ReplayRun::status);
+    }
+
+    /**
+     * @return 진행 중인 재처리가 있어 중단을 요청했으면 true (현재 배치까지는 발행/커밋)
+     */
+    public boolean stop() {
+        ReplayRun run = current.get();
+        if (run == null || !run.running) {
+            return false;
+        }
+        run.stopRequested = true;
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    private void replay(ReplayRun run) {
+        Properties overrides = new Properties();
+        // 전용 그룹의 커밋 오프셋이 없으면 DLQ 처음부터
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // 한 배치가 1초 분량을 넘지 않도록
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(batchSize, run.ratePerSecond));
+        long nanosPerRecord = TimeUnit.SECONDS.toNanos(1) / run.ratePerSecond;
+
+        try (Consumer<String, String> consumer = consumerFactory.createConsumer(consumerGroup, null, "-dlq-replay", overrides)) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(run.dlqTopic, METADATA_TIMEOUT);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                log.warn("DLQ topic not found, nothing to replay - Topic: {}", run.dlqTopic);
+                run.finish("completed", null);
+                return;
+            }
+            List<TopicPartition> partitions = partitionInfos.stream()
+                .map(info -> new TopicPartition(run.dlqTopic, info.partition()))
+                .toList();
+            consumer.assign(partitions);
+
+            // 시작 시점의 끝 오프셋까지만 (재처리 중 다시 실패해 DLQ에 쌓이는 레코드는 다음 재처리 대상)
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, METADATA_TIMEOUT);
+            Map<TopicPartition, Long> remaining = new HashMap<>(endOffsets);
+            remaining.entrySet().removeIf(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+
+            while (!remaining.isEmpty() && !run.stopRequested && run.processed() < run.maxRecords) {
+                long batchStarted = System.nanoTime();
+                List<CompletableFuture<?>> sends = new ArrayList<>();
+                Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+
+                for (ConsumerRecord<String, String> record : consumer.poll(POLL_TIMEOUT)) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (record.offset() >= endOffsets.get(partition) || run.processed() >= run.maxRecords) {
+                        continue;
+                    }
+                    int attempts = DeadLetterPublisher.replayAttempts(record.headers());
+                    if (attempts >= maxAttempts) {
+                        run.skipped.incrementAndGet();
+                    } else {
+                        sends.add(kafkaTemplate.send(redrive(run.sourceTopic, record, attempts + 1)));
+                        run.replayed.incrementAndGet();
+                    }
+                    commits.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+
+                // 배치 발행이 모두 확인된 뒤에만 커밋 (실패하면 커밋 없이 중단, 다음 재처리가 같은 지점부터)
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (!commits.isEmpty()) {
+                    consumer.commitSync(commits);
+                    meterRegistry.counter("data_processor_dlq_replayed_total", "topic", run.sourceTopic).increment(sends.size());
+                }
+                remaining.entrySet().removeIf(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+
+                // 보낸 건수만큼의 시간 예산이 남았으면 대기
+                long pauseNanos = sends.size() * nanosPerRecord - (System.nanoTime() - batchStarted);
+                if (pauseNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(pauseNanos);
+                }
+            }
+            run.finish(run.stopRequested ? "stopped" : "completed", null);
+            log.info("DLQ replay finished - Topic: {}, Replayed: {}, Skipped: {}, State: {}",
+                run.dlqTopic, run.replayed.get(), run.skipped.get(), run.state);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.finish("stopped", "interrupted");
+        } catch (Exception e) {
+            log.error("Error replaying dead letters - Topic: {}, Replayed: {}", run.dlqTopic, run.replayed.get(), e);
+            meterRegistry.counter("data_processor_dlq_replay_failures_total", "topic", run.sourceTopic).increment();
+            run.finish("failed", e.getMessage());
+        }
+    }
+
+    /**
+     * 원문/키는 그대로, 재처리 횟수만 헤더로 실어 원본 토픽으로 (같은 키라 같은 파티션, 자연키 중복은 적재 단계에서 흡수)
+     */
+    private static ProducerRecord<String, String> redrive(String sourceTopic, ConsumerRecord<String, String> record, int attempts) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(DeadLetterPublisher.REPLAY_ATTEMPTS_HEADER, String.valueOf(attempts).getBytes(StandardCharsets.UTF_8));
+        return new ProducerRecord<>(sourceTopic, null, record.key(), record.value(), headers);
+    }
+
+    private static final class ReplayRun {
+        private final String sourceTopic;
+        private final String dlqTopic;
+        private final long maxRecords;
+        private final int ratePerSecond;
+        private final LocalDateTime startedAt = LocalDateTime.now(KisTimeDecoder.KST);
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile boolean running = true;
+        private volatile boolean stopRequested;
+        private volatile String state = "running";
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private ReplayRun(String sourceTopic, String dlqTopic, long maxRecords, int ratePerSecond) {
+            this.sourceTopic = sourceTopic;
+            this.dlqTopic = dlqTopic;
+            this.maxRecords = maxRecords;
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        private long processed() {
+            return replayed.get() + skipped.get();
+        }
+
+        private void finish(String state, String error) {
+            this.state = state;
+            this.error = error;
+            this.finishedAt = LocalDateTime.now(KisTimeDecoder.KST);
+            this.running = false;
+        }
+
+        private DeadLetterReplayStatus status() {
+            return DeadLetterReplayStatus.builder()
+                .dlqTopic(dlqTopic)
+                .state(state)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .maxRecords(maxRecords)
+                .ratePerSecond(ratePerSecond)
+                .replayed(replayed.get())
+                .skipped(skipped.get())
+                .error(error)
+                .build();
+        }
+    }
+}
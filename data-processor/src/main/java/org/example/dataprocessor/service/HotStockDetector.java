@@ -0,0 +1,402 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.example.dataprocessor.dto.HotStockEvent;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.entity.type.StockReasonType;
+import org.example.dataprocessor.store.SymbolRegistry;
+import org.example.dataprocessor.util.KisTimeDecoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 핫토픽 자동 선정 - 종목별 초당 메시지 수, 체결량, 가격 변동폭을 EWMA 기준선 대비 z-score로 평가
+ * 점수가 진입 임계값을 넘으면 지정, 해제 임계값 아래로 내려가고 최소 유지 시간이 지나면 해제 (히스테리시스)
+ * 변경분만 hot_stocks에 배치 upsert/delete 하고 hot-stocks 토픽에 발행한다.
+ * 틱 경로는 원자 배열 누적만 하고, 평가/저장/발행은 스케줄러 스레드 한 곳에서만 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotStockDetector implements ConsumerAwareRebalanceListener {
+
+    private static final StockReasonType[] REASONS = StockReasonType.values();
+    private static final int TRAFFIC = StockReasonType.HIGH_TRAFFIC.ordinal();
+    private static final int VOLUME = StockReasonType.VOLUME_SPIKE.ordinal();
+    private static final int VOLATILITY = StockReasonType.HIGH_VOLATILITY.ordinal();
+    // 기준선이 거의 0인 종목에서 작은 움직임이 거대한 z가 되지 않도록 표준편차 하한 1 (건, 주, bp)
+    private static final double MIN_VARIANCE = 1.0;
+    // 기준선이 0 근처인 종목의 대량 체결 한 번으로 z가 수백만이 되어도 hot_stocks.score DECIMAL(10,4)를 넘지 않도록 상한
+    private static final double MAX_SCORE = 9999.0;
+
+    // 지정 시각은 최초 지정 때 값 유지
+    private static final String UPSERT_SQL =
+        "INSERT INTO hot_stocks (stock_code, reason, score, designated_at) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE reason = VALUES(reason), score = VALUES(score)";
+    private static final String DELETE_SQL = "DELETE FROM hot_stocks WHERE stock_code = ?";
+    private static final String LOAD_SQL = "SELECT stock_code, reason, designated_at FROM hot_stocks";
+
+    private final SymbolRegistry symbolRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.hot-stock.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.hot-stock.baseline-alpha:0.02}")
+    private double baselineAlpha;
+
+    @Value("${app.hot-stock.score-alpha:0.3}")
+    private double scoreAlpha;
+
+    @Value("${app.hot-stock.warmup-buckets:60}")
+    private int warmupBuckets;
+
+    @Value("${app.hot-stock.enter-score:3.0}")
+    private double enterScore;
+
+    @Value("${app.hot-stock.exit-score:1.5}")
+    private double exitScore;
+
+    @Value("${app.hot-stock.min-hold-ms:60000}")
+    private long minHoldMillis;
+
+    @Value("${app.hot-stock.score-refresh-delta:0.5}")
+    private double scoreRefreshDelta;
+
+    @Value("${app.kafka.topics.hot-stocks:hot-stocks}")
+    private String hotStocksTopic;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    // 틱 경로 누적 (평가 주기마다 getAndSet(0))
+    private AtomicLongArray bucketMessages;
+    private AtomicLongArray bucketVolumes;
+    private AtomicLongArray lastPrices;
+
+    // 이하 스케줄러 스레드 전용
+    private String[] stockCodes;
+    private long[] previousPrices;
+    private int[] buckets;
+    private double[][] means;
+    private double[][] variances;
+    private double[][] smoothedScores;
+    private boolean[] hot;
+    private StockReasonType[] reasons;
+    private double[] scores;
+    private long[] designatedAtMillis;
+    private boolean[] persistedHot;
+    private StockReasonType[] persistedReasons;
+    private double[] persistedScores;
+    // 이전 소유자가 지정해 둔 행 (워밍업이 끝나면 이어받아 정상 해제 경로를 탐)
+    private Map<String, Designation> adopted = Map.of();
+
+    private volatile boolean resetRequested = true;
+    private volatile int hotCount;
+
+    @PostConstruct
+    public void init() {
+        int capacity = symbolRegistry.capacity();
+        bucketMessages = new AtomicLongArray(capacity);
+        bucketVolumes = new AtomicLongArray(capacity);
+        lastPrices = new AtomicLongArray(capacity);
+        stockCodes = new String[capacity];
+        previousPrices = new long[capacity];
+        buckets = new int[capacity];
+        means = new double[REASONS.length][capacity];
+        variances = new double[REASONS.length][capacity];
+        smoothedScores = new double[REASONS.length][capacity];
+        hot = new boolean[capacity];
+        reasons = new StockReasonType[capacity];
+        scores = new double[capacity];
+        designatedAtMillis = new long[capacity];
+        persistedHot = new boolean[capacity];
+        persistedReasons = new StockReasonType[capacity];
+        persistedScores = new double[capacity];
+
+        Gauge.builder("data_processor_hot_stocks", this, detector -> detector.hotCount)
+            .description("Symbols currently designated as hot")
+            .register(meterRegistry);
+
+        log.info("Hot stock detector initialized - Enabled: {}, Enter: {}, Exit: {}, Min hold: {}ms",
+            enabled, enterScore, exitScore, minHoldMillis);
+    }
+
+    public void onQuote(LatestQuote quote) {
+        int id = symbolRegistry.idOf(quote.getStockCode());
+        if (id < 0) {
+            return;
+        }
+        bucketMessages.incrementAndGet(id);
+        bucketVolumes.addAndGet(id, quote.getVolume());
+        lastPrices.set(id, quote.getPrice());
+    }
+
+    public void onOrderbook(String stockCode) {
+        int id = symbolRegistry.idOf(stockCode);
+        if (id >= 0) {
+            bucketMessages.incrementAndGet(id);
+        }
+    }
+
+    /**
+     * 파티션을 넘기면 넘긴 종목의 기준선이 끊기므로 전부 다시 워밍업 (지정 행은 새 소유자가 이어받음)
+     */
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty() && groupId.equals(consumer.groupMetadata().groupId())) {
+            resetRequested = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.hot-stock.evaluation-interval-ms:1000}")
+    public void evaluate() {
+        if (!enabled) {
+            return;
+        }
+        if (resetRequested) {
+            reset();
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        int size = symbolRegistry.size();
+        int currentHot = 0;
+        for (int id = 0; id < size; id++) {
+            long messages = bucketMessages.getAndSet(id, 0);
+            long volume = bucketVolumes.getAndSet(id, 0);
+            long price = lastPrices.get(id);
+            if (stockCodes[id] == null) {
+                if (messages == 0) {
+                    continue;
+                }
+                stockCodes[id] = symbolRegistry.codeOf(id);
+            }
+
+            long previousPrice = previousPrices[id];
+            previousPrices[id] = price;
+            // 가격 변동폭 (bp), 직전 구간 가격이 없으면 0
+            double volatility = previousPrice > 0 && price > 0
+                ? Math.abs(price - previousPrice) * 10_000.0 / previousPrice : 0.0;
+
+            boolean warm = ++buckets[id] > warmupBuckets;
+            observe(TRAFFIC, id, messages, warm);
+            observe(VOLUME, id, volume, warm);
+            observe(VOLATILITY, id, volatility, warm);
+            if (!warm) {
+                continue;
+            }
+
+            int best = TRAFFIC;
+            for (int metric = 1; metric < REASONS.length; metric++) {
+                if (smoothedScores[metric][id] > smoothedScores[best][id]) {
+                    best = metric;
+                }
+            }
+            double score = Math.max(-MAX_SCORE, Math.min(smoothedScores[best][id], MAX_SCORE));
+            scores[id] = score;
+
+            if (buckets[id] == warmupBuckets + 1) {
+                adopt(id, nowMillis);
+            }
+            if (!hot[id] && score >= enterScore) {
+                hot[id] = true;
+                designatedAtMillis[id] = nowMillis;
+                reasons[id] = REASONS[best];
+            } else if (hot[id] && score < exitScore && nowMillis - designatedAtMillis[id] >= minHoldMillis) {
+                hot[id] = false;
+            } else if (hot[id] && score >= enterScore) {
+                reasons[id] = REASONS[best];
+            }
+            if (hot[id]) {
+                currentHot++;
+            }
+        }
+        hotCount = currentHot;
+
+        persistChanges(size);
+    }
+
+    /**
+     * 값 x의 z-score를 평활해 기록한 뒤 기준선(EWMA 평균/분산) 갱신 - 급증 구간이 곧바로 기준선을 끌어올리지 않도록 평가가 먼저
+     */
+    private void observe(int metric, int id, double value, boolean warm) {
+        double mean = means[metric][id];
+        double variance = variances[metric][id];
+        if (warm) {
+            double z = (value - mean) / Math.sqrt(Math.max(variance, MIN_VARIANCE));
+            smoothedScores[metric][id] += scoreAlpha * (z - smoothedScores[metric][id]);
+        }
+        double diff = value - mean;
+        means[metric][id] = mean + baselineAlpha * diff;
+        variances[metric][id] = (1 - baselineAlpha) * (variance + baselineAlpha * diff * diff);
+    }
+
+    private void adopt(int id, long nowMillis) {
+        Designation designation = adopted.remove(stockCodes[id]);
+        if (designation != null && !hot[id]) {
+            // 이미 DB/토픽에 지정돼 있으므로 저장된 것으로 보고 해제 조건만 따름
+            hot[id] = true;
+            persistedHot[id] = true;
+            reasons[id] = designation.reason();
+            persistedReasons[id] = reasons[id];
+            persistedScores[id] = scores[id];
+            designatedAtMillis[id] = Math.min(designation.designatedAtMillis(), nowMillis);
+        }
+    }
+
+    private void persistChanges(int size) {
+        List<Integer> upserts = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            if (hot[id]) {
+                if (!persistedHot[id] || reasons[id] != persistedReasons[id]
+                    || Math.abs(scores[id] - persistedScores[id]) >= scoreRefreshDelta) {
+                    upserts.add(id);
+                }
+            } else if (persistedHot[id]) {
+                deletes.add(id);
+            }
+        }
+        if (upserts.isEmpty() && deletes.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!upserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, upserts, upserts.size(), (ps, id) -> {
+                        ps.setString(1, stockCodes[id]);
+                        ps.setString(2, reasons[id].name());
+                        ps.setBigDecimal(3, BigDecimal.valueOf(scores[id]).setScale(4, RoundingMode.HALF_UP));
+                        ps.setTimestamp(4, new Timestamp(designatedAtMillis[id]));
+                    });
+                }
+                if (!deletes.isEmpty()) {
+                    jdbcTemplate.batchUpdate(DELETE_SQL, deletes, deletes.size(),
+                        (ps, id) -> ps.setString(1, stockCodes[id]));
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to persist hot stock changes - Upserts: {}, Deletes: {}, will retry on next evaluation",
+                upserts.size(), deletes.size(), e);
+            meterRegistry.counter("data_processor_hot_stock_persist_failures_total").increment();
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(KisTimeDecoder.KST);
+        for (int id : upserts) {
+            // 지정/사유 변경만 알림, 점수 갱신은 DB에만
+            if (!persistedHot[id] || reasons[id] != persistedReasons[id]) {
+                if (!persistedHot[id]) {
+                    log.info("Hot stock designated - Stock: {}, Reason: {}, Score: {}", stockCodes[id], reasons[id], scores[id]);
+                }
+                publish(id, true, now);
+            }
+            persistedHot[id] = true;
+            persistedReasons[id] = reasons[id];
+            persistedScores[id] = scores[id];
+        }
+        for (int id : deletes) {
+            log.info("Hot stock undesignated - Stock: {}, Score: {}", stockCodes[id], scores[id]);
+            publish(id, false, now);
+            persistedHot[id] = false;
+            persistedReasons[id] = null;
+        }
+        meterRegistry.counter("data_processor_hot_stock_changes_total", "type", "upsert").increment(upserts.size());
+        meterRegistry.counter("data_processor_hot_stock_changes_total", "type", "delete").increment(deletes.size());
+    }
+
+    private void publish(int id, boolean designated, LocalDateTime now) {
+        String stockCode = stockCodes[id];
+        try {
+            HotStockEvent event = HotStockEvent.builder()
+                .stockCode(stockCode)
+                .hot(designated)
+                .reason(designated ? reasons[id] : null)
+                .score(scores[id])
+                .designatedAt(KisTimeDecoder.toLocalDateTime(designatedAtMillis[id]))
+                .changedAt(now)
+                .build();
+            // 압축(compact) 토픽 - 종목코드 키 기준으로 최신 지정 상태만 유지
+            kafkaTemplate.send(hotStocksTopic, stockCode, objectMapper.writeValueAsString(event))
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Failed to publish hot stock event for stock: {}", stockCode, throwable);
+                        meterRegistry.counter("data_processor_hot_stock_publish_failures_total").increment();
+                    }
+                });
+        } catch (Exception e) {
+            log.error("Error serializing hot stock event for stock: {}", stockCode, e);
+            meterRegistry.counter("data_processor_hot_stock_publish_failures_total").increment();
+        }
+    }
+
+    private void reset() {
+        resetRequested = false;
+        for (int id = 0; id < stockCodes.length; id++) {
+            bucketMessages.set(id, 0);
+            bucketVolumes.set(id, 0);
+        }
+        Arrays.fill(stockCodes, null);
+        Arrays.fill(previousPrices, 0L);
+        Arrays.fill(buckets, 0);
+        for (int metric = 0; metric < REASONS.length; metric++) {
+            Arrays.fill(means[metric], 0.0);
+            Arrays.fill(variances[metric], 0.0);
+            Arrays.fill(smoothedScores[metric], 0.0);
+        }
+        Arrays.fill(hot, false);
+        Arrays.fill(reasons, null);
+        Arrays.fill(scores, 0.0);
+        Arrays.fill(persistedHot, false);
+        Arrays.fill(persistedReasons, null);
+        Arrays.fill(persistedScores, 0.0);
+        hotCount = 0;
+
+        try {
+            Map<String, Designation> rows = new HashMap<>();
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                String reason = rs.getString(2);
+                rows.put(rs.getString(1), new Designation(
+                    reason != null ? StockReasonType.valueOf(reason) : StockReasonType.HIGH_TRAFFIC,
+                    rs.getTimestamp(3).getTime()));
+            });
+            adopted = rows;
+            log.info("Hot stock detector reset - Existing designations: {}", rows.size());
+        } catch (Exception e) {
+            log.error("Failed to load existing hot stocks", e);
+            adopted = new HashMap<>();
+        }
+    }
+
+    private record Designation(StockReasonType reason, long designatedAtMillis) {
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.store.LatestOrderbookStore;
+import org.example.dataprocessor.store.LatestQuoteStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+
+/**
+ * 종목별 최신 체결/호가를 압축(compact) 토픽(quote-latest, orderbook-latest)에 발행 - 소비 서비스 기동 시 이 토픽을 끝까지 읽어 상태를 채움
+ * 배치마다 종목당 1건, 값은 최신 상태 저장소에 남은 스냅샷(체결/호가 시각 기준 가장 늦은 값)이라 순서가 뒤바뀐 메시지로 되돌아가지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LatestStatePublisher {
+
+    private final LatestQuoteStore latestQuoteStore;
+    private final LatestOrderbookStore latestOrderbookStore;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.latest-topics.publish-enabled:true}")
+    private boolean publishEnabled;
+
+    @Value("${app.kafka.topics.quote-latest:quote-latest}")
+    private String quoteLatestTopic;
+
+    @Value("${app.kafka.topics.orderbook-latest:orderbook-latest}")
+    private String orderbookLatestTopic;
+
+    /**
+     * 커밋 이후 호출 (최신 상태 저장소에 반영된 뒤)
+     */
+    public void publishQuotes(Collection<LatestQuote> quotes) {
+        if (!publishEnabled) {
+            return;
+        }
+        for (String stockCode : new LinkedHashSet<>(quotes.stream().map(LatestQuote::getStockCode).toList())) {
+            Optional<LatestQuote> latest = latestQuoteStore.get(stockCode);
+            latest.ifPresent(quote -> send(quoteLatestTopic, stockCode, quote));
+        }
+    }
+
+    public void publishOrderbooks(Collection<LatestOrderbook> orderbooks) {
+        if (!publishEnabled) {
+            return;
+        }
+        for (String stockCode : new LinkedHashSet<>(orderbooks.stream().map(LatestOrderbook::getStockCode).toList())) {
+            Optional<LatestOrderbook> latest = latestOrderbookStore.get(stockCode);
+            latest.ifPresent(orderbook -> send(orderbookLatestTopic, stockCode, orderbook));
+        }
+    }
+
+    private void send(String topic, String stockCode, Object snapshot) {
+        try {
+            String message = objectMapper.writeValueAsString(snapshot);
+            kafkaTemplate.send(topic, stockCode, message).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    log.error("Failed to publish latest state - Topic: {}, Stock: {}", topic, stockCode, throwable);
+                    meterRegistry.counter("data_processor_latest_publish_failures_total", "topic", topic).increment();
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error serializing latest state - Topic: {}, Stock: {}", topic, stockCode, e);
+            meterRegistry.counter("data_processor_latest_publish_failures_total", "topic", topic).increment();
+        }
+    }
+}
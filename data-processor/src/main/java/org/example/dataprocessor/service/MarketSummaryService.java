@@ -0,0 +1,266 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.dto.MarketMover;
+import org.example.dataprocessor.dto.MarketTop;
+import org.example.dataprocessor.store.SymbolRankHeap;
+import org.example.dataprocessor.store.SymbolRegistry;
+import org.example.dataprocessor.util.KisTimeDecoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 시장 전체 순위표 (상승/하락률, 누적 거래량, 거래대금, 체결 건수) - 종목 ID 인덱스 원시 배열 + 지표별 색인 힙을 틱마다 갱신
+ * quote_data를 훑지 않고 조회는 힙 부분 탐색만으로 끝난다. 당일 누적값은 KST 자정에 초기화
+ * 이 인스턴스가 소비한 틱만 집계하므로, 컨슈머 스레드/인스턴스가 여럿이면 순위는 시장 전체가 아니라 이 인스턴스가 맡은 파티션의 종목 기준이다.
+ * 파티션을 넘기면 넘긴 종목의 누적값이 멈춘 채 남지 않도록 순위표를 비우고 새로 쌓는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarketSummaryService implements ConsumerAwareRebalanceListener {
+
+    @Getter
+    public enum Metric {
+        GAINERS("gainers"),
+        LOSERS("losers"),
+        VOLUME("volume"),
+        TURNOVER("turnover"),
+        ACTIVE("active");
+
+        private final String code;
+
+        Metric(String code) {
+            this.code = code;
+        }
+
+        public static Optional<Metric> fromCode(String code) {
+            return Arrays.stream(values())
+                .filter(metric -> metric.code.equalsIgnoreCase(code))
+                .findFirst();
+        }
+    }
+
+    private final SymbolRegistry symbolRegistry;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.market-summary.max-k:100}")
+    private int maxK;
+
+    @Value("${app.market-summary.publish-enabled:false}")
+    private boolean publishEnabled;
+
+    @Value("${app.market-summary.publish-k:20}")
+    private int publishK;
+
+    @Value("${app.kafka.topics.market-movers:market-movers}")
+    private String marketMoversTopic;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    // 갱신 구간이 짧아(배열 몇 칸 + 힙 log N) 단일 락으로 충분
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private String[] stockCodes;
+    private long[] prices;
+    private long[] changeRates;
+    private long[] cumulativeVolumes;
+    private long[] turnovers;
+    private long[] tradeCounts;
+    // 순서가 뒤바뀐 틱이 현재가/등락률을 되돌리지 않도록 마지막 체결 시각(초) 기억
+    private long[] lastTradeSeconds;
+
+    private SymbolRankHeap gainers;
+    private SymbolRankHeap losers;
+    private SymbolRankHeap volumeLeaders;
+    private SymbolRankHeap turnoverLeaders;
+    private SymbolRankHeap mostActive;
+
+    @PostConstruct
+    public void init() {
+        int capacity = symbolRegistry.capacity();
+        stockCodes = new String[capacity];
+        prices = new long[capacity];
+        changeRates = new long[capacity];
+        cumulativeVolumes = new long[capacity];
+        turnovers = new long[capacity];
+        tradeCounts = new long[capacity];
+        lastTradeSeconds = new long[capacity];
+        Arrays.fill(lastTradeSeconds, Long.MIN_VALUE);
+
+        gainers = new SymbolRankHeap(changeRates, true);
+        losers = new SymbolRankHeap(changeRates, false);
+        volumeLeaders = new SymbolRankHeap(cumulativeVolumes, true);
+        turnoverLeaders = new SymbolRankHeap(turnovers, true);
+        mostActive = new SymbolRankHeap(tradeCounts, true);
+
+        log.info("Market summary initialized - Capacity: {}, Max K: {}, Publish: {}", capacity, maxK, publishEnabled);
+    }
+
+    /**
+     * 새로 저장된 체결 1건 반영
+     */
+    public void onQuote(LatestQuote quote) {
+        int id = symbolRegistry.idOf(quote.getStockCode());
+        if (id < 0) {
+            return;
+        }
+        long tradeSecond = quote.getTradeTime().toEpochSecond(ZoneOffset.UTC);
+
+        lock.lock();
+        try {
+            stockCodes[id] = quote.getStockCode();
+            cumulativeVolumes[id] += quote.getVolume();
+            turnovers[id] += quote.getPrice() * quote.getVolume();
+            tradeCounts[id]++;
+            volumeLeaders.update(id);
+            turnoverLeaders.update(id);
+            mostActive.update(id);
+
+            if (tradeSecond >= lastTradeSeconds[id]) {
+                lastTradeSeconds[id] = tradeSecond;
+                prices[id] = quote.getPrice();
+                changeRates[id] = quote.getChangeRate();
+                gainers.update(id);
+                losers.update(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지표별 상위 k 종목 (k는 max-k로 제한)
+     */
+    public MarketTop top(Metric metric, int k) {
+        int limit = Math.max(0, Math.min(k, maxK));
+        int[] ids = new int[limit];
+        List<MarketMover> movers = new ArrayList<>(limit);
+        int rankedSymbols;
+
+        lock.lock();
+        try {
+            SymbolRankHeap heap = heapOf(metric);
+            rankedSymbols = heap.size();
+            int count = heap.topK(limit, ids);
+            for (int i = 0; i < count; i++) {
+                int id = ids[i];
+                movers.add(MarketMover.builder()
+                    .rank(i + 1)
+                    .stockCode(stockCodes[id])
+                    .price(prices[id])
+                    .changeRate(changeRates[id])
+                    .cumulativeVolume(cumulativeVolumes[id])
+                    .turnover(turnovers[id])
+                    .tradeCount(tradeCounts[id])
+                    .build());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return MarketTop.builder()
+            .metric(metric.getCode())
+            .generatedAt(LocalDateTime.now(KisTimeDecoder.KST))
+            .rankedSymbols(rankedSymbols)
+            .movers(movers)
+            .build();
+    }
+
+    /**
+     * KST 자정에 당일 누적값 초기화
+     */
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
+    public void resetDay() {
+        clear();
+        log.info("Market summary reset for new trading day");
+    }
+
+    /**
+     * 파티션을 다른 인스턴스에 넘기면 해당 종목 누적값이 더 이상 갱신되지 않으므로 비움 (남은 종목은 이후 틱부터 다시 누적)
+     */
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty() && groupId.equals(consumer.groupMetadata().groupId())) {
+            log.info("Partitions revoked, clearing market summary - Partitions: {}", partitions);
+            clear();
+        }
+    }
+
+    private void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(stockCodes, null);
+            Arrays.fill(prices, 0L);
+            Arrays.fill(changeRates, 0L);
+            Arrays.fill(cumulativeVolumes, 0L);
+            Arrays.fill(turnovers, 0L);
+            Arrays.fill(tradeCounts, 0L);
+            Arrays.fill(lastTradeSeconds, Long.MIN_VALUE);
+            gainers.clear();
+            losers.clear();
+            volumeLeaders.clear();
+            turnoverLeaders.clear();
+            mostActive.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지표별 상위 목록을 압축(compact) 토픽에 주기 발행 (키 = 지표 코드, 토픽에는 지표별 최신 순위표만 남음)
+     */
+    @Scheduled(fixedDelayString = "${app.market-summary.publish-interval-ms:1000}")
+    public void publish() {
+        if (!publishEnabled) {
+            return;
+        }
+        for (Metric metric : Metric.values()) {
+            try {
+                String message = objectMapper.writeValueAsString(top(metric, publishK));
+                kafkaTemplate.send(marketMoversTopic, metric.getCode(), message).whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Failed to publish market movers for metric: {}", metric.getCode(), throwable);
+                        meterRegistry.counter("data_processor_market_publish_failures_total").increment();
+                    }
+                });
+            } catch (Exception e) {
+                log.error("Error serializing market movers for metric: {}", metric.getCode(), e);
+                meterRegistry.counter("data_processor_market_publish_failures_total").increment();
+            }
+        }
+    }
+
+    private SymbolRankHeap heapOf(Metric metric) {
+        return switch (metric) {
+            case GAINERS -> gainers;
+            case LOSERS -> losers;
+            case VOLUME -> volumeLeaders;
+            case TURNOVER -> turnoverLeaders;
+            case ACTIVE -> mostActive;
+        };
+    }
+}
@@ -3,18 +3,31 @@ package org.example.dataprocessor.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.dataprocessor.dto.KisOrderbookMessage;
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.example.dataprocessor.dto.TickCursor;
+import org.example.dataprocessor.dto.TickPage;
 import org.example.dataprocessor.entity.Orderbook;
 import org.example.dataprocessor.entity.OrderbookLevel;
 import org.example.dataprocessor.repository.OrderbookRepository;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.example.dataprocessor.repository.TickJdbcWriter;
+import org.example.dataprocessor.store.LatestOrderbookStore;
+import org.example.dataprocessor.store.RollingCountStore;
+import org.example.dataprocessor.store.TickBufferStore;
+import org.example.dataprocessor.util.KisTimeDecoder;
+import org.example.dataprocessor.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Slf4j
@@ -23,106 +36,240 @@ import java.util.Optional;
 public class OrderbookDataService {
     
     private final OrderbookRepository orderbookRepository;
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmmss");
+    private final TickJdbcWriter tickJdbcWriter;
+    private final LatestOrderbookStore latestOrderbookStore;
+    private final TickBufferStore tickBufferStore;
+    private final RollingCountStore rollingCountStore;
+    private final LatestStatePublisher latestStatePublisher;
+    private final KisTimeDecoder kisTimeDecoder;
+    private final OrderbookDeltaEncoder orderbookDeltaEncoder;
+    private final OrderbookReconstructionService orderbookReconstructionService;
+    private final MeterRegistry meterRegistry;
     
+    private final SingleFlight<String, Optional<LatestOrderbook>> latestOrderbookLoads = new SingleFlight<>();
+    
+    /**
+     * 호가 메시지 묶음 저장 - 자연키(종목, 호가시간, 수집 순번)가 겹치는 재전송분은 INSERT IGNORE로 흡수 (JPA 없이 TickJdbcWriter로 적재)
+     * 마스터가 새로 들어간 호가만 단계를 적재하고, 최신 상태/틱 버퍼에도 새 호가만 커밋 이후 반영
+     * 델타 모드면 키프레임 사이 호가는 직전 호가 대비 바뀐 단계만 적재
+     */
     @Transactional
-    @CachePut(value = "latestOrderbooks", key = "#orderbookMessage.trKey")
-    public Orderbook processOrderbookMessage(KisOrderbookMessage orderbookMessage) {
+    public List<LatestOrderbook> processOrderbookMessages(List<KisOrderbookMessage> orderbookMessages) {
+        if (orderbookMessages.isEmpty()) {
+            return List.of();
+        }
         try {
-            log.debug("Processing orderbook message for stock: {}", orderbookMessage.getTrKey());
-            
-            // 중복 검사 (sequence_number 기반)
-            if (orderbookMessage.getSequenceNumberAsLong() > 0) {
-                Optional<Orderbook> existingOrderbook = orderbookRepository.findBySequenceNumber(
-                    orderbookMessage.getSequenceNumberAsLong());
-                if (existingOrderbook.isPresent()) {
-                    log.debug("Duplicate orderbook message detected - sequence: {}", 
-                        orderbookMessage.getSequenceNumberAsLong());
-                    return existingOrderbook.get();
-                }
-            }
-            
-            // Orderbook 마스터 데이터 생성
-            Orderbook orderbook = Orderbook.builder()
-                .stockCode(orderbookMessage.getTrKey())
-                .quoteTime(parseQuoteTime(orderbookMessage.getTimestamp()))
-                .sequenceNumber(orderbookMessage.getSequenceNumberAsLong())
-                .totalBidVolume(orderbookMessage.getTotalBidVolumeAsLong())
-                .totalAskVolume(orderbookMessage.getTotalAskVolumeAsLong())
-                .build();
+            log.debug("Processing {} orderbook messages", orderbookMessages.size());
             
-            Orderbook savedOrderbook = orderbookRepository.save(orderbook);
+            List<Orderbook> orderbooks = orderbookMessages.stream()
+                .map(this::toOrderbook)
+                .toList();
             
-            // OrderbookLevel 상세 데이터 생성
-            List<OrderbookLevel> orderbookLevels = new ArrayList<>();
-            
-            // 매수호가 레벨들 추가
-            List<KisOrderbookMessage.OrderbookLevelDto> bidLevels = orderbookMessage.getBidLevels();
-            for (KisOrderbookMessage.OrderbookLevelDto bidLevel : bidLevels) {
-                orderbookLevels.add(OrderbookLevel.builder()
-                    .orderbookId(savedOrderbook.getId())
-                    .orderType(OrderbookLevel.OrderType.BID)
-                    .priceLevel(bidLevel.getPriceLevel())
-                    .price(bidLevel.getPrice())
-                    .volume(bidLevel.getVolume())
-                    .build());
+            // 프레임 종류/저장할 단계는 수신 순서대로 결정 (중복으로 무시될 호가도 직전 상태로 반영)
+            List<List<OrderbookLevel>> storedLevels = new ArrayList<>(orderbooks.size());
+            for (Orderbook orderbook : orderbooks) {
+                storedLevels.add(orderbookDeltaEncoder.encode(orderbook));
             }
             
-            // 매도호가 레벨들 추가
-            List<KisOrderbookMessage.OrderbookLevelDto> askLevels = orderbookMessage.getAskLevels();
-            for (KisOrderbookMessage.OrderbookLevelDto askLevel : askLevels) {
-                orderbookLevels.add(OrderbookLevel.builder()
-                    .orderbookId(savedOrderbook.getId())
-                    .orderType(OrderbookLevel.OrderType.ASK)
-                    .priceLevel(askLevel.getPriceLevel())
-                    .price(askLevel.getPrice())
-                    .volume(askLevel.getVolume())
-                    .build());
+            // 0 = 자연키 중복으로 무시된 마스터
+            long[] orderbookIds = tickJdbcWriter.insertOrderbooks(orderbooks);
+            List<Orderbook> inserted = new ArrayList<>(orderbooks.size());
+            for (int i = 0; i < orderbooks.size(); i++) {
+                if (orderbookIds[i] != 0) {
+                    inserted.add(orderbooks.get(i));
+                }
             }
+            int duplicates = orderbooks.size() - inserted.size();
+            if (duplicates > 0) {
+                log.debug("Ignored {} redelivered orderbook messages", duplicates);
+                meterRegistry.counter("data_processor_duplicates_total", "type", "orderbook").increment(duplicates);
+            }
+            
+            // 단계는 회수한 마스터 id로 같은 배치에서 적재
+            tickJdbcWriter.insertLevels(orderbookIds, storedLevels);
             
-            savedOrderbook.setOrderbookLevels(orderbookLevels);
+            List<LatestOrderbook> snapshots = inserted.stream()
+                .map(orderbook -> LatestOrderbook.from(orderbook, orderbook.getOrderbookLevels()))
+                .toList();
             
-            log.debug("Successfully saved orderbook data - ID: {}, Stock: {}, Levels: {}", 
-                savedOrderbook.getId(), savedOrderbook.getStockCode(), orderbookLevels.size());
+            // 커밋 이후에만 최신 상태로 노출, 롤백되면 델타 기준이 DB와 어긋나므로 해당 종목은 키프레임부터 다시
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (LatestOrderbook snapshot : snapshots) {
+                        latestOrderbookStore.publish(snapshot.getStockCode(), snapshot);
+                        tickBufferStore.appendOrderbook(snapshot);
+                        rollingCountStore.record(RollingCountStore.Type.ORDERBOOK, snapshot.getStockCode(), snapshot.getQuoteTime());
+                    }
+                    latestStatePublisher.publishOrderbooks(snapshots);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        orderbookDeltaEncoder.reset(orderbooks.stream().map(Orderbook::getStockCode).distinct().toList());
+                    }
+                }
+            });
             
-            return savedOrderbook;
+            return snapshots;
             
         } catch (Exception e) {
-            log.error("Error processing orderbook message for stock: {}", orderbookMessage.getTrKey(), e);
-            throw new RuntimeException("Failed to process orderbook message", e);
+            log.error("Error processing {} orderbook messages", orderbookMessages.size(), e);
+            throw new RuntimeException("Failed to process orderbook messages", e);
+        }
+    }
+    
+    /**
+     * 최신 호가 조회 (메모리 저장소 우선, 없으면 DB 조회 후 저장소에 적재)
+     * 같은 종목의 동시 미스는 한 번만 DB를 조회하고 나머지는 그 결과를 기다림 (커넥션은 지연 획득이라 대기 중에는 잡지 않음)
+     */
+    @Transactional(readOnly = true)
+    public Optional<LatestOrderbook> getLatestOrderbook(String stockCode) {
+        Optional<LatestOrderbook> latestOrderbook = latestOrderbookStore.get(stockCode);
+        if (latestOrderbook.isPresent()) {
+            return latestOrderbook;
         }
+        // 같은 종목의 동시 미스는 한 번만 조회/복원 (앞선 조회가 방금 적재했을 수 있으므로 저장소를 한 번 더 확인)
+        return latestOrderbookLoads.load(stockCode, () -> latestOrderbookStore.get(stockCode).or(() -> {
+            meterRegistry.counter("data_processor_latest_state_db_loads_total", "type", "orderbook").increment();
+            return orderbookRepository.findLatestByStockCode(stockCode)
+                .flatMap(this::toLatestOrderbook)
+                .map(snapshot -> {
+                    latestOrderbookStore.publish(stockCode, snapshot);
+                    return snapshot;
+                });
+        }));
     }
     
-    @Cacheable(value = "latestOrderbooks", key = "#stockCode")
-    public Optional<Orderbook> getLatestOrderbook(String stockCode) {
-        return orderbookRepository.findLatestByStockCode(stockCode);
+    /**
+     * 여러 종목의 최신 호가를 한 번의 조회로 저장소에 적재 (기동 시 warm-up)
+     * 델타 모드면 최신 행이 델타 프레임일 수 있어 종목별로 직전 키프레임부터 복원
+     * @return 적재한 종목 수
+     */
+    @Transactional(readOnly = true)
+    public int warmLatestOrderbooks(Collection<String> stockCodes) {
+        if (stockCodes.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = orderbookRepository.findLatestIdsByStockCodes(stockCodes);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Orderbook> orderbooks = orderbookDeltaEncoder.isDeltaEnabled()
+            ? orderbookRepository.findAllById(ids)
+            : orderbookRepository.findWithLevelsByIdIn(ids);
+        int loaded = 0;
+        for (Orderbook orderbook : orderbooks) {
+            Optional<LatestOrderbook> snapshot = toLatestOrderbook(orderbook);
+            if (snapshot.isPresent() && latestOrderbookStore.publish(orderbook.getStockCode(), snapshot.get())) {
+                loaded++;
+            }
+        }
+        return loaded;
     }
     
-    public List<Orderbook> getRecentOrderbooks(String stockCode, int limit) {
-        return orderbookRepository.findByStockCodeOrderByQuoteTimeDesc(stockCode, 
-            org.springframework.data.domain.PageRequest.of(0, limit));
+    private Optional<LatestOrderbook> toLatestOrderbook(Orderbook orderbook) {
+        return orderbookDeltaEncoder.isDeltaEnabled()
+            ? orderbookReconstructionService.reconstructAt(orderbook.getStockCode(), orderbook.getQuoteTime())
+            : Optional.of(LatestOrderbook.from(orderbook, orderbook.getOrderbookLevels()));
     }
     
+    /**
+     * 최근 호가 한 페이지 (최신순, keyset) - 첫 페이지는 메모리 버퍼에 충분히 있으면 버퍼에서, 아니면 (종목, 호가시간, id) 인덱스 범위로 조회
+     * @param cursor null이면 첫 페이지
+     */
+    @Transactional(readOnly = true)
+    public TickPage<LatestOrderbook> getRecentOrderbookPage(String stockCode, TickCursor cursor, int limit) {
+        if (cursor == null) {
+            Optional<TickPage<LatestOrderbook>> buffered = tickBufferStore.recentOrderbooks(stockCode, limit)
+                .flatMap(orderbooks -> TickPage.ofBuffered(orderbooks, LatestOrderbook::getQuoteTime));
+            meterRegistry.counter("data_processor_tick_buffer_requests_total",
+                "type", "orderbook", "result", buffered.isPresent() ? "hit" : "miss").increment();
+            if (buffered.isPresent()) {
+                return buffered.get();
+            }
+        }
+        
+        PageRequest page = PageRequest.of(0, limit);
+        List<Orderbook> orderbooks = cursor == null
+            ? orderbookRepository.findLatestPage(stockCode, page)
+            : orderbookRepository.findPageBefore(stockCode, cursor.time(), cursor.id(), page);
+        // 페이지가 가득 찼을 때만 다음 페이지가 있을 수 있음
+        String nextCursor = orderbooks.size() == limit
+            ? new TickCursor(orderbooks.get(orderbooks.size() - 1).getQuoteTime(), orderbooks.get(orderbooks.size() - 1).getId()).encode()
+            : null;
+        
+        List<LatestOrderbook> items;
+        if (orderbookDeltaEncoder.isDeltaEnabled() && !orderbooks.isEmpty()) {
+            // 델타 프레임은 단계 일부만 있으므로 가장 오래된 건 이전 키프레임부터 재생해 복원
+            // 같은 초의 페이지 밖 행(이전 페이지 등)도 재생되므로 조회한 id만 골라 페이지 순서대로 담음
+            Map<Long, LatestOrderbook> reconstructed = orderbookReconstructionService.reconstructFrames(stockCode,
+                orderbooks.get(orderbooks.size() - 1).getQuoteTime(), orderbooks.get(0).getQuoteTime(),
+                orderbooks.stream().map(Orderbook::getId).toList());
+            items = orderbooks.stream()
+                .map(orderbook -> reconstructed.get(orderbook.getId()))
+                .filter(Objects::nonNull)
+                .toList();
+        } else {
+            items = orderbooks.stream()
+                .map(orderbook -> LatestOrderbook.from(orderbook, orderbook.getOrderbookLevels()))
+                .toList();
+        }
+        return TickPage.<LatestOrderbook>builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .build();
+    }
+    
+    /**
+     * at 시점(포함)의 호가 - 델타 모드에서도 직전 키프레임부터 재생해 전체 단계로 복원
+     */
+    public Optional<LatestOrderbook> getOrderbookAt(String stockCode, LocalDateTime at) {
+        return orderbookReconstructionService.reconstructAt(stockCode, at);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Orderbook> getOrderbooksBetween(String stockCode, LocalDateTime startTime, LocalDateTime endTime) {
         return orderbookRepository.findByStockCodeAndQuoteTimeBetween(stockCode, startTime, endTime);
     }
     
+    @Transactional(readOnly = true)
     public long getOrderbookCount(String stockCode, LocalDateTime afterTime) {
         return orderbookRepository.countByStockCodeAndQuoteTimeAfter(stockCode, afterTime);
     }
     
-    private LocalDateTime parseQuoteTime(String timestamp) {
-        try {
-            // KIS API timestamp 형식: "HHmmss" (예: "234154")
-            if (timestamp != null && timestamp.length() == 6) {
-                LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
-                return today.with(java.time.LocalTime.parse(timestamp, TIME_FORMATTER));
-            }
-            return LocalDateTime.now();
-        } catch (Exception e) {
-            log.warn("Failed to parse timestamp: {}, using current time", timestamp);
-            return LocalDateTime.now();
+    private Orderbook toOrderbook(KisOrderbookMessage orderbookMessage) {
+        List<OrderbookLevel> orderbookLevels = new ArrayList<>();
+        
+        // 매수호가 레벨들 추가
+        for (KisOrderbookMessage.OrderbookLevelDto bidLevel : orderbookMessage.getBidLevels()) {
+            orderbookLevels.add(OrderbookLevel.builder()
+                .orderType(OrderbookLevel.OrderType.BID)
+                .priceLevel(bidLevel.getPriceLevel())
+                .price(bidLevel.getPrice())
+                .volume(bidLevel.getVolume())
+                .build());
+        }
+        
+        // 매도호가 레벨들 추가
+        for (KisOrderbookMessage.OrderbookLevelDto askLevel : orderbookMessage.getAskLevels()) {
+            orderbookLevels.add(OrderbookLevel.builder()
+                .orderType(OrderbookLevel.OrderType.ASK)
+                .priceLevel(askLevel.getPriceLevel())
+                .price(askLevel.getPrice())
+                .volume(askLevel.getVolume())
+                .build());
         }
+        
+        return Orderbook.builder()
+            .stockCode(orderbookMessage.getTrKey())
+            .quoteTime(kisTimeDecoder.toLocalDateTime(orderbookMessage.getTimestamp()))
+            .sequenceNumber(orderbookMessage.getSequenceNumberAsLong())
+            .totalBidVolume(orderbookMessage.getTotalBidVolumeAsLong())
+            .totalAskVolume(orderbookMessage.getTotalAskVolumeAsLong())
+            .orderbookLevels(orderbookLevels)
+            .build();
     }
 }
 
@@ -0,0 +1,183 @@
+package org.example.dataprocessor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.example.dataprocessor.entity.Orderbook;
+import org.example.dataprocessor.entity.OrderbookLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 호가 키프레임 + 델타 인코더 - N건 또는 T시간마다 전체 단계(키프레임), 그 사이는 직전 호가 대비 바뀐 단계만 저장
+ * 사라진 단계는 가격/잔량 0 행으로 기록한다. 같은 종목은 한 스레드에서 순서대로 들어온다고 가정 (메시지 키 = 종목코드)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderbookDeltaEncoder implements ConsumerAwareRebalanceListener {
+
+    private static final int BID = 0;
+    private static final int ASK = 1;
+
+    private final MeterRegistry meterRegistry;
+
+    // 종목별 직전 저장 호가 (DB에 쓴 내용과 같아야 델타가 이어짐)
+    private final Map<String, BookState> states = new ConcurrentHashMap<>();
+
+    @Value("${app.orderbook-storage.mode:delta}")
+    private String mode;
+
+    @Value("${app.orderbook-storage.keyframe-interval:50}")
+    private int keyframeInterval;
+
+    @Value("${app.orderbook-storage.keyframe-max-age-ms:30000}")
+    private long keyframeMaxAgeMillis;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    private boolean deltaEnabled;
+    private Counter keyframes;
+    private Counter deltas;
+    private Counter levelsWritten;
+    private Counter levelsSkipped;
+
+    @PostConstruct
+    public void init() {
+        deltaEnabled = "delta".equalsIgnoreCase(mode);
+        keyframes = meterRegistry.counter("data_processor_orderbook_frames_total", "type", "keyframe");
+        deltas = meterRegistry.counter("data_processor_orderbook_frames_total", "type", "delta");
+        levelsWritten = meterRegistry.counter("data_processor_orderbook_levels_total", "result", "written");
+        levelsSkipped = meterRegistry.counter("data_processor_orderbook_levels_total", "result", "skipped");
+        log.info("Orderbook storage mode: {} (keyframe every {} snapshots or {}ms)",
+            deltaEnabled ? "delta" : "full", keyframeInterval, keyframeMaxAgeMillis);
+    }
+
+    public boolean isDeltaEnabled() {
+        return deltaEnabled;
+    }
+
+    /**
+     * 프레임 종류를 정해 엔티티에 설정하고 저장할 단계 목록을 반환
+     */
+    public List<OrderbookLevel> encode(Orderbook orderbook) {
+        List<OrderbookLevel> levels = orderbook.getOrderbookLevels();
+        if (!deltaEnabled) {
+            orderbook.setFrameType(Orderbook.FrameType.KEYFRAME);
+            return levels;
+        }
+
+        BookState state = states.computeIfAbsent(orderbook.getStockCode(), stockCode -> new BookState());
+        BookState next = BookState.of(levels);
+        LocalDateTime quoteTime = orderbook.getQuoteTime();
+        boolean keyframe = state.keyframeDeadline == null
+            || state.deltasSinceKeyframe + 1 >= keyframeInterval
+            || !quoteTime.isBefore(state.keyframeDeadline);
+
+        List<OrderbookLevel> written;
+        if (keyframe) {
+            orderbook.setFrameType(Orderbook.FrameType.KEYFRAME);
+            written = levels;
+            state.deltasSinceKeyframe = 0;
+            state.keyframeDeadline = quoteTime.plusNanos(keyframeMaxAgeMillis * 1_000_000L);
+            keyframes.increment();
+        } else {
+            orderbook.setFrameType(Orderbook.FrameType.DELTA);
+            written = new ArrayList<>();
+            diff(state, next, BID, OrderbookLevel.OrderType.BID, written);
+            diff(state, next, ASK, OrderbookLevel.OrderType.ASK, written);
+            state.deltasSinceKeyframe++;
+            deltas.increment();
+        }
+        state.prices = next.prices;
+        state.volumes = next.volumes;
+
+        levelsWritten.increment(written.size());
+        levelsSkipped.increment(levels.size() - written.size());
+        return written;
+    }
+
+    /**
+     * 저장이 롤백된 종목은 상태를 버려 다음 호가를 키프레임으로 저장
+     */
+    public void reset(Collection<String> stockCodes) {
+        stockCodes.forEach(states::remove);
+    }
+
+    /**
+     * 파티션을 넘기면 그동안 다른 인스턴스가 쓴 호가와 이어지지 않으므로 전부 비움
+     */
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty() && groupId.equals(consumer.groupMetadata().groupId())) {
+            states.clear();
+        }
+    }
+
+    private static void diff(BookState previous, BookState next, int side, OrderbookLevel.OrderType orderType,
+                             List<OrderbookLevel> out) {
+        BigDecimal[] previousPrices = previous.prices[side];
+        BigDecimal[] nextPrices = next.prices[side];
+        int depth = Math.max(previousPrices.length, nextPrices.length);
+        for (int i = 0; i < depth; i++) {
+            BigDecimal previousPrice = i < previousPrices.length ? previousPrices[i] : null;
+            BigDecimal nextPrice = i < nextPrices.length ? nextPrices[i] : null;
+            if (nextPrice == null) {
+                if (previousPrice != null && (previousPrice.signum() != 0 || previous.volumes[side][i] != 0)) {
+                    out.add(level(orderType, i, BigDecimal.ZERO, 0L));
+                }
+                continue;
+            }
+            long nextVolume = next.volumes[side][i];
+            if (previousPrice == null || previousPrice.compareTo(nextPrice) != 0 || previous.volumes[side][i] != nextVolume) {
+                out.add(level(orderType, i, nextPrice, nextVolume));
+            }
+        }
+    }
+
+    private static OrderbookLevel level(OrderbookLevel.OrderType orderType, int index, BigDecimal price, long volume) {
+        return OrderbookLevel.builder()
+            .orderType(orderType)
+            .priceLevel(index + 1)
+            .price(price)
+            .volume(volume)
+            .build();
+    }
+
+    private static final class BookState {
+        private BigDecimal[][] prices = {new BigDecimal[0], new BigDecimal[0]};
+        private long[][] volumes = {new long[0], new long[0]};
+        private int deltasSinceKeyframe;
+        private LocalDateTime keyframeDeadline;
+
+        private static BookState of(List<OrderbookLevel> levels) {
+            BookState book = new BookState();
+            for (OrderbookLevel level : levels) {
+                int side = level.getOrderType() == OrderbookLevel.OrderType.BID ? BID : ASK;
+                int index = level.getPriceLevel() - 1;
+                if (index >= book.prices[side].length) {
+                    book.prices[side] = Arrays.copyOf(book.prices[side], index + 1);
+                    book.volumes[side] = Arrays.copyOf(book.volumes[side], index + 1);
+                }
+                book.prices[side][index] = level.getPrice();
+                book.volumes[side][index] = level.getVolume();
+            }
+            return book;
+        }
+    }
+}
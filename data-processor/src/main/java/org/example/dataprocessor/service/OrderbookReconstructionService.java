@@ -0,0 +1,231 @@
+package org.example.dataprocessor.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 키프레임 + 델타로 저장된 호가를 시점 기준으로 복원 - 직전 키프레임으로 이동한 뒤 델타를 순서대로 적용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderbookReconstructionService {
+
+    private static final String KEYFRAME_SQL =
+        "SELECT quote_time, sequence_number FROM orderbooks " +
+        "WHERE stock_code = ? AND frame_type = 'KEYFRAME' AND quote_time <= ? " +
+        "ORDER BY quote_time DESC, sequence_number DESC LIMIT 1";
+
+    // 키프레임부터 to까지의 프레임과 단계 (한 프레임의 단계들은 연속된 행으로 내려옴)
+    private static final String REPLAY_SQL =
+        "SELECT o.id, o.quote_time, o.sequence_number, o.total_bid_volume, o.total_ask_volume, o.frame_type, " +
+        "l.order_type, l.price_level, l.price, l.volume " +
+        "FROM orderbooks o LEFT JOIN orderbook_levels l ON l.orderbook_id = o.id " +
+        "WHERE o.stock_code = ? AND o.quote_time <= ? " +
+        "AND (o.quote_time > ? OR (o.quote_time = ? AND o.sequence_number >= ?)) " +
+        "ORDER BY o.quote_time, o.sequence_number, o.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * at 시점(포함)의 호가 복원, 그 이전 키프레임이 없으면 빈 값
+     */
+    @Transactional(readOnly = true)
+    public Optional<LatestOrderbook> reconstructAt(String stockCode, LocalDateTime at) {
+        List<LatestOrderbook> frames = replay(stockCode, at, at, new Replayer(stockCode, LocalDateTime.MIN, 1)).finish();
+        return frames.isEmpty() ? Optional.empty() : Optional.of(frames.get(0));
+    }
+
+    /**
+     * [from, to] 구간을 재생해 ids에 해당하는 프레임만 id별로 반환 (keyset 페이지 복원용)
+     * quote_time이 초 단위라 경계 시각에는 페이지 밖의 행도 함께 재생되므로, 구간이 아니라 id로 결과를 고른다.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, LatestOrderbook> reconstructFrames(String stockCode, LocalDateTime from, LocalDateTime to,
+                                                        Collection<Long> ids) {
+        return replay(stockCode, from, to, new Replayer(stockCode, from, new HashSet<>(ids))).finishById();
+    }
+
+    /**
+     * seekTo 이전의 마지막 키프레임부터 to까지 재생 (결과로 남길 프레임은 replayer가 고름)
+     */
+    private Replayer replay(String stockCode, LocalDateTime seekTo, LocalDateTime to, Replayer replayer) {
+        List<KeyframePosition> keyframe = jdbcTemplate.query(KEYFRAME_SQL,
+            (rs, rowNum) -> new KeyframePosition(rs.getObject(1, LocalDateTime.class), rs.getLong(2)),
+            stockCode, seekTo);
+        if (keyframe.isEmpty()) {
+            return replayer;
+        }
+        KeyframePosition start = keyframe.get(0);
+
+        jdbcTemplate.query(REPLAY_SQL, replayer::accept,
+            stockCode, to, start.quoteTime(), start.quoteTime(), start.sequenceNumber());
+
+        meterRegistry.counter("data_processor_orderbook_reconstructions_total").increment();
+        meterRegistry.counter("data_processor_orderbook_replayed_frames_total").increment(replayer.replayed);
+        log.debug("Orderbook reconstructed - Stock: {}, Keyframe: {}, Replayed frames: {}",
+            stockCode, start.quoteTime(), replayer.replayed);
+        return replayer;
+    }
+
+    private record KeyframePosition(LocalDateTime quoteTime, long sequenceNumber) {
+    }
+
+    /**
+     * 프레임 경계마다 현재 호가를 스냅샷으로 떠서 from 이후 것만 최근 limit건 보관 (ids가 있으면 해당 프레임만)
+     * 델타가 지운 단계(가격/잔량 0 행)는 뒤쪽이면 잘라내 실시간 스냅샷과 같은 깊이로 맞춘다.
+     */
+    static final class Replayer {
+        private final String stockCode;
+        private final LocalDateTime from;
+        private final int limit;
+        // null이면 from 이후 전체
+        private final Set<Long> ids;
+        private final ArrayDeque<LatestOrderbook> frames = new ArrayDeque<>();
+        private final ArrayDeque<Long> frameIds = new ArrayDeque<>();
+
+        private double[] bidPrices = new double[0];
+        private long[] bidVolumes = new long[0];
+        private double[] askPrices = new double[0];
+        private long[] askVolumes = new long[0];
+
+        private long currentId = -1L;
+        private LocalDateTime quoteTime;
+        private long sequenceNumber;
+        private long totalBidVolume;
+        private long totalAskVolume;
+        private int replayed;
+
+        Replayer(String stockCode, LocalDateTime from, int limit) {
+            this(stockCode, from, limit, null);
+        }
+
+        Replayer(String stockCode, LocalDateTime from, Set<Long> ids) {
+            this(stockCode, from, ids.size(), ids);
+        }
+
+        private Replayer(String stockCode, LocalDateTime from, int limit, Set<Long> ids) {
+            this.stockCode = stockCode;
+            this.from = from;
+            this.limit = limit;
+            this.ids = ids;
+        }
+
+        private void accept(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (id != currentId) {
+                startFrame(id, rs.getObject(2, LocalDateTime.class), rs.getLong(3), rs.getLong(4), rs.getLong(5),
+                    "KEYFRAME".equals(rs.getString(6)));
+            }
+
+            String orderType = rs.getString(7);
+            if (orderType != null) {
+                applyLevel(orderType, rs.getInt(8), rs.getDouble(9), rs.getLong(10));
+            }
+        }
+
+        void startFrame(long id, LocalDateTime frameQuoteTime, long frameSequenceNumber,
+                        long frameTotalBidVolume, long frameTotalAskVolume, boolean keyframe) {
+            emit();
+            currentId = id;
+            quoteTime = frameQuoteTime;
+            sequenceNumber = frameSequenceNumber;
+            totalBidVolume = frameTotalBidVolume;
+            totalAskVolume = frameTotalAskVolume;
+            if (keyframe) {
+                bidPrices = new double[0];
+                bidVolumes = new long[0];
+                askPrices = new double[0];
+                askVolumes = new long[0];
+            }
+            replayed++;
+        }
+
+        void applyLevel(String orderType, int priceLevel, double price, long volume) {
+            int index = priceLevel - 1;
+            if ("BID".equals(orderType)) {
+                if (index >= bidPrices.length) {
+                    bidPrices = Arrays.copyOf(bidPrices, index + 1);
+                    bidVolumes = Arrays.copyOf(bidVolumes, index + 1);
+                }
+                bidPrices[index] = price;
+                bidVolumes[index] = volume;
+            } else {
+                if (index >= askPrices.length) {
+                    askPrices = Arrays.copyOf(askPrices, index + 1);
+                    askVolumes = Arrays.copyOf(askVolumes, index + 1);
+                }
+                askPrices[index] = price;
+                askVolumes[index] = volume;
+            }
+        }
+
+        List<LatestOrderbook> finish() {
+            emit();
+            return new ArrayList<>(frames);
+        }
+
+        /**
+         * 보관한 프레임을 id별로 (재생 순서 유지)
+         */
+        Map<Long, LatestOrderbook> finishById() {
+            emit();
+            Map<Long, LatestOrderbook> byId = new LinkedHashMap<>();
+            Iterator<Long> frameId = frameIds.iterator();
+            for (LatestOrderbook frame : frames) {
+                byId.put(frameId.next(), frame);
+            }
+            return byId;
+        }
+
+        private void emit() {
+            if (currentId < 0 || limit == 0 || quoteTime.isBefore(from) || (ids != null && !ids.contains(currentId))) {
+                return;
+            }
+            if (frames.size() == limit) {
+                frames.removeFirst();
+                frameIds.removeFirst();
+            }
+            frames.addLast(snapshot());
+            frameIds.addLast(currentId);
+        }
+
+        private LatestOrderbook snapshot() {
+            // 발행 후 수정 금지 계약에 맞춰 배열 복사 (뒤쪽의 사라진 단계는 제외)
+            int bidDepth = LatestOrderbook.filledDepth(bidPrices, bidVolumes);
+            int askDepth = LatestOrderbook.filledDepth(askPrices, askVolumes);
+            return LatestOrderbook.builder()
+                .stockCode(stockCode)
+                .quoteTime(quoteTime)
+                .sequenceNumber(sequenceNumber)
+                .totalBidVolume(totalBidVolume)
+                .totalAskVolume(totalAskVolume)
+                .bidPrices(Arrays.copyOf(bidPrices, bidDepth))
+                .bidVolumes(Arrays.copyOf(bidVolumes, bidDepth))
+                .askPrices(Arrays.copyOf(askPrices, askDepth))
+                .askVolumes(Arrays.copyOf(askVolumes, askDepth))
+                .build();
+        }
+    }
+}
@@ -3,15 +3,27 @@ package org.example.dataprocessor.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.dataprocessor.dto.KisQuoteMessage;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.dto.TickCursor;
+import org.example.dataprocessor.dto.TickPage;
 import org.example.dataprocessor.entity.QuoteData;
 import org.example.dataprocessor.repository.QuoteDataRepository;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.example.dataprocessor.repository.TickJdbcWriter;
+import org.example.dataprocessor.store.LatestQuoteStore;
+import org.example.dataprocessor.store.RollingCountStore;
+import org.example.dataprocessor.store.TickBufferStore;
+import org.example.dataprocessor.util.KisTimeDecoder;
+import org.example.dataprocessor.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,69 +33,163 @@ import java.util.Optional;
 public class QuoteDataService {
     
     private final QuoteDataRepository quoteDataRepository;
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmmss");
+    private final TickJdbcWriter tickJdbcWriter;
+    private final LatestQuoteStore latestQuoteStore;
+    private final TickBufferStore tickBufferStore;
+    private final RollingCountStore rollingCountStore;
+    private final LatestStatePublisher latestStatePublisher;
+    private final KisTimeDecoder kisTimeDecoder;
+    private final MeterRegistry meterRegistry;
     
+    private final SingleFlight<String, Optional<LatestQuote>> latestQuoteLoads = new SingleFlight<>();
+    
+    /**
+     * 시세 메시지 묶음 저장 - 자연키(종목, 체결시간, 수집 순번)가 겹치는 재전송분은 INSERT IGNORE로 흡수 (JPA 없이 TickJdbcWriter로 적재)
+     * 새로 들어간 행만 반환하고, 최신 상태/틱 버퍼에도 새 행만 커밋 이후 반영
+     * 가격은 고정소수점으로만 다루고 BigDecimal은 JDBC 바인딩 시점에만 생성
+     */
     @Transactional
-    @CachePut(value = "latestQuotes", key = "#quoteMessage.trKey")
-    public QuoteData processQuoteMessage(KisQuoteMessage quoteMessage) {
+    public List<LatestQuote> processQuoteMessages(List<KisQuoteMessage> quoteMessages) {
+        if (quoteMessages.isEmpty()) {
+            return List.of();
+        }
         try {
-            log.debug("Processing quote message for stock: {}", quoteMessage.getTrKey());
+            log.debug("Processing {} quote messages", quoteMessages.size());
+            
+            List<LatestQuote> quotes = quoteMessages.stream()
+                .map(this::toLatestQuote)
+                .toList();
             
-            QuoteData quoteData = QuoteData.builder()
-                .stockCode(quoteMessage.getTrKey())
-                .price(quoteMessage.getPriceAsBigDecimal())
-                .volume(quoteMessage.getVolumeAsLong())
-                .changeAmount(quoteMessage.getChangeAmountAsBigDecimal())
-                .changeRate(quoteMessage.getChangeRateAsBigDecimal())
-                .highPrice(quoteMessage.getHighPriceAsBigDecimal())
-                .lowPrice(quoteMessage.getLowPriceAsBigDecimal())
-                .openPrice(quoteMessage.getOpenPriceAsBigDecimal())
-                .tradeTime(parseTradeTime(quoteMessage.getTimestamp()))
-                .build();
+            long[] sequenceNumbers = quoteMessages.stream()
+                .mapToLong(KisQuoteMessage::getSequenceNumberAsLong)
+                .toArray();
+            boolean[] newRows = tickJdbcWriter.insertQuotes(quotes, sequenceNumbers);
             
-            QuoteData savedQuoteData = quoteDataRepository.save(quoteData);
+            List<LatestQuote> inserted = new ArrayList<>(quotes.size());
+            for (int i = 0; i < quotes.size(); i++) {
+                if (newRows[i]) {
+                    inserted.add(quotes.get(i));
+                }
+            }
+            int duplicates = quotes.size() - inserted.size();
+            if (duplicates > 0) {
+                log.debug("Ignored {} redelivered quote messages", duplicates);
+                meterRegistry.counter("data_processor_duplicates_total", "type", "quote").increment(duplicates);
+            }
             
-            log.debug("Successfully saved quote data - ID: {}, Stock: {}, Price: {}", 
-                savedQuoteData.getId(), savedQuoteData.getStockCode(), savedQuoteData.getPrice());
+            // 커밋 이후에만 최신 상태로 노출
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (LatestQuote quote : inserted) {
+                        latestQuoteStore.publish(quote.getStockCode(), quote);
+                        tickBufferStore.appendQuote(quote);
+                        rollingCountStore.record(RollingCountStore.Type.QUOTE, quote.getStockCode(), quote.getTradeTime());
+                    }
+                    latestStatePublisher.publishQuotes(inserted);
+                }
+            });
             
-            return savedQuoteData;
+            return inserted;
             
         } catch (Exception e) {
-            log.error("Error processing quote message for stock: {}", quoteMessage.getTrKey(), e);
-            throw new RuntimeException("Failed to process quote message", e);
+            log.error("Error processing {} quote messages", quoteMessages.size(), e);
+            throw new RuntimeException("Failed to process quote messages", e);
         }
     }
     
-    @Cacheable(value = "latestQuotes", key = "#stockCode")
-    public Optional<QuoteData> getLatestQuoteData(String stockCode) {
-        return quoteDataRepository.findLatestByStockCode(stockCode);
+    /**
+     * 최신 체결 조회 (메모리 저장소 우선, 없으면 DB 조회 후 저장소에 적재)
+     * 같은 종목의 동시 미스는 한 번만 DB를 조회하고 나머지는 그 결과를 기다림 (커넥션은 지연 획득이라 대기 중에는 잡지 않음)
+     */
+    @Transactional(readOnly = true)
+    public Optional<LatestQuote> getLatestQuote(String stockCode) {
+        Optional<LatestQuote> latestQuote = latestQuoteStore.get(stockCode);
+        if (latestQuote.isPresent()) {
+            return latestQuote;
+        }
+        // 앞선 조회가 방금 적재했을 수 있으므로 저장소를 한 번 더 확인
+        return latestQuoteLoads.load(stockCode, () -> latestQuoteStore.get(stockCode).or(() -> {
+            meterRegistry.counter("data_processor_latest_state_db_loads_total", "type", "quote").increment();
+            return quoteDataRepository.findLatestByStockCode(stockCode)
+                .map(LatestQuote::from)
+                .map(snapshot -> {
+                    latestQuoteStore.publish(stockCode, snapshot);
+                    return snapshot;
+                });
+        }));
     }
     
-    public List<QuoteData> getRecentQuoteData(String stockCode, int limit) {
-        return quoteDataRepository.findByStockCodeOrderByTradeTimeDesc(stockCode, 
-            org.springframework.data.domain.PageRequest.of(0, limit));
+    /**
+     * 여러 종목의 최신 체결을 한 번의 조회로 저장소에 적재 (기동 시 warm-up)
+     * @return 적재한 종목 수
+     */
+    @Transactional(readOnly = true)
+    public int warmLatestQuotes(Collection<String> stockCodes) {
+        if (stockCodes.isEmpty()) {
+            return 0;
+        }
+        int loaded = 0;
+        for (QuoteData quoteData : quoteDataRepository.findLatestByStockCodes(stockCodes)) {
+            if (latestQuoteStore.publish(quoteData.getStockCode(), LatestQuote.from(quoteData))) {
+                loaded++;
+            }
+        }
+        return loaded;
     }
     
+    /**
+     * 최근 체결 한 페이지 (최신순, keyset) - 첫 페이지는 메모리 버퍼에 충분히 있으면 버퍼에서, 아니면 (종목, 체결시간, id) 인덱스 범위로 조회
+     * @param cursor null이면 첫 페이지
+     */
+    @Transactional(readOnly = true)
+    public TickPage<LatestQuote> getRecentQuotePage(String stockCode, TickCursor cursor, int limit) {
+        if (cursor == null) {
+            Optional<TickPage<LatestQuote>> buffered = tickBufferStore.recentQuotes(stockCode, limit)
+                .flatMap(quotes -> TickPage.ofBuffered(quotes, LatestQuote::getTradeTime));
+            meterRegistry.counter("data_processor_tick_buffer_requests_total",
+                "type", "quote", "result", buffered.isPresent() ? "hit" : "miss").increment();
+            if (buffered.isPresent()) {
+                return buffered.get();
+            }
+        }
+        
+        PageRequest page = PageRequest.of(0, limit);
+        List<QuoteData> rows = cursor == null
+            ? quoteDataRepository.findLatestPage(stockCode, page)
+            : quoteDataRepository.findPageBefore(stockCode, cursor.time(), cursor.id(), page);
+        // 페이지가 가득 찼을 때만 다음 페이지가 있을 수 있음
+        String nextCursor = rows.size() == limit
+            ? new TickCursor(rows.get(rows.size() - 1).getTradeTime(), rows.get(rows.size() - 1).getId()).encode()
+            : null;
+        return TickPage.<LatestQuote>builder()
+            .items(rows.stream().map(LatestQuote::from).toList())
+            .nextCursor(nextCursor)
+            .build();
+    }
+    
+    @Transactional(readOnly = true)
     public List<QuoteData> getQuoteDataBetween(String stockCode, LocalDateTime startTime, LocalDateTime endTime) {
         return quoteDataRepository.findByStockCodeAndTradeTimeBetween(stockCode, startTime, endTime);
     }
     
+    @Transactional(readOnly = true)
     public long getQuoteCount(String stockCode, LocalDateTime afterTime) {
         return quoteDataRepository.countByStockCodeAndTradeTimeAfter(stockCode, afterTime);
     }
     
-    private LocalDateTime parseTradeTime(String timestamp) {
-        try {
-            // KIS API timestamp 형식: "HHmmss" (예: "234154")
-            if (timestamp != null && timestamp.length() == 6) {
-                LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
-                return today.with(java.time.LocalTime.parse(timestamp, TIME_FORMATTER));
-            }
-            return LocalDateTime.now();
-        } catch (Exception e) {
-            log.warn("Failed to parse timestamp: {}, using current time", timestamp);
-            return LocalDateTime.now();
-        }
+    private LatestQuote toLatestQuote(KisQuoteMessage quoteMessage) {
+        return LatestQuote.builder()
+            .stockCode(quoteMessage.getTrKey())
+            .price(quoteMessage.getPriceScaled())
+            .volume(quoteMessage.getVolumeAsLong())
+            .changeAmount(quoteMessage.getChangeAmountScaled())
+            .changeRate(quoteMessage.getChangeRateScaled())
+            .highPrice(quoteMessage.getHighPriceScaled())
+            .lowPrice(quoteMessage.getLowPriceScaled())
+            .openPrice(quoteMessage.getOpenPriceScaled())
+            .tradeTime(kisTimeDecoder.toLocalDateTime(quoteMessage.getTimestamp(), quoteMessage.getBusinessDate()))
+            .build();
     }
 }
 
@@ -0,0 +1,72 @@
+package org.example.dataprocessor.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.StockStats;
+import org.example.dataprocessor.store.RollingCountStore;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * 종목별 구간 건수 - 롤링 카운터로 답할 수 있으면 메모리에서, 아니면(1일 초과, 집계 시작 이전 구간) DB COUNT로 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockStatsService {
+
+    private static final String SOURCE_MEMORY = "memory";
+    private static final String SOURCE_DATABASE = "database";
+    private static final String SOURCE_MIXED = "mixed";
+
+    private final RollingCountStore rollingCountStore;
+    private final QuoteDataService quoteDataService;
+    private final OrderbookDataService orderbookDataService;
+    private final MeterRegistry meterRegistry;
+
+    public StockStats getStats(String stockCode, long windowSeconds) {
+        OptionalLong quoteCount = rollingCountStore.count(RollingCountStore.Type.QUOTE, stockCode, windowSeconds);
+        OptionalLong orderbookCount = rollingCountStore.count(RollingCountStore.Type.ORDERBOOK, stockCode, windowSeconds);
+        LocalDateTime afterTime = LocalDateTime.now().minusSeconds(windowSeconds);
+
+        String source = quoteCount.isPresent() && orderbookCount.isPresent() ? SOURCE_MEMORY
+            : quoteCount.isEmpty() && orderbookCount.isEmpty() ? SOURCE_DATABASE
+            : SOURCE_MIXED;
+        meterRegistry.counter("data_processor_stats_requests_total", "source", source).increment();
+
+        return StockStats.builder()
+            .stockCode(stockCode)
+            .windowSeconds(windowSeconds)
+            .quoteCount(quoteCount.isPresent()
+                ? quoteCount.getAsLong()
+                : quoteDataService.getQuoteCount(stockCode, afterTime))
+            .orderbookCount(orderbookCount.isPresent()
+                ? orderbookCount.getAsLong()
+                : orderbookDataService.getOrderbookCount(stockCode, afterTime))
+            .timeRange(describe(windowSeconds))
+            .source(source)
+            .build();
+    }
+
+    public List<StockStats> getStats(List<String> stockCodes, long windowSeconds) {
+        return stockCodes.stream()
+            .map(stockCode -> getStats(stockCode, windowSeconds))
+            .toList();
+    }
+
+    private static String describe(long windowSeconds) {
+        if (windowSeconds % 3600 == 0) {
+            long hours = windowSeconds / 3600;
+            return hours == 1 ? "last 1 hour" : "last " + hours + " hours";
+        }
+        if (windowSeconds % 60 == 0) {
+            long minutes = windowSeconds / 60;
+            return minutes == 1 ? "last 1 minute" : "last " + minutes + " minutes";
+        }
+        return "last " + windowSeconds + " seconds";
+    }
+}
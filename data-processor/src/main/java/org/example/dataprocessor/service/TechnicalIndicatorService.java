@@ -0,0 +1,344 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.IndicatorSnapshot;
+import org.example.dataprocessor.entity.type.CandleInterval;
+import org.example.dataprocessor.util.DoubleRingBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 기술적 지표 증분 계산 (SMA/EMA/RSI/볼린저밴드/ATR/VWAP)
+ * 봉 마감 시 O(1)로 갱신한 스냅샷을 메모리에 보관하고 indicators 토픽으로 발행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TechnicalIndicatorService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    // 누적 합의 부동소수점 오차를 주기적으로 보정
+    private static final int RESYNC_INTERVAL_BARS = 1000;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.kafka.topics.indicators:indicators}")
+    private String indicatorsTopic;
+
+    @Value("${app.indicators.interval:1m}")
+    private String intervalCode;
+
+    @Value("${app.indicators.sma-periods:5,20,60}")
+    private int[] smaPeriods;
+
+    @Value("${app.indicators.ema-periods:12,26}")
+    private int[] emaPeriods;
+
+    @Value("${app.indicators.rsi-period:14}")
+    private int rsiPeriod;
+
+    @Value("${app.indicators.bollinger-period:20}")
+    private int bollingerPeriod;
+
+    @Value("${app.indicators.bollinger-k:2.0}")
+    private double bollingerK;
+
+    @Value("${app.indicators.atr-period:14}")
+    private int atrPeriod;
+
+    @Value("${app.indicators.publish-enabled:true}")
+    private boolean publishEnabled;
+
+    private CandleInterval interval;
+    private int windowCapacity;
+    private final Map<String, IndicatorState> states = new ConcurrentHashMap<>();
+    private final Map<String, IndicatorSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        interval = CandleInterval.fromCode(intervalCode)
+            .orElseThrow(() -> new IllegalStateException("Unknown indicator interval: " + intervalCode));
+        windowCapacity = bollingerPeriod;
+        for (int period : smaPeriods) {
+            windowCapacity = Math.max(windowCapacity, period);
+        }
+        log.info("Technical indicators initialized - Interval: {}, SMA: {}, EMA: {}, RSI: {}, BB: {}x{}, ATR: {}",
+            interval.getCode(), smaPeriods, emaPeriods, rsiPeriod, bollingerPeriod, bollingerK, atrPeriod);
+    }
+
+    /**
+     * 체결 한 건 반영 - 진행 중인 봉과 VWAP만 갱신하고, 봉이 바뀌면 지표를 계산해 발행
+     */
+    public void onTick(String stockCode, long epochMillis, double price, long volume) {
+        IndicatorState state = states.computeIfAbsent(stockCode, code -> new IndicatorState());
+        IndicatorSnapshot closedSnapshot = null;
+
+        synchronized (state) {
+            // 당일 체결이면 늦게 와도 VWAP 누적에는 포함 (지난 날 체결은 updateVwap에서 무시)
+            state.updateVwap(CandleInterval.D1.bucketStart(epochMillis), price, volume);
+
+            long bucket = interval.bucketStart(epochMillis);
+            if (state.hasBar && bucket < state.barTime) {
+                // 이미 마감된 봉의 늦은 틱은 지표/현재가에 반영하지 않음
+                meterRegistry.counter("data_processor_indicator_late_ticks_total").increment();
+                return;
+            }
+            state.lastPrice = price;
+            if (state.hasBar && bucket != state.barTime) {
+                state.closeBar();
+                closedSnapshot = buildSnapshot(stockCode, state);
+            }
+            state.addTick(bucket, price);
+        }
+
+        if (closedSnapshot != null) {
+            snapshots.put(stockCode, closedSnapshot);
+            meterRegistry.counter("data_processor_indicator_updates_total").increment();
+            publish(closedSnapshot);
+        }
+    }
+
+    /**
+     * 최신 지표 조회 (계산 없이 스냅샷 + 실시간 가격/VWAP)
+     */
+    public Optional<IndicatorSnapshot> getSnapshot(String stockCode) {
+        IndicatorState state = states.get(stockCode);
+        if (state == null) {
+            return Optional.empty();
+        }
+        IndicatorSnapshot snapshot = snapshots.get(stockCode);
+        IndicatorSnapshot.IndicatorSnapshotBuilder builder = snapshot != null
+            ? snapshot.toBuilder()
+            : IndicatorSnapshot.builder().stockCode(stockCode).interval(interval.getCode());
+
+        synchronized (state) {
+            builder.lastPrice(state.lastPrice);
+            builder.vwap(state.vwapVolume > 0 ? state.vwapTurnover / state.vwapVolume : null);
+        }
+        return Optional.of(builder.build());
+    }
+
+    private IndicatorSnapshot buildSnapshot(String stockCode, IndicatorState state) {
+        Map<Integer, Double> sma = new LinkedHashMap<>();
+        for (int i = 0; i < smaPeriods.length; i++) {
+            if (state.closes.size() >= smaPeriods[i]) {
+                sma.put(smaPeriods[i], state.smaSums[i] / smaPeriods[i]);
+            }
+        }
+
+        Map<Integer, Double> ema = new LinkedHashMap<>();
+        for (int i = 0; i < emaPeriods.length; i++) {
+            if (state.barCount >= emaPeriods[i]) {
+                ema.put(emaPeriods[i], state.emaValues[i]);
+            }
+        }
+
+        IndicatorSnapshot.IndicatorSnapshotBuilder builder = IndicatorSnapshot.builder()
+            .stockCode(stockCode)
+            .interval(interval.getCode())
+            .barTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(state.barTime), KST))
+            .barCount(state.barCount)
+            .close(state.prevClose)
+            .lastPrice(state.lastPrice)
+            .vwap(state.vwapVolume > 0 ? state.vwapTurnover / state.vwapVolume : null)
+            .sma(sma)
+            .ema(ema)
+            .updatedAt(LocalDateTime.now(KST));
+
+        if (state.rsiChanges >= rsiPeriod) {
+            double rsi = state.avgLoss == 0
+                ? (state.avgGain == 0 ? 50.0 : 100.0)
+                : 100.0 - 100.0 / (1.0 + state.avgGain / state.avgLoss);
+            builder.rsi(rsi);
+        }
+
+        if (state.closes.size() >= bollingerPeriod) {
+            double mean = state.bbSum / bollingerPeriod;
+            double variance = Math.max(0.0, state.bbSumSq / bollingerPeriod - mean * mean);
+            double band = bollingerK * Math.sqrt(variance);
+            builder.bollingerMiddle(mean)
+                .bollingerUpper(mean + band)
+                .bollingerLower(mean - band);
+        }
+
+        if (state.trCount >= atrPeriod) {
+            builder.atr(state.atr);
+        }
+
+        return builder.build();
+    }
+
+    private void publish(IndicatorSnapshot snapshot) {
+        if (!publishEnabled) {
+            return;
+        }
+        String stockCode = snapshot.getStockCode();
+        try {
+            // 압축(compact) 토픽 - 종목코드 키 기준으로 최신 스냅샷만 유지
+            String message = objectMapper.writeValueAsString(snapshot);
+            kafkaTemplate.send(indicatorsTopic, stockCode, message).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    log.error("Failed to publish indicators for stock: {}", stockCode, throwable);
+                    meterRegistry.counter("data_processor_indicator_publish_failures_total").increment();
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error serializing indicators for stock: {}", stockCode, e);
+            meterRegistry.counter("data_processor_indicator_publish_failures_total").increment();
+        }
+    }
+
+    /**
+     * 종목별 지표 상태 (원시 타입 필드 + 종가 원형 버퍼, 종목 락으로 보호)
+     */
+    private final class IndicatorState {
+        // 진행 중인 봉
+        private boolean hasBar;
+        private long barTime;
+        private double high;
+        private double low;
+        private double close;
+        private double lastPrice;
+
+        // 당일 VWAP
+        private long vwapDay = Long.MIN_VALUE;
+        private double vwapTurnover;
+        private long vwapVolume;
+
+        // 마감된 봉 기반 지표
+        private final DoubleRingBuffer closes = new DoubleRingBuffer(windowCapacity);
+        private final double[] smaSums = new double[smaPeriods.length];
+        private double bbSum;
+        private double bbSumSq;
+        private final double[] emaValues = new double[emaPeriods.length];
+        private long barCount;
+        private boolean hasPrevClose;
+        private double prevClose;
+        private int rsiChanges;
+        private double avgGain;
+        private double avgLoss;
+        private int trCount;
+        private double atr;
+
+        /**
+         * 날짜는 앞으로만 넘김 - 지난 날 체결(DLQ 재처리, 재전달, 자정 직후 도착)이 당일 누적을 초기화하지 않도록 무시
+         */
+        private void updateVwap(long day, double price, long volume) {
+            if (day < vwapDay) {
+                return;
+            }
+            if (day > vwapDay) {
+                vwapDay = day;
+                vwapTurnover = 0;
+                vwapVolume = 0;
+            }
+            vwapTurnover += price * volume;
+            vwapVolume += volume;
+        }
+
+        private void addTick(long bucket, double price) {
+            if (!hasBar) {
+                hasBar = true;
+                barTime = bucket;
+                high = price;
+                low = price;
+            } else {
+                high = Math.max(high, price);
+                low = Math.min(low, price);
+            }
+            close = price;
+        }
+
+        /**
+         * 진행 중인 봉을 마감하고 모든 지표를 O(1)로 갱신 (barTime은 마감된 봉 기준으로 유지)
+         */
+        private void closeBar() {
+            barCount++;
+
+            // SMA / 볼린저: 윈도우에서 빠지는 값을 빼고 새 값을 더함
+            for (int i = 0; i < smaPeriods.length; i++) {
+                if (closes.size() >= smaPeriods[i]) {
+                    smaSums[i] -= closes.get(smaPeriods[i] - 1);
+                }
+                smaSums[i] += close;
+            }
+            if (closes.size() >= bollingerPeriod) {
+                double leaving = closes.get(bollingerPeriod - 1);
+                bbSum -= leaving;
+                bbSumSq -= leaving * leaving;
+            }
+            bbSum += close;
+            bbSumSq += close * close;
+            closes.add(close);
+            if (barCount % RESYNC_INTERVAL_BARS == 0) {
+                resyncWindowSums();
+            }
+
+            // EMA: 기간이 찰 때까지는 단순 평균으로 시드
+            for (int i = 0; i < emaPeriods.length; i++) {
+                if (barCount <= emaPeriods[i]) {
+                    emaValues[i] += (close - emaValues[i]) / barCount;
+                } else {
+                    emaValues[i] += 2.0 / (emaPeriods[i] + 1) * (close - emaValues[i]);
+                }
+            }
+
+            // RSI / ATR: Wilder 평활 (첫 기간은 단순 평균으로 시드)
+            double trueRange = high - low;
+            if (hasPrevClose) {
+                double change = close - prevClose;
+                rsiChanges++;
+                avgGain = wilder(avgGain, Math.max(change, 0.0), rsiChanges, rsiPeriod);
+                avgLoss = wilder(avgLoss, Math.max(-change, 0.0), rsiChanges, rsiPeriod);
+                trueRange = Math.max(trueRange, Math.max(Math.abs(high - prevClose), Math.abs(low - prevClose)));
+            }
+            trCount++;
+            atr = wilder(atr, trueRange, trCount, atrPeriod);
+
+            prevClose = close;
+            hasPrevClose = true;
+            hasBar = false;
+        }
+
+        private void resyncWindowSums() {
+            for (int i = 0; i < smaPeriods.length; i++) {
+                smaSums[i] = 0;
+                for (int ago = 0; ago < Math.min(smaPeriods[i], closes.size()); ago++) {
+                    smaSums[i] += closes.get(ago);
+                }
+            }
+            bbSum = 0;
+            bbSumSq = 0;
+            for (int ago = 0; ago < Math.min(bollingerPeriod, closes.size()); ago++) {
+                double value = closes.get(ago);
+                bbSum += value;
+                bbSumSq += value * value;
+            }
+        }
+    }
+
+    private static double wilder(double previous, double value, int count, int period) {
+        if (count < period) {
+            return previous + value;
+        }
+        if (count == period) {
+            return (previous + value) / period;
+        }
+        return (previous * (period - 1) + value) / period;
+    }
+}
@@ -0,0 +1,307 @@
+package org.example.dataprocessor.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.archive.TickArchiveFile;
+import org.example.dataprocessor.archive.TickColumns;
+import org.example.dataprocessor.dto.ArchivedTick;
+import org.example.dataprocessor.dto.CandleBar;
+import org.example.dataprocessor.entity.type.CandleInterval;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 완료된 거래일의 quote_data를 종목/일자별 압축 컬럼 파일로 옮기고, 파일 위에서 직접 구간 조회/봉 집계
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TickArchiveService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String DAY_SYMBOLS_SQL =
+        "SELECT DISTINCT stock_code FROM quote_data WHERE trade_time >= ? AND trade_time < ?";
+    private static final String DAY_TICKS_SQL =
+        "SELECT trade_time, price, volume FROM quote_data " +
+        "WHERE stock_code = ? AND trade_time >= ? AND trade_time < ? ORDER BY trade_time, id";
+    private static final String PURGE_SQL =
+        "DELETE FROM quote_data WHERE stock_code = ? AND trade_time >= ? AND trade_time < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.base-dir:./data/archive}")
+    private String baseDir;
+
+    @Value("${app.archive.block-size:4096}")
+    private int blockSize;
+
+    @Value("${app.archive.lookback-days:7}")
+    private int lookbackDays;
+
+    // 보존 기한 처리가 삭제할 날까지는 항상 아카이브 범위에 포함
+    @Value("${app.retention.raw-retention-days:10}")
+    private int rawRetentionDays;
+
+    @Value("${app.archive.purge-after-archive:false}")
+    private boolean purgeAfterArchive;
+
+    @Value("${app.archive.purge-batch-size:5000}")
+    private int purgeBatchSize;
+
+    // 매핑된 파일 재사용 (매핑 해제는 GC에 맡김)
+    private final Cache<Path, TickArchiveFile> openFiles = Caffeine.newBuilder()
+        .maximumSize(512)
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+
+    /**
+     * 매일 새벽 최근 lookback-days(최소 raw-retention-days + 1) 중 아카이브되지 않은 거래일을 파일로 옮김
+     */
+    @Scheduled(cron = "${app.archive.roll-cron:0 30 1 * * *}", zone = "Asia/Seoul")
+    public void rollCompletedDays() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now(KST);
+        for (int daysAgo = Math.max(lookbackDays, rawRetentionDays + 1); daysAgo >= 1; daysAgo--) {
+            try {
+                archiveDay(today.minusDays(daysAgo));
+            } catch (Exception e) {
+                log.error("Failed to archive trading day: {}", today.minusDays(daysAgo), e);
+                meterRegistry.counter("data_processor_archive_failures_total").increment();
+            }
+        }
+    }
+
+    /**
+     * 하루치 전 종목 아카이브 (이미 파일이 있는 종목은 건너뜀)
+     * @return 새로 기록한 행 수
+     */
+    public long archiveDay(LocalDate day) {
+        if (!day.isBefore(LocalDate.now(KST))) {
+            throw new IllegalArgumentException("Only completed trading days can be archived");
+        }
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        long archivedRows = 0;
+        List<String> stockCodes = jdbcTemplate.queryForList(DAY_SYMBOLS_SQL, String.class, dayStart, dayEnd);
+        for (String stockCode : stockCodes) {
+            Path path = pathOf(stockCode, day);
+            if (Files.exists(path)) {
+                continue;
+            }
+            archivedRows += archiveSymbolDay(stockCode, dayStart, dayEnd, path);
+        }
+
+        if (archivedRows > 0) {
+            log.info("Trading day archived - Date: {}, Symbols: {}, Rows: {}", day, stockCodes.size(), archivedRows);
+        }
+        return archivedRows;
+    }
+
+    /**
+     * 한 종목 하루치 아카이브 (이미 파일이 있으면 건너뜀) - 보존 기한 처리가 삭제 직전에 호출
+     * @return 새로 기록한 행 수
+     */
+    public long archiveDay(String stockCode, LocalDate day) {
+        if (!day.isBefore(LocalDate.now(KST))) {
+            throw new IllegalArgumentException("Only completed trading days can be archived");
+        }
+        Path path = pathOf(stockCode, day);
+        if (Files.exists(path)) {
+            return 0;
+        }
+        LocalDateTime dayStart = day.atStartOfDay();
+        return archiveSymbolDay(stockCode, dayStart, dayStart.plusDays(1), path);
+    }
+
+    private int archiveSymbolDay(String stockCode, LocalDateTime dayStart, LocalDateTime dayEnd, Path path) {
+        TickColumns columns = new TickColumns(blockSize);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(DAY_TICKS_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setString(1, stockCode);
+            ps.setObject(2, dayStart);
+            ps.setObject(3, dayEnd);
+            return ps;
+        }, (ResultSet rs) -> {
+            columns.add(
+                toEpochMillis(rs.getObject(1, LocalDateTime.class)),
+                rs.getBigDecimal(2).movePointRight(2).longValueExact(),
+                rs.getLong(3)
+            );
+        });
+        if (columns.size() == 0) {
+            return 0;
+        }
+
+        try {
+            TickArchiveFile.write(path, columns, blockSize);
+            // 기록한 파일을 다시 열어 행 수 검증 후에만 원본 삭제
+            TickArchiveFile written = TickArchiveFile.open(path);
+            if (written.rowCount() != columns.size()) {
+                throw new IllegalStateException("Archive row count mismatch for " + path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write tick archive " + path, e);
+        }
+        meterRegistry.counter("data_processor_archive_rows_total").increment(columns.size());
+
+        if (purgeAfterArchive) {
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE_SQL, stockCode, dayStart, dayEnd, purgeBatchSize);
+            } while (deleted == purgeBatchSize);
+        }
+        return columns.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isArchived(String stockCode, LocalDate day) {
+        return Files.exists(pathOf(stockCode, day));
+    }
+
+    /**
+     * 아카이브 구간 조회 (최대 limit건, 시간순)
+     */
+    public List<ArchivedTick> getTicks(String stockCode, LocalDateTime from, LocalDateTime to, int limit) {
+        List<ArchivedTick> ticks = new ArrayList<>();
+        scan(stockCode, from, to, (epochMillis, price, volume) -> {
+            ticks.add(ArchivedTick.builder()
+                .tradeTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), KST))
+                .price(price / 100.0)
+                .volume(volume)
+                .build());
+            return ticks.size() < limit;
+        });
+        return ticks;
+    }
+
+    /**
+     * 압축 블록을 순회하며 바로 봉 집계 (행을 객체로 만들지 않음)
+     */
+    public List<CandleBar> getBars(String stockCode, LocalDateTime from, LocalDateTime to, CandleInterval interval) {
+        List<CandleBar> bars = new ArrayList<>();
+        // [시작 시각, 시가, 고가, 저가, 종가, 거래량, 거래대금(x100), 체결 수]
+        long[] bar = new long[8];
+        bar[7] = 0;
+
+        scan(stockCode, from, to, (epochMillis, price, volume) -> {
+            long bucket = interval.bucketStart(epochMillis);
+            if (bar[7] > 0 && bucket != bar[0]) {
+                bars.add(toCandleBar(stockCode, interval, bar));
+                bar[7] = 0;
+            }
+            if (bar[7] == 0) {
+                bar[0] = bucket;
+                bar[1] = price;
+                bar[2] = price;
+                bar[3] = price;
+                bar[5] = 0;
+                bar[6] = 0;
+            } else {
+                bar[2] = Math.max(bar[2], price);
+                bar[3] = Math.min(bar[3], price);
+            }
+            bar[4] = price;
+            bar[5] += volume;
+            bar[6] += price * volume;
+            bar[7]++;
+            return true;
+        });
+        if (bar[7] > 0) {
+            bars.add(toCandleBar(stockCode, interval, bar));
+        }
+        return bars;
+    }
+
+    private void scan(String stockCode, LocalDateTime from, LocalDateTime to, TickArchiveFile.TickVisitor visitor) {
+        long fromMillis = toEpochMillis(from);
+        long toMillis = toEpochMillis(to);
+        boolean[] stopped = {false};
+        TickArchiveFile.TickVisitor stopAware = (epochMillis, price, volume) -> {
+            if (!visitor.visit(epochMillis, price, volume)) {
+                stopped[0] = true;
+                return false;
+            }
+            return true;
+        };
+
+        for (LocalDate day = from.toLocalDate(); !stopped[0] && day.atStartOfDay().isBefore(to); day = day.plusDays(1)) {
+            Optional<TickArchiveFile> file = openFile(stockCode, day);
+            file.ifPresent(archive -> archive.scan(fromMillis, toMillis, stopAware));
+        }
+    }
+
+    private Optional<TickArchiveFile> openFile(String stockCode, LocalDate day) {
+        Path path = pathOf(stockCode, day);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(openFiles.get(path, p -> {
+            try {
+                return TickArchiveFile.open(p);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open tick archive " + p, e);
+            }
+        }));
+    }
+
+    private Path pathOf(String stockCode, LocalDate day) {
+        return Paths.get(baseDir, day.format(DAY_FORMATTER), stockCode + ".tick");
+    }
+
+    private static CandleBar toCandleBar(String stockCode, CandleInterval interval, long[] bar) {
+        return CandleBar.builder()
+            .stockCode(stockCode)
+            .interval(interval.getCode())
+            .openTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(bar[0]), KST))
+            .open(bar[1] / 100.0)
+            .high(bar[2] / 100.0)
+            .low(bar[3] / 100.0)
+            .close(bar[4] / 100.0)
+            .volume(bar[5])
+            .turnover(bar[6] / 100.0)
+            .vwap(bar[5] > 0 ? bar[6] / 100.0 / bar[5] : bar[4] / 100.0)
+            .tradeCount((int) bar[7])
+            .closed(true)
+            .build();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(KST).toInstant().toEpochMilli();
+    }
+}
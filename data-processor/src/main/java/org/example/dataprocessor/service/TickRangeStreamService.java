@@ -0,0 +1,396 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.dto.TickCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 기간 조회 결과를 JPA 엔티티로 적재하지 않고 JDBC 스트리밍 커서로 읽어 응답에 바로 쓰는 서비스
+ * 페이지 단위 keyset(시각, id) 이어받기 토큰을 마지막 줄에 붙인다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TickRangeStreamService {
+
+    private static final String QUOTE_RANGE_SQL =
+        "SELECT id, trade_time, price, volume, change_amount, change_rate, high_price, low_price, open_price " +
+        "FROM quote_data WHERE stock_code = ? AND trade_time >= ? AND trade_time < ? " +
+        "AND (trade_time > ? OR (trade_time = ? AND id > ?)) " +
+        "ORDER BY trade_time, id LIMIT ?";
+
+    // 호가 마스터를 먼저 페이지로 자른 뒤 단계와 조인 (한 호가의 단계들은 연속된 행으로 내려옴)
+    // 저장된 프레임 그대로 내보냄 - DELTA 프레임은 바뀐 단계만 있으므로 frame_type을 함께 씀
+    private static final String ORDERBOOK_RANGE_SQL =
+        "SELECT o.id, o.quote_time, o.sequence_number, o.total_bid_volume, o.total_ask_volume, " +
+        "l.order_type, l.price_level, l.price, l.volume, o.frame_type " +
+        "FROM (SELECT id, quote_time, sequence_number, total_bid_volume, total_ask_volume, frame_type FROM orderbooks " +
+        "      WHERE stock_code = ? AND quote_time >= ? AND quote_time < ? " +
+        "      AND (quote_time > ? OR (quote_time = ? AND id > ?)) " +
+        "      ORDER BY quote_time, id LIMIT ?) o " +
+        "LEFT JOIN orderbook_levels l ON l.orderbook_id = o.id " +
+        "ORDER BY o.quote_time, o.id, l.order_type, l.price_level";
+
+    private static final String CSV_QUOTE_HEADER =
+        "id,trade_time,price,volume,change_amount,change_rate,high_price,low_price,open_price\n";
+    private static final String CSV_ORDERBOOK_HEADER =
+        "id,quote_time,sequence_number,total_bid_volume,total_ask_volume,frame_type,order_type,price_level,price,volume\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // MySQL Connector/J는 Integer.MIN_VALUE일 때 행 단위 스트리밍
+    @Value("${app.range-stream.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    @Value("${app.range-stream.flush-rows:1000}")
+    private int flushRows;
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Optional<Format> fromCode(String code) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(code)) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamQuotes(String stockCode, LocalDateTime from, LocalDateTime to, TickCursor cursor, int limit,
+                             Format format, OutputStream out) {
+        RowSink sink = format == Format.CSV ? new CsvSink(out, CSV_QUOTE_HEADER) : new NdjsonSink(out);
+        long[] lastId = {-1L};
+        LocalDateTime[] lastTime = {null};
+        int[] rows = {0};
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(QUOTE_RANGE_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            bindRange(ps, stockCode, from, to, cursor, limit);
+            return ps;
+        }, (ResultSet rs) -> {
+            lastId[0] = rs.getLong(1);
+            lastTime[0] = rs.getObject(2, LocalDateTime.class);
+            sink.quote(rs, lastId[0], lastTime[0]);
+            if (++rows[0] % flushRows == 0) {
+                sink.flush();
+            }
+        });
+
+        finish(sink, rows[0], limit, lastTime[0], lastId[0], "quote");
+    }
+
+    @Transactional(readOnly = true)
+    public void streamOrderbooks(String stockCode, LocalDateTime from, LocalDateTime to, TickCursor cursor, int limit,
+                                 Format format, OutputStream out) {
+        RowSink sink = format == Format.CSV ? new CsvSink(out, CSV_ORDERBOOK_HEADER) : new NdjsonSink(out);
+        long[] lastId = {-1L};
+        LocalDateTime[] lastTime = {null};
+        int[] orderbooks = {0};
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ORDERBOOK_RANGE_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            bindRange(ps, stockCode, from, to, cursor, limit);
+            return ps;
+        }, (ResultSet rs) -> {
+            long id = rs.getLong(1);
+            if (id != lastId[0]) {
+                if (lastId[0] >= 0) {
+                    sink.endOrderbook();
+                    if (++orderbooks[0] % flushRows == 0) {
+                        sink.flush();
+                    }
+                }
+                lastId[0] = id;
+                lastTime[0] = rs.getObject(2, LocalDateTime.class);
+                sink.beginOrderbook(rs, id, lastTime[0]);
+            }
+            sink.orderbookLevel(rs);
+        });
+
+        if (lastId[0] >= 0) {
+            sink.endOrderbook();
+            orderbooks[0]++;
+        }
+        finish(sink, orderbooks[0], limit, lastTime[0], lastId[0], "orderbook");
+    }
+
+    private void finish(RowSink sink, int rows, int limit, LocalDateTime lastTime, long lastId, String type) {
+        // 페이지가 가득 찼을 때만 다음 페이지가 있을 수 있음
+        String nextCursor = rows == limit ? new TickCursor(lastTime, lastId).encode() : null;
+        sink.end(nextCursor);
+        meterRegistry.counter("data_processor_range_stream_rows_total", "type", type).increment(rows);
+        log.debug("Range stream completed - Type: {}, Rows: {}, Has next: {}", type, rows, nextCursor != null);
+    }
+
+    private static void bindRange(PreparedStatement ps, String stockCode, LocalDateTime from, LocalDateTime to,
+                                  TickCursor cursor, int limit) throws SQLException {
+        ps.setString(1, stockCode);
+        ps.setObject(2, from);
+        ps.setObject(3, to);
+        ps.setObject(4, cursor.time());
+        ps.setObject(5, cursor.time());
+        ps.setLong(6, cursor.id());
+        ps.setInt(7, limit);
+    }
+
+    private interface RowSink {
+        void quote(ResultSet rs, long id, LocalDateTime tradeTime) throws SQLException;
+
+        void beginOrderbook(ResultSet rs, long id, LocalDateTime quoteTime) throws SQLException;
+
+        void orderbookLevel(ResultSet rs) throws SQLException;
+
+        void endOrderbook();
+
+        void flush();
+
+        void end(String nextCursor);
+    }
+
+    /**
+     * 한 줄에 JSON 객체 하나, 마지막 줄은 {"next_cursor": ...}
+     */
+    private final class NdjsonSink implements RowSink {
+        private final JsonGenerator generator;
+        private boolean bidsOpen;
+        private boolean asksOpen;
+
+        private NdjsonSink(OutputStream out) {
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+                // 줄바꿈을 직접 쓰므로 루트 값 사이 기본 구분자(공백) 제거
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void quote(ResultSet rs, long id, LocalDateTime tradeTime) throws SQLException {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", id);
+                generator.writeStringField("trade_time", tradeTime.toString());
+                writeDecimal("price", rs.getBigDecimal(3));
+                generator.writeNumberField("volume", rs.getLong(4));
+                writeDecimal("change_amount", rs.getBigDecimal(5));
+                writeDecimal("change_rate", rs.getBigDecimal(6));
+                writeDecimal("high_price", rs.getBigDecimal(7));
+                writeDecimal("low_price", rs.getBigDecimal(8));
+                writeDecimal("open_price", rs.getBigDecimal(9));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void beginOrderbook(ResultSet rs, long id, LocalDateTime quoteTime) throws SQLException {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", id);
+                generator.writeStringField("quote_time", quoteTime.toString());
+                generator.writeNumberField("sequence_number", rs.getLong(3));
+                generator.writeNumberField("total_bid_volume", rs.getLong(4));
+                generator.writeNumberField("total_ask_volume", rs.getLong(5));
+                generator.writeStringField("frame_type", rs.getString(10));
+                bidsOpen = false;
+                asksOpen = false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void orderbookLevel(ResultSet rs) throws SQLException {
+            String orderType = rs.getString(6);
+            if (orderType == null) {
+                return;
+            }
+            try {
+                // ORDER BY order_type -> ASK 단계가 BID보다 먼저 내려옴
+                if ("ASK".equals(orderType) && !asksOpen) {
+                    generator.writeArrayFieldStart("asks");
+                    asksOpen = true;
+                } else if ("BID".equals(orderType) && !bidsOpen) {
+                    if (asksOpen) {
+                        generator.writeEndArray();
+                        asksOpen = false;
+                    }
+                    generator.writeArrayFieldStart("bids");
+                    bidsOpen = true;
+                }
+                generator.writeStartObject();
+                generator.writeNumberField("level", rs.getInt(7));
+                writeDecimal("price", rs.getBigDecimal(8));
+                generator.writeNumberField("volume", rs.getLong(9));
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void endOrderbook() {
+            try {
+                if (asksOpen || bidsOpen) {
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void end(String nextCursor) {
+            try {
+                generator.writeStartObject();
+                generator.writeStringField("next_cursor", nextCursor);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeDecimal(String field, BigDecimal value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value);
+            }
+        }
+    }
+
+    /**
+     * 헤더 + 행 단위 CSV (호가는 단계별 한 행), 마지막 줄은 "#next_cursor,<토큰>"
+     */
+    private static final class CsvSink implements RowSink {
+        private final Writer writer;
+        private final StringBuilder orderbookPrefix = new StringBuilder();
+        private boolean levelWritten;
+
+        private CsvSink(OutputStream out, String header) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            write(header);
+        }
+
+        @Override
+        public void quote(ResultSet rs, long id, LocalDateTime tradeTime) throws SQLException {
+            StringBuilder line = new StringBuilder(128)
+                .append(id).append(',')
+                .append(tradeTime).append(',')
+                .append(plain(rs.getBigDecimal(3))).append(',')
+                .append(rs.getLong(4)).append(',')
+                .append(plain(rs.getBigDecimal(5))).append(',')
+                .append(plain(rs.getBigDecimal(6))).append(',')
+                .append(plain(rs.getBigDecimal(7))).append(',')
+                .append(plain(rs.getBigDecimal(8))).append(',')
+                .append(plain(rs.getBigDecimal(9))).append('\n');
+            write(line.toString());
+        }
+
+        @Override
+        public void beginOrderbook(ResultSet rs, long id, LocalDateTime quoteTime) throws SQLException {
+            orderbookPrefix.setLength(0);
+            orderbookPrefix.append(id).append(',')
+                .append(quoteTime).append(',')
+                .append(rs.getLong(3)).append(',')
+                .append(rs.getLong(4)).append(',')
+                .append(rs.getLong(5)).append(',')
+                .append(rs.getString(10)).append(',');
+            levelWritten = false;
+        }
+
+        @Override
+        public void orderbookLevel(ResultSet rs) throws SQLException {
+            String orderType = rs.getString(6);
+            if (orderType == null) {
+                return;
+            }
+            write(orderbookPrefix + orderType + ',' + rs.getInt(7) + ',' + plain(rs.getBigDecimal(8)) + ','
+                + rs.getLong(9) + '\n');
+            levelWritten = true;
+        }
+
+        @Override
+        public void endOrderbook() {
+            if (!levelWritten) {
+                write(orderbookPrefix + ",,,\n");
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void end(String nextCursor) {
+            if (nextCursor != null) {
+                write("#next_cursor," + nextCursor + "\n");
+            }
+            flush();
+        }
+
+        private void write(String value) {
+            try {
+                writer.write(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String plain(BigDecimal value) {
+            return value != null ? value.toPlainString() : "";
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.dataprocessor.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dataprocessor.datasource.ReplicaLagMonitor;
+import org.example.dataprocessor.entity.type.CandleInterval;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 원본 체결 보존 기한이 지난 거래일을 분봉/일봉으로 남기고 quote_data 원본을 삭제 (원본은 며칠, 봉은 장기 보관)
+ * 종목/일자별로 원본을 스트리밍 집계해 봉을 다시 만들고, 봉의 체결 수 합계가 원본 행 수와 맞을 때만 검증 완료로 기록한 뒤 삭제한다.
+ * 검증 기록(tick_retention_log)이 있으면 다시 집계하지 않으므로, 삭제 도중 중단돼도 남은 원본으로 봉을 덮어쓰지 않고 삭제만 이어간다.
+ * quote_data는 외래키 때문에 파티션을 쓸 수 없어 파티션 DROP 대신 LIMIT 단위 삭제 + 청크 사이 대기로 실시간 적재와 경합을 줄인다.
+ * 검증 실패 등으로 원본이 남은 날은 매 실행마다 다시 시도하되, 하루 처리 한도(max-days-per-run)는 실제로 삭제한 날만 차감해 뒤쪽 날이 밀리지 않게 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TickRetentionService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    // downsampleDay 결과: 시간 예산 소진
+    private static final int DEADLINE_REACHED = -1;
+
+    // 삭제가 끝난 날은 원본이 남지 않으므로, 원본이 남아 있는 다음 날로 바로 건너뜀
+    private static final String NEXT_TRADE_TIME_SQL =
+        "SELECT MIN(trade_time) FROM quote_data WHERE trade_time >= ? AND trade_time < ?";
+    private static final String DAY_SYMBOLS_SQL =
+        "SELECT DISTINCT stock_code FROM quote_data WHERE trade_time >= ? AND trade_time < ?";
+    private static final String RAW_COUNT_SQL =
+        "SELECT COUNT(*) FROM quote_data WHERE stock_code = ? AND trade_time >= ? AND trade_time < ?";
+    private static final String BAR_TRADE_COUNT_SQL =
+        "SELECT COALESCE(SUM(trade_count), 0) FROM candles " +
+        "WHERE stock_code = ? AND interval_code = ? AND open_time >= ? AND open_time < ?";
+    private static final String LEDGER_SQL =
+        "SELECT raw_rows FROM tick_retention_log WHERE stock_code = ? AND trade_date = ?";
+    private static final String LEDGER_INSERT_SQL =
+        "INSERT INTO tick_retention_log (stock_code, trade_date, raw_rows, verified_at) VALUES (?, ?, ?, NOW())";
+    private static final String LEDGER_PURGED_SQL =
+        "UPDATE tick_retention_log SET purged_at = NOW() WHERE stock_code = ? AND trade_date = ?";
+    private static final String PURGE_SQL =
+        "DELETE FROM quote_data WHERE stock_code = ? AND trade_time >= ? AND trade_time < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CandleAggregationService candleAggregationService;
+    private final TickArchiveService tickArchiveService;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.retention.raw-retention-days:10}")
+    private int rawRetentionDays;
+
+    @Value("${app.retention.max-days-per-run:3}")
+    private int maxDaysPerRun;
+
+    @Value("${app.retention.max-run-minutes:120}")
+    private long maxRunMinutes;
+
+    @Value("${app.retention.purge-chunk-size:5000}")
+    private int purgeChunkSize;
+
+    @Value("${app.retention.purge-pause-ms:200}")
+    private long purgePauseMillis;
+
+    @Value("${app.retention.replica-lag-pause-ms:5000}")
+    private long replicaLagPauseMillis;
+
+    public enum Outcome {
+        PURGED, VERIFY_FAILED, NOT_ARCHIVED, DEADLINE
+    }
+
+    /**
+     * 매일 새벽(아카이브 이후) 보존 기한이 지난 거래일을 오래된 날부터 처리
+     */
+    @Scheduled(cron = "${app.retention.cron:0 30 2 * * *}", zone = "Asia/Seoul")
+    public void downsampleExpiredDays() {
+        if (!enabled) {
+            return;
+        }
+        if (!candleAggregationService.isPersisted(CandleInterval.M1) || !candleAggregationService.isPersisted(CandleInterval.D1)) {
+            log.error("Retention skipped - 1m and 1d candles must be in app.candle.persisted-intervals");
+            return;
+        }
+        LocalDateTime cutoff = LocalDate.now(KST).minusDays(rawRetentionDays).atStartOfDay();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(maxRunMinutes);
+
+        // 원본이 남은 가장 오래된 날부터 앞으로 진행 (검증 실패/미아카이브로 남은 날은 건너뛰고 다음 날 처리)
+        LocalDateTime from = LocalDate.EPOCH.atStartOfDay();
+        int purgedDays = 0;
+        while (purgedDays < maxDaysPerRun) {
+            LocalDateTime next = jdbcTemplate.queryForObject(NEXT_TRADE_TIME_SQL, LocalDateTime.class, from, cutoff);
+            if (next == null) {
+                return;
+            }
+            LocalDate day = next.toLocalDate();
+            from = day.plusDays(1).atStartOfDay();
+            try {
+                int purged = downsampleDay(day, deadline);
+                if (purged == DEADLINE_REACHED) {
+                    log.info("Retention run reached its time budget, resuming next run - Date: {}", day);
+                    return;
+                }
+                if (purged > 0) {
+                    purgedDays++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to downsample trading day: {}", day, e);
+                meterRegistry.counter("data_processor_retention_failures_total").increment();
+            }
+        }
+    }
+
+    /**
+     * 하루치 수동 실행 (시간 예산은 max-run-minutes)
+     */
+    public boolean downsampleDay(LocalDate day) {
+        return downsampleDay(day, System.nanoTime() + TimeUnit.MINUTES.toNanos(maxRunMinutes)) != DEADLINE_REACHED;
+    }
+
+    /**
+     * 하루치 전 종목 봉 집계/검증/원본 삭제
+     * @return 원본을 삭제한 종목 수, 시간 예산을 넘기면 DEADLINE_REACHED
+     */
+    private int downsampleDay(LocalDate day, long deadlineNanos) {
+        if (!day.isBefore(LocalDate.now(KST).minusDays(rawRetentionDays))) {
+            throw new IllegalArgumentException("Raw ticks are retained for " + rawRetentionDays + " days");
+        }
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        List<String> stockCodes = jdbcTemplate.queryForList(DAY_SYMBOLS_SQL, String.class, dayStart, dayEnd);
+        int purged = 0;
+        for (String stockCode : stockCodes) {
+            Outcome outcome = downsampleSymbolDay(stockCode, day, deadlineNanos);
+            meterRegistry.counter("data_processor_retention_symbol_days_total", "outcome", outcome.name().toLowerCase()).increment();
+            if (outcome == Outcome.DEADLINE) {
+                return DEADLINE_REACHED;
+            }
+            if (outcome == Outcome.PURGED) {
+                purged++;
+            }
+        }
+        if (!stockCodes.isEmpty()) {
+            log.info("Trading day downsampled - Date: {}, Symbols: {}, Purged: {}", day, stockCodes.size(), purged);
+        }
+        return purged;
+    }
+
+    private Outcome downsampleSymbolDay(String stockCode, LocalDate day, long deadlineNanos) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        List<Long> ledger = jdbcTemplate.queryForList(LEDGER_SQL, Long.class, stockCode, day);
+        if (ledger.isEmpty()) {
+            // 원본 스트리밍 집계로 해당 일자 봉 재생성 후 분봉/일봉 체결 수 합계를 원본 행 수와 대조
+            long rawRows = count(RAW_COUNT_SQL, stockCode, dayStart, dayEnd);
+            candleAggregationService.rebuildFromQuoteData(stockCode, day, day);
+            long minuteTrades = count(BAR_TRADE_COUNT_SQL, stockCode, CandleInterval.M1.getCode(), dayStart, dayEnd);
+            long dayTrades = count(BAR_TRADE_COUNT_SQL, stockCode, CandleInterval.D1.getCode(), dayStart, dayEnd);
+            if (minuteTrades != rawRows || dayTrades != rawRows) {
+                log.error("Retention verification failed, keeping raw ticks - Stock: {}, Date: {}, Raw: {}, 1m trades: {}, 1d trades: {}",
+                    stockCode, day, rawRows, minuteTrades, dayTrades);
+                return Outcome.VERIFY_FAILED;
+            }
+            jdbcTemplate.update(LEDGER_INSERT_SQL, stockCode, day, rawRows);
+        }
+
+        // 파일 아카이브를 쓰는 경우 아카이브 범위 밖이었던 날은 지금 아카이브하고, 그래도 파일이 없으면 원본을 지우지 않음
+        if (tickArchiveService.isEnabled() && !tickArchiveService.isArchived(stockCode, day)) {
+            tickArchiveService.archiveDay(stockCode, day);
+            if (!tickArchiveService.isArchived(stockCode, day)) {
+                log.warn("Raw ticks could not be archived, skipping purge - Stock: {}, Date: {}", stockCode, day);
+                return Outcome.NOT_ARCHIVED;
+            }
+        }
+
+        long deleted = 0;
+        int chunk;
+        do {
+            if (System.nanoTime() > deadlineNanos) {
+                meterRegistry.counter("data_processor_retention_purged_rows_total").increment(deleted);
+                return Outcome.DEADLINE;
+            }
+            throttle(deadlineNanos);
+            chunk = jdbcTemplate.update(PURGE_SQL, stockCode, dayStart, dayEnd, purgeChunkSize);
+            deleted += chunk;
+        } while (chunk == purgeChunkSize);
+
+        jdbcTemplate.update(LEDGER_PURGED_SQL, stockCode, day);
+        meterRegistry.counter("data_processor_retention_purged_rows_total").increment(deleted);
+        log.debug("Raw ticks purged - Stock: {}, Date: {}, Rows: {}", stockCode, day, deleted);
+        return Outcome.PURGED;
+    }
+
+    /**
+     * 청크 사이 대기 - 복제본이 기준 이상 밀려 있으면(삭제 로그 적용 중) 따라잡을 때까지 더 쉼
+     */
+    private void throttle(long deadlineNanos) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(purgePauseMillis);
+            ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+            while (monitor != null && !monitor.isReplicaUsable() && System.nanoTime() < deadlineNanos) {
+                TimeUnit.MILLISECONDS.sleep(replicaLagPauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Retention purge interrupted", e);
+        }
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0L;
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.dataprocessor.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목 + 실패 유형(예외 클래스)별 실패 격리 - 같은 종목이 같은 유형으로 window 안에 threshold번 실패하면 ttl 동안 격리
+ * 격리된 종목의 메시지는 파싱/적재를 다시 시도하지 않고 바로 DLQ로 보내, 배치 실패 -> 건별 재처리가 반복되지 않게 한다.
+ */
+@Slf4j
+@Component
+public class FailureQuarantine {
+
+    // 종목|유형 -> 최근 실패 구간
+    private final Map<String, FailureWindow> failures = new ConcurrentHashMap<>();
+    // 종목 -> 격리 상태
+    private final Map<String, Quarantined> quarantined = new ConcurrentHashMap<>();
+
+    @Value("${app.dlq.quarantine.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${app.dlq.quarantine.window-ms:60000}")
+    private long windowMillis;
+
+    @Value("${app.dlq.quarantine.ttl-ms:300000}")
+    private long ttlMillis;
+
+    /**
+     * @return 격리 중이면 격리를 건 실패 유형
+     */
+    public Optional<String> quarantinedShape(String stockCode) {
+        if (stockCode == null) {
+            return Optional.empty();
+        }
+        Quarantined entry = quarantined.get(stockCode);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.until() <= System.currentTimeMillis()) {
+            quarantined.remove(stockCode, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.shape());
+    }
+
+    /**
+     * 실패 1건 기록
+     * @return 이번 실패로 새로 격리되면 true
+     */
+    public boolean recordFailure(String stockCode, String shape) {
+        if (stockCode == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        FailureWindow window = failures.compute(stockCode + '|' + shape, (key, current) ->
+            current == null || now - current.startedAt() > windowMillis
+                ? new FailureWindow(now, 1)
+                : new FailureWindow(current.startedAt(), current.count() + 1));
+        if (window.count() < failureThreshold) {
+            return false;
+        }
+        failures.remove(stockCode + '|' + shape);
+        Quarantined previous = quarantined.put(stockCode, new Quarantined(shape, now + ttlMillis));
+        if (previous == null || previous.until() <= now) {
+            log.warn("Quarantining stock after {} failures within {} ms - Stock: {}, Shape: {}, TTL: {} ms",
+                window.count(), windowMillis, stockCode, shape, ttlMillis);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 격리 중인 종목 -> 실패 유형
+     */
+    public Map<String, String> snapshot() {
+        long now = System.currentTimeMillis();
+        Map<String, String> snapshot = new LinkedHashMap<>();
+        quarantined.forEach((stockCode, entry) -> {
+            if (entry.until() > now) {
+                snapshot.put(stockCode, entry.shape());
+            }
+        });
+        return snapshot;
+    }
+
+    public void release(String stockCode) {
+        quarantined.remove(stockCode);
+    }
+
+    /**
+     * 만료된 격리/지난 실패 구간 정리
+     */
+    @Scheduled(fixedDelayString = "${app.dlq.quarantine.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        quarantined.values().removeIf(entry -> entry.until() <= now);
+        failures.values().removeIf(window -> now - window.startedAt() > windowMillis);
+    }
+
+    private record FailureWindow(long startedAt, int count) {
+    }
+
+    private record Quarantined(String shape, long until) {
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.dataprocessor.store;
+
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.springframework.stereotype.Component;
+
+/**
+ * 종목별 최신 호가 저장소
+ */
+@Component
+public class LatestOrderbookStore extends LatestStateStore<LatestOrderbook> {
+
+    public LatestOrderbookStore(SymbolRegistry symbolRegistry) {
+        super(symbolRegistry, LatestOrderbook::newerOf);
+    }
+}
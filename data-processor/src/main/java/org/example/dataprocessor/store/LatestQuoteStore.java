@@ -0,0 +1,15 @@
+package org.example.dataprocessor.store;
+
+import org.example.dataprocessor.dto.LatestQuote;
+import org.springframework.stereotype.Component;
+
+/**
+ * 종목별 최신 체결 저장소
+ */
+@Component
+public class LatestQuoteStore extends LatestStateStore<LatestQuote> {
+
+    public LatestQuoteStore(SymbolRegistry symbolRegistry) {
+        super(symbolRegistry, LatestQuote::newerOf);
+    }
+}
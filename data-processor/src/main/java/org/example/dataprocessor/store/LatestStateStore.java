@@ -0,0 +1,50 @@
+package org.example.dataprocessor.store;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BinaryOperator;
+
+/**
+ * 종목 ID별 사전 할당 슬롯에 불변 스냅샷을 volatile 발행하는 최신 상태 저장소
+ * 쓰기는 CAS, 읽기는 락/프록시 없이 한 번의 volatile read로 끝난다.
+ */
+public class LatestStateStore<T> {
+
+    private final SymbolRegistry symbolRegistry;
+    private final AtomicReferenceArray<T> slots;
+    // (현재 값, 새 값) -> 남길 값 (순서가 뒤바뀐 메시지로 최신 값이 되돌아가지 않도록)
+    private final BinaryOperator<T> newerOf;
+
+    public LatestStateStore(SymbolRegistry symbolRegistry, BinaryOperator<T> newerOf) {
+        this.symbolRegistry = symbolRegistry;
+        this.slots = new AtomicReferenceArray<>(symbolRegistry.capacity());
+        this.newerOf = newerOf;
+    }
+
+    /**
+     * @return 슬롯을 확보하지 못한 경우(레지스트리 용량 초과) false
+     */
+    public boolean publish(String stockCode, T snapshot) {
+        int id = symbolRegistry.idOf(stockCode);
+        if (id < 0) {
+            return false;
+        }
+        slots.accumulateAndGet(id, snapshot, (current, next) -> current == null ? next : newerOf.apply(current, next));
+        return true;
+    }
+
+    public Optional<T> get(String stockCode) {
+        int id = symbolRegistry.find(stockCode);
+        return id < 0 ? Optional.empty() : Optional.ofNullable(slots.get(id));
+    }
+
+    public int size() {
+        int count = 0;
+        for (int i = 0; i < symbolRegistry.size(); i++) {
+            if (slots.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
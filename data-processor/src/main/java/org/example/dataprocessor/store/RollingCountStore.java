@@ -0,0 +1,167 @@
+package org.example.dataprocessor.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 종목별 체결/호가 건수 슬라이딩 윈도 (최근 1시간은 초 단위, 최근 1일은 분 단위 원형 버킷)
+ * 기간 건수 조회를 COUNT(*) 대신 버킷 합산으로 처리하고, 메모리가 덮지 못하는 구간이면 empty를 돌려 DB 조회로 넘긴다.
+ * 버킷은 이벤트 시각(체결/호가 시각) 기준이며, 종목 버킷이 처음 생긴 시각(기동/파티션 할당 후 첫 이벤트) 이전 구간은 덮지 못한 것으로 본다.
+ */
+@Slf4j
+@Component
+public class RollingCountStore implements ConsumerAwareRebalanceListener {
+
+    public enum Type {
+        QUOTE, ORDERBOOK
+    }
+
+    public static final int SECOND_BUCKETS = 3_600;
+    public static final int MINUTE_BUCKETS = 1_440;
+    public static final long MAX_WINDOW_SECONDS = MINUTE_BUCKETS * 60L;
+
+    private static final ZoneOffset KST_OFFSET = ZoneOffset.ofHours(9);
+
+    private final SymbolRegistry symbolRegistry;
+    private final String groupId;
+    private final AtomicReferenceArray<SymbolCounts> slots;
+
+    public RollingCountStore(SymbolRegistry symbolRegistry,
+                             @Value("${spring.kafka.consumer.group-id}") String groupId) {
+        this.symbolRegistry = symbolRegistry;
+        this.groupId = groupId;
+        this.slots = new AtomicReferenceArray<>(symbolRegistry.capacity());
+    }
+
+    public void record(Type type, String stockCode, LocalDateTime eventTime) {
+        int id = symbolRegistry.idOf(stockCode);
+        if (id < 0) {
+            return;
+        }
+        SymbolCounts counts = slots.get(id);
+        if (counts == null) {
+            // 종목별 버킷은 첫 이벤트에 지연 할당
+            slots.compareAndSet(id, null, new SymbolCounts(nowSecond()));
+            counts = slots.get(id);
+        }
+        long second = eventTime.toEpochSecond(KST_OFFSET);
+        synchronized (counts) {
+            counts.seconds[type.ordinal()].add(second);
+            counts.minutes[type.ordinal()].add(Math.floorDiv(second, 60));
+        }
+    }
+
+    /**
+     * 최근 windowSeconds 동안의 건수 (1시간 이하는 초 단위, 1일 이하는 분 단위 정밀도)
+     * 메모리로 답할 수 없으면 empty (1일 초과, 이 인스턴스가 보지 못한 종목, 종목 집계 시작 이전 구간)
+     */
+    public OptionalLong count(Type type, String stockCode, long windowSeconds) {
+        if (windowSeconds <= 0 || windowSeconds > MAX_WINDOW_SECONDS) {
+            return OptionalLong.empty();
+        }
+        int id = symbolRegistry.find(stockCode);
+        SymbolCounts counts = id < 0 ? null : slots.get(id);
+        long fromSecond = nowSecond() - windowSeconds;
+        if (counts == null || fromSecond < counts.since) {
+            return OptionalLong.empty();
+        }
+        synchronized (counts) {
+            CountRing seconds = counts.seconds[type.ordinal()];
+            if (windowSeconds <= SECOND_BUCKETS && seconds.covers(fromSecond)) {
+                return OptionalLong.of(seconds.sumFrom(fromSecond));
+            }
+            CountRing minutes = counts.minutes[type.ordinal()];
+            long fromMinute = Math.floorDiv(fromSecond, 60);
+            return minutes.covers(fromMinute) ? OptionalLong.of(minutes.sumFrom(fromMinute)) : OptionalLong.empty();
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < symbolRegistry.capacity(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    /**
+     * 파티션을 넘기면 넘긴 종목의 이후 이벤트를 보지 못하므로 비움 (다시 할당받은 종목은 첫 이벤트부터 새로 집계)
+     */
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty() && groupId.equals(consumer.groupMetadata().groupId())) {
+            log.info("Partitions revoked, clearing rolling counters - Partitions: {}", partitions);
+            clear();
+        }
+    }
+
+    private static long nowSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static final class SymbolCounts {
+        // 이 시각(epoch second) 이후 이벤트는 모두 이 인스턴스가 집계함
+        private final long since;
+        private final CountRing[] seconds = {new CountRing(SECOND_BUCKETS), new CountRing(SECOND_BUCKETS)};
+        private final CountRing[] minutes = {new CountRing(MINUTE_BUCKETS), new CountRing(MINUTE_BUCKETS)};
+
+        private SymbolCounts(long since) {
+            this.since = since;
+        }
+    }
+
+    /**
+     * 버킷 번호(초 또는 분) 단위 원형 카운터 - head가 앞으로 가면 지나간 칸을 비우고, 윈도 밖의 늦은 이벤트는 버림
+     */
+    private static final class CountRing {
+        private final int[] counts;
+        private long head = Long.MIN_VALUE;
+
+        private CountRing(int length) {
+            this.counts = new int[length];
+        }
+
+        private void add(long bucket) {
+            if (head == Long.MIN_VALUE) {
+                head = bucket;
+            } else if (bucket > head) {
+                long gap = Math.min(bucket - head, counts.length);
+                for (long b = bucket - gap + 1; b <= bucket; b++) {
+                    counts[index(b)] = 0;
+                }
+                head = bucket;
+            } else if (bucket <= head - counts.length) {
+                return;
+            }
+            counts[index(bucket)]++;
+        }
+
+        private boolean covers(long fromBucket) {
+            // head 이후 구간은 이벤트가 없었으므로 0건, 링 길이만큼 앞선 경계 칸 하나는 근사로 허용
+            return head == Long.MIN_VALUE || fromBucket >= head - counts.length;
+        }
+
+        private long sumFrom(long fromBucket) {
+            if (head == Long.MIN_VALUE || fromBucket > head) {
+                return 0L;
+            }
+            long total = 0L;
+            for (long b = Math.max(fromBucket, head - counts.length + 1); b <= head; b++) {
+                total += counts[index(b)];
+            }
+            return total;
+        }
+
+        private int index(long bucket) {
+            return (int) Math.floorMod(bucket, (long) counts.length);
+        }
+    }
+}
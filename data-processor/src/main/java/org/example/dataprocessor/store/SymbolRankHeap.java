@@ -0,0 +1,173 @@
+package org.example.dataprocessor.store;
+
+import java.util.Arrays;
+
+/**
+ * 종목 ID 위치 색인 이진 힙 - 값이 바뀐 종목만 O(log N)으로 제자리를 찾고, 상위 K개는 힙을 부분 탐색해 O(K log K)로 뽑는다.
+ * 값은 외부 long 배열(종목 ID 인덱스)을 그대로 참조하며, 값 변경 후 update()를 호출해야 한다. 스레드 안전하지 않음.
+ */
+public class SymbolRankHeap {
+
+    private final long[] values;
+    private final boolean descending;
+    private final int[] heap;
+    // 종목 ID -> 힙 위치 (-1이면 힙에 없음)
+    private final int[] positions;
+    private int size;
+
+    // topK 탐색용 보조 힙 (힙 위치를 담음, 호출마다 재사용)
+    private int[] frontier = new int[16];
+
+    public SymbolRankHeap(long[] values, boolean descending) {
+        this.values = values;
+        this.descending = descending;
+        this.heap = new int[values.length];
+        this.positions = new int[values.length];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * 종목 값이 바뀐 뒤 호출 (처음이면 추가)
+     */
+    public void update(int id) {
+        int position = positions[id];
+        if (position < 0) {
+            heap[size] = id;
+            positions[id] = size;
+            siftUp(size++);
+            return;
+        }
+        if (!siftUp(position)) {
+            siftDown(position);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 순위 순서대로 상위 k개 종목 ID를 out에 채우고 개수를 반환
+     */
+    public int topK(int k, int[] out) {
+        int limit = Math.min(Math.min(k, size), out.length);
+        if (limit == 0) {
+            return 0;
+        }
+        if (frontier.length < limit * 2 + 1) {
+            frontier = new int[limit * 2 + 1];
+        }
+        // 루트부터 아직 꺼내지 않은 자식들만 후보로 두는 best-first 탐색 (원본 힙은 건드리지 않음)
+        int frontierSize = 0;
+        frontier[frontierSize++] = 0;
+        int count = 0;
+        while (count < limit) {
+            int best = frontier[0];
+            frontier[0] = frontier[--frontierSize];
+            frontierSiftDown(frontierSize);
+            out[count++] = heap[best];
+
+            int left = best * 2 + 1;
+            if (left < size) {
+                frontier[frontierSize] = left;
+                frontierSiftUp(frontierSize++);
+            }
+            if (left + 1 < size) {
+                frontier[frontierSize] = left + 1;
+                frontierSiftUp(frontierSize++);
+            }
+        }
+        return count;
+    }
+
+    private boolean before(int a, int b) {
+        long valueA = values[a];
+        long valueB = values[b];
+        if (valueA == valueB) {
+            return a < b;
+        }
+        return descending ? valueA > valueB : valueA < valueB;
+    }
+
+    private boolean siftUp(int position) {
+        int id = heap[position];
+        int start = position;
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(id, heap[parent])) {
+                break;
+            }
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(id, position);
+        return position != start;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        while (true) {
+            int child = position * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], id)) {
+                break;
+            }
+            move(heap[child], position);
+            position = child;
+        }
+        move(id, position);
+    }
+
+    private void move(int id, int position) {
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void frontierSiftUp(int index) {
+        int position = frontier[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(heap[position], heap[frontier[parent]])) {
+                break;
+            }
+            frontier[index] = frontier[parent];
+            index = parent;
+        }
+        frontier[index] = position;
+    }
+
+    private void frontierSiftDown(int frontierSize) {
+        if (frontierSize == 0) {
+            return;
+        }
+        int index = 0;
+        int position = frontier[0];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= frontierSize) {
+                break;
+            }
+            if (child + 1 < frontierSize && before(heap[frontier[child + 1]], heap[frontier[child]])) {
+                child++;
+            }
+            if (!before(heap[frontier[child]], heap[position])) {
+                break;
+            }
+            frontier[index] = frontier[child];
+            index = child;
+        }
+        frontier[index] = position;
+    }
+}
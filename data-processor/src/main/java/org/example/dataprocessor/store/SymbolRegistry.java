@@ -0,0 +1,70 @@
+package org.example.dataprocessor.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 종목코드 -> 0부터 시작하는 조밀한 정수 ID 매핑 (종목별 사전 할당 슬롯의 인덱스)
+ * 한 번 할당된 ID는 프로세스 수명 동안 바뀌지 않는다.
+ */
+@Slf4j
+@Component
+public class SymbolRegistry {
+
+    private final int capacity;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> codes;
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public SymbolRegistry(@Value("${app.latest-state.max-symbols:4096}") int capacity) {
+        this.capacity = capacity;
+        this.codes = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 종목 ID 조회 (없으면 할당, 용량 초과 시 -1)
+     */
+    public int idOf(String stockCode) {
+        Integer id = ids.get(stockCode);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(stockCode, code -> {
+            int newId = nextId.getAndIncrement();
+            if (newId >= capacity) {
+                log.warn("Symbol registry is full - capacity: {}, rejected stock: {}", capacity, code);
+                return -1;
+            }
+            codes.set(newId, code);
+            return newId;
+        });
+    }
+
+    /**
+     * 할당 없이 종목 ID 조회 (없으면 -1)
+     */
+    public int find(String stockCode) {
+        return ids.getOrDefault(stockCode, -1);
+    }
+
+    /**
+     * ID -> 종목코드 (할당되지 않았으면 null)
+     */
+    public String codeOf(int id) {
+        return codes.get(id);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return Math.min(nextId.get(), capacity);
+    }
+}
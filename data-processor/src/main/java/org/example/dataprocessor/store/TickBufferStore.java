@@ -0,0 +1,264 @@
+package org.example.dataprocessor.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.util.LongColumnRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 종목별 최근 체결/호가 원형 버퍼 (최근 N건 조회를 DB 대신 메모리에서 처리)
+ * 가격은 x100, 등락률은 x10000 스케일의 long(FixedPoint)으로 저장한다.
+ */
+@Slf4j
+@Component
+public class TickBufferStore implements ConsumerAwareRebalanceListener {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // 체결 컬럼
+    private static final int Q_TRADE_TIME = 0;
+    private static final int Q_PRICE = 1;
+    private static final int Q_VOLUME = 2;
+    private static final int Q_CHANGE_AMOUNT = 3;
+    private static final int Q_CHANGE_RATE = 4;
+    private static final int Q_HIGH = 5;
+    private static final int Q_LOW = 6;
+    private static final int Q_OPEN = 7;
+    private static final int QUOTE_COLUMNS = 8;
+
+    // 호가 컬럼 (고정 헤더 + 단계별 매수가/매수잔량/매도가/매도잔량)
+    private static final int O_QUOTE_TIME = 0;
+    private static final int O_SEQUENCE = 1;
+    private static final int O_TOTAL_BID = 2;
+    private static final int O_TOTAL_ASK = 3;
+    private static final int O_BID_DEPTH = 4;
+    private static final int O_ASK_DEPTH = 5;
+    private static final int O_LEVELS = 6;
+
+    private final SymbolRegistry symbolRegistry;
+    private final boolean enabled;
+    private final int quoteDepth;
+    private final int orderbookDepth;
+    private final int orderbookLevels;
+    private final boolean offHeap;
+    private final String groupId;
+    private final AtomicReferenceArray<LongColumnRing> quoteRings;
+    private final AtomicReferenceArray<LongColumnRing> orderbookRings;
+
+    public TickBufferStore(
+        SymbolRegistry symbolRegistry,
+        @Value("${app.tick-buffer.enabled:true}") boolean enabled,
+        @Value("${app.tick-buffer.quote-depth:1000}") int quoteDepth,
+        @Value("${app.tick-buffer.orderbook-depth:200}") int orderbookDepth,
+        @Value("${app.tick-buffer.orderbook-levels:10}") int orderbookLevels,
+        @Value("${app.tick-buffer.off-heap:false}") boolean offHeap,
+        @Value("${spring.kafka.consumer.group-id}") String groupId
+    ) {
+        this.symbolRegistry = symbolRegistry;
+        this.enabled = enabled;
+        // 쓰기 중인 슬롯 1개를 제외하고 depth건을 보장
+        this.quoteDepth = quoteDepth + 1;
+        this.orderbookDepth = orderbookDepth + 1;
+        this.orderbookLevels = orderbookLevels;
+        this.offHeap = offHeap;
+        this.groupId = groupId;
+        this.quoteRings = new AtomicReferenceArray<>(symbolRegistry.capacity());
+        this.orderbookRings = new AtomicReferenceArray<>(symbolRegistry.capacity());
+        log.info("Tick buffers initialized - Enabled: {}, Quote depth: {}, Orderbook depth: {}, Off-heap: {}",
+            enabled, quoteDepth, orderbookDepth, offHeap);
+    }
+
+    public void appendQuote(LatestQuote quote) {
+        LongColumnRing ring = ringFor(quoteRings, quote.getStockCode(), quoteDepth, QUOTE_COLUMNS);
+        if (ring == null) {
+            return;
+        }
+        long[] row = new long[QUOTE_COLUMNS];
+        row[Q_TRADE_TIME] = toEpochMillis(quote.getTradeTime());
+        row[Q_PRICE] = quote.getPrice();
+        row[Q_VOLUME] = quote.getVolume();
+        row[Q_CHANGE_AMOUNT] = quote.getChangeAmount();
+        row[Q_CHANGE_RATE] = quote.getChangeRate();
+        row[Q_HIGH] = quote.getHighPrice();
+        row[Q_LOW] = quote.getLowPrice();
+        row[Q_OPEN] = quote.getOpenPrice();
+        ring.append(row);
+    }
+
+    public void appendOrderbook(LatestOrderbook orderbook) {
+        LongColumnRing ring = ringFor(orderbookRings, orderbook.getStockCode(), orderbookDepth,
+            O_LEVELS + orderbookLevels * 4);
+        if (ring == null) {
+            return;
+        }
+        int bidDepth = Math.min(orderbook.getBidPrices().length, orderbookLevels);
+        int askDepth = Math.min(orderbook.getAskPrices().length, orderbookLevels);
+        long[] row = new long[ring.columns()];
+        row[O_QUOTE_TIME] = toEpochMicros(orderbook.getQuoteTime());
+        row[O_SEQUENCE] = orderbook.getSequenceNumber();
+        row[O_TOTAL_BID] = orderbook.getTotalBidVolume();
+        row[O_TOTAL_ASK] = orderbook.getTotalAskVolume();
+        row[O_BID_DEPTH] = bidDepth;
+        row[O_ASK_DEPTH] = askDepth;
+        for (int level = 0; level < bidDepth; level++) {
+            row[O_LEVELS + level * 4] = Math.round(orderbook.getBidPrices()[level] * 100);
+            row[O_LEVELS + level * 4 + 1] = orderbook.getBidVolumes()[level];
+        }
+        for (int level = 0; level < askDepth; level++) {
+            row[O_LEVELS + level * 4 + 2] = Math.round(orderbook.getAskPrices()[level] * 100);
+            row[O_LEVELS + level * 4 + 3] = orderbook.getAskVolumes()[level];
+        }
+        ring.append(row);
+    }
+
+    /**
+     * 최근 체결 limit건 (최신순), 버퍼에 limit건이 없으면 empty
+     */
+    public Optional<List<LatestQuote>> recentQuotes(String stockCode, int limit) {
+        LongColumnRing ring = existingRing(quoteRings, stockCode);
+        if (ring == null || ring.size() < limit) {
+            return Optional.empty();
+        }
+        long[] rows = new long[limit * QUOTE_COLUMNS];
+        int count = ring.readLatest(limit, rows);
+        if (count < limit) {
+            return Optional.empty();
+        }
+
+        List<LatestQuote> quotes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int base = i * QUOTE_COLUMNS;
+            quotes.add(LatestQuote.builder()
+                .stockCode(stockCode)
+                .tradeTime(toLocalDateTime(rows[base + Q_TRADE_TIME]))
+                .price(rows[base + Q_PRICE])
+                .volume(rows[base + Q_VOLUME])
+                .changeAmount(rows[base + Q_CHANGE_AMOUNT])
+                .changeRate(rows[base + Q_CHANGE_RATE])
+                .highPrice(rows[base + Q_HIGH])
+                .lowPrice(rows[base + Q_LOW])
+                .openPrice(rows[base + Q_OPEN])
+                .build());
+        }
+        return Optional.of(quotes);
+    }
+
+    /**
+     * 최근 호가 limit건 (최신순), 버퍼에 limit건이 없으면 empty
+     */
+    public Optional<List<LatestOrderbook>> recentOrderbooks(String stockCode, int limit) {
+        LongColumnRing ring = existingRing(orderbookRings, stockCode);
+        if (ring == null || ring.size() < limit) {
+            return Optional.empty();
+        }
+        int columns = ring.columns();
+        long[] rows = new long[limit * columns];
+        int count = ring.readLatest(limit, rows);
+        if (count < limit) {
+            return Optional.empty();
+        }
+
+        List<LatestOrderbook> orderbooks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int base = i * columns;
+            int bidDepth = (int) rows[base + O_BID_DEPTH];
+            int askDepth = (int) rows[base + O_ASK_DEPTH];
+            double[] bidPrices = new double[bidDepth];
+            long[] bidVolumes = new long[bidDepth];
+            double[] askPrices = new double[askDepth];
+            long[] askVolumes = new long[askDepth];
+            for (int level = 0; level < bidDepth; level++) {
+                bidPrices[level] = rows[base + O_LEVELS + level * 4] / 100.0;
+                bidVolumes[level] = rows[base + O_LEVELS + level * 4 + 1];
+            }
+            for (int level = 0; level < askDepth; level++) {
+                askPrices[level] = rows[base + O_LEVELS + level * 4 + 2] / 100.0;
+                askVolumes[level] = rows[base + O_LEVELS + level * 4 + 3];
+            }
+            orderbooks.add(LatestOrderbook.builder()
+                .stockCode(stockCode)
+                .quoteTime(fromEpochMicros(rows[base + O_QUOTE_TIME]))
+                .sequenceNumber(rows[base + O_SEQUENCE])
+                .totalBidVolume(rows[base + O_TOTAL_BID])
+                .totalAskVolume(rows[base + O_TOTAL_ASK])
+                .bidPrices(bidPrices)
+                .bidVolumes(bidVolumes)
+                .askPrices(askPrices)
+                .askVolumes(askVolumes)
+                .build());
+        }
+        return Optional.of(orderbooks);
+    }
+
+    public void clear() {
+        for (int i = 0; i < symbolRegistry.capacity(); i++) {
+            quoteRings.set(i, null);
+            orderbookRings.set(i, null);
+        }
+    }
+
+    /**
+     * 파티션을 다른 인스턴스에 넘기면 해당 종목 버퍼가 더 이상 갱신되지 않으므로 비움
+     */
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty() && groupId.equals(consumer.groupMetadata().groupId())) {
+            log.info("Partitions revoked, clearing tick buffers - Partitions: {}", partitions);
+            clear();
+        }
+    }
+
+    private LongColumnRing ringFor(AtomicReferenceArray<LongColumnRing> rings, String stockCode, int depth, int columns) {
+        if (!enabled) {
+            return null;
+        }
+        int id = symbolRegistry.idOf(stockCode);
+        if (id < 0) {
+            return null;
+        }
+        LongColumnRing ring = rings.get(id);
+        if (ring == null) {
+            // 종목별 버퍼는 첫 틱에 지연 할당
+            rings.compareAndSet(id, null, new LongColumnRing(depth, columns, offHeap));
+            ring = rings.get(id);
+        }
+        return ring;
+    }
+
+    private LongColumnRing existingRing(AtomicReferenceArray<LongColumnRing> rings, String stockCode) {
+        int id = symbolRegistry.find(stockCode);
+        return id < 0 ? null : rings.get(id);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(KST).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), KST);
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        Instant instant = time.atZone(KST).toInstant();
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long epochMicros) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+            Math.floorMod(epochMicros, 1_000_000L) * 1_000L), KST);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.dataprocessor.util;
+
+/**
+ * 고정 크기 double 원형 버퍼 (박싱 없는 슬라이딩 윈도우용, 단일 스레드 전용)
+ */
+public class DoubleRingBuffer {
+
+    private final double[] values;
+    private int head;
+    private int size;
+
+    public DoubleRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.values = new double[capacity];
+    }
+
+    /**
+     * 값 추가 (가득 찬 경우 가장 오래된 값을 덮어씀)
+     */
+    public void add(double value) {
+        head = (head + 1) % values.length;
+        values[head] = value;
+        if (size < values.length) {
+            size++;
+        }
+    }
+
+    /**
+     * 최신 값 기준 ago번째 이전 값 (0 = 최신)
+     */
+    public double get(int ago) {
+        if (ago < 0 || ago >= size) {
+            throw new IndexOutOfBoundsException("ago: " + ago + ", size: " + size);
+        }
+        int index = head - ago;
+        return values[index < 0 ? index + values.length : index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+}
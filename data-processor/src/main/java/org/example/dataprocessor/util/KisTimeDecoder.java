@@ -0,0 +1,167 @@
+package org.example.dataprocessor.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * KIS 체결/호가 시각(HHmmss) 디코더 - 캐시한 영업일 자정(KST) epoch에 초 단위를 산술로 더해 객체 생성 없이 변환
+ * 영업일은 KST 자정에 스케줄러가 넘기고, 메시지에 영업일자(yyyyMMdd)가 있으면 그 날짜를 우선한다.
+ * KST를 고정 UTC+9로 계산하므로 서머타임이 있던 1987~1988년 날짜는 한 시간 어긋난다 (이후로는 Asia/Seoul과 동일).
+ */
+@Slf4j
+@Component
+public class KisTimeDecoder {
+
+    public static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private static final long KST_OFFSET_MILLIS = 9 * 3_600_000L;
+    private static final long DAY_MILLIS = 86_400_000L;
+    // 영업일자 없이 들어온 틱이 현재보다 이만큼 이상 미래면 자정 직후 도착한 전날 틱으로 간주
+    private static final long FUTURE_TOLERANCE_MILLIS = 3_600_000L;
+
+    // 현재 영업일 (yyyyMMdd)와 그 날 KST 자정의 epoch millis - 한 쌍으로 교체
+    private volatile TradingDay tradingDay;
+
+    public KisTimeDecoder() {
+        roll();
+    }
+
+    /**
+     * KST 자정에 영업일 캐시 교체
+     */
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
+    public void roll() {
+        LocalDate today = LocalDate.now(KST);
+        int date = today.getYear() * 10_000 + today.getMonthValue() * 100 + today.getDayOfMonth();
+        tradingDay = new TradingDay(date, today.toEpochDay() * DAY_MILLIS - KST_OFFSET_MILLIS);
+        log.info("Trading day rolled - Date: {}", date);
+    }
+
+    /**
+     * HHmmss(+선택적 영업일자 yyyyMMdd) -> epoch millis, 시각이 잘못되면 현재 시각
+     */
+    public long toEpochMillis(CharSequence time, CharSequence businessDate) {
+        int secondOfDay = secondOfDay(time);
+        if (secondOfDay < 0) {
+            return System.currentTimeMillis();
+        }
+        long offsetMillis = secondOfDay * 1000L;
+
+        TradingDay day = tradingDay;
+        int date = parseDate(businessDate);
+        if (date > 0) {
+            long midnight = date == day.date() ? day.midnightEpochMillis() : midnightEpochMillis(date);
+            return midnight + offsetMillis;
+        }
+
+        long epochMillis = day.midnightEpochMillis() + offsetMillis;
+        if (epochMillis - System.currentTimeMillis() > FUTURE_TOLERANCE_MILLIS) {
+            epochMillis -= DAY_MILLIS;
+        }
+        return epochMillis;
+    }
+
+    public long toEpochMillis(CharSequence time) {
+        return toEpochMillis(time, null);
+    }
+
+    public long toEpochNanos(CharSequence time, CharSequence businessDate) {
+        return toEpochMillis(time, businessDate) * 1_000_000L;
+    }
+
+    /**
+     * 엔티티/응답 경계용 KST LocalDateTime 변환
+     */
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), KST);
+    }
+
+    public LocalDateTime toLocalDateTime(CharSequence time, CharSequence businessDate) {
+        return toLocalDateTime(toEpochMillis(time, businessDate));
+    }
+
+    public LocalDateTime toLocalDateTime(CharSequence time) {
+        return toLocalDateTime(time, null);
+    }
+
+    /**
+     * "HHmmss" -> 하루 중 초, 형식이 맞지 않으면 -1
+     */
+    static int secondOfDay(CharSequence time) {
+        if (time == null || time.length() != 6) {
+            return -1;
+        }
+        int hour = twoDigits(time, 0);
+        int minute = twoDigits(time, 2);
+        int second = twoDigits(time, 4);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * "yyyyMMdd" -> 정수 날짜, 없거나 형식이 맞지 않으면 -1
+     */
+    static int parseDate(CharSequence date) {
+        if (date == null || date.length() != 8) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 8; i++) {
+            char c = date.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        int year = value / 10_000;
+        int month = value / 100 % 100;
+        int day = value % 100;
+        return month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month) ? value : -1;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static int twoDigits(CharSequence text, int offset) {
+        char tens = text.charAt(offset);
+        char ones = text.charAt(offset + 1);
+        if (tens < '0' || tens > '9' || ones < '0' || ones > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    /**
+     * yyyyMMdd 날짜의 KST 자정 epoch millis (그레고리력 일수 계산, 객체 생성 없음)
+     */
+    private static long midnightEpochMillis(int date) {
+        long year = date / 10_000;
+        int month = date / 100 % 100;
+        int day = date % 100;
+        if (month <= 2) {
+            year--;
+        }
+        long era = Math.floorDiv(year, 400);
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long epochDay = era * 146_097 + dayOfEra - 719_468;
+        return epochDay * DAY_MILLIS - KST_OFFSET_MILLIS;
+    }
+
+    private record TradingDay(int date, long midnightEpochMillis) {
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.dataprocessor.util;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * 고정 크기 long 컬럼 원형 버퍼 (struct-of-arrays, 컬럼별로 연속 배치)
+ * 쓰기는 락으로 직렬화하고 volatile head로 발행하며, 읽기는 락 없이 복사 후 덮어쓰기 여부를 검증한다.
+ */
+public class LongColumnRing {
+
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    private final int capacity;
+    private final int columns;
+    // column * capacity + slot
+    private final LongBuffer data;
+    private final Object writeLock = new Object();
+    // 다음에 쓸 시퀀스 (발행된 행 수)
+    private volatile long head;
+
+    public LongColumnRing(int capacity, int columns, boolean offHeap) {
+        this.capacity = capacity;
+        this.columns = columns;
+        this.data = offHeap
+            ? ByteBuffer.allocateDirect(Math.multiplyExact(Math.multiplyExact(capacity, columns), Long.BYTES)).asLongBuffer()
+            : LongBuffer.wrap(new long[Math.multiplyExact(capacity, columns)]);
+    }
+
+    public void append(long[] row) {
+        if (row.length != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " columns but got " + row.length);
+        }
+        synchronized (writeLock) {
+            long sequence = head;
+            int slot = (int) (sequence % capacity);
+            for (int column = 0; column < columns; column++) {
+                data.put(column * capacity + slot, row[column]);
+            }
+            head = sequence + 1;
+        }
+    }
+
+    /**
+     * 최신 행부터 최대 limit건을 target에 행 단위로 복사 (target[i * columns + column])
+     * @return 복사한 행 수, 읽는 동안 계속 덮어써져 일관된 값을 얻지 못하면 -1
+     */
+    public int readLatest(int limit, long[] target) {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long end = head;
+            int rows = (int) Math.min(Math.min(limit, end), capacity - 1);
+            for (int i = 0; i < rows; i++) {
+                int slot = (int) ((end - 1 - i) % capacity);
+                for (int column = 0; column < columns; column++) {
+                    target[i * columns + column] = data.get(column * capacity + slot);
+                }
+            }
+            // 읽는 동안 진행된 쓰기가 가장 오래된 행을 덮어쓰지 않았는지 확인
+            // 앞선 슬롯 읽기가 아래 head 재확인 뒤로 밀리지 않도록 acquire 펜스 (쓰기 쪽 volatile head 저장과 짝)
+            VarHandle.acquireFence();
+            long oldest = end - rows;
+            if (oldest > head - capacity) {
+                return rows;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 일관되게 읽을 수 있는 최대 행 수 (쓰기 중인 슬롯 1개 제외)
+     */
+    public int size() {
+        return (int) Math.min(head, capacity - 1);
+    }
+
+    public int columns() {
+        return columns;
+    }
+}
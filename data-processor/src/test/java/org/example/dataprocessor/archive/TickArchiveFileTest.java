@@ -0,0 +1,129 @@
+package org.example.dataprocessor.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickArchiveFileTest {
+
+    private static final int BLOCK_SIZE = 4;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void blockRoundTripsNegativeDeltasAndIrregularSpacing() {
+        long[] timestamps = {1_000L, 1_000L, 1_005L, 1_006L, 1_500L, 1_501L};
+        long[] prices = {7_150_000L, 7_140_000L, 7_160_000L, 0L, 7_160_000L, 7_159_900L};
+        long[] volumes = {10L, 0L, 1L, Long.MAX_VALUE, 3L, 250_000L};
+
+        long[][] decoded = roundTrip(timestamps, prices, volumes, 0, timestamps.length);
+
+        assertThat(decoded[0]).containsExactly(timestamps);
+        assertThat(decoded[1]).containsExactly(prices);
+        assertThat(decoded[2]).containsExactly(volumes);
+    }
+
+    @Test
+    void singleRowBlockRoundTrips() {
+        long[] timestamps = {1_700_000_000_000L, 1_700_000_000_123L};
+        long[] prices = {5_000L, -5_000L};
+        long[] volumes = {1L, 2L};
+
+        long[][] decoded = roundTrip(timestamps, prices, volumes, 1, 2);
+
+        assertThat(decoded[0]).containsExactly(1_700_000_000_123L);
+        assertThat(decoded[1]).containsExactly(-5_000L);
+        assertThat(decoded[2]).containsExactly(2L);
+    }
+
+    @Test
+    void zigzagRoundTripsExtremes() {
+        for (long value : new long[]{0L, 1L, -1L, 63L, -64L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertThat(TickBlockCodec.unzigzag(TickBlockCodec.zigzag(value))).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void fileRoundTripsAcrossBlockBoundaries() throws IOException {
+        TickColumns columns = randomColumns(BLOCK_SIZE * 3 + 1, 42L);
+        TickArchiveFile file = writeAndOpen(columns);
+
+        assertThat(file.rowCount()).isEqualTo(columns.size());
+        List<long[]> rows = scan(file, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertThat(rows).hasSize(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            assertThat(rows.get(i)).containsExactly(columns.timestamps()[i], columns.prices()[i], columns.volumes()[i]);
+        }
+    }
+
+    @Test
+    void scanHonoursRangeInsideBlocks() throws IOException {
+        TickColumns columns = new TickColumns(16);
+        for (int i = 0; i < 10; i++) {
+            columns.add(10_000L + i * 100L, 1_000L + i, i);
+        }
+        TickArchiveFile file = writeAndOpen(columns);
+
+        // 두 번째 블록 중간에서 시작해 세 번째 블록 중간에서 끝남 (to는 제외)
+        List<long[]> rows = scan(file, 10_550L, 10_900L, Integer.MAX_VALUE);
+
+        assertThat(rows).extracting(row -> row[0]).containsExactly(10_600L, 10_700L, 10_800L);
+        assertThat(rows).extracting(row -> row[2]).containsExactly(6L, 7L, 8L);
+        assertThat(scan(file, 10_150L, 10_200L, Integer.MAX_VALUE)).isEmpty();
+        assertThat(scan(file, 20_000L, 30_000L, Integer.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void scanStopsWhenVisitorReturnsFalse() throws IOException {
+        TickArchiveFile file = writeAndOpen(randomColumns(BLOCK_SIZE * 3, 7L));
+
+        List<long[]> rows = scan(file, Long.MIN_VALUE, Long.MAX_VALUE, BLOCK_SIZE + 1);
+
+        assertThat(rows).hasSize(BLOCK_SIZE + 1);
+    }
+
+    private static long[][] roundTrip(long[] timestamps, long[] prices, long[] volumes, int from, int to) {
+        byte[] block = TickBlockCodec.encode(timestamps, prices, volumes, from, to);
+        int rows = to - from;
+        long[][] decoded = {new long[rows], new long[rows], new long[rows]};
+        TickBlockCodec.decode(ByteBuffer.wrap(block), timestamps[from], rows, decoded[0], decoded[1], decoded[2]);
+        return decoded;
+    }
+
+    private TickArchiveFile writeAndOpen(TickColumns columns) throws IOException {
+        Path path = tempDir.resolve("20240102").resolve("005930.tick");
+        TickArchiveFile.write(path, columns, BLOCK_SIZE);
+        return TickArchiveFile.open(path);
+    }
+
+    private static TickColumns randomColumns(int rows, long seed) {
+        Random random = new Random(seed);
+        TickColumns columns = new TickColumns(rows);
+        long time = 1_700_000_000_000L;
+        long price = 7_000_000L;
+        for (int i = 0; i < rows; i++) {
+            time += random.nextInt(2_000);
+            price += random.nextInt(2_001) - 1_000;
+            columns.add(time, price, random.nextInt(10_000));
+        }
+        return columns;
+    }
+
+    private static List<long[]> scan(TickArchiveFile file, long fromMillis, long toMillis, int limit) {
+        List<long[]> rows = new ArrayList<>();
+        file.scan(fromMillis, toMillis, (epochMillis, price, volume) -> {
+            rows.add(new long[]{epochMillis, price, volume});
+            return rows.size() < limit;
+        });
+        return rows;
+    }
+}
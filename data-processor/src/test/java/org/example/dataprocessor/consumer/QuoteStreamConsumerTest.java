@@ -0,0 +1,80 @@
+package org.example.dataprocessor.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.dataprocessor.service.DeadLetterPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteStreamConsumerTest {
+
+    private final QuoteMessageHandler handler = mock(QuoteMessageHandler.class);
+    private final DeadLetterPublisher deadLetterPublisher = mock(DeadLetterPublisher.class);
+    private final Acknowledgment acknowledgment = mock(Acknowledgment.class);
+    private final List<ConsumerRecord<String, String>> records = List.of(
+        new ConsumerRecord<>("quote-stream", 0, 10L, "005930", "a"),
+        new ConsumerRecord<>("quote-stream", 0, 11L, "000660", "b"),
+        new ConsumerRecord<>("quote-stream", 0, 12L, "035420", "c"));
+
+    private QuoteStreamConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new QuoteStreamConsumer(handler, deadLetterPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(consumer, "infrastructureBackoffMillis", 5_000L);
+        when(deadLetterPublisher.divertQuarantined(records)).thenReturn(records);
+    }
+
+    @Test
+    void databaseOutageRedeliversBatchInsteadOfDeadLettering() throws Exception {
+        doThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection")).when(handler).handleBatch(anyList());
+
+        consumer.consumeQuoteMessages(records, acknowledgment);
+
+        verify(acknowledgment).nack(0, Duration.ofMillis(5_000L));
+        verify(acknowledgment, never()).acknowledge();
+        verify(handler, never()).handle(any());
+        verify(deadLetterPublisher, never()).publish(any(), any());
+    }
+
+    @Test
+    void outageDuringRecordFallbackCommitsOnlyRecordsBeforeIt() throws Exception {
+        doThrow(new IllegalArgumentException("bad row")).when(handler).handleBatch(anyList());
+        doThrow(new IllegalArgumentException("sequence_number is required")).when(handler).handle("a");
+        doThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection")).when(handler).handle("b");
+
+        consumer.consumeQuoteMessages(records, acknowledgment);
+
+        verify(deadLetterPublisher).publish(any(), any(IllegalArgumentException.class));
+        verify(acknowledgment).nack(1, Duration.ofMillis(5_000L));
+        verify(acknowledgment, never()).acknowledge();
+        verify(handler, never()).handle("c");
+    }
+
+    @Test
+    void poisonRecordsStillGoToDeadLetterQueue() throws Exception {
+        doThrow(new IllegalArgumentException("bad row")).when(handler).handleBatch(anyList());
+        doThrow(new IllegalArgumentException("sequence_number is required")).when(handler).handle("b");
+
+        consumer.consumeQuoteMessages(records, acknowledgment);
+
+        verify(deadLetterPublisher).publish(any(), any(IllegalArgumentException.class));
+        verify(acknowledgment).acknowledge();
+        verify(acknowledgment, never()).nack(anyInt(), any(Duration.class));
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.dataprocessor.processing;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionOffsetTrackerTest {
+
+    private static final TopicPartition QUOTES = new TopicPartition("quote-stream", 0);
+    private static final TopicPartition ORDERBOOKS = new TopicPartition("orderbook-stream", 0);
+
+    private final PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+
+    @Test
+    void outOfOrderCompletionsCommitOnlyUpToLowestInFlight() {
+        long generation = dispatch(QUOTES, 100, 101, 102, 103);
+
+        tracker.completed(QUOTES, generation, 102);
+        tracker.completed(QUOTES, generation, 101);
+        assertThat(committableOffset(QUOTES)).isEqualTo(100L);
+
+        tracker.completed(QUOTES, generation, 100);
+        assertThat(committableOffset(QUOTES)).isEqualTo(103L);
+
+        tracker.completed(QUOTES, generation, 103);
+        assertThat(committableOffset(QUOTES)).isEqualTo(104L);
+        assertThat(tracker.inFlight(List.of(QUOTES))).isZero();
+    }
+
+    @Test
+    void offsetGapsDoNotBlockWatermark() {
+        // 압축/트랜잭션 마커로 오프셋이 건너뛰어도 완료된 뒤 마지막 오프셋 다음까지 커밋
+        long generation = dispatch(QUOTES, 10, 12, 15);
+
+        tracker.completed(QUOTES, generation, 15);
+        tracker.completed(QUOTES, generation, 12);
+        assertThat(committableOffset(QUOTES)).isEqualTo(10L);
+
+        tracker.completed(QUOTES, generation, 10);
+        assertThat(committableOffset(QUOTES)).isEqualTo(16L);
+    }
+
+    @Test
+    void committedWatermarkIsNotReturnedAgain() {
+        long generation = dispatch(QUOTES, 0, 1);
+        tracker.completed(QUOTES, generation, 0);
+
+        Map<TopicPartition, OffsetAndMetadata> first = tracker.committable(List.of(QUOTES));
+        tracker.markCommitted(first);
+
+        assertThat(first.get(QUOTES).offset()).isEqualTo(1L);
+        assertThat(tracker.committable(List.of(QUOTES))).isEmpty();
+
+        tracker.completed(QUOTES, generation, 1);
+        assertThat(committableOffset(QUOTES)).isEqualTo(2L);
+    }
+
+    @Test
+    void partitionsAreTrackedIndependently() {
+        long quoteGeneration = dispatch(QUOTES, 5, 6);
+        dispatch(ORDERBOOKS, 50);
+
+        tracker.completed(QUOTES, quoteGeneration, 5);
+        tracker.completed(QUOTES, quoteGeneration, 6);
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = tracker.committable(List.of(QUOTES, ORDERBOOKS));
+        assertThat(offsets.get(QUOTES).offset()).isEqualTo(7L);
+        assertThat(offsets.get(ORDERBOOKS).offset()).isEqualTo(50L);
+        assertThat(tracker.inFlight(List.of(QUOTES, ORDERBOOKS))).isEqualTo(1);
+    }
+
+    @Test
+    void revokeMidBatchCommitsOnlyCompletedPrefixAndIgnoresLateCompletions() {
+        long oldGeneration = dispatch(QUOTES, 200, 201, 202);
+        tracker.completed(QUOTES, oldGeneration, 200);
+        tracker.completed(QUOTES, oldGeneration, 202);
+
+        // 회수 시점: 201이 아직 처리 중이므로 201부터 새 소유자가 재처리
+        assertThat(tracker.inFlight(List.of(QUOTES))).isEqualTo(1);
+        assertThat(committableOffset(QUOTES)).isEqualTo(201L);
+        tracker.forget(List.of(QUOTES));
+        assertThat(tracker.committable(List.of(QUOTES))).isEmpty();
+
+        // 다시 할당받아 201을 재디스패치한 뒤, 회수 전 작업이 늦게 끝나도 새 진행 상태를 지우지 않음
+        long newGeneration = dispatch(QUOTES, 201, 202);
+        tracker.completed(QUOTES, oldGeneration, 201);
+        assertThat(newGeneration).isNotEqualTo(oldGeneration);
+        assertThat(tracker.inFlight(List.of(QUOTES))).isEqualTo(2);
+        assertThat(committableOffset(QUOTES)).isEqualTo(201L);
+
+        tracker.completed(QUOTES, newGeneration, 201);
+        tracker.completed(QUOTES, newGeneration, 202);
+        assertThat(committableOffset(QUOTES)).isEqualTo(203L);
+    }
+
+    private long dispatch(TopicPartition partition, long... offsets) {
+        long generation = 0;
+        for (long offset : offsets) {
+            generation = tracker.dispatched(partition, offset);
+        }
+        return generation;
+    }
+
+    private long committableOffset(TopicPartition partition) {
+        return tracker.committable(List.of(partition)).get(partition).offset();
+    }
+}
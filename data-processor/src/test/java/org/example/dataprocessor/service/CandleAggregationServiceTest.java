@@ -0,0 +1,94 @@
+package org.example.dataprocessor.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.dataprocessor.dto.CandleBar;
+import org.example.dataprocessor.entity.type.CandleInterval;
+import org.example.dataprocessor.repository.CandleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class CandleAggregationServiceTest {
+
+    private static final String STOCK_CODE = "005930";
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 3, 9, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 1, 3, 9, 5);
+
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private CandleAggregationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CandleAggregationService(mock(CandleRepository.class), mock(JdbcTemplate.class),
+            transactionTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        ReflectionTestUtils.setField(service, "maxPendingBars", 1_000);
+        ReflectionTestUtils.setField(service, "closeGraceMillis", 0L);
+        ReflectionTestUtils.setField(service, "persistedIntervalCodes", new String[]{"1m"});
+        service.init();
+
+        tick("2024-01-03T09:00:10", 100.0, 10);
+        tick("2024-01-03T09:00:40", 110.0, 5);
+    }
+
+    @Test
+    void barBeingPersistedIsVisibleExactlyOnce() {
+        List<List<CandleBar>> seenDuringUpsert = new ArrayList<>();
+        doAnswer(invocation -> {
+            seenDuringUpsert.add(oneMinuteCandles());
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        service.flushClosedBars();
+
+        assertThat(seenDuringUpsert).singleElement().satisfies(candles -> assertThat(candles)
+            .extracting(CandleBar::getVolume, CandleBar::getTradeCount)
+            .containsExactly(tuple(15L, 2)));
+    }
+
+    @Test
+    void failedFlushRequeuesWithoutDoubleCounting() {
+        doAnswer(invocation -> {
+            throw new QueryTimeoutException("timeout");
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        service.flushClosedBars();
+
+        assertThat(oneMinuteCandles())
+            .extracting(CandleBar::getVolume, CandleBar::getTradeCount, CandleBar::isClosed)
+            .containsExactly(tuple(15L, 2, true));
+
+        // 다음 flush에서 같은 봉을 다시 저장
+        List<Integer> retried = new ArrayList<>();
+        doAnswer(invocation -> {
+            retried.add(oneMinuteCandles().size());
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        service.flushClosedBars();
+        assertThat(retried).containsExactly(1);
+    }
+
+    private List<CandleBar> oneMinuteCandles() {
+        return service.getCandles(STOCK_CODE, CandleInterval.fromCode("1m").orElseThrow(), FROM, TO, 100);
+    }
+
+    private void tick(String kst, double price, long volume) {
+        long epochMillis = LocalDateTime.parse(kst).atZone(KST).toInstant().toEpochMilli();
+        service.onTick(STOCK_CODE, epochMillis, price, volume);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.example.dataprocessor.store.FailureQuarantine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeadLetterPublisherTest {
+
+    private static final int THRESHOLD = 5;
+
+    private final FailureQuarantine failureQuarantine = new FailureQuarantine();
+    private DeadLetterPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(failureQuarantine, "failureThreshold", THRESHOLD);
+        ReflectionTestUtils.setField(failureQuarantine, "windowMillis", 60_000L);
+        ReflectionTestUtils.setField(failureQuarantine, "ttlMillis", 300_000L);
+
+        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        publisher = new DeadLetterPublisher(kafkaTemplate, failureQuarantine, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(publisher, "topicSuffix", "-dlq");
+    }
+
+    @Test
+    void repeatedPoisonRecordsQuarantineTheSymbol() {
+        for (int i = 0; i < THRESHOLD; i++) {
+            publisher.publish(record("005930", i), new DataIntegrityViolationException("duplicate",
+                new SQLIntegrityConstraintViolationException("Duplicate entry")));
+        }
+
+        assertThat(failureQuarantine.quarantinedShape("005930"))
+            .contains(SQLIntegrityConstraintViolationException.class.getName());
+        assertThat(publisher.divertIfQuarantined(record("005930", 99))).isTrue();
+    }
+
+    @Test
+    void infrastructureFailuresNeverQuarantine() {
+        for (int i = 0; i < THRESHOLD * 3; i++) {
+            publisher.publish(record("005930", i), new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                new SQLTransientConnectionException("Connection is not available")));
+            publisher.publish(record("000660", i), new CannotCreateTransactionException("Could not open JPA EntityManager"));
+        }
+
+        assertThat(failureQuarantine.snapshot()).isEmpty();
+        assertThat(publisher.divertIfQuarantined(record("005930", 99))).isFalse();
+    }
+
+    @Test
+    void classifiesFailuresByCauseChain() {
+        assertThat(DeadLetterPublisher.isPoisonRecord(new JsonParseException(null, "Unexpected character"))).isTrue();
+        assertThat(DeadLetterPublisher.isPoisonRecord(new IllegalArgumentException("sequence_number is required"))).isTrue();
+        assertThat(DeadLetterPublisher.isPoisonRecord(new RuntimeException("wrapped", new NumberFormatException("x")))).isTrue();
+        assertThat(DeadLetterPublisher.isInfrastructureFailure(new QueryTimeoutException("timeout"))).isTrue();
+
+        // 인프라 실패가 원인이면 다른 예외로 감싸져 있어도 격리하지 않음
+        Exception wrappedOutage = new IllegalStateException("save failed",
+            new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection"));
+        assertThat(DeadLetterPublisher.isInfrastructureFailure(wrappedOutage)).isTrue();
+        assertThat(DeadLetterPublisher.isPoisonRecord(wrappedOutage)).isFalse();
+
+        // 원인을 알 수 없는 실패는 DLQ로는 보내되 격리 대상으로 세지 않음
+        assertThat(DeadLetterPublisher.isPoisonRecord(new IllegalStateException("unexpected"))).isFalse();
+        assertThat(DeadLetterPublisher.isInfrastructureFailure(new IllegalStateException("unexpected"))).isFalse();
+    }
+
+    private static ConsumerRecord<String, String> record(String stockCode, long offset) {
+        return new ConsumerRecord<>("quote-stream", 0, offset, stockCode, "{}");
+    }
+}
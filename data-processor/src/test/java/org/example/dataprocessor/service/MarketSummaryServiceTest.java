@@ -0,0 +1,79 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.example.dataprocessor.dto.LatestQuote;
+import org.example.dataprocessor.dto.MarketMover;
+import org.example.dataprocessor.store.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MarketSummaryServiceTest {
+
+    private static final String GROUP_ID = "data-processor";
+    private static final LocalDateTime TRADE_TIME = LocalDateTime.of(2024, 1, 3, 9, 0);
+
+    private MarketSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MarketSummaryService(new SymbolRegistry(16), null, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "maxK", 10);
+        ReflectionTestUtils.setField(service, "groupId", GROUP_ID);
+        service.init();
+    }
+
+    @Test
+    void revokeDropsSymbolsThatMayHaveMovedToAnotherInstance() {
+        service.onQuote(quote("005930", 1_000));
+        service.onQuote(quote("000660", 2_000));
+
+        service.onPartitionsRevokedAfterCommit(consumer(GROUP_ID), List.of(new TopicPartition("quote-stream", 0)));
+
+        assertThat(service.top(MarketSummaryService.Metric.VOLUME, 10).getMovers()).isEmpty();
+
+        // 남은 파티션의 종목은 이후 틱부터 다시 누적
+        service.onQuote(quote("000660", 50));
+        assertThat(service.top(MarketSummaryService.Metric.VOLUME, 10).getMovers())
+            .extracting(MarketMover::getStockCode, MarketMover::getCumulativeVolume)
+            .containsExactly(tuple("000660", 50L));
+    }
+
+    @Test
+    void revokeFromAnotherGroupOrEmptyRevokeKeepsRanking() {
+        service.onQuote(quote("005930", 1_000));
+
+        service.onPartitionsRevokedAfterCommit(consumer("data-processor-dlq-replay"), List.of(new TopicPartition("quote-stream-dlq", 0)));
+        service.onPartitionsRevokedAfterCommit(consumer(GROUP_ID), List.of());
+
+        assertThat(service.top(MarketSummaryService.Metric.VOLUME, 10).getMovers()).hasSize(1);
+    }
+
+    private static LatestQuote quote(String stockCode, long volume) {
+        return LatestQuote.builder()
+            .stockCode(stockCode)
+            .price(70_000_00L)
+            .volume(volume)
+            .changeRate(150L)
+            .tradeTime(TRADE_TIME)
+            .build();
+    }
+
+    private static Consumer<?, ?> consumer(String groupId) {
+        Consumer<?, ?> consumer = mock(Consumer.class);
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata(groupId));
+        return consumer;
+    }
+}
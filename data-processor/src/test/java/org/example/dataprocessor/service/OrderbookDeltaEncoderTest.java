@@ -0,0 +1,188 @@
+package org.example.dataprocessor.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.example.dataprocessor.entity.Orderbook;
+import org.example.dataprocessor.entity.OrderbookLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderbookDeltaEncoderTest {
+
+    private static final String STOCK_CODE = "005930";
+    private static final int KEYFRAME_INTERVAL = 4;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 2, 9, 0);
+
+    private OrderbookDeltaEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new OrderbookDeltaEncoder(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(encoder, "mode", "delta");
+        ReflectionTestUtils.setField(encoder, "keyframeInterval", KEYFRAME_INTERVAL);
+        ReflectionTestUtils.setField(encoder, "keyframeMaxAgeMillis", 60_000L);
+        ReflectionTestUtils.setField(encoder, "groupId", "data-processor");
+        encoder.init();
+    }
+
+    @Test
+    void keyframesAndDeltasReplayToLiveSnapshots() {
+        Random random = new Random(37L);
+        List<LatestOrderbook> expected = new ArrayList<>();
+        OrderbookReconstructionService.Replayer replayer = new OrderbookReconstructionService.Replayer(STOCK_CODE, START, 1_000);
+
+        int[][] previous = {randomDepths(random, 10), randomDepths(random, 10)};
+        for (int i = 0; i < 200; i++) {
+            int[][] book = mutate(random, previous);
+            Orderbook orderbook = orderbook(i, book);
+            expected.add(LatestOrderbook.from(orderbook, orderbook.getOrderbookLevels()));
+
+            replay(replayer, orderbook, encoder.encode(orderbook));
+            previous = book;
+        }
+
+        List<LatestOrderbook> reconstructed = replayer.finish();
+        assertThat(reconstructed).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameBook(reconstructed.get(i), expected.get(i), i);
+        }
+    }
+
+    @Test
+    void vanishedLevelsAreTrimmedFromReconstructedBook() {
+        OrderbookReconstructionService.Replayer replayer = new OrderbookReconstructionService.Replayer(STOCK_CODE, START, 10);
+
+        Orderbook full = orderbook(0, new int[][]{{100, 99, 98}, {101, 102, 103}});
+        replay(replayer, full, encoder.encode(full));
+        Orderbook thinner = orderbook(1, new int[][]{{100}, {101, 102}});
+        List<OrderbookLevel> delta = encoder.encode(thinner);
+        replay(replayer, thinner, delta);
+
+        assertThat(thinner.getFrameType()).isEqualTo(Orderbook.FrameType.DELTA);
+        // 사라진 단계는 0 행으로 기록
+        assertThat(delta).hasSize(3).allSatisfy(level -> {
+            assertThat(level.getPrice()).isEqualByComparingTo(BigDecimal.ZERO);
+            assertThat(level.getVolume()).isZero();
+        });
+
+        LatestOrderbook book = replayer.finish().get(1);
+        assertThat(book.getBidPrices()).containsExactly(100.0);
+        assertThat(book.getAskPrices()).containsExactly(101.0, 102.0);
+        assertSameBook(book, LatestOrderbook.from(thinner, thinner.getOrderbookLevels()), 1);
+    }
+
+    @Test
+    void unchangedBookWritesNoLevelsBetweenKeyframes() {
+        int[][] book = {{100, 99}, {101, 102}};
+        List<Orderbook.FrameType> frameTypes = new ArrayList<>();
+        List<Integer> writtenLevels = new ArrayList<>();
+        for (int i = 0; i < KEYFRAME_INTERVAL * 2; i++) {
+            Orderbook orderbook = orderbook(i, book);
+            writtenLevels.add(encoder.encode(orderbook).size());
+            frameTypes.add(orderbook.getFrameType());
+        }
+
+        assertThat(frameTypes).containsExactly(
+            Orderbook.FrameType.KEYFRAME, Orderbook.FrameType.DELTA, Orderbook.FrameType.DELTA, Orderbook.FrameType.DELTA,
+            Orderbook.FrameType.KEYFRAME, Orderbook.FrameType.DELTA, Orderbook.FrameType.DELTA, Orderbook.FrameType.DELTA);
+        assertThat(writtenLevels).containsExactly(4, 0, 0, 0, 4, 0, 0, 0);
+    }
+
+    private static void replay(OrderbookReconstructionService.Replayer replayer, Orderbook orderbook,
+                               List<OrderbookLevel> written) {
+        replayer.startFrame(orderbook.getId(), orderbook.getQuoteTime(), orderbook.getSequenceNumber(),
+            orderbook.getTotalBidVolume(), orderbook.getTotalAskVolume(),
+            orderbook.getFrameType() == Orderbook.FrameType.KEYFRAME);
+        for (OrderbookLevel level : written) {
+            replayer.applyLevel(level.getOrderType().name(), level.getPriceLevel(), level.getPrice().doubleValue(),
+                level.getVolume());
+        }
+    }
+
+    /**
+     * 단계별 가격 배열 [매수, 매도] (0 = 빈 단계, 잔량은 가격에서 유도)
+     */
+    private static Orderbook orderbook(int index, int[][] book) {
+        List<OrderbookLevel> levels = new ArrayList<>();
+        for (int side = 0; side < 2; side++) {
+            for (int i = 0; i < book[side].length; i++) {
+                int price = book[side][i];
+                if (price < 0) {
+                    continue; // 메시지에 없는 단계
+                }
+                levels.add(OrderbookLevel.builder()
+                    .orderType(side == 0 ? OrderbookLevel.OrderType.BID : OrderbookLevel.OrderType.ASK)
+                    .priceLevel(i + 1)
+                    .price(BigDecimal.valueOf(price * 100L, 2))
+                    .volume(price == 0 ? 0L : price * 7L % 1_000)
+                    .build());
+            }
+        }
+        return Orderbook.builder()
+            .id(index + 1L)
+            .stockCode(STOCK_CODE)
+            .quoteTime(START.plusSeconds(index))
+            .sequenceNumber(index + 1L)
+            .totalBidVolume(1_000L + index)
+            .totalAskVolume(2_000L + index)
+            .orderbookLevels(levels)
+            .build();
+    }
+
+    private static int[][] mutate(Random random, int[][] previous) {
+        int[][] next = new int[2][];
+        for (int side = 0; side < 2; side++) {
+            switch (random.nextInt(4)) {
+                case 0 -> next[side] = randomDepths(random, 10); // 깊이/가격 전체 변경
+                case 1 -> next[side] = previous[side].clone(); // 그대로
+                default -> {
+                    next[side] = previous[side].clone();
+                    if (next[side].length > 0) {
+                        int level = random.nextInt(next[side].length);
+                        next[side][level] = randomPrice(random);
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    private static int[] randomDepths(Random random, int maxDepth) {
+        int[] prices = new int[random.nextInt(maxDepth + 1)];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = randomPrice(random);
+        }
+        return prices;
+    }
+
+    private static int randomPrice(Random random) {
+        int roll = random.nextInt(20);
+        if (roll == 0) {
+            return 0; // 가격/잔량 0으로 온 단계
+        }
+        if (roll == 1) {
+            return -1; // 중간이 빠진 단계
+        }
+        return 70_000 + random.nextInt(50);
+    }
+
+    private static void assertSameBook(LatestOrderbook actual, LatestOrderbook expected, int index) {
+        String description = "frame " + index;
+        assertThat(actual.getQuoteTime()).as(description).isEqualTo(expected.getQuoteTime());
+        assertThat(actual.getSequenceNumber()).as(description).isEqualTo(expected.getSequenceNumber());
+        assertThat(actual.getTotalBidVolume()).as(description).isEqualTo(expected.getTotalBidVolume());
+        assertThat(actual.getBidPrices()).as(description).containsExactly(expected.getBidPrices());
+        assertThat(actual.getBidVolumes()).as(description).containsExactly(expected.getBidVolumes());
+        assertThat(actual.getAskPrices()).as(description).containsExactly(expected.getAskPrices());
+        assertThat(actual.getAskVolumes()).as(description).containsExactly(expected.getAskVolumes());
+    }
+}
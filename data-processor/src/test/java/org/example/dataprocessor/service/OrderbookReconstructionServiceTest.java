@@ -0,0 +1,61 @@
+package org.example.dataprocessor.service;
+
+import org.example.dataprocessor.dto.LatestOrderbook;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderbookReconstructionServiceTest {
+
+    private static final String STOCK_CODE = "005930";
+    private static final LocalDateTime SECOND = LocalDateTime.of(2024, 1, 2, 9, 0, 1);
+
+    @Test
+    void pagesWithinOneSecondReturnOnlyTheirOwnFrames() {
+        // 같은 초에 호가 10건 (id 1..10), limit 5 페이지 두 개 - 두 번 모두 같은 초 전체가 재생됨
+        List<Long> firstPage = List.of(10L, 9L, 8L, 7L, 6L);
+        List<Long> secondPage = List.of(5L, 4L, 3L, 2L, 1L);
+
+        Map<Long, LatestOrderbook> first = replaySecond(firstPage);
+        Map<Long, LatestOrderbook> second = replaySecond(secondPage);
+
+        assertThat(first.keySet()).containsExactlyInAnyOrderElementsOf(firstPage);
+        assertThat(second.keySet()).containsExactlyInAnyOrderElementsOf(secondPage);
+        for (long id = 1; id <= 10; id++) {
+            LatestOrderbook frame = (id > 5 ? first : second).get(id);
+            assertThat(frame.getSequenceNumber()).isEqualTo(100L + id);
+            // 델타로 누적된 단계가 해당 프레임 시점 그대로인지 확인
+            assertThat(frame.getBidPrices()).containsExactly(70_000.0 + id);
+            assertThat(frame.getAskVolumes()).containsExactly(id);
+        }
+    }
+
+    @Test
+    void pageFramesBeforeFromAreNotReturned() {
+        OrderbookReconstructionService.Replayer replayer =
+            new OrderbookReconstructionService.Replayer(STOCK_CODE, SECOND, Set.of(1L, 2L));
+        replayer.startFrame(1L, SECOND.minusSeconds(1), 101L, 0L, 0L, true);
+        replayer.startFrame(2L, SECOND, 102L, 0L, 0L, false);
+
+        assertThat(replayer.finishById()).containsOnlyKeys(2L);
+    }
+
+    /**
+     * 키프레임(id 1) 이후 같은 초의 델타 10건을 재생해 pageIds에 해당하는 프레임만 받음
+     */
+    private static Map<Long, LatestOrderbook> replaySecond(List<Long> pageIds) {
+        OrderbookReconstructionService.Replayer replayer =
+            new OrderbookReconstructionService.Replayer(STOCK_CODE, SECOND, Set.copyOf(pageIds));
+        for (long id = 1; id <= 10; id++) {
+            replayer.startFrame(id, SECOND, 100L + id, 1_000L, 2_000L, id == 1);
+            replayer.applyLevel("BID", 1, 70_000.0 + id, 10L);
+            replayer.applyLevel("ASK", 1, 70_100.0, id);
+        }
+        return replayer.finishById();
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.dataprocessor.dto.IndicatorSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TechnicalIndicatorServiceTest {
+
+    private static final String STOCK_CODE = "005930";
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private TechnicalIndicatorService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TechnicalIndicatorService(null, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "intervalCode", "1m");
+        ReflectionTestUtils.setField(service, "smaPeriods", new int[]{5});
+        ReflectionTestUtils.setField(service, "emaPeriods", new int[]{12});
+        ReflectionTestUtils.setField(service, "rsiPeriod", 14);
+        ReflectionTestUtils.setField(service, "bollingerPeriod", 20);
+        ReflectionTestUtils.setField(service, "bollingerK", 2.0);
+        ReflectionTestUtils.setField(service, "atrPeriod", 14);
+        ReflectionTestUtils.setField(service, "publishEnabled", false);
+        service.init();
+    }
+
+    @Test
+    void previousDayTickDoesNotResetTodaysVwap() {
+        tick("2024-01-03T09:00:00", 100.0, 10);
+        tick("2024-01-03T09:01:00", 110.0, 10);
+
+        // DLQ 재처리/재전달로 온 전날 체결
+        tick("2024-01-02T15:29:59", 1.0, 1_000);
+        assertThat(snapshot().getVwap()).isCloseTo(105.0, within(1e-9));
+        assertThat(snapshot().getLastPrice()).isEqualTo(110.0);
+
+        tick("2024-01-03T09:02:00", 120.0, 20);
+        assertThat(snapshot().getVwap()).isCloseTo((1_000.0 + 1_100.0 + 2_400.0) / 40, within(1e-9));
+        assertThat(snapshot().getLastPrice()).isEqualTo(120.0);
+    }
+
+    @Test
+    void lateSameDayTickCountsTowardVwapButNotLastPrice() {
+        tick("2024-01-03T09:05:00", 100.0, 10);
+        tick("2024-01-03T09:02:30", 90.0, 10);
+
+        assertThat(snapshot().getVwap()).isCloseTo(95.0, within(1e-9));
+        assertThat(snapshot().getLastPrice()).isEqualTo(100.0);
+    }
+
+    @Test
+    void nextDayRollsVwapForward() {
+        tick("2024-01-03T15:29:00", 100.0, 10);
+        tick("2024-01-04T09:00:00", 200.0, 5);
+
+        assertThat(snapshot().getVwap()).isCloseTo(200.0, within(1e-9));
+        assertThat(snapshot().getLastPrice()).isEqualTo(200.0);
+    }
+
+    private void tick(String kst, double price, long volume) {
+        long epochMillis = LocalDateTime.parse(kst).atZone(KST).toInstant().toEpochMilli();
+        service.onTick(STOCK_CODE, epochMillis, price, volume);
+    }
+
+    private IndicatorSnapshot snapshot() {
+        return service.getSnapshot(STOCK_CODE).orElseThrow();
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.dataprocessor.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolRankHeapTest {
+
+    private static final int SYMBOLS = 300;
+
+    @Test
+    void descendingTopKMatchesSortAfterRandomUpdates() {
+        assertTopKMatchesSort(true, 11L);
+    }
+
+    @Test
+    void ascendingTopKMatchesSortAfterRandomUpdates() {
+        assertTopKMatchesSort(false, 12L);
+    }
+
+    @Test
+    void equalValuesAreRankedByLowerId() {
+        long[] values = new long[5];
+        SymbolRankHeap heap = new SymbolRankHeap(values, true);
+        for (int id : new int[]{4, 2, 0, 3, 1}) {
+            values[id] = id == 3 ? 10L : 5L;
+            heap.update(id);
+        }
+
+        int[] out = new int[5];
+        assertThat(heap.topK(5, out)).isEqualTo(5);
+        assertThat(out).containsExactly(3, 0, 1, 2, 4);
+    }
+
+    @Test
+    void topKIsBoundedBySizeAndOutputLength() {
+        long[] values = new long[10];
+        SymbolRankHeap heap = new SymbolRankHeap(values, true);
+        int[] out = new int[2];
+        assertThat(heap.topK(5, out)).isZero();
+
+        for (int id = 0; id < 3; id++) {
+            values[id] = id;
+            heap.update(id);
+        }
+        assertThat(heap.topK(5, out)).isEqualTo(2);
+        assertThat(out).containsExactly(2, 1);
+        assertThat(heap.topK(5, new int[10])).isEqualTo(3);
+    }
+
+    @Test
+    void clearRemovesEverySymbolAndAllowsReinsertion() {
+        long[] values = new long[4];
+        SymbolRankHeap heap = new SymbolRankHeap(values, true);
+        for (int id = 0; id < 4; id++) {
+            values[id] = id;
+            heap.update(id);
+        }
+
+        heap.clear();
+        assertThat(heap.size()).isZero();
+        assertThat(heap.topK(4, new int[4])).isZero();
+
+        values[1] = 100L;
+        heap.update(1);
+        int[] out = new int[4];
+        assertThat(heap.topK(4, out)).isEqualTo(1);
+        assertThat(out[0]).isEqualTo(1);
+    }
+
+    private static void assertTopKMatchesSort(boolean descending, long seed) {
+        Random random = new Random(seed);
+        long[] values = new long[SYMBOLS];
+        SymbolRankHeap heap = new SymbolRankHeap(values, descending);
+        Set<Integer> inserted = new LinkedHashSet<>();
+        int[] out = new int[SYMBOLS];
+
+        for (int round = 0; round < 5_000; round++) {
+            int id = random.nextInt(SYMBOLS);
+            // 좁은 범위로 동률을 자주 만들고, 증가/감소 모두 섞음
+            values[id] = random.nextBoolean() ? random.nextInt(50) : values[id] + random.nextInt(21) - 10;
+            heap.update(id);
+            inserted.add(id);
+
+            if (round % 50 == 0 || round == 4_999) {
+                int k = 1 + random.nextInt(40);
+                int count = heap.topK(k, out);
+                List<Integer> expected = sorted(inserted, values, descending);
+                assertThat(heap.size()).isEqualTo(inserted.size());
+                assertThat(count).isEqualTo(Math.min(k, inserted.size()));
+                assertThat(Arrays.stream(out, 0, count).boxed().toList())
+                    .as("round %d, k %d", round, k)
+                    .isEqualTo(expected.subList(0, count));
+            }
+        }
+    }
+
+    private static List<Integer> sorted(Set<Integer> ids, long[] values, boolean descending) {
+        Comparator<Integer> byValue = Comparator.comparingLong(id -> values[id]);
+        if (descending) {
+            byValue = byValue.reversed();
+        }
+        List<Integer> sorted = new ArrayList<>(ids);
+        sorted.sort(byValue.thenComparing(Comparator.naturalOrder()));
+        return sorted;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.dataprocessor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisTimeDecoderTest {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final KisTimeDecoder decoder = new KisTimeDecoder();
+
+    @Test
+    void decodesTimeAgainstBusinessDate() {
+        assertThat(decoder.toLocalDateTime("090000", "20240102")).isEqualTo(LocalDateTime.of(2024, 1, 2, 9, 0, 0));
+        assertThat(decoder.toLocalDateTime("235959", "20240229")).isEqualTo(LocalDateTime.of(2024, 2, 29, 23, 59, 59));
+        assertThat(decoder.toLocalDateTime("000000", "19991231")).isEqualTo(LocalDateTime.of(1999, 12, 31, 0, 0, 0));
+    }
+
+    @Test
+    void midnightMatchesJavaTimeAcrossCalendar() {
+        // 고정 UTC+9 계산이라 서머타임이 끝난 1989년부터 비교
+        for (LocalDate date = LocalDate.of(1989, 1, 1); date.isBefore(LocalDate.of(2101, 1, 1)); date = date.plusDays(7)) {
+            long expected = date.atTime(LocalTime.of(15, 30, 1)).atZone(KisTimeDecoder.KST).toInstant().toEpochMilli();
+            assertThat(decoder.toEpochMillis("153001", date.format(DATE))).as(date.toString()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void usesCurrentTradingDayWithoutBusinessDate() {
+        LocalDate before = LocalDate.now(KisTimeDecoder.KST);
+        LocalDateTime decoded = decoder.toLocalDateTime("000001");
+        LocalDate after = LocalDate.now(KisTimeDecoder.KST);
+
+        // 자정 직후 1초는 미래가 아니므로 영업일 당일 (테스트 도중 자정을 넘기면 어느 쪽이든 허용)
+        assertThat(decoded.toLocalTime()).isEqualTo(LocalTime.of(0, 0, 1));
+        assertThat(decoded.toLocalDate()).isIn(before, after);
+    }
+
+    @Test
+    void rejectsMalformedTime() {
+        for (String time : new String[]{null, "", "9000", "0900000", "246000", "096000", "090060", "09a000", "-90000"}) {
+            assertThat(KisTimeDecoder.secondOfDay(time)).as(String.valueOf(time)).isEqualTo(-1);
+        }
+        assertThat(KisTimeDecoder.secondOfDay("000000")).isZero();
+        assertThat(KisTimeDecoder.secondOfDay("235959")).isEqualTo(86_399);
+    }
+
+    @Test
+    void rejectsMalformedOrImpossibleDates() {
+        for (String date : new String[]{null, "", "2024010", "202401021", "2024-1-2", "20241301", "20240100",
+                "20240132", "20230229", "20240431", "2024O102"}) {
+            assertThat(KisTimeDecoder.parseDate(date)).as(String.valueOf(date)).isEqualTo(-1);
+        }
+        assertThat(KisTimeDecoder.parseDate("20240229")).isEqualTo(20_240_229);
+        assertThat(KisTimeDecoder.parseDate("20001231")).isEqualTo(20_001_231);
+    }
+
+    @Test
+    void invalidBusinessDateFallsBackToTradingDay() {
+        LocalDateTime withInvalidDate = decoder.toLocalDateTime("120000", "20230229");
+        LocalDateTime withoutDate = decoder.toLocalDateTime("120000");
+
+        assertThat(withInvalidDate).isEqualTo(withoutDate);
+    }
+}
@@ -43,4 +43,116 @@ resource "kafka_topic" "notification_alerts" {
     "compression.type"                    = "snappy"
     "min.insync.replicas"                = "2"
   }
-}
\ No newline at end of file
+}
+
+# 종목별 최신 기술적 지표 (종목코드 키 기준 최신 값만 유지)
+resource "kafka_topic" "indicators" {
+  name               = "indicators"
+  replication_factor = 3
+  partitions         = 6
+  
+  config = {
+    "cleanup.policy"                      = "compact"
+    "delete.retention.ms"                 = "86400000"  # 1일
+    "segment.ms"                          = "3600000"   # 1시간
+    "min.cleanable.dirty.ratio"           = "0.1"
+    "compression.type"                    = "snappy"
+    "min.insync.replicas"                = "2"
+  }
+}
+
+# 지표별 시장 상위 종목 (지표 코드 키 기준 최신 순위표만 유지)
+resource "kafka_topic" "market_movers" {
+  name               = "market-movers"
+  replication_factor = 3
+  partitions         = 1
+  
+  config = {
+    "cleanup.policy"                      = "compact"
+    "delete.retention.ms"                 = "86400000"  # 1일
+    "segment.ms"                          = "3600000"   # 1시간
+    "min.cleanable.dirty.ratio"           = "0.1"
+    "compression.type"                    = "snappy"
+    "min.insync.replicas"                = "2"
+  }
+}
+
+# 핫토픽 지정/해제 (종목코드 키 기준 최신 지정 상태만 유지)
+resource "kafka_topic" "hot_stocks" {
+  name               = "hot-stocks"
+  replication_factor = 3
+  partitions         = 1
+  
+  config = {
+    "cleanup.policy"                      = "compact"
+    "delete.retention.ms"                 = "86400000"  # 1일
+    "segment.ms"                          = "3600000"   # 1시간
+    "min.cleanable.dirty.ratio"           = "0.1"
+    "compression.type"                    = "snappy"
+    "min.insync.replicas"                = "2"
+  }
+}
+
+# 종목별 최신 체결 스냅샷 (종목코드 키 기준 최신 값만 유지, 소비 서비스 기동 시 끝까지 읽어 상태 적재)
+resource "kafka_topic" "quote_latest" {
+  name               = "quote-latest"
+  replication_factor = 3
+  partitions         = 6
+  
+  config = {
+    "cleanup.policy"                      = "compact"
+    "delete.retention.ms"                 = "86400000"  # 1일
+    "segment.ms"                          = "3600000"   # 1시간
+    "min.cleanable.dirty.ratio"           = "0.1"
+    "compression.type"                    = "snappy"
+    "min.insync.replicas"                = "2"
+  }
+}
+
+# 종목별 최신 호가 스냅샷 (종목코드 키 기준 최신 값만 유지, 소비 서비스 기동 시 끝까지 읽어 상태 적재)
+resource "kafka_topic" "orderbook_latest" {
+  name               = "orderbook-latest"
+  replication_factor = 3
+  partitions         = 6
+  
+  config = {
+    "cleanup.policy"                      = "compact"
+    "delete.retention.ms"                 = "86400000"  # 1일
+    "segment.ms"                          = "3600000"   # 1시간
+    "min.cleanable.dirty.ratio"           = "0.1"
+    "compression.type"                    = "snappy"
+    "min.insync.replicas"                = "2"
+  }
+}
+
+# 시세 처리 실패 메시지 (원문 + 원본 위치/예외 헤더, /api/data-processor/dlq/replay로 원본 토픽에 재처리)
+resource "kafka_topic" "quote_stream_dlq" {
+  name               = "quote-stream-dlq"
+  replication_factor = 3
+  partitions         = 6
+  
+  config = {
+    "cleanup.policy"                      = "delete"
+    "delete.retention.ms"                 = "86400000"  # 1일
+    "segment.ms"                          = "604800000" # 7일
+    "retention.ms"                        = "1209600000" # 14일
+    "compression.type"                    = "snappy"
+    "min.insync.replicas"                = "2"
+  }
+}
+
+# 호가 처리 실패 메시지 (원문 + 원본 위치/예외 헤더, /api/data-processor/dlq/replay로 원본 토픽에 재처리)
+resource "kafka_topic" "orderbook_stream_dlq" {
+  name               = "orderbook-stream-dlq"
+  replication_factor = 3
+  partitions         = 6
+  
+  config = {
+    "cleanup.policy"                      = "delete"
+    "delete.retention.ms"                 = "86400000"  # 1일
+    "segment.ms"                          = "604800000" # 7일
+    "retention.ms"                        = "1209600000" # 14일
+    "compression.type"                    = "snappy"
+    "min.insync.replicas"                = "2"
+  }
+}
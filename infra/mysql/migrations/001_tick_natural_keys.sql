@@ -0,0 +1,47 @@
+-- 기존 DB 마이그레이션 001: 틱 자연키 (uk_quote_natural, uk_orderbook_natural, uk_orderbook_level)
+-- schema.sql은 빈 볼륨으로 처음 기동할 때만 실행되므로, 이미 운영 중인 DB에는 이 파일을 한 번 적용한다.
+--   mysql -u root -p stock_streaming < infra/mysql/migrations/001_tick_natural_keys.sql
+-- data-processor를 멈춘 뒤(ddl-auto: validate라 적용 전에는 기동 실패) 백업하고 실행할 것.
+-- ALTER는 테이블을 다시 쓰므로 데이터가 많으면 장 마감 후에 실행한다.
+
+-- quote_data: 수집 순번 컬럼 추가
+-- 기존 행에는 순번이 없어 재전송 중복과 같은 초의 별개 체결을 구분할 수 없으므로 지우지 않고 id로 채워 서로 겹치지 않게 한다.
+-- (수집기 순번은 기동 시각 기반으로 시작하므로 새로 들어오는 행과도 겹치지 않음)
+ALTER TABLE quote_data
+    ADD COLUMN sequence_number BIGINT NOT NULL DEFAULT 0 COMMENT '수집기 종목별 수신 순번 (중복 제거용)' AFTER trade_time;
+
+UPDATE quote_data SET sequence_number = id;
+
+ALTER TABLE quote_data
+    ADD UNIQUE KEY uk_quote_natural (stock_code, trade_time, sequence_number),
+    DROP INDEX idx_stock_code_time;
+
+-- orderbooks: 같은 (종목, 시각, 순번)은 가장 먼저 저장된 행만 남김 (레벨은 ON DELETE CASCADE로 함께 삭제)
+DELETE duplicate FROM orderbooks duplicate
+    JOIN orderbooks kept
+        ON kept.stock_code = duplicate.stock_code
+        AND kept.quote_time = duplicate.quote_time
+        AND kept.sequence_number = duplicate.sequence_number
+        AND kept.id < duplicate.id;
+
+-- 순번 없이 저장된 행은 id로 채움 (0으로 두면 같은 시각의 행끼리 자연키가 겹침)
+UPDATE orderbooks SET sequence_number = id WHERE sequence_number IS NULL;
+
+ALTER TABLE orderbooks
+    MODIFY COLUMN sequence_number BIGINT NOT NULL DEFAULT 0 COMMENT '수집기 종목별 수신 순번 (중복 제거용)',
+    ADD UNIQUE KEY uk_orderbook_natural (stock_code, quote_time, sequence_number),
+    DROP INDEX idx_stock_code_time,
+    DROP INDEX idx_sequence;
+
+-- orderbook_levels: 같은 호가의 같은 단계는 가장 먼저 저장된 행만 남김
+DELETE duplicate FROM orderbook_levels duplicate
+    JOIN orderbook_levels kept
+        ON kept.orderbook_id = duplicate.orderbook_id
+        AND kept.order_type = duplicate.order_type
+        AND kept.price_level = duplicate.price_level
+        AND kept.id < duplicate.id;
+
+ALTER TABLE orderbook_levels
+    ADD UNIQUE KEY uk_orderbook_level (orderbook_id, order_type, price_level),
+    DROP INDEX idx_orderbook_id,
+    DROP INDEX idx_orderbook_type_level;
@@ -0,0 +1,10 @@
+-- 기존 DB 마이그레이션 002: 호가 키프레임/델타 구분 컬럼 (frame_type, idx_orderbook_keyframe)
+-- 001 적용 후 한 번 실행한다.
+--   mysql -u root -p stock_streaming < infra/mysql/migrations/002_orderbook_keyframes.sql
+-- data-processor를 멈춘 뒤(ddl-auto: validate라 적용 전에는 기동 실패) 백업하고 실행할 것.
+-- 고유 키가 아니라 일반 인덱스만 추가하므로 중복 제거 단계는 필요 없다.
+
+-- 기존 행은 모두 10단계 전체를 저장한 스냅샷이므로 기본값 KEYFRAME 그대로 둔다. (시점 복원 시 어느 행에서든 재생 시작 가능)
+ALTER TABLE orderbooks
+    ADD COLUMN frame_type VARCHAR(8) NOT NULL DEFAULT 'KEYFRAME' COMMENT 'KEYFRAME=전체 단계, DELTA=직전 호가 대비 바뀐 단계만' AFTER total_ask_volume,
+    ADD INDEX idx_orderbook_keyframe (stock_code, frame_type, quote_time);
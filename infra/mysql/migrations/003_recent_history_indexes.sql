@@ -0,0 +1,11 @@
+-- 기존 DB 마이그레이션 003: 최근 이력 keyset 페이지 인덱스 (idx_quote_recent, idx_orderbook_recent)
+-- 002 적용 후 한 번 실행한다.
+--   mysql -u root -p stock_streaming < infra/mysql/migrations/003_recent_history_indexes.sql
+-- 고유 키가 아니라 일반 인덱스만 추가하므로 중복 제거 단계는 필요 없고, InnoDB 온라인 DDL로 쓰기를 막지 않는다.
+-- 인덱스 생성 중 I/O가 늘어나므로 데이터가 많으면 장 마감 후에 실행한다.
+
+ALTER TABLE quote_data
+    ADD INDEX idx_quote_recent (stock_code, trade_time, id);
+
+ALTER TABLE orderbooks
+    ADD INDEX idx_orderbook_recent (stock_code, quote_time, id);
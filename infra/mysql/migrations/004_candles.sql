@@ -0,0 +1,24 @@
+-- 기존 DB 마이그레이션 004: 캔들(봉) 테이블 (candles)
+-- 003 적용 후 한 번 실행한다. (봉 저장이 기본으로 켜져 있으므로 data-processor 기동 전에 필요)
+--   mysql -u root -p stock_streaming < infra/mysql/migrations/004_candles.sql
+-- 새 테이블만 만들므로 기존 데이터에는 영향이 없다.
+
+-- 캔들(봉) 테이블 (data-processor가 마감된 봉을 배치로 upsert)
+CREATE TABLE IF NOT EXISTS candles (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    stock_code VARCHAR(10) NOT NULL COMMENT '종목코드',
+    interval_code VARCHAR(4) NOT NULL COMMENT '봉 단위 (1s, 1m, 5m, 1h, 1d)',
+    open_time TIMESTAMP NOT NULL COMMENT '봉 시작 시간',
+    open_price DECIMAL(15,2) NOT NULL COMMENT '시가',
+    high_price DECIMAL(15,2) NOT NULL COMMENT '고가',
+    low_price DECIMAL(15,2) NOT NULL COMMENT '저가',
+    close_price DECIMAL(15,2) NOT NULL COMMENT '종가',
+    volume BIGINT NOT NULL COMMENT '거래량',
+    turnover DECIMAL(22,2) NOT NULL COMMENT '거래대금 (가격 x 거래량 합계)',
+    vwap DECIMAL(15,4) COMMENT '거래량 가중 평균가',
+    trade_count INT NOT NULL COMMENT '체결 건수',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (stock_code) REFERENCES stocks(stock_code),
+    UNIQUE KEY uk_candle_stock_interval_time (stock_code, interval_code, open_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='종목별 캔들(OHLCV) 데이터';
@@ -0,0 +1,15 @@
+-- 기존 DB 마이그레이션 005: 원본 체결 보존 기한 처리 기록 테이블 (tick_retention_log)
+-- 004 적용 후 한 번 실행한다. (app.retention.enabled=true로 켜기 전에 필요)
+--   mysql -u root -p stock_streaming < infra/mysql/migrations/005_tick_retention_log.sql
+-- 새 테이블만 만들므로 기존 데이터에는 영향이 없다.
+
+-- 원본 체결 보존 기한 처리 기록 (봉 검증 완료 후 원본 삭제, 중단 시 재집계 없이 삭제만 이어감)
+CREATE TABLE IF NOT EXISTS tick_retention_log (
+    stock_code VARCHAR(10) NOT NULL COMMENT '종목코드',
+    trade_date DATE NOT NULL COMMENT '거래일 (KST)',
+    raw_rows BIGINT NOT NULL COMMENT '집계 시점 원본 행 수 (분봉/일봉 체결 수 합계와 일치 확인)',
+    verified_at TIMESTAMP NOT NULL COMMENT '봉 검증 완료 시각',
+    purged_at TIMESTAMP NULL COMMENT '원본 삭제 완료 시각',
+
+    PRIMARY KEY (stock_code, trade_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='원본 체결 다운샘플링/삭제 기록';
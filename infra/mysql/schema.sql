@@ -1,4 +1,5 @@
 -- 실시간 주식 시세 스트리밍 시스템 DB 스키마
+-- 빈 볼륨 최초 기동 시 생성용. 이미 운영 중인 DB는 migrations/의 파일을 번호 순서대로 한 번씩 적용한다.
 
 -- 종목 정보 테이블
 CREATE TABLE IF NOT EXISTS stocks (
@@ -24,10 +25,14 @@ CREATE TABLE IF NOT EXISTS quote_data (
     low_price DECIMAL(15,2) COMMENT '저가',
     open_price DECIMAL(15,2) COMMENT '시가',
     trade_time TIMESTAMP NOT NULL COMMENT '체결시간',
+    sequence_number BIGINT NOT NULL DEFAULT 0 COMMENT '수집기 종목별 수신 순번 (중복 제거용)',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     
     FOREIGN KEY (stock_code) REFERENCES stocks(stock_code),
-    INDEX idx_stock_code_time (stock_code, trade_time),
+    -- 자연키: 재전송된 메시지는 INSERT IGNORE로 흡수 (종목+시간 조회 인덱스 겸용)
+    UNIQUE KEY uk_quote_natural (stock_code, trade_time, sequence_number),
+    -- 최근 이력 keyset 페이지: (trade_time, id) 이전 limit건이 인덱스 범위 한 번으로 끝남 (id 순서까지 인덱스가 보장)
+    INDEX idx_quote_recent (stock_code, trade_time, id),
     INDEX idx_trade_time (trade_time),
     INDEX idx_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='실시간 시세 데이터';
@@ -37,18 +42,23 @@ CREATE TABLE IF NOT EXISTS orderbooks (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     stock_code VARCHAR(10) NOT NULL COMMENT '종목코드',
     quote_time TIMESTAMP(6) NOT NULL COMMENT '호가 수신 시간 (마이크로초까지)',
-    sequence_number BIGINT COMMENT '데이터 수신 순서 (중복/순서 검증용)',
+    sequence_number BIGINT NOT NULL DEFAULT 0 COMMENT '수집기 종목별 수신 순번 (중복 제거용)',
     total_bid_volume BIGINT COMMENT '총 매수호가 잔량',
     total_ask_volume BIGINT COMMENT '총 매도호가 잔량',
+    frame_type VARCHAR(8) NOT NULL DEFAULT 'KEYFRAME' COMMENT 'KEYFRAME=전체 단계, DELTA=직전 호가 대비 바뀐 단계만',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
 
     FOREIGN KEY (stock_code) REFERENCES stocks(stock_code),
-    INDEX idx_stock_code_time (stock_code, quote_time),
-    INDEX idx_sequence (sequence_number),
+    -- 자연키: 재전송된 메시지는 INSERT IGNORE로 흡수 (종목+시간 조회 인덱스 겸용)
+    UNIQUE KEY uk_orderbook_natural (stock_code, quote_time, sequence_number),
+    -- 최근 이력 keyset 페이지: (quote_time, id) 이전 limit건이 인덱스 범위 한 번으로 끝남 (id 순서까지 인덱스가 보장)
+    INDEX idx_orderbook_recent (stock_code, quote_time, id),
+    -- 시점 복원 시 직전 키프레임 탐색
+    INDEX idx_orderbook_keyframe (stock_code, frame_type, quote_time),
     INDEX idx_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='실시간 호가 정보 마스터';
 
--- 실시간 호가 레벨 상세 테이블 (10단계 호가 정보를 각각의 행으로 저장)
+-- 실시간 호가 레벨 상세 테이블 (키프레임은 10단계 전체, 델타는 바뀐 단계만 행으로 저장)
 CREATE TABLE IF NOT EXISTS orderbook_levels (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     orderbook_id BIGINT NOT NULL COMMENT '호가 마스터 ID',
@@ -58,8 +68,7 @@ CREATE TABLE IF NOT EXISTS orderbook_levels (
     volume BIGINT NOT NULL COMMENT '호가 잔량',
 
     FOREIGN KEY (orderbook_id) REFERENCES orderbooks(id) ON DELETE CASCADE,
-    INDEX idx_orderbook_id (orderbook_id),
-    INDEX idx_orderbook_type_level (orderbook_id, order_type, price_level)
+    UNIQUE KEY uk_orderbook_level (orderbook_id, order_type, price_level)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='실시간 호가 상세 레벨';
 
 -- 사용자 알림 조건 테이블
@@ -119,6 +128,37 @@ CREATE TABLE IF NOT EXISTS hot_stocks (
     FOREIGN KEY (stock_code) REFERENCES stocks(stock_code) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='실시간 핫토픽 종목 정보';
 
+-- 캔들(봉) 테이블 (data-processor가 마감된 봉을 배치로 upsert)
+CREATE TABLE IF NOT EXISTS candles (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    stock_code VARCHAR(10) NOT NULL COMMENT '종목코드',
+    interval_code VARCHAR(4) NOT NULL COMMENT '봉 단위 (1s, 1m, 5m, 1h, 1d)',
+    open_time TIMESTAMP NOT NULL COMMENT '봉 시작 시간',
+    open_price DECIMAL(15,2) NOT NULL COMMENT '시가',
+    high_price DECIMAL(15,2) NOT NULL COMMENT '고가',
+    low_price DECIMAL(15,2) NOT NULL COMMENT '저가',
+    close_price DECIMAL(15,2) NOT NULL COMMENT '종가',
+    volume BIGINT NOT NULL COMMENT '거래량',
+    turnover DECIMAL(22,2) NOT NULL COMMENT '거래대금 (가격 x 거래량 합계)',
+    vwap DECIMAL(15,4) COMMENT '거래량 가중 평균가',
+    trade_count INT NOT NULL COMMENT '체결 건수',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (stock_code) REFERENCES stocks(stock_code),
+    UNIQUE KEY uk_candle_stock_interval_time (stock_code, interval_code, open_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='종목별 캔들(OHLCV) 데이터';
+
+-- 원본 체결 보존 기한 처리 기록 (봉 검증 완료 후 원본 삭제, 중단 시 재집계 없이 삭제만 이어감)
+CREATE TABLE IF NOT EXISTS tick_retention_log (
+    stock_code VARCHAR(10) NOT NULL COMMENT '종목코드',
+    trade_date DATE NOT NULL COMMENT '거래일 (KST)',
+    raw_rows BIGINT NOT NULL COMMENT '집계 시점 원본 행 수 (분봉/일봉 체결 수 합계와 일치 확인)',
+    verified_at TIMESTAMP NOT NULL COMMENT '봉 검증 완료 시각',
+    purged_at TIMESTAMP NULL COMMENT '원본 삭제 완료 시각',
+
+    PRIMARY KEY (stock_code, trade_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='원본 체결 다운샘플링/삭제 기록';
+
 -- 기본 종목 데이터 삽입
 INSERT IGNORE INTO stocks (stock_code, stock_name, market_type) VALUES
     ('005930', '삼성전자', 'KOSPI'),
@@ -0,0 +1,64 @@
+package org.example.notificationservice.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.dto.LatestQuoteSnapshot;
+import org.example.notificationservice.service.StockInfoService;
+import org.example.notificationservice.util.CompactedTopicReader;
+import org.example.notificationservice.util.FixedPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 기동 시 quote-latest 압축 토픽을 끝까지 읽어 종목별 최신 시세를 채움 (조용한 종목도 다음 틱 전에 배치 평가 가능)
+ * 빈 초기화 단계에서 끝나므로 리스너(auto-offset-reset=latest)가 뜨기 전에 완료된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestQuoteBootstrap {
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final StockInfoService stockInfoService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.latest-topics.bootstrap-enabled:true}")
+    private boolean bootstrapEnabled;
+
+    @Value("${app.latest-topics.bootstrap-timeout-ms:30000}")
+    private long bootstrapTimeoutMs;
+
+    @Value("${app.kafka.topics.quote-latest:quote-latest}")
+    private String quoteLatestTopic;
+
+    @PostConstruct
+    public void bootstrap() {
+        if (!bootstrapEnabled) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+
+        int quotes = CompactedTopicReader.readToEnd(consumerFactory, quoteLatestTopic, Duration.ofMillis(bootstrapTimeoutMs),
+            (stockCode, message) -> {
+                try {
+                    LatestQuoteSnapshot snapshot = objectMapper.readValue(message, LatestQuoteSnapshot.class);
+                    stockInfoService.updateLatestStockData(
+                        stockCode,
+                        FixedPoint.fromBigDecimal(snapshot.getPrice(), FixedPoint.PRICE_SCALE),
+                        snapshot.getVolume(),
+                        FixedPoint.fromBigDecimal(snapshot.getChangeRate(), FixedPoint.RATE_SCALE)
+                    );
+                } catch (Exception e) {
+                    log.warn("Skipping unreadable latest quote for stock: {}", stockCode, e);
+                }
+            });
+
+        log.info("Latest quotes bootstrapped from compacted topic - Quotes: {}, Elapsed: {}ms",
+            quotes, System.currentTimeMillis() - startTime);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.notificationservice.dto.KisQuoteMessage;
 import org.example.notificationservice.service.ConditionEvaluationService;
+import org.example.notificationservice.service.StockInfoService;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Component;
 public class QuoteStreamConsumer {
     
     private final ConditionEvaluationService conditionEvaluationService;
+    private final StockInfoService stockInfoService;
     private final ObjectMapper objectMapper;
     
     @KafkaListener(
@@ -40,12 +42,19 @@ public class QuoteStreamConsumer {
             // JSON 메시지 파싱
             KisQuoteMessage quoteMessage = objectMapper.readValue(message, KisQuoteMessage.class);
             
+            stockInfoService.updateLatestStockData(
+                quoteMessage.getTrKey(),
+                quoteMessage.getPriceScaled(),
+                quoteMessage.getVolumeAsLong(),
+                quoteMessage.getChangeRateScaled()
+            );
+            
             // 조건 평가 수행
             conditionEvaluationService.evaluateQuoteConditions(
                 quoteMessage.getTrKey(),
-                quoteMessage.getPriceAsBigDecimal(),
+                quoteMessage.getPriceScaled(),
                 quoteMessage.getVolumeAsLong(),
-                quoteMessage.getChangeRateAsBigDecimal()
+                quoteMessage.getChangeRateScaled()
             );
             
             // 수동 커밋
@@ -5,8 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
+import org.example.notificationservice.util.FixedPoint;
 
 @Data
 @NoArgsConstructor
@@ -44,33 +43,33 @@ public class KisQuoteMessage {
     @JsonProperty("open_price")
     private String openPrice;
     
-    // 편의 메서드들
-    public BigDecimal getPriceAsBigDecimal() {
-        return price != null ? new BigDecimal(price) : BigDecimal.ZERO;
+    // 편의 메서드들 (가격은 x100, 등락률은 x10000 고정소수점)
+    public long getPriceScaled() {
+        return FixedPoint.parsePrice(price);
     }
     
     public Long getVolumeAsLong() {
         return volume != null ? Long.parseLong(volume) : 0L;
     }
     
-    public BigDecimal getChangeAmountAsBigDecimal() {
-        return changeAmount != null ? new BigDecimal(changeAmount) : BigDecimal.ZERO;
+    public long getChangeAmountScaled() {
+        return FixedPoint.parsePrice(changeAmount);
     }
     
-    public BigDecimal getChangeRateAsBigDecimal() {
-        return changeRate != null ? new BigDecimal(changeRate) : BigDecimal.ZERO;
+    public long getChangeRateScaled() {
+        return FixedPoint.parseRate(changeRate);
     }
     
-    public BigDecimal getHighPriceAsBigDecimal() {
-        return highPrice != null ? new BigDecimal(highPrice) : BigDecimal.ZERO;
+    public long getHighPriceScaled() {
+        return FixedPoint.parsePrice(highPrice);
     }
     
-    public BigDecimal getLowPriceAsBigDecimal() {
-        return lowPrice != null ? new BigDecimal(lowPrice) : BigDecimal.ZERO;
+    public long getLowPriceScaled() {
+        return FixedPoint.parsePrice(lowPrice);
     }
     
-    public BigDecimal getOpenPriceAsBigDecimal() {
-        return openPrice != null ? new BigDecimal(openPrice) : BigDecimal.ZERO;
+    public long getOpenPriceScaled() {
+        return FixedPoint.parsePrice(openPrice);
     }
 }
 
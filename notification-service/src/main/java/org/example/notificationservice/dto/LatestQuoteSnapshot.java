@@ -0,0 +1,27 @@
+package org.example.notificationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * quote-latest 토픽의 종목별 최신 체결 스냅샷 (조건 평가에 쓰는 필드만)
+ */
+@Data
+@NoArgsConstructor
+public class LatestQuoteSnapshot {
+
+    @JsonProperty("stock_code")
+    private String stockCode;
+
+    @JsonProperty("price")
+    private BigDecimal price;
+
+    @JsonProperty("volume")
+    private long volume;
+
+    @JsonProperty("change_rate")
+    private BigDecimal changeRate;
+}
@@ -1,10 +1,14 @@
 package org.example.notificationservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.example.notificationservice.util.FixedPoint;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -44,6 +48,13 @@ public class NotificationCondition {
     @Column(name = "current_value", precision = 15, scale = 2)
     private BigDecimal currentValue;
     
+    // 목표값의 고정소수점 값 (첫 평가 시 한 번만 변환, 틱마다 BigDecimal 비교하지 않음)
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long scaledTargetValue;
+    
     @Column(name = "is_active", nullable = false)
     @Builder.Default
     private Boolean isActive = true;
@@ -80,27 +91,44 @@ public class NotificationCondition {
         }
     }
     
+    public void setTargetValue(BigDecimal targetValue) {
+        this.targetValue = targetValue;
+        this.scaledTargetValue = null;
+    }
+    
     /**
-     * 조건이 충족되었는지 확인
+     * 조건이 충족되었는지 확인 (가격 x100, 등락률 x10000 고정소수점)
      */
-    public boolean isConditionMet(BigDecimal currentPrice, Long currentVolume, BigDecimal changeRate) {
+    public boolean isConditionMet(long currentPrice, long currentVolume, long changeRate) {
+        long target = scaledTargetValue();
         switch (conditionType) {
             case PRICE_ABOVE:
-                return currentPrice.compareTo(targetValue) >= 0;
+                return currentPrice >= target;
             case PRICE_BELOW:
-                return currentPrice.compareTo(targetValue) <= 0;
+                return currentPrice <= target;
             case VOLUME_ABOVE:
-                return currentVolume != null && 
-                       BigDecimal.valueOf(currentVolume).compareTo(targetValue) >= 0;
+                // 목표 거래량도 가격과 같은 x100 스케일 (소수 목표값 그대로 비교)
+                return currentVolume * 100L >= target;
             case CHANGE_RATE_ABOVE:
-                return changeRate != null && changeRate.compareTo(targetValue) >= 0;
+                return changeRate >= target;
             case CHANGE_RATE_BELOW:
-                return changeRate != null && changeRate.compareTo(targetValue) <= 0;
+                return changeRate <= target;
             default:
                 return false;
         }
     }
     
+    private long scaledTargetValue() {
+        Long scaled = scaledTargetValue;
+        if (scaled == null) {
+            boolean rate = conditionType == ConditionType.CHANGE_RATE_ABOVE
+                || conditionType == ConditionType.CHANGE_RATE_BELOW;
+            scaled = FixedPoint.fromBigDecimal(targetValue, rate ? FixedPoint.RATE_SCALE : FixedPoint.PRICE_SCALE);
+            scaledTargetValue = scaled;
+        }
+        return scaled;
+    }
+    
     /**
      * 조건 트리거 처리
      */
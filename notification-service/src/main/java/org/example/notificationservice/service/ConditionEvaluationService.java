@@ -7,6 +7,7 @@ import org.example.notificationservice.entity.NotificationCondition;
 import org.example.notificationservice.entity.NotificationHistory;
 import org.example.notificationservice.repository.NotificationConditionRepository;
 import org.example.notificationservice.repository.NotificationHistoryRepository;
+import org.example.notificationservice.util.FixedPoint;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,9 +35,9 @@ public class ConditionEvaluationService {
      * 특정 종목의 시세 데이터로 조건 평가
      */
     @Transactional
-    public void evaluateQuoteConditions(String stockCode, BigDecimal currentPrice, Long currentVolume, BigDecimal changeRate) {
+    public void evaluateQuoteConditions(String stockCode, long currentPrice, long currentVolume, long changeRate) {
         try {
-            log.debug("Evaluating quote conditions for stock: {} - Price: {}, Volume: {}, Change: {}%", 
+            log.debug("Evaluating quote conditions for stock: {} - Price(x100): {}, Volume: {}, Change(x10000): {}", 
                 stockCode, currentPrice, currentVolume, changeRate);
             
             // 해당 종목의 활성화된 조건들 조회
@@ -61,7 +62,7 @@ public class ConditionEvaluationService {
     /**
      * 조건 평가 비동기 처리
      */
-    private void evaluateConditionsAsync(List<NotificationCondition> conditions, BigDecimal currentPrice, Long currentVolume, BigDecimal changeRate) {
+    private void evaluateConditionsAsync(List<NotificationCondition> conditions, long currentPrice, long currentVolume, long changeRate) {
         for (NotificationCondition condition : conditions) {
             try {
                 evaluateSingleCondition(condition, currentPrice, currentVolume, changeRate);
@@ -72,10 +73,10 @@ public class ConditionEvaluationService {
     }
     
     /**
-     * 개별 조건 평가
+     * 개별 조건 평가 (가격 x100, 등락률 x10000 고정소수점 - 충족된 경우에만 BigDecimal 변환)
      */
     @Transactional
-    public void evaluateSingleCondition(NotificationCondition condition, BigDecimal currentPrice, Long currentVolume, BigDecimal changeRate) {
+    public void evaluateSingleCondition(NotificationCondition condition, long currentPrice, long currentVolume, long changeRate) {
         // 조건 충족 여부 확인
         boolean isConditionMet = condition.isConditionMet(currentPrice, currentVolume, changeRate);
         
@@ -183,18 +184,18 @@ public class ConditionEvaluationService {
      * 조건 타입에 따른 트리거된 값 추출
      */
     private BigDecimal getTriggeredValue(NotificationCondition.ConditionType conditionType, 
-                                       BigDecimal currentPrice, Long currentVolume, BigDecimal changeRate) {
+                                       long currentPrice, long currentVolume, long changeRate) {
         switch (conditionType) {
             case PRICE_ABOVE:
             case PRICE_BELOW:
-                return currentPrice;
+                return FixedPoint.toBigDecimal(currentPrice, FixedPoint.PRICE_SCALE);
             case VOLUME_ABOVE:
-                return currentVolume != null ? BigDecimal.valueOf(currentVolume) : BigDecimal.ZERO;
+                return BigDecimal.valueOf(currentVolume);
             case CHANGE_RATE_ABOVE:
             case CHANGE_RATE_BELOW:
-                return changeRate != null ? changeRate : BigDecimal.ZERO;
+                return FixedPoint.toBigDecimal(changeRate, FixedPoint.RATE_SCALE);
             default:
-                return currentPrice;
+                return FixedPoint.toBigDecimal(currentPrice, FixedPoint.PRICE_SCALE);
         }
     }
     
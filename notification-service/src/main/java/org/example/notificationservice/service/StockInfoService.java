@@ -7,8 +7,9 @@ import org.example.notificationservice.repository.StockRepository;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -17,6 +18,9 @@ public class StockInfoService {
     
     private final StockRepository stockRepository;
     
+    // 종목별 최신 시세 (배치 조건 평가용)
+    private final Map<String, StockData> latestStockData = new ConcurrentHashMap<>();
+    
     /**
      * 종목명 조회 (캐시 적용)
      */
@@ -27,29 +31,31 @@ public class StockInfoService {
     }
     
     /**
-     * 최신 주식 데이터 조회 (Mock 구현)
-     * 실제로는 data-processor 서비스나 캐시에서 조회해야 함
+     * 최신 주식 데이터 조회 (기동 시 quote-latest 압축 토픽으로 채우고 시세 수신마다 갱신)
      */
     public Optional<StockData> getLatestStockData(String stockCode) {
-        // TODO: 실제로는 data-processor 서비스 호출 또는 캐시에서 조회
-        // 현재는 Mock 데이터 반환
-        log.debug("Getting latest stock data for: {} (Mock implementation)", stockCode);
-        
-        return Optional.of(StockData.builder()
+        return Optional.ofNullable(latestStockData.get(stockCode));
+    }
+    
+    public void updateLatestStockData(String stockCode, long price, long volume, long changeRate) {
+        latestStockData.put(stockCode, StockData.builder()
             .stockCode(stockCode)
-            .price(BigDecimal.valueOf(70000))
-            .volume(1000L)
-            .changeRate(BigDecimal.valueOf(1.5))
+            .price(price)
+            .volume(volume)
+            .changeRate(changeRate)
             .build());
     }
     
+    /**
+     * 가격은 x100, 등락률은 x10000 고정소수점
+     */
     @lombok.Data
     @lombok.Builder
     public static class StockData {
         private String stockCode;
-        private BigDecimal price;
-        private Long volume;
-        private BigDecimal changeRate;
+        private long price;
+        private long volume;
+        private long changeRate;
     }
 }
 
@@ -0,0 +1,88 @@
+package org.example.notificationservice.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 고정소수점(scaled long) 가격/등락률 - 틱마다 BigDecimal 생성 없이 파싱/조건 비교
+ * 가격은 x100, 등락률은 x10000, BigDecimal 변환은 DB/알림 메시지 경계에서만
+ */
+public final class FixedPoint {
+
+    public static final int PRICE_SCALE = 2;
+    public static final int RATE_SCALE = 4;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+
+    private FixedPoint() {
+    }
+
+    /**
+     * "70000", "-1.5", "+0.35" 같은 10진 문자열을 scale 자리 고정소수점으로 (null은 0, 초과 자릿수는 버림)
+     */
+    public static long parse(CharSequence text, int scale) {
+        if (text == null) {
+            return 0L;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        boolean negative = false;
+        if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+            negative = text.charAt(start) == '-';
+            start++;
+        }
+
+        long value = 0L;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid decimal: " + text);
+            }
+            digits++;
+            if (fractionDigits >= 0) {
+                if (fractionDigits == scale) {
+                    continue;
+                }
+                fractionDigits++;
+            }
+            value = Math.addExact(Math.multiplyExact(value, 10L), c - '0');
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Invalid decimal: " + text);
+        }
+
+        value = Math.multiplyExact(value, POWERS_OF_TEN[scale - Math.max(fractionDigits, 0)]);
+        return negative ? -value : value;
+    }
+
+    public static long parsePrice(CharSequence text) {
+        return parse(text, PRICE_SCALE);
+    }
+
+    public static long parseRate(CharSequence text) {
+        return parse(text, RATE_SCALE);
+    }
+
+    public static long fromBigDecimal(BigDecimal value, int scale) {
+        return value != null ? value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0L;
+    }
+
+    public static BigDecimal toBigDecimal(long scaled, int scale) {
+        return BigDecimal.valueOf(scaled, scale);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.ssestreamer.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ssestreamer.dto.LatestOrderbookSnapshot;
+import org.example.ssestreamer.dto.StreamQuoteData;
+import org.example.ssestreamer.service.StreamDataService;
+import org.example.ssestreamer.util.CompactedTopicReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 기동 시 quote-latest / orderbook-latest 압축 토픽을 끝까지 읽어 종목별 마지막 프레임을 채움
+ * 빈 초기화 단계에서 끝나므로 리스너(auto-offset-reset=latest)와 웹 서버가 뜨기 전에 완료된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestSnapshotBootstrap {
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final StreamDataService streamDataService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.latest-topics.bootstrap-enabled:true}")
+    private boolean bootstrapEnabled;
+
+    @Value("${app.latest-topics.bootstrap-timeout-ms:30000}")
+    private long bootstrapTimeoutMs;
+
+    @Value("${app.kafka.topics.quote-latest:quote-latest}")
+    private String quoteLatestTopic;
+
+    @Value("${app.kafka.topics.orderbook-latest:orderbook-latest}")
+    private String orderbookLatestTopic;
+
+    @PostConstruct
+    public void bootstrap() {
+        if (!bootstrapEnabled) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        Duration timeout = Duration.ofMillis(bootstrapTimeoutMs);
+
+        int quotes = CompactedTopicReader.readToEnd(consumerFactory, quoteLatestTopic, timeout, (stockCode, message) -> {
+            try {
+                streamDataService.loadLatestQuote(stockCode, objectMapper.readValue(message, StreamQuoteData.class));
+            } catch (Exception e) {
+                log.warn("Skipping unreadable latest quote for stock: {}", stockCode, e);
+            }
+        });
+        int orderbooks = CompactedTopicReader.readToEnd(consumerFactory, orderbookLatestTopic, timeout, (stockCode, message) -> {
+            try {
+                LatestOrderbookSnapshot snapshot = objectMapper.readValue(message, LatestOrderbookSnapshot.class);
+                streamDataService.loadLatestOrderbook(stockCode, snapshot.toStreamOrderbookData());
+            } catch (Exception e) {
+                log.warn("Skipping unreadable latest orderbook for stock: {}", stockCode, e);
+            }
+        });
+
+        log.info("Latest snapshots bootstrapped from compacted topics - Quotes: {}, Orderbooks: {}, Elapsed: {}ms",
+            quotes, orderbooks, System.currentTimeMillis() - startTime);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.ssestreamer.dto.KisOrderbookMessage;
 import org.example.ssestreamer.dto.StreamOrderbookData;
 import org.example.ssestreamer.service.StreamDataService;
+import org.example.ssestreamer.util.KisTimeDecoder;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -13,8 +14,6 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,10 +23,9 @@ import java.util.stream.Collectors;
 public class StreamOrderbookConsumer {
     
     private final StreamDataService streamDataService;
+    private final KisTimeDecoder kisTimeDecoder;
     private final ObjectMapper objectMapper;
     
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmmss");
-    
     @KafkaListener(
         topics = "${app.kafka.topics.orderbook-stream:orderbook-stream}",
         groupId = "${spring.kafka.consumer.group-id}",
@@ -94,7 +92,7 @@ public class StreamOrderbookConsumer {
         
         return StreamOrderbookData.builder()
             .stockCode(kisMessage.getTrKey())
-            .quoteTime(parseQuoteTime(kisMessage.getTimestamp()))
+            .quoteTime(kisTimeDecoder.toLocalDateTime(kisMessage.getTimestamp()))
             .sequenceNumber(kisMessage.getSequenceNumberAsLong())
             .totalBidVolume(kisMessage.getTotalBidVolumeAsLong())
             .totalAskVolume(kisMessage.getTotalAskVolumeAsLong())
@@ -102,21 +100,5 @@ public class StreamOrderbookConsumer {
             .askLevels(askLevels)
             .build();
     }
-    
-    /**
-     * KIS 타임스탬프를 LocalDateTime으로 변환
-     */
-    private LocalDateTime parseQuoteTime(String timestamp) {
-        try {
-            if (timestamp != null && timestamp.length() == 6) {
-                LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
-                return today.with(java.time.LocalTime.parse(timestamp, TIME_FORMATTER));
-            }
-            return LocalDateTime.now();
-        } catch (Exception e) {
-            log.debug("Failed to parse timestamp: {}, using current time", timestamp);
-            return LocalDateTime.now();
-        }
-    }
 }
 
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.ssestreamer.dto.KisQuoteMessage;
 import org.example.ssestreamer.dto.StreamQuoteData;
 import org.example.ssestreamer.service.StreamDataService;
+import org.example.ssestreamer.util.KisTimeDecoder;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -13,19 +14,15 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class StreamQuoteConsumer {
     
     private final StreamDataService streamDataService;
+    private final KisTimeDecoder kisTimeDecoder;
     private final ObjectMapper objectMapper;
     
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmmss");
-    
     @KafkaListener(
         topics = "${app.kafka.topics.quote-stream:quote-stream}",
         groupId = "${spring.kafka.consumer.group-id}",
@@ -72,31 +69,15 @@ public class StreamQuoteConsumer {
     private StreamQuoteData convertToStreamQuoteData(KisQuoteMessage kisMessage) {
         return StreamQuoteData.builder()
             .stockCode(kisMessage.getTrKey())
-            .price(kisMessage.getPriceAsBigDecimal())
+            .price(kisMessage.getPriceScaled())
             .volume(kisMessage.getVolumeAsLong())
-            .changeAmount(kisMessage.getChangeAmountAsBigDecimal())
-            .changeRate(kisMessage.getChangeRateAsBigDecimal())
-            .highPrice(kisMessage.getHighPriceAsBigDecimal())
-            .lowPrice(kisMessage.getLowPriceAsBigDecimal())
-            .openPrice(kisMessage.getOpenPriceAsBigDecimal())
-            .tradeTime(parseTradeTime(kisMessage.getTimestamp()))
+            .changeAmount(kisMessage.getChangeAmountScaled())
+            .changeRate(kisMessage.getChangeRateScaled())
+            .highPrice(kisMessage.getHighPriceScaled())
+            .lowPrice(kisMessage.getLowPriceScaled())
+            .openPrice(kisMessage.getOpenPriceScaled())
+            .tradeTime(kisTimeDecoder.toLocalDateTime(kisMessage.getTimestamp(), kisMessage.getBusinessDate()))
             .build();
     }
-    
-    /**
-     * KIS 타임스탬프를 LocalDateTime으로 변환
-     */
-    private LocalDateTime parseTradeTime(String timestamp) {
-        try {
-            if (timestamp != null && timestamp.length() == 6) {
-                LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
-                return today.with(java.time.LocalTime.parse(timestamp, TIME_FORMATTER));
-            }
-            return LocalDateTime.now();
-        } catch (Exception e) {
-            log.debug("Failed to parse timestamp: {}, using current time", timestamp);
-            return LocalDateTime.now();
-        }
-    }
 }
 
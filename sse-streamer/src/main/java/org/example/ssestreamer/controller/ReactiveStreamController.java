@@ -0,0 +1,113 @@
+package org.example.ssestreamer.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ssestreamer.dto.SseFrame;
+import org.example.ssestreamer.service.ReactiveStreamHub;
+import org.example.ssestreamer.service.SseClient;
+import org.example.ssestreamer.service.StreamDataService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * SseStreamController와 같은 URL 규약의 WebFlux(Reactor Netty) 스트림 엔드포인트 (reactive 프로필)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/stream")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class ReactiveStreamController {
+
+    private final ReactiveStreamHub reactiveStreamHub;
+    private final StreamDataService streamDataService;
+
+    /**
+     * 실시간 스트림 연결
+     * GET /api/stream/connect?stocks=005930,000660&client_id=unique_id&mode=latest
+     * 공유 프레임 바이트를 복사 없이 감싸 프레임마다 flush
+     */
+    @GetMapping(value = "/connect", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<Void> connectStream(
+        @RequestParam("stocks") String stocks,
+        @RequestParam(value = "client_id", required = false) String clientId,
+        @RequestParam(value = "mode", required = false) String mode,
+        ServerHttpResponse response
+    ) {
+        // 클라이언트 ID가 없으면 생성
+        if (clientId == null || clientId.trim().isEmpty()) {
+            clientId = "client_" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        // 종목 코드 파싱
+        List<String> stockCodes = Arrays.asList(stocks.split(","));
+
+        log.debug("New reactive SSE connection request - Client: {}, Stocks: {}", clientId, stockCodes);
+
+        try {
+            SseClient.DeliveryMode deliveryMode = mode == null
+                ? reactiveStreamHub.getDefaultDeliveryMode()
+                : SseClient.DeliveryMode.fromCode(mode);
+            Flux<SseFrame> frames = reactiveStreamHub.connect(
+                clientId, stockCodes, streamDataService.latestSnapshots(stockCodes), deliveryMode);
+
+            response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            DataBufferFactory bufferFactory = response.bufferFactory();
+            return response.writeAndFlushWith(frames.map(frame -> Mono.just(bufferFactory.wrap(frame.buffer()))));
+        } catch (Exception e) {
+            log.error("Failed to create SSE connection for client: {}", clientId, e);
+            throw new RuntimeException("Failed to create stream connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 연결 상태 확인
+     * GET /api/stream/status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStreamStatus() {
+        return ResponseEntity.ok(reactiveStreamHub.getConnectionStats());
+    }
+
+    /**
+     * 특정 종목의 구독자 수 조회
+     * GET /api/stream/subscribers/{stockCode}
+     */
+    @GetMapping("/subscribers/{stockCode}")
+    public ResponseEntity<Map<String, Object>> getStockSubscribers(@PathVariable String stockCode) {
+        Map<String, Object> response = Map.of(
+            "stockCode", stockCode,
+            "subscriberCount", reactiveStreamHub.getSubscriberCount(stockCode)
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 헬스체크
+     * GET /api/stream/health
+     */
+    @GetMapping("/health")
+    public ResponseEntity<Map<String, String>> health() {
+        Map<String, String> health = Map.of(
+            "status", "UP",
+            "service", "sse-streamer",
+            "transport", "reactive",
+            "timestamp", java.time.LocalDateTime.now().toString()
+        );
+
+        return ResponseEntity.ok(health);
+    }
+}
@@ -2,7 +2,11 @@ package org.example.ssestreamer.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.ssestreamer.dto.SseMessage;
+import org.example.ssestreamer.service.SseClient;
 import org.example.ssestreamer.service.SseConnectionManager;
+import org.example.ssestreamer.service.StreamDataService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,20 +20,24 @@ import java.util.UUID;
 @Slf4j
 @RestController
 @RequestMapping("/api/stream")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 public class SseStreamController {
     
     private final SseConnectionManager sseConnectionManager;
+    private final StreamDataService streamDataService;
     
     /**
      * 실시간 스트림 연결
-     * GET /api/stream/connect?stocks=005930,000660&client_id=unique_id
+     * GET /api/stream/connect?stocks=005930,000660&client_id=unique_id&mode=latest
+     * mode: all(모든 틱), latest(전송이 밀리면 종목별 최신 값만 - 느린 모바일 네트워크용), 생략 시 app.sse.default-delivery-mode
      */
     @GetMapping(value = "/connect", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter connectStream(
         @RequestParam("stocks") String stocks,
-        @RequestParam(value = "client_id", required = false) String clientId
+        @RequestParam(value = "client_id", required = false) String clientId,
+        @RequestParam(value = "mode", required = false) String mode
     ) {
         // 클라이언트 ID가 없으면 생성
         if (clientId == null || clientId.trim().isEmpty()) {
@@ -42,7 +50,13 @@ public class SseStreamController {
         log.info("New SSE connection request - Client: {}, Stocks: {}", clientId, stockCodes);
         
         try {
-            return sseConnectionManager.createConnection(clientId, stockCodes);
+            SseEmitter emitter = mode == null
+                ? sseConnectionManager.createConnection(clientId, stockCodes)
+                : sseConnectionManager.createConnection(clientId, stockCodes, SseClient.DeliveryMode.fromCode(mode));
+            for (SseMessage snapshot : streamDataService.latestSnapshots(stockCodes)) {
+                sseConnectionManager.sendToClient(clientId, snapshot);
+            }
+            return emitter;
         } catch (Exception e) {
             log.error("Failed to create SSE connection for client: {}", clientId, e);
             throw new RuntimeException("Failed to create stream connection: " + e.getMessage());
@@ -59,6 +73,17 @@ public class SseStreamController {
         return ResponseEntity.ok(stats);
     }
     
+    /**
+     * 클라이언트별 전송 대기열/지연 조회
+     * GET /api/stream/clients/{clientId}
+     */
+    @GetMapping("/clients/{clientId}")
+    public ResponseEntity<Map<String, Object>> getClientStats(@PathVariable String clientId) {
+        return sseConnectionManager.getClientStats(clientId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
     /**
      * 특정 종목의 구독자 수 조회
      * GET /api/stream/subscribers/{stockCode}
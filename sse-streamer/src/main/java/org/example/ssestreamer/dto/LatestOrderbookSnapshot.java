@@ -0,0 +1,75 @@
+package org.example.ssestreamer.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * orderbook-latest 토픽의 종목별 최신 호가 스냅샷 (단계별 가격/잔량 배열, 인덱스 0이 1호가)
+ */
+@Data
+@NoArgsConstructor
+public class LatestOrderbookSnapshot {
+
+    @JsonProperty("stock_code")
+    private String stockCode;
+
+    @JsonProperty("quote_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSSSS")
+    private LocalDateTime quoteTime;
+
+    @JsonProperty("sequence_number")
+    private long sequenceNumber;
+
+    @JsonProperty("total_bid_volume")
+    private long totalBidVolume;
+
+    @JsonProperty("total_ask_volume")
+    private long totalAskVolume;
+
+    @JsonProperty("bid_prices")
+    private double[] bidPrices;
+
+    @JsonProperty("bid_volumes")
+    private long[] bidVolumes;
+
+    @JsonProperty("ask_prices")
+    private double[] askPrices;
+
+    @JsonProperty("ask_volumes")
+    private long[] askVolumes;
+
+    public StreamOrderbookData toStreamOrderbookData() {
+        return StreamOrderbookData.builder()
+            .stockCode(stockCode)
+            .quoteTime(quoteTime)
+            .sequenceNumber(sequenceNumber)
+            .totalBidVolume(totalBidVolume)
+            .totalAskVolume(totalAskVolume)
+            .bidLevels(toLevels(bidPrices, bidVolumes))
+            .askLevels(toLevels(askPrices, askVolumes))
+            .build();
+    }
+
+    private static List<StreamOrderbookData.OrderbookLevelData> toLevels(double[] prices, long[] volumes) {
+        if (prices == null || volumes == null) {
+            return List.of();
+        }
+        int depth = Math.min(prices.length, volumes.length);
+        List<StreamOrderbookData.OrderbookLevelData> levels = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            levels.add(StreamOrderbookData.OrderbookLevelData.builder()
+                .level(i + 1)
+                .price(BigDecimal.valueOf(prices[i]))
+                .volume(volumes[i])
+                .build());
+        }
+        return levels;
+    }
+}
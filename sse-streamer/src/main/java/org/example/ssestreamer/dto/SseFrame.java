@@ -0,0 +1,79 @@
+package org.example.ssestreamer.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * 한 번만 직렬화한 SSE 이벤트 프레임 ("event:<type>\ndata:<json>\n\n" UTF-8 바이트)
+ * 같은 프레임을 모든 구독자에게 그대로 써서, 구독자 수와 무관하게 메시지당 JSON 직렬화/인코딩은 한 번이다.
+ */
+public final class SseFrame {
+
+    private final SseMessage.MessageType type;
+    private final String stockCode;
+    private final String conflationKey;
+    private final byte[] bytes;
+    // emitter에 넘길 전송 단위 (바이트 그대로 쓰도록 octet-stream -> ByteArrayHttpMessageConverter)
+    private final Set<ResponseBodyEmitter.DataWithMediaType> items;
+
+    private SseFrame(SseMessage.MessageType type, String stockCode, byte[] bytes) {
+        this.type = type;
+        this.stockCode = stockCode;
+        this.conflationKey = conflationKeyOf(type, stockCode);
+        this.bytes = bytes;
+        this.items = Set.of(new ResponseBodyEmitter.DataWithMediaType(bytes, MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    public static SseFrame encode(ObjectMapper objectMapper, SseMessage message) throws JsonProcessingException {
+        // 기본 ObjectMapper 출력은 줄바꿈이 없어 data 한 줄로 충분
+        String frame = "event:" + message.getType().name().toLowerCase() + "\n"
+            + "data:" + objectMapper.writeValueAsString(message) + "\n\n";
+        return new SseFrame(message.getType(), message.getStockCode(), frame.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public SseMessage.MessageType getType() {
+        return type;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    private static String conflationKeyOf(SseMessage.MessageType type, String stockCode) {
+        if (type == SseMessage.MessageType.HEARTBEAT) {
+            return type.name();
+        }
+        if (stockCode != null && (type == SseMessage.MessageType.QUOTE || type == SseMessage.MessageType.ORDERBOOK)) {
+            return type.name() + ":" + stockCode;
+        }
+        return null;
+    }
+
+    /**
+     * 새 값이 이전 값을 대체할 수 있는 프레임(종목별 시세/호가, 하트비트)의 키, 나머지는 null
+     */
+    public String conflationKey() {
+        return conflationKey;
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * 프레임 바이트의 읽기 전용 뷰 (복사 없이 여러 연결의 버퍼로 감쌈 - WebFlux)
+     */
+    public ByteBuffer buffer() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    public Set<ResponseBodyEmitter.DataWithMediaType> items() {
+        return items;
+    }
+}
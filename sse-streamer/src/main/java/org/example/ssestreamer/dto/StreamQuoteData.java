@@ -2,14 +2,20 @@ package org.example.ssestreamer.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.ssestreamer.util.FixedPoint;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * SSE 시세 프레임 - 가격은 x100, 등락률은 x10000 고정소수점으로 들고 있다가 원래 단위의 JSON 숫자로 직렬화
+ * quote-latest 토픽의 최신 체결 스냅샷(필드명이 같음)도 그대로 역직렬화
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,25 +29,37 @@ public class StreamQuoteData {
     private String stockName;
     
     @JsonProperty("price")
-    private BigDecimal price;
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    private long price;
     
     @JsonProperty("volume")
     private Long volume;
     
     @JsonProperty("change_amount")
-    private BigDecimal changeAmount;
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    private long changeAmount;
     
     @JsonProperty("change_rate")
-    private BigDecimal changeRate;
+    @JsonSerialize(using = FixedPoint.RateSerializer.class)
+    @JsonDeserialize(using = FixedPoint.RateDeserializer.class)
+    private long changeRate;
     
     @JsonProperty("high_price")
-    private BigDecimal highPrice;
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    private long highPrice;
     
     @JsonProperty("low_price")
-    private BigDecimal lowPrice;
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    private long lowPrice;
     
     @JsonProperty("open_price")
-    private BigDecimal openPrice;
+    @JsonSerialize(using = FixedPoint.PriceSerializer.class)
+    @JsonDeserialize(using = FixedPoint.PriceDeserializer.class)
+    private long openPrice;
     
     @JsonProperty("trade_time")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
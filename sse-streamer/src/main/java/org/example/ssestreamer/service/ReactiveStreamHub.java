@@ -0,0 +1,253 @@
+package org.example.ssestreamer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ssestreamer.dto.SseFrame;
+import org.example.ssestreamer.dto.SseMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 종목별 멀티캐스트 Sink로 프레임을 퍼뜨리는 리액티브 전송 계층 (reactive 프로필, Reactor Netty)
+ * 연결은 스레드/emitter 없이 구독 하나이고, 프레임은 한 번 직렬화한 바이트를 모든 연결이 복사 없이 공유한다.
+ * Sink는 요청(demand)이 없는 구독자만 건너뛰므로(best effort) 느린 연결이 다른 연결이나 Kafka 리스너를 막지 않고,
+ * 연결마다 붙는 배압 연산자가 밀린 프레임을 정책대로 처리한다 (all: 크기 제한 버퍼, latest/conflate: 종목별 최신 값만).
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveStreamHub implements StreamFanout {
+
+    // 한 Sink에 두 스레드가 겹쳐 발행할 때(리밸런싱 직후 등)만 잠깐 재시도
+    private static final Sinks.EmitFailureHandler RETRY_CONCURRENT_EMIT =
+        Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(50));
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sse.connection-timeout:300000}")
+    private long connectionTimeout;
+
+    @Value("${app.sse.heartbeat-interval:30000}")
+    private long heartbeatInterval;
+
+    @Value("${app.sse.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${app.sse.buffer-size:1000}")
+    private int bufferSize;
+
+    @Value("${app.sse.overflow-policy:drop-oldest}")
+    private String overflowPolicyCode;
+
+    @Value("${app.sse.default-delivery-mode:all}")
+    private String defaultDeliveryModeCode;
+
+    // 종목별 시세/호가 Sink (구독자가 없으면 발행하지 않음)
+    private final Map<String, StockSinks> stockSinks = new ConcurrentHashMap<>();
+
+    // 전 연결 공용 하트비트 (연결마다 타이머를 두지 않음)
+    private final Sinks.Many<SseFrame> heartbeats = Sinks.many().multicast().directBestEffort();
+
+    // 연결 통계
+    private final AtomicLong totalConnections = new AtomicLong(0);
+    private final AtomicLong activeConnections = new AtomicLong(0);
+
+    private SseClient.OverflowPolicy overflowPolicy;
+    private SseClient.DeliveryMode defaultDeliveryMode;
+    private Disposable heartbeatTicker;
+
+    @PostConstruct
+    public void init() {
+        overflowPolicy = SseClient.OverflowPolicy.fromCode(overflowPolicyCode);
+        defaultDeliveryMode = SseClient.DeliveryMode.fromCode(defaultDeliveryModeCode);
+        Gauge.builder("sse_streamer_active_connections", activeConnections, AtomicLong::get)
+            .register(meterRegistry);
+
+        heartbeatTicker = Flux.interval(Duration.ofMillis(heartbeatInterval))
+            .subscribe(tick -> {
+                SseFrame heartbeat = encode(SseMessage.heartbeat());
+                if (heartbeat != null) {
+                    emit(heartbeats, heartbeat);
+                }
+            });
+    }
+
+    public SseClient.DeliveryMode getDefaultDeliveryMode() {
+        return defaultDeliveryMode;
+    }
+
+    /**
+     * 클라이언트 한 명의 프레임 스트림 - 구독 확인/마지막 스냅샷 다음에 실시간 프레임과 하트비트
+     * 구독 시점에 연결로 집계되고 취소/종료/타임아웃 시 해제된다.
+     */
+    public Flux<SseFrame> connect(String clientId, List<String> stockCodes, List<SseMessage> snapshots,
+                                  SseClient.DeliveryMode deliveryMode) {
+        if (activeConnections.get() >= maxConnections) {
+            log.warn("Maximum connections reached: {}", maxConnections);
+            throw new RuntimeException("Maximum connections exceeded");
+        }
+
+        List<SseMessage> initial = new ArrayList<>(stockCodes.size() + snapshots.size());
+        for (String stockCode : stockCodes) {
+            initial.add(SseMessage.subscribeAck(stockCode));
+        }
+        initial.addAll(snapshots);
+
+        return Flux.concat(Flux.fromIterable(initial).mapNotNull(this::encode), live(stockCodes, deliveryMode))
+            .take(Duration.ofMillis(connectionTimeout))
+            .doOnSubscribe(subscription -> {
+                totalConnections.incrementAndGet();
+                log.info("New reactive SSE connection - Client: {}, Stocks: {}, Mode: {}, Active: {}",
+                    clientId, stockCodes, deliveryMode.getCode(), activeConnections.incrementAndGet());
+            })
+            .doFinally(signal -> log.info("Reactive SSE connection closed - Client: {}, Signal: {}, Active: {}",
+                clientId, signal, activeConnections.decrementAndGet()));
+    }
+
+    /**
+     * 실시간 프레임 - latest 모드나 conflate 정책은 종목/유형 단위로 최신 값만 남기고, 그 외에는 연결별 크기 제한 버퍼
+     */
+    private Flux<SseFrame> live(List<String> stockCodes, SseClient.DeliveryMode deliveryMode) {
+        boolean latestOnly = deliveryMode == SseClient.DeliveryMode.LATEST || overflowPolicy == SseClient.OverflowPolicy.CONFLATE;
+
+        List<Flux<SseFrame>> sources = new ArrayList<>(stockCodes.size() * 2 + 1);
+        for (String stockCode : stockCodes) {
+            StockSinks sinks = sinksOf(stockCode);
+            sources.add(latestOnly ? sinks.quotes().asFlux().onBackpressureLatest() : sinks.quotes().asFlux());
+            sources.add(latestOnly ? sinks.orderbooks().asFlux().onBackpressureLatest() : sinks.orderbooks().asFlux());
+        }
+        sources.add(latestOnly ? heartbeats.asFlux().onBackpressureLatest() : heartbeats.asFlux());
+
+        if (latestOnly) {
+            // merge가 소스마다 미리 당겨 두지 않도록 prefetch 1 (밀리면 곧바로 최신 값만 남음)
+            return Flux.merge(Flux.fromIterable(sources), sources.size(), 1);
+        }
+        Flux<SseFrame> merged = Flux.merge(sources);
+        if (overflowPolicy == SseClient.OverflowPolicy.DISCONNECT) {
+            return merged.onBackpressureBuffer(bufferSize,
+                dropped -> meterRegistry.counter("sse_streamer_slow_client_disconnects_total").increment(),
+                BufferOverflowStrategy.ERROR);
+        }
+        return merged.onBackpressureBuffer(bufferSize,
+            dropped -> meterRegistry.counter("sse_streamer_dropped_frames_total",
+                "policy", overflowPolicy.getCode(), "result", "dropped").increment(),
+            BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    @Override
+    public void broadcastToStock(String stockCode, SseMessage message) {
+        StockSinks sinks = stockSinks.get(stockCode);
+        if (sinks == null) {
+            return;
+        }
+        Sinks.Many<SseFrame> sink = sinks.of(message.getType());
+        if (sink.currentSubscriberCount() == 0) {
+            return;
+        }
+
+        // 구독자 수와 무관하게 한 번만 직렬화
+        SseFrame frame = encode(message);
+        if (frame != null) {
+            emit(sink, frame);
+        }
+    }
+
+    private StockSinks sinksOf(String stockCode) {
+        return stockSinks.computeIfAbsent(stockCode, code -> new StockSinks(
+            Sinks.many().multicast().directBestEffort(), Sinks.many().multicast().directBestEffort()));
+    }
+
+    private void emit(Sinks.Many<SseFrame> sink, SseFrame frame) {
+        try {
+            sink.emitNext(frame, RETRY_CONCURRENT_EMIT);
+        } catch (Sinks.EmissionException e) {
+            log.warn("Failed to emit SSE frame - Type: {}, Stock: {}, Result: {}",
+                frame.getType(), frame.getStockCode(), e.getReason());
+        }
+    }
+
+    /**
+     * 메시지를 SSE 프레임으로 직렬화 (실패하면 메시지만 버림)
+     */
+    private SseFrame encode(SseMessage message) {
+        try {
+            return SseFrame.encode(objectMapper, message);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize SSE message - Type: {}, Stock: {}", message.getType(), message.getStockCode(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public int getSubscriberCount(String stockCode) {
+        StockSinks sinks = stockSinks.get(stockCode);
+        return sinks != null ? sinks.quotes().currentSubscriberCount() : 0;
+    }
+
+    @Override
+    public Map<String, Object> getConnectionStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalConnections", totalConnections.get());
+        stats.put("activeConnections", activeConnections.get());
+        stats.put("overflowPolicy", overflowPolicy.getCode());
+        stats.put("timestamp", LocalDateTime.now());
+
+        Map<String, Integer> stockStats = new HashMap<>();
+        for (Map.Entry<String, StockSinks> entry : stockSinks.entrySet()) {
+            int subscribers = entry.getValue().quotes().currentSubscriberCount();
+            if (subscribers > 0) {
+                stockStats.put(entry.getKey(), subscribers);
+            }
+        }
+        stats.put("subscribedStocks", stockStats.size());
+        stats.put("stockSubscriptions", stockStats);
+
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down reactive SSE stream hub...");
+        if (heartbeatTicker != null) {
+            heartbeatTicker.dispose();
+        }
+        heartbeats.tryEmitComplete();
+        stockSinks.values().forEach(sinks -> {
+            sinks.quotes().tryEmitComplete();
+            sinks.orderbooks().tryEmitComplete();
+        });
+        stockSinks.clear();
+    }
+
+    /**
+     * 한 종목의 시세/호가 Sink (latest 전달 시 유형별로 최신 값을 따로 남기도록 분리)
+     */
+    private record StockSinks(Sinks.Many<SseFrame> quotes, Sinks.Many<SseFrame> orderbooks) {
+
+        private Sinks.Many<SseFrame> of(SseMessage.MessageType type) {
+            return type == SseMessage.MessageType.QUOTE ? quotes : orderbooks;
+        }
+    }
+}
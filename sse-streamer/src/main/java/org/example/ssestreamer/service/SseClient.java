@@ -0,0 +1,327 @@
+package org.example.ssestreamer.service;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ssestreamer.dto.SseFrame;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * SSE 클라이언트 한 명의 연결과 크기 제한 전송 대기열
+ * 브로드캐스트 쪽은 대기열에 넣기만 하고, 네트워크 쓰기는 전송 실행기에서 클라이언트마다 한 작업이 순서대로 비우므로 느린 클라이언트가 다른 클라이언트나 Kafka 리스너를 막지 않는다.
+ * 대기열이 가득 차면 정책에 따라 가장 오래된 프레임을 버리거나, 같은 종목/유형의 밀린 프레임을 새 프레임으로 대체하거나, 연결을 끊는다.
+ * latest 전달 모드는 종목/유형마다 "전송 대기 중인 최신 값" 슬롯 하나만 두어, 아직 안 나간 시세/호가는 새 값으로 덮어쓴다.
+ * 따라가는 클라이언트는 모든 틱을 받고, 밀리는 클라이언트는 메모리가 구독 종목 수로 묶인 채 항상 가장 최신 상태를 받는다.
+ */
+@Slf4j
+public class SseClient {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST("drop-oldest"),
+        CONFLATE("conflate"),
+        DISCONNECT("disconnect");
+
+        private final String code;
+
+        OverflowPolicy(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public static OverflowPolicy fromCode(String code) {
+            for (OverflowPolicy policy : values()) {
+                if (policy.code.equalsIgnoreCase(code)) {
+                    return policy;
+                }
+            }
+            throw new IllegalArgumentException("Unknown SSE overflow policy: " + code);
+        }
+    }
+
+    public enum DeliveryMode {
+        // 모든 프레임을 순서대로 전달
+        ALL("all"),
+        // 전송 전에 더 새 값이 오면 종목/유형별 대기 프레임을 교체
+        LATEST("latest");
+
+        private final String code;
+
+        DeliveryMode(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public static DeliveryMode fromCode(String code) {
+            for (DeliveryMode mode : values()) {
+                if (mode.code.equalsIgnoreCase(code)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown SSE delivery mode: " + code);
+        }
+    }
+
+    public enum OfferResult {
+        QUEUED,
+        // latest 모드에서 아직 안 나간 같은 종목/유형 프레임을 새 값으로 교체 (대기열 크기 변화 없음)
+        REPLACED,
+        // 가장 오래된 프레임을 버리고 넣음
+        DROPPED,
+        // 같은 종목/유형의 밀린 프레임을 대체
+        CONFLATED,
+        // 가득 찼고 정책이 disconnect - 호출한 쪽이 연결을 정리
+        OVERFLOW
+    }
+
+    /**
+     * 전송 대기 프레임 (latest 모드에서는 전송 전까지 lock 안에서 새 프레임으로 교체될 수 있음)
+     */
+    private static final class Pending {
+        private SseFrame frame;
+        private final long enqueuedNanos;
+
+        private Pending(SseFrame frame, long enqueuedNanos) {
+            this.frame = frame;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private final String clientId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final DeliveryMode deliveryMode;
+    private final Executor sendExecutor;
+    private final Timer deliveryLag;
+    private final Consumer<SseClient> onWriteFailure;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    // latest 모드: 대체 키 -> 대기열에 있는 그 키의 프레임
+    private final Map<String, Pending> latestPending = new HashMap<>();
+    // 전송 작업이 예약/실행 중이면 true (클라이언트당 하나만 돌아 프레임 순서 유지)
+    private boolean draining;
+    private boolean closed;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong replaced = new AtomicLong();
+    private volatile long lastLagMillis;
+
+    public SseClient(String clientId, SseEmitter emitter, int capacity, OverflowPolicy policy, DeliveryMode deliveryMode,
+                     Executor sendExecutor, Timer deliveryLag, Consumer<SseClient> onWriteFailure) {
+        this.clientId = clientId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.deliveryMode = deliveryMode;
+        this.sendExecutor = sendExecutor;
+        this.deliveryLag = deliveryLag;
+        this.onWriteFailure = onWriteFailure;
+    }
+
+    /**
+     * 프레임을 대기열에 넣고 필요하면 전송 작업 예약 (네트워크 I/O 없이 바로 반환)
+     */
+    public OfferResult offer(SseFrame frame) {
+        OfferResult result = OfferResult.QUEUED;
+        boolean schedule;
+        lock.lock();
+        try {
+            if (closed) {
+                return OfferResult.DROPPED;
+            }
+            String key = frame.conflationKey();
+            if (deliveryMode == DeliveryMode.LATEST && key != null) {
+                Pending pending = latestPending.get(key);
+                if (pending != null) {
+                    // 아직 안 나간 이전 값은 자리(순서)는 그대로 두고 내용만 최신으로
+                    pending.frame = frame;
+                    replaced.incrementAndGet();
+                    return OfferResult.REPLACED;
+                }
+            }
+            if (queue.size() >= capacity) {
+                if (policy == OverflowPolicy.DISCONNECT) {
+                    return OfferResult.OVERFLOW;
+                }
+                result = policy == OverflowPolicy.CONFLATE && removeOldest(key)
+                    ? OfferResult.CONFLATED
+                    : dropOldest();
+                dropped.incrementAndGet();
+            }
+            Pending pending = new Pending(frame, System.nanoTime());
+            queue.addLast(pending);
+            if (deliveryMode == DeliveryMode.LATEST && key != null) {
+                latestPending.put(key, pending);
+            }
+            schedule = !draining;
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+
+        if (schedule) {
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                lock.lock();
+                try {
+                    draining = false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 대기열을 비우고 이후 프레임은 받지 않음 (emitter 종료는 호출한 쪽에서)
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            queue.clear();
+            latestPending.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Pending next;
+            SseFrame frame;
+            lock.lock();
+            try {
+                next = closed ? null : queue.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+                // 꺼낸 뒤 도착하는 같은 키의 프레임은 새 슬롯으로 (이미 쓰는 중인 프레임은 바꾸지 않음)
+                frame = next.frame;
+                forget(next);
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                emitter.send(frame.items());
+            } catch (IOException | IllegalStateException e) {
+                // 연결이 끊겼거나 이미 종료된 emitter - 더 예약하지 않고 정리를 맡김
+                log.warn("Failed to send SSE message to client: {}", clientId, e);
+                onWriteFailure.accept(this);
+                return;
+            }
+            long lagNanos = System.nanoTime() - next.enqueuedNanos;
+            lastLagMillis = TimeUnit.NANOSECONDS.toMillis(lagNanos);
+            deliveryLag.record(lagNanos, TimeUnit.NANOSECONDS);
+            sent.incrementAndGet();
+        }
+    }
+
+    private boolean removeOldest(String conflationKey) {
+        if (conflationKey == null) {
+            return false;
+        }
+        Iterator<Pending> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Pending pending = iterator.next();
+            if (conflationKey.equals(pending.frame.conflationKey())) {
+                iterator.remove();
+                forget(pending);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private OfferResult dropOldest() {
+        Pending oldest = queue.pollFirst();
+        if (oldest != null) {
+            forget(oldest);
+        }
+        return OfferResult.DROPPED;
+    }
+
+    /**
+     * 대기열에서 빠진 프레임의 latest 슬롯 해제
+     */
+    private void forget(Pending pending) {
+        String key = pending.frame.conflationKey();
+        if (key != null) {
+            latestPending.remove(key, pending);
+        }
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가장 오래 기다린 프레임의 대기 시간 (대기열이 비었으면 0)
+     */
+    public long oldestPendingMillis() {
+        lock.lock();
+        try {
+            Pending oldest = queue.peekFirst();
+            return oldest == null ? 0L : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long sent() {
+        return sent.get();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public long replaced() {
+        return replaced.get();
+    }
+
+    public DeliveryMode getDeliveryMode() {
+        return deliveryMode;
+    }
+
+    public long lastLagMillis() {
+        return lastLagMillis;
+    }
+}
@@ -1,28 +1,42 @@
 package org.example.ssestreamer.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.ssestreamer.dto.SseFrame;
 import org.example.ssestreamer.dto.SseMessage;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * SSE 연결/구독 관리와 종목별 브로드캐스트 (서블릿 SseEmitter, 기본 프로필)
+ * 브로드캐스트(Kafka 리스너 스레드)와 하트비트는 클라이언트별 대기열에 프레임을 넣기만 하고, 네트워크 쓰기는 가상 스레드 전송 실행기가 맡는다.
+ */
 @Slf4j
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
-public class SseConnectionManager {
+public class SseConnectionManager implements StreamFanout {
+    
+    private static final int SLOWEST_CLIENTS_IN_STATS = 10;
     
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
     
     @Value("${app.sse.connection-timeout:300000}")
     private long connectionTimeout;
@@ -33,18 +47,24 @@ public class SseConnectionManager {
     @Value("${app.sse.max-connections:10000}")
     private int maxConnections;
     
+    @Value("${app.sse.buffer-size:1000}")
+    private int bufferSize;
+    
+    @Value("${app.sse.overflow-policy:drop-oldest}")
+    private String overflowPolicyCode;
+    
+    @Value("${app.sse.default-delivery-mode:all}")
+    private String defaultDeliveryModeCode;
+    
     // 클라이언트 연결 관리
-    private final Map<String, SseEmitter> connections = new ConcurrentHashMap<>();
+    private final Map<String, SseClient> connections = new ConcurrentHashMap<>();
     
     // 클라이언트별 구독 종목 관리
     private final Map<String, Set<String>> clientSubscriptions = new ConcurrentHashMap<>();
     
-    // 종목별 구독자 관리
+    // 종목별 구독자 관리 (브로드캐스트 중 구독/해제가 겹쳐도 안전한 집합)
     private final Map<String, Set<String>> stockSubscribers = new ConcurrentHashMap<>();
     
-    // 클라이언트별 메시지 버퍼
-    private final Map<String, Queue<SseMessage>> clientBuffers = new ConcurrentHashMap<>();
-    
     // 연결 통계
     private final AtomicLong totalConnections = new AtomicLong(0);
     private final AtomicLong activeConnections = new AtomicLong(0);
@@ -52,30 +72,63 @@ public class SseConnectionManager {
     // 하트비트 스케줄러
     private final ScheduledExecutorService heartbeatScheduler = Executors.newScheduledThreadPool(2);
     
+    // 클라이언트 대기열 전송 실행기 (느린 클라이언트의 블로킹 쓰기가 플랫폼 스레드를 잡지 않도록 가상 스레드)
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    private SseClient.OverflowPolicy overflowPolicy;
+    private SseClient.DeliveryMode defaultDeliveryMode;
+    private Timer deliveryLag;
+    
     // 생성자에서 하트비트 스케줄링 시작
     @jakarta.annotation.PostConstruct
     public void initHeartbeat() {
-        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeat, 
+        overflowPolicy = SseClient.OverflowPolicy.fromCode(overflowPolicyCode);
+        defaultDeliveryMode = SseClient.DeliveryMode.fromCode(defaultDeliveryModeCode);
+        deliveryLag = Timer.builder("sse_streamer_delivery_lag_seconds")
+            .description("Time a frame waited in a client queue before it was written")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("sse_streamer_queued_frames", connections,
+                clients -> clients.values().stream().mapToInt(SseClient::queued).sum())
+            .register(meterRegistry);
+        Gauge.builder("sse_streamer_max_pending_ms", connections,
+                clients -> clients.values().stream().mapToLong(SseClient::oldestPendingMillis).max().orElse(0L))
+            .register(meterRegistry);
+        
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeat,
             heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
     }
     
     /**
-     * 새로운 SSE 연결 생성
+     * 새로운 SSE 연결 생성 (기본 전달 모드)
      */
     public SseEmitter createConnection(String clientId, List<String> stockCodes) {
+        return createConnection(clientId, stockCodes, defaultDeliveryMode);
+    }
+    
+    /**
+     * 새로운 SSE 연결 생성
+     * @param deliveryMode all: 모든 틱 전달, latest: 전송이 밀리면 종목별 최신 값만 전달
+     */
+    public SseEmitter createConnection(String clientId, List<String> stockCodes, SseClient.DeliveryMode deliveryMode) {
         if (connections.size() >= maxConnections) {
             log.warn("Maximum connections reached: {}", maxConnections);
             throw new RuntimeException("Maximum connections exceeded");
         }
         
         SseEmitter emitter = new SseEmitter(connectionTimeout);
-        connections.put(clientId, emitter);
+        SseClient client = new SseClient(clientId, emitter, bufferSize, overflowPolicy, deliveryMode,
+            sendExecutor, deliveryLag, failed -> removeConnection(failed.getClientId()));
+        connections.put(clientId, client);
         clientSubscriptions.put(clientId, new HashSet<>(stockCodes));
-        clientBuffers.put(clientId, new LinkedList<>());
         
-        // 종목별 구독자 등록
+        // 종목별 구독자 등록 (해제로 빈 집합이 지워지는 것과 겹치지 않도록 종목 단위 원자 갱신)
         for (String stockCode : stockCodes) {
-            stockSubscribers.computeIfAbsent(stockCode, k -> new HashSet<>()).add(clientId);
+            stockSubscribers.compute(stockCode, (code, subscribers) -> {
+                Set<String> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                updated.add(clientId);
+                return updated;
+            });
         }
         
         // 연결 완료/해제 핸들러
@@ -89,8 +142,8 @@ public class SseConnectionManager {
         totalConnections.incrementAndGet();
         activeConnections.incrementAndGet();
         
-        log.info("New SSE connection created - Client: {}, Stocks: {}, Active: {}", 
-            clientId, stockCodes, activeConnections.get());
+        log.info("New SSE connection created - Client: {}, Stocks: {}, Mode: {}, Active: {}",
+            clientId, stockCodes, deliveryMode.getCode(), activeConnections.get());
         
         // 구독 확인 메시지 전송
         for (String stockCode : stockCodes) {
@@ -101,87 +154,104 @@ public class SseConnectionManager {
     }
     
     /**
-     * 특정 종목의 모든 구독자에게 메시지 브로드캐스트
+     * 특정 종목의 모든 구독자에게 메시지 브로드캐스트 (대기열에 넣기만 하고 네트워크 I/O는 기다리지 않음)
      */
+    @Override
     public void broadcastToStock(String stockCode, SseMessage message) {
         Set<String> subscribers = stockSubscribers.get(stockCode);
         if (subscribers == null || subscribers.isEmpty()) {
             return;
         }
         
-        log.debug("Broadcasting to {} subscribers for stock: {}", subscribers.size(), stockCode);
+        // 구독자 수와 무관하게 한 번만 직렬화
+        SseFrame frame = encode(message);
+        if (frame == null) {
+            return;
+        }
         
-        List<String> disconnectedClients = new ArrayList<>();
+        log.debug("Broadcasting to {} subscribers for stock: {}", subscribers.size(), stockCode);
         
         for (String clientId : subscribers) {
-            try {
-                if (!sendToClient(clientId, message)) {
-                    disconnectedClients.add(clientId);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to send message to client: {}", clientId, e);
-                disconnectedClients.add(clientId);
-            }
-        }
-        
-        // 연결이 끊긴 클라이언트들 정리
-        for (String clientId : disconnectedClients) {
-            removeConnection(clientId);
+            enqueue(clientId, frame);
         }
     }
     
     /**
-     * 특정 클라이언트에게 메시지 전송
+     * 특정 클라이언트에게 메시지 전송 (대기열에 넣음)
+     * @return 연결이 없거나 대기열 초과로 연결을 끊었으면 false
      */
     public boolean sendToClient(String clientId, SseMessage message) {
-        SseEmitter emitter = connections.get(clientId);
-        if (emitter == null) {
+        if (!connections.containsKey(clientId)) {
+            return false;
+        }
+        SseFrame frame = encode(message);
+        return frame != null && enqueue(clientId, frame);
+    }
+    
+    /**
+     * 직렬화된 프레임을 클라이언트 대기열에 넣고, 가득 찬 경우의 결과를 정책별로 집계
+     */
+    private boolean enqueue(String clientId, SseFrame frame) {
+        SseClient client = connections.get(clientId);
+        if (client == null) {
             return false;
         }
         
+        SseClient.OfferResult result = client.offer(frame);
+        switch (result) {
+            case REPLACED -> meterRegistry.counter("sse_streamer_replaced_frames_total").increment();
+            case DROPPED, CONFLATED -> meterRegistry.counter("sse_streamer_dropped_frames_total",
+                "policy", overflowPolicy.getCode(), "result", result.name().toLowerCase()).increment();
+            case OVERFLOW -> {
+                log.warn("SSE client queue full, disconnecting slow client: {} - Queued: {}", clientId, client.queued());
+                meterRegistry.counter("sse_streamer_slow_client_disconnects_total").increment();
+                removeConnection(clientId);
+                return false;
+            }
+            default -> {
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 메시지를 SSE 프레임으로 직렬화 (실패는 클라이언트 탓이 아니므로 연결은 유지하고 메시지만 버림)
+     */
+    private SseFrame encode(SseMessage message) {
         try {
-            String jsonMessage = objectMapper.writeValueAsString(message);
-            emitter.send(SseEmitter.event()
-                .name(message.getType().name().toLowerCase())
-                .data(jsonMessage));
-            
-            log.trace("Message sent to client: {} - Type: {}", clientId, message.getType());
-            return true;
-            
-        } catch (IOException e) {
-            log.warn("Failed to send SSE message to client: {}", clientId, e);
-            return false;
+            return SseFrame.encode(objectMapper, message);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize SSE message - Type: {}, Stock: {}", message.getType(), message.getStockCode(), e);
+            return null;
         }
     }
     
     /**
-     * 연결 제거
+     * 연결 제거 (emitter 완료 콜백으로 다시 불려도 한 번만 정리)
      */
     private void removeConnection(String clientId) {
-        SseEmitter emitter = connections.remove(clientId);
-        if (emitter != null) {
-            try {
-                emitter.complete();
-            } catch (Exception e) {
-                log.debug("Error completing emitter for client: {}", clientId);
-            }
+        SseClient client = connections.remove(clientId);
+        if (client == null) {
+            return;
+        }
+        client.close();
+        try {
+            client.getEmitter().complete();
+        } catch (Exception e) {
+            log.debug("Error completing emitter for client: {}", clientId);
         }
         
         // 구독 정보 정리
         Set<String> subscribedStocks = clientSubscriptions.remove(clientId);
         if (subscribedStocks != null) {
             for (String stockCode : subscribedStocks) {
-                Set<String> subscribers = stockSubscribers.get(stockCode);
-                if (subscribers != null) {
+                stockSubscribers.computeIfPresent(stockCode, (code, subscribers) -> {
                     subscribers.remove(clientId);
-                    if (subscribers.isEmpty()) {
-                        stockSubscribers.remove(stockCode);
-                    }
-                }
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
             }
         }
         
-        clientBuffers.remove(clientId);
         activeConnections.decrementAndGet();
         
         log.info("SSE connection removed - Client: {}, Active: {}", clientId, activeConnections.get());
@@ -195,17 +265,13 @@ public class SseConnectionManager {
             return;
         }
         
-        SseMessage heartbeat = SseMessage.heartbeat();
-        List<String> disconnectedClients = new ArrayList<>();
-        
-        for (String clientId : connections.keySet()) {
-            if (!sendToClient(clientId, heartbeat)) {
-                disconnectedClients.add(clientId);
-            }
+        SseFrame heartbeat = encode(SseMessage.heartbeat());
+        if (heartbeat == null) {
+            return;
         }
         
-        for (String clientId : disconnectedClients) {
-            removeConnection(clientId);
+        for (String clientId : connections.keySet()) {
+            enqueue(clientId, heartbeat);
         }
         
         log.debug("Heartbeat sent to {} clients", connections.size());
@@ -214,11 +280,13 @@ public class SseConnectionManager {
     /**
      * 연결 통계 조회
      */
+    @Override
     public Map<String, Object> getConnectionStats() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalConnections", totalConnections.get());
         stats.put("activeConnections", activeConnections.get());
         stats.put("subscribedStocks", stockSubscribers.size());
+        stats.put("overflowPolicy", overflowPolicy.getCode());
         stats.put("timestamp", LocalDateTime.now());
         
         Map<String, Integer> stockStats = new HashMap<>();
@@ -227,12 +295,40 @@ public class SseConnectionManager {
         }
         stats.put("stockSubscriptions", stockStats);
         
+        // 가장 밀린 클라이언트들
+        stats.put("slowestClients", connections.values().stream()
+            .sorted(Comparator.comparingLong(SseClient::oldestPendingMillis).reversed())
+            .limit(SLOWEST_CLIENTS_IN_STATS)
+            .map(this::clientStats)
+            .toList());
+        
+        return stats;
+    }
+    
+    /**
+     * 클라이언트별 전송 지연/대기열 상태
+     */
+    public Optional<Map<String, Object>> getClientStats(String clientId) {
+        return Optional.ofNullable(connections.get(clientId)).map(this::clientStats);
+    }
+    
+    private Map<String, Object> clientStats(SseClient client) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("clientId", client.getClientId());
+        stats.put("deliveryMode", client.getDeliveryMode().getCode());
+        stats.put("queued", client.queued());
+        stats.put("oldestPendingMs", client.oldestPendingMillis());
+        stats.put("lastLagMs", client.lastLagMillis());
+        stats.put("sent", client.sent());
+        stats.put("dropped", client.dropped());
+        stats.put("replaced", client.replaced());
         return stats;
     }
     
     /**
      * 특정 종목의 구독자 수 조회
      */
+    @Override
     public int getSubscriberCount(String stockCode) {
         Set<String> subscribers = stockSubscribers.get(stockCode);
         return subscribers != null ? subscribers.size() : 0;
@@ -241,12 +337,16 @@ public class SseConnectionManager {
     /**
      * 모든 연결 정리 (애플리케이션 종료 시)
      */
+    @jakarta.annotation.PreDestroy
     public void shutdown() {
         log.info("Shutting down SSE Connection Manager...");
         
-        for (SseEmitter emitter : connections.values()) {
+        heartbeatScheduler.shutdown();
+        
+        for (SseClient client : connections.values()) {
+            client.close();
             try {
-                emitter.complete();
+                client.getEmitter().complete();
             } catch (Exception e) {
                 log.debug("Error completing emitter during shutdown");
             }
@@ -255,9 +355,8 @@ public class SseConnectionManager {
         connections.clear();
         clientSubscriptions.clear();
         stockSubscribers.clear();
-        clientBuffers.clear();
         
-        heartbeatScheduler.shutdown();
+        sendExecutor.shutdownNow();
         log.info("SSE Connection Manager shut down completed");
     }
 }
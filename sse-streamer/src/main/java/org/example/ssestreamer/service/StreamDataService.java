@@ -13,17 +13,25 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class StreamDataService {
     
-    private final SseConnectionManager sseConnectionManager;
+    private final StreamFanout streamFanout;
     private final StockRepository stockRepository;
     private final QuoteDataRepository quoteDataRepository;
     
+    // 종목별 마지막 시세/호가 프레임 (기동 시 압축 토픽으로 채우고 실시간 수신으로 갱신, 새 구독자에게 즉시 전송)
+    private final Map<String, StreamQuoteData> latestQuotes = new ConcurrentHashMap<>();
+    private final Map<String, StreamOrderbookData> latestOrderbooks = new ConcurrentHashMap<>();
+    
     /**
      * 시세 데이터를 SSE로 브로드캐스트
      */
@@ -38,13 +46,14 @@ public class StreamDataService {
             // 시장 상태 설정
             quoteData.setMarketStatus(getCurrentMarketStatus());
             quoteData.setTimestamp(LocalDateTime.now());
+            latestQuotes.put(stockCode, quoteData);
             
             // SSE 메시지 생성 및 브로드캐스트
             SseMessage message = SseMessage.quote(stockCode, quoteData);
-            sseConnectionManager.broadcastToStock(stockCode, message);
+            streamFanout.broadcastToStock(stockCode, message);
             
             log.debug("Quote data broadcasted for stock: {} to {} subscribers", 
-                stockCode, sseConnectionManager.getSubscriberCount(stockCode));
+                stockCode, streamFanout.getSubscriberCount(stockCode));
                 
         } catch (Exception e) {
             log.error("Error broadcasting quote data for stock: {}", stockCode, e);
@@ -63,19 +72,49 @@ public class StreamDataService {
             }
             
             orderbookData.setTimestamp(LocalDateTime.now());
+            latestOrderbooks.put(stockCode, orderbookData);
             
             // SSE 메시지 생성 및 브로드캐스트
             SseMessage message = SseMessage.orderbook(stockCode, orderbookData);
-            sseConnectionManager.broadcastToStock(stockCode, message);
+            streamFanout.broadcastToStock(stockCode, message);
             
             log.debug("Orderbook data broadcasted for stock: {} to {} subscribers", 
-                stockCode, sseConnectionManager.getSubscriberCount(stockCode));
+                stockCode, streamFanout.getSubscriberCount(stockCode));
                 
         } catch (Exception e) {
             log.error("Error broadcasting orderbook data for stock: {}", stockCode, e);
         }
     }
     
+    /**
+     * 압축 토픽에서 읽은 최신 시세/호가 적재 (기동 시, 실시간 수신 전)
+     */
+    public void loadLatestQuote(String stockCode, StreamQuoteData quoteData) {
+        latestQuotes.put(stockCode, quoteData);
+    }
+    
+    public void loadLatestOrderbook(String stockCode, StreamOrderbookData orderbookData) {
+        latestOrderbooks.put(stockCode, orderbookData);
+    }
+    
+    /**
+     * 새 구독자에게 바로 보낼 구독 종목의 마지막 시세/호가 (조용한 종목도 다음 틱까지 빈 화면이 되지 않도록)
+     */
+    public List<SseMessage> latestSnapshots(List<String> stockCodes) {
+        List<SseMessage> snapshots = new ArrayList<>();
+        for (String stockCode : stockCodes) {
+            StreamQuoteData quoteData = latestQuotes.get(stockCode);
+            if (quoteData != null) {
+                snapshots.add(SseMessage.quote(stockCode, quoteData));
+            }
+            StreamOrderbookData orderbookData = latestOrderbooks.get(stockCode);
+            if (orderbookData != null) {
+                snapshots.add(SseMessage.orderbook(stockCode, orderbookData));
+            }
+        }
+        return snapshots;
+    }
+    
     /**
      * 종목 정보 조회 (캐시 적용)
      */
@@ -118,7 +157,7 @@ public class StreamDataService {
      * 연결 통계 조회
      */
     public Object getConnectionStats() {
-        return sseConnectionManager.getConnectionStats();
+        return streamFanout.getConnectionStats();
     }
 }
 
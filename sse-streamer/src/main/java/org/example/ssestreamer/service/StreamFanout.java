@@ -0,0 +1,26 @@
+package org.example.ssestreamer.service;
+
+import org.example.ssestreamer.dto.SseMessage;
+
+import java.util.Map;
+
+/**
+ * 종목별 구독자에게 메시지를 퍼뜨리는 전송 계층 (서블릿 SseEmitter 또는 WebFlux/Reactor Netty - reactive 프로필)
+ */
+public interface StreamFanout {
+
+    /**
+     * 특정 종목의 모든 구독자에게 메시지 브로드캐스트 (네트워크 I/O를 기다리지 않음)
+     */
+    void broadcastToStock(String stockCode, SseMessage message);
+
+    /**
+     * 특정 종목의 구독자 수 조회
+     */
+    int getSubscriberCount(String stockCode);
+
+    /**
+     * 연결 통계 조회
+     */
+    Map<String, Object> getConnectionStats();
+}
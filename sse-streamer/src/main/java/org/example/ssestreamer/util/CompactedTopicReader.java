@@ -0,0 +1,70 @@
+package org.example.ssestreamer.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 압축(compact) 토픽을 처음부터 현재 끝 오프셋까지 한 번 순차로 읽음 (그룹 가입/오프셋 커밋 없이 전체 파티션 직접 할당)
+ * 종목코드 키 기준 최신 값만 남은 토픽이면 종목 수만큼의 레코드로 기동 시 상태를 채울 수 있다.
+ */
+@Slf4j
+public final class CompactedTopicReader {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private CompactedTopicReader() {
+    }
+
+    /**
+     * @return 전달한 레코드 수 (삭제 표시(tombstone)는 제외), 제한 시간 안에 끝까지 못 읽으면 읽은 데까지만
+     */
+    public static int readToEnd(ConsumerFactory<String, String> consumerFactory, String topic, Duration timeout,
+                                BiConsumer<String, String> handler) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int count = 0;
+        try (Consumer<String, String> consumer = consumerFactory.createConsumer(null, "-bootstrap")) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(topic, timeout);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                log.warn("Compacted topic not found, skipping bootstrap - Topic: {}", topic);
+                return 0;
+            }
+            List<TopicPartition> partitions = partitionInfos.stream()
+                .map(info -> new TopicPartition(topic, info.partition()))
+                .toList();
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+
+            // 시작 시점의 끝 오프셋까지만 읽음 (그 뒤 값은 실시간 리스너가 받음)
+            Map<TopicPartition, Long> remaining = new HashMap<>(consumer.endOffsets(partitions, timeout));
+            remaining.entrySet().removeIf(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+
+            while (!remaining.isEmpty()) {
+                if (System.nanoTime() > deadline) {
+                    log.warn("Compacted topic bootstrap timed out - Topic: {}, Loaded: {}, Unfinished partitions: {}",
+                        topic, count, remaining.keySet());
+                    break;
+                }
+                for (ConsumerRecord<String, String> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.key() != null && record.value() != null) {
+                        handler.accept(record.key(), record.value());
+                        count++;
+                    }
+                }
+                remaining.entrySet().removeIf(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+            }
+        } catch (Exception e) {
+            log.error("Error bootstrapping from compacted topic: {} (continuing with {} records)", topic, count, e);
+        }
+        return count;
+    }
+}
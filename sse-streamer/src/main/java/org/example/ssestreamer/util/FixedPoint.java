@@ -0,0 +1,200 @@
+package org.example.ssestreamer.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 고정소수점(scaled long) 가격/등락률 - 틱 경로에서 BigDecimal 생성 없이 파싱/비교/직렬화
+ * 가격은 x100 (DECIMAL(15,2)), 등락률은 x10000 (DECIMAL(8,4)), BigDecimal 변환은 DB/REST 경계에서만
+ */
+public final class FixedPoint {
+
+    public static final int PRICE_SCALE = 2;
+    public static final int RATE_SCALE = 4;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+
+    private FixedPoint() {
+    }
+
+    /**
+     * "70000", "-1.5", "+0.35" 같은 10진 문자열을 scale 자리 고정소수점으로 (null은 0, 초과 자릿수는 버림)
+     * 형식이 틀리거나 long 범위(부호 포함 +-Long.MAX_VALUE)를 넘으면 NumberFormatException
+     */
+    public static long parse(CharSequence text, int scale) {
+        if (text == null) {
+            return 0L;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        boolean negative = false;
+        if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+            negative = text.charAt(start) == '-';
+            start++;
+        }
+
+        long value = 0L;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid decimal: " + text);
+            }
+            digits++;
+            if (fractionDigits >= 0) {
+                if (fractionDigits == scale) {
+                    continue;
+                }
+                fractionDigits++;
+            }
+            if (value > (Long.MAX_VALUE - (c - '0')) / 10L) {
+                throw new NumberFormatException("Decimal out of range: " + text);
+            }
+            value = value * 10L + (c - '0');
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Invalid decimal: " + text);
+        }
+
+        long unit = POWERS_OF_TEN[scale - Math.max(fractionDigits, 0)];
+        if (value > Long.MAX_VALUE / unit) {
+            throw new NumberFormatException("Decimal out of range: " + text);
+        }
+        value *= unit;
+        return negative ? -value : value;
+    }
+
+    public static long parsePrice(CharSequence text) {
+        return parse(text, PRICE_SCALE);
+    }
+
+    public static long parseRate(CharSequence text) {
+        return parse(text, RATE_SCALE);
+    }
+
+    public static long fromBigDecimal(BigDecimal value, int scale) {
+        return value != null ? value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0L;
+    }
+
+    public static BigDecimal toBigDecimal(long scaled, int scale) {
+        return BigDecimal.valueOf(scaled, scale);
+    }
+
+    public static double toDouble(long scaled, int scale) {
+        return scaled / (double) POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * 뒤쪽 0 없는 10진 표기 (7000000, 2 -> "70000", 150, 2 -> "1.5")
+     */
+    public static String toPlainString(long scaled, int scale) {
+        StringBuilder sb = new StringBuilder(24);
+        appendTo(sb, scaled, scale);
+        return sb.toString();
+    }
+
+    public static void appendTo(StringBuilder sb, long scaled, int scale) {
+        long unit = POWERS_OF_TEN[scale];
+        if (scaled < 0) {
+            sb.append('-');
+        }
+        long integer = Math.abs(scaled / unit);
+        long fraction = Math.abs(scaled % unit);
+        sb.append(integer);
+        if (fraction == 0) {
+            return;
+        }
+        int width = scale;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            width--;
+        }
+        sb.append('.');
+        for (long pad = POWERS_OF_TEN[width - 1]; pad > fraction; pad /= 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    /**
+     * 가격(x100) long 필드를 JSON 숫자로 직렬화
+     */
+    public static class PriceSerializer extends StdSerializer<Long> {
+
+        public PriceSerializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(toPlainString(value, PRICE_SCALE));
+        }
+    }
+
+    /**
+     * 등락률(x10000) long 필드를 JSON 숫자로 직렬화
+     */
+    public static class RateSerializer extends StdSerializer<Long> {
+
+        public RateSerializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(toPlainString(value, RATE_SCALE));
+        }
+    }
+
+    /**
+     * JSON 숫자(원래 단위)를 가격(x100) long 필드로 역직렬화 (숫자 원문을 그대로 파싱, double 경유 없음)
+     */
+    public static class PriceDeserializer extends StdDeserializer<Long> {
+
+        public PriceDeserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return parse(parser.getText(), PRICE_SCALE);
+        }
+    }
+
+    /**
+     * JSON 숫자(원래 단위)를 등락률(x10000) long 필드로 역직렬화
+     */
+    public static class RateDeserializer extends StdDeserializer<Long> {
+
+        public RateDeserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return parse(parser.getText(), RATE_SCALE);
+        }
+    }
+}
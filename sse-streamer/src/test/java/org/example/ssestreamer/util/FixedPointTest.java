@@ -0,0 +1,83 @@
+package org.example.ssestreamer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedPointTest {
+
+    @Test
+    void parsesSignedIntegersAndFractions() {
+        assertThat(FixedPoint.parsePrice("70000")).isEqualTo(7_000_000L);
+        assertThat(FixedPoint.parsePrice("-1.5")).isEqualTo(-150L);
+        assertThat(FixedPoint.parsePrice("+0.35")).isEqualTo(35L);
+        assertThat(FixedPoint.parsePrice("-0.05")).isEqualTo(-5L);
+        assertThat(FixedPoint.parsePrice(" 12.3 ")).isEqualTo(1_230L);
+        assertThat(FixedPoint.parsePrice(".5")).isEqualTo(50L);
+        assertThat(FixedPoint.parsePrice("7.")).isEqualTo(700L);
+        assertThat(FixedPoint.parseRate("-2.3456")).isEqualTo(-23_456L);
+        assertThat(FixedPoint.parsePrice(null)).isZero();
+    }
+
+    @Test
+    void truncatesDigitsBeyondScaleTowardZero() {
+        assertThat(FixedPoint.parsePrice("1.239")).isEqualTo(123L);
+        assertThat(FixedPoint.parsePrice("-1.239")).isEqualTo(-123L);
+        assertThat(FixedPoint.parseRate("0.123456")).isEqualTo(1_234L);
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        for (String text : new String[]{"", " ", "-", "+", ".", "1.2.3", "1e5", "12a", "--1", "1,000"}) {
+            assertThatThrownBy(() -> FixedPoint.parsePrice(text))
+                .as(text)
+                .isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    @Test
+    void rejectsOverflowAsNumberFormatException() {
+        assertThat(FixedPoint.parsePrice("92233720368547758.07")).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> FixedPoint.parsePrice("92233720368547758.08"))
+            .isInstanceOf(NumberFormatException.class);
+        for (String text : new String[]{"92233720368547759", "900000000000000000000", "-99999999999999999999.99"}) {
+            assertThatThrownBy(() -> FixedPoint.parsePrice(text))
+                .as(text)
+                .isInstanceOf(NumberFormatException.class);
+        }
+        assertThat(FixedPoint.parse("9223372036854775807", 0)).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> FixedPoint.parse("9223372036854775808", 0))
+            .isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void formatsWithoutTrailingZeros() {
+        assertThat(FixedPoint.toPlainString(7_000_000L, FixedPoint.PRICE_SCALE)).isEqualTo("70000");
+        assertThat(FixedPoint.toPlainString(150L, FixedPoint.PRICE_SCALE)).isEqualTo("1.5");
+        assertThat(FixedPoint.toPlainString(-5L, FixedPoint.PRICE_SCALE)).isEqualTo("-0.05");
+        assertThat(FixedPoint.toPlainString(-23_400L, FixedPoint.RATE_SCALE)).isEqualTo("-2.34");
+        assertThat(FixedPoint.toPlainString(0L, FixedPoint.RATE_SCALE)).isEqualTo("0");
+        assertThat(FixedPoint.toPlainString(Long.MIN_VALUE, FixedPoint.PRICE_SCALE)).isEqualTo("-92233720368547758.08");
+    }
+
+    @Test
+    void matchesBigDecimalForRandomValues() {
+        Random random = new Random(34L);
+        for (int i = 0; i < 10_000; i++) {
+            long scaled = random.nextLong() >> random.nextInt(64);
+            for (int scale : new int[]{FixedPoint.PRICE_SCALE, FixedPoint.RATE_SCALE}) {
+                BigDecimal expected = BigDecimal.valueOf(scaled, scale);
+                String text = FixedPoint.toPlainString(scaled, scale);
+
+                assertThat(new BigDecimal(text)).isEqualByComparingTo(expected);
+                assertThat(FixedPoint.parse(expected.toPlainString(), scale)).isEqualTo(scaled);
+                assertThat(FixedPoint.fromBigDecimal(expected, scale)).isEqualTo(scaled);
+                assertThat(FixedPoint.toBigDecimal(scaled, scale)).isEqualTo(expected);
+            }
+        }
+    }
+}